@@ -0,0 +1,34 @@
+package org.tarantool.orm.benchmarks;
+
+import org.tarantool.orm.fake.FakeTarantoolClient;
+import org.tarantool.orm.internals.Meta;
+
+import java.lang.reflect.Field;
+
+/**
+ * Spaces of the benchmark tuples and access to the codecs of generated managers.
+ */
+final class Fixtures {
+    private Fixtures() {
+    }
+
+    static FakeTarantoolClient client() {
+        return new FakeTarantoolClient()
+                .space("mixed", "primary", 0)
+                .index("mixed", "name", 1)
+                .space("wide", "primary", 0)
+                .space("lazy_wide", "primary", 0);
+    }
+
+    // codecs are private to managers, benchmarks take them the same way as operations do
+    @SuppressWarnings("unchecked")
+    static <T> Meta<T> meta(Object manager) {
+        try {
+            Field field = manager.getClass().getDeclaredField("meta");
+            field.setAccessible(true);
+            return (Meta<T>) field.get(manager);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(String.format("Manager %s has no meta", manager.getClass().getSimpleName()), e);
+        }
+    }
+}
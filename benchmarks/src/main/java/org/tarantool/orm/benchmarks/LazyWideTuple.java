@@ -0,0 +1,519 @@
+package org.tarantool.orm.benchmarks;
+
+import org.tarantool.orm.annotations.Index;
+import org.tarantool.orm.annotations.IndexedField;
+import org.tarantool.orm.annotations.IndexedFieldParams;
+import org.tarantool.orm.annotations.Tuple;
+
+/**
+ * The fields of {@link WideTuple} converted by getters when they are first read, see {@code Tuple.lazyDecoding}.
+ */
+@Tuple(spaceName = "lazy_wide", lazyDecoding = true, indexes = @Index(name = "primary", isPrimary = true))
+public class LazyWideTuple {
+    @IndexedField(indexes = @IndexedFieldParams(indexName = "primary"))
+    private int id;
+    private double field1;
+    private String field2;
+    private int field3;
+    private boolean field4;
+    private long field5;
+    private double field6;
+    private String field7;
+    private int field8;
+    private boolean field9;
+    private long field10;
+    private double field11;
+    private String field12;
+    private int field13;
+    private boolean field14;
+    private long field15;
+    private double field16;
+    private String field17;
+    private int field18;
+    private boolean field19;
+    private long field20;
+    private double field21;
+    private String field22;
+    private int field23;
+    private boolean field24;
+    private long field25;
+    private double field26;
+    private String field27;
+    private int field28;
+    private boolean field29;
+    private long field30;
+    private double field31;
+    private String field32;
+    private int field33;
+    private boolean field34;
+    private long field35;
+    private double field36;
+    private String field37;
+    private int field38;
+    private boolean field39;
+    private long field40;
+    private double field41;
+    private String field42;
+    private int field43;
+    private boolean field44;
+    private long field45;
+    private double field46;
+    private String field47;
+    private int field48;
+    private boolean field49;
+
+    public static LazyWideTuple of(int id) {
+        LazyWideTuple tuple = new LazyWideTuple();
+        tuple.id = id;
+        tuple.field1 = id / 1d;
+        tuple.field2 = "value-2-" + id;
+        tuple.field3 = id + 3;
+        tuple.field4 = (id + 4) % 2 == 0;
+        tuple.field5 = id * 5L;
+        tuple.field6 = id / 6d;
+        tuple.field7 = "value-7-" + id;
+        tuple.field8 = id + 8;
+        tuple.field9 = (id + 9) % 2 == 0;
+        tuple.field10 = id * 10L;
+        tuple.field11 = id / 11d;
+        tuple.field12 = "value-12-" + id;
+        tuple.field13 = id + 13;
+        tuple.field14 = (id + 14) % 2 == 0;
+        tuple.field15 = id * 15L;
+        tuple.field16 = id / 16d;
+        tuple.field17 = "value-17-" + id;
+        tuple.field18 = id + 18;
+        tuple.field19 = (id + 19) % 2 == 0;
+        tuple.field20 = id * 20L;
+        tuple.field21 = id / 21d;
+        tuple.field22 = "value-22-" + id;
+        tuple.field23 = id + 23;
+        tuple.field24 = (id + 24) % 2 == 0;
+        tuple.field25 = id * 25L;
+        tuple.field26 = id / 26d;
+        tuple.field27 = "value-27-" + id;
+        tuple.field28 = id + 28;
+        tuple.field29 = (id + 29) % 2 == 0;
+        tuple.field30 = id * 30L;
+        tuple.field31 = id / 31d;
+        tuple.field32 = "value-32-" + id;
+        tuple.field33 = id + 33;
+        tuple.field34 = (id + 34) % 2 == 0;
+        tuple.field35 = id * 35L;
+        tuple.field36 = id / 36d;
+        tuple.field37 = "value-37-" + id;
+        tuple.field38 = id + 38;
+        tuple.field39 = (id + 39) % 2 == 0;
+        tuple.field40 = id * 40L;
+        tuple.field41 = id / 41d;
+        tuple.field42 = "value-42-" + id;
+        tuple.field43 = id + 43;
+        tuple.field44 = (id + 44) % 2 == 0;
+        tuple.field45 = id * 45L;
+        tuple.field46 = id / 46d;
+        tuple.field47 = "value-47-" + id;
+        tuple.field48 = id + 48;
+        tuple.field49 = (id + 49) % 2 == 0;
+        return tuple;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public double getField1() {
+        return field1;
+    }
+
+    public void setField1(double field1) {
+        this.field1 = field1;
+    }
+
+    public String getField2() {
+        return field2;
+    }
+
+    public void setField2(String field2) {
+        this.field2 = field2;
+    }
+
+    public int getField3() {
+        return field3;
+    }
+
+    public void setField3(int field3) {
+        this.field3 = field3;
+    }
+
+    public boolean isField4() {
+        return field4;
+    }
+
+    public void setField4(boolean field4) {
+        this.field4 = field4;
+    }
+
+    public long getField5() {
+        return field5;
+    }
+
+    public void setField5(long field5) {
+        this.field5 = field5;
+    }
+
+    public double getField6() {
+        return field6;
+    }
+
+    public void setField6(double field6) {
+        this.field6 = field6;
+    }
+
+    public String getField7() {
+        return field7;
+    }
+
+    public void setField7(String field7) {
+        this.field7 = field7;
+    }
+
+    public int getField8() {
+        return field8;
+    }
+
+    public void setField8(int field8) {
+        this.field8 = field8;
+    }
+
+    public boolean isField9() {
+        return field9;
+    }
+
+    public void setField9(boolean field9) {
+        this.field9 = field9;
+    }
+
+    public long getField10() {
+        return field10;
+    }
+
+    public void setField10(long field10) {
+        this.field10 = field10;
+    }
+
+    public double getField11() {
+        return field11;
+    }
+
+    public void setField11(double field11) {
+        this.field11 = field11;
+    }
+
+    public String getField12() {
+        return field12;
+    }
+
+    public void setField12(String field12) {
+        this.field12 = field12;
+    }
+
+    public int getField13() {
+        return field13;
+    }
+
+    public void setField13(int field13) {
+        this.field13 = field13;
+    }
+
+    public boolean isField14() {
+        return field14;
+    }
+
+    public void setField14(boolean field14) {
+        this.field14 = field14;
+    }
+
+    public long getField15() {
+        return field15;
+    }
+
+    public void setField15(long field15) {
+        this.field15 = field15;
+    }
+
+    public double getField16() {
+        return field16;
+    }
+
+    public void setField16(double field16) {
+        this.field16 = field16;
+    }
+
+    public String getField17() {
+        return field17;
+    }
+
+    public void setField17(String field17) {
+        this.field17 = field17;
+    }
+
+    public int getField18() {
+        return field18;
+    }
+
+    public void setField18(int field18) {
+        this.field18 = field18;
+    }
+
+    public boolean isField19() {
+        return field19;
+    }
+
+    public void setField19(boolean field19) {
+        this.field19 = field19;
+    }
+
+    public long getField20() {
+        return field20;
+    }
+
+    public void setField20(long field20) {
+        this.field20 = field20;
+    }
+
+    public double getField21() {
+        return field21;
+    }
+
+    public void setField21(double field21) {
+        this.field21 = field21;
+    }
+
+    public String getField22() {
+        return field22;
+    }
+
+    public void setField22(String field22) {
+        this.field22 = field22;
+    }
+
+    public int getField23() {
+        return field23;
+    }
+
+    public void setField23(int field23) {
+        this.field23 = field23;
+    }
+
+    public boolean isField24() {
+        return field24;
+    }
+
+    public void setField24(boolean field24) {
+        this.field24 = field24;
+    }
+
+    public long getField25() {
+        return field25;
+    }
+
+    public void setField25(long field25) {
+        this.field25 = field25;
+    }
+
+    public double getField26() {
+        return field26;
+    }
+
+    public void setField26(double field26) {
+        this.field26 = field26;
+    }
+
+    public String getField27() {
+        return field27;
+    }
+
+    public void setField27(String field27) {
+        this.field27 = field27;
+    }
+
+    public int getField28() {
+        return field28;
+    }
+
+    public void setField28(int field28) {
+        this.field28 = field28;
+    }
+
+    public boolean isField29() {
+        return field29;
+    }
+
+    public void setField29(boolean field29) {
+        this.field29 = field29;
+    }
+
+    public long getField30() {
+        return field30;
+    }
+
+    public void setField30(long field30) {
+        this.field30 = field30;
+    }
+
+    public double getField31() {
+        return field31;
+    }
+
+    public void setField31(double field31) {
+        this.field31 = field31;
+    }
+
+    public String getField32() {
+        return field32;
+    }
+
+    public void setField32(String field32) {
+        this.field32 = field32;
+    }
+
+    public int getField33() {
+        return field33;
+    }
+
+    public void setField33(int field33) {
+        this.field33 = field33;
+    }
+
+    public boolean isField34() {
+        return field34;
+    }
+
+    public void setField34(boolean field34) {
+        this.field34 = field34;
+    }
+
+    public long getField35() {
+        return field35;
+    }
+
+    public void setField35(long field35) {
+        this.field35 = field35;
+    }
+
+    public double getField36() {
+        return field36;
+    }
+
+    public void setField36(double field36) {
+        this.field36 = field36;
+    }
+
+    public String getField37() {
+        return field37;
+    }
+
+    public void setField37(String field37) {
+        this.field37 = field37;
+    }
+
+    public int getField38() {
+        return field38;
+    }
+
+    public void setField38(int field38) {
+        this.field38 = field38;
+    }
+
+    public boolean isField39() {
+        return field39;
+    }
+
+    public void setField39(boolean field39) {
+        this.field39 = field39;
+    }
+
+    public long getField40() {
+        return field40;
+    }
+
+    public void setField40(long field40) {
+        this.field40 = field40;
+    }
+
+    public double getField41() {
+        return field41;
+    }
+
+    public void setField41(double field41) {
+        this.field41 = field41;
+    }
+
+    public String getField42() {
+        return field42;
+    }
+
+    public void setField42(String field42) {
+        this.field42 = field42;
+    }
+
+    public int getField43() {
+        return field43;
+    }
+
+    public void setField43(int field43) {
+        this.field43 = field43;
+    }
+
+    public boolean isField44() {
+        return field44;
+    }
+
+    public void setField44(boolean field44) {
+        this.field44 = field44;
+    }
+
+    public long getField45() {
+        return field45;
+    }
+
+    public void setField45(long field45) {
+        this.field45 = field45;
+    }
+
+    public double getField46() {
+        return field46;
+    }
+
+    public void setField46(double field46) {
+        this.field46 = field46;
+    }
+
+    public String getField47() {
+        return field47;
+    }
+
+    public void setField47(String field47) {
+        this.field47 = field47;
+    }
+
+    public int getField48() {
+        return field48;
+    }
+
+    public void setField48(int field48) {
+        this.field48 = field48;
+    }
+
+    public boolean isField49() {
+        return field49;
+    }
+
+    public void setField49(boolean field49) {
+        this.field49 = field49;
+    }
+}
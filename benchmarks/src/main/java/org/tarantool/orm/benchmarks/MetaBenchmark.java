@@ -0,0 +1,108 @@
+package org.tarantool.orm.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.tarantool.orm.generated.ManagerFactory;
+import org.tarantool.orm.internals.Meta;
+import org.tarantool.orm.internals.MsgPack;
+import org.tarantool.orm.internals.MsgPackReader;
+import org.tarantool.orm.internals.MsgPackWriter;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToIntFunction;
+
+/**
+ * Generated conversions of tuples to and from lists of field values and their encoding. Decoded lists have the types
+ * the connector produces, e.g. lists of numbers for primitive arrays.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class MetaBenchmark {
+    @Param({"mixed", "wide", "lazy-wide"})
+    public String tuple;
+
+    private Meta<Object> meta;
+    private Object value;
+    private ToIntFunction<Object> id;
+    private List<?> received;
+    private byte[] encoded;
+    private final MsgPackWriter writer = new MsgPackWriter(1024);
+
+    @Setup
+    public void setUp() {
+        ManagerFactory factory = new ManagerFactory(Fixtures.client());
+
+        if ("mixed".equals(tuple)) {
+            meta = Fixtures.meta(factory.mixedTupleManager());
+            value = MixedTuple.of(42);
+            id = decoded -> ((MixedTuple) decoded).getId();
+        } else if ("wide".equals(tuple)) {
+            meta = Fixtures.meta(factory.wideTupleManager());
+            value = WideTuple.of(42);
+            id = decoded -> ((WideTuple) decoded).getId();
+        } else {
+            meta = Fixtures.meta(factory.lazyWideTupleManager());
+            value = LazyWideTuple.of(42);
+            id = decoded -> ((LazyWideTuple) decoded).getId();
+        }
+
+        encoded = MsgPack.encode(meta.toList(value));
+        received = (List<?>) MsgPack.decode(encoded);
+    }
+
+    @Benchmark
+    public List<?> toList() {
+        return meta.toList(value);
+    }
+
+    // what the ORM writes itself, e.g. to off-heap caches
+    @Benchmark
+    public int encode() {
+        writer.reset();
+        meta.encode(value, writer);
+        return writer.size();
+    }
+
+    // what the connector does with the result of toList
+    @Benchmark
+    public byte[] encodeList() {
+        return MsgPack.encode(meta.toList(value));
+    }
+
+    @Benchmark
+    public Object fromList() {
+        return meta.fromList(received);
+    }
+
+    // a read which needs one field of the tuple
+    @Benchmark
+    public int fromListOneField() {
+        return id.applyAsInt(meta.fromList(received));
+    }
+
+    // what the ORM reads itself, e.g. from off-heap caches
+    @Benchmark
+    public Object decode() {
+        return meta.decode(new MsgPackReader(encoded));
+    }
+
+    // what the connector and fromList do with a response
+    @Benchmark
+    public Object decodeList() {
+        return meta.fromList((List<?>) MsgPack.decode(encoded));
+    }
+}
@@ -0,0 +1,138 @@
+package org.tarantool.orm.benchmarks;
+
+import org.tarantool.orm.annotations.Index;
+import org.tarantool.orm.annotations.IndexedField;
+import org.tarantool.orm.annotations.IndexedFieldParams;
+import org.tarantool.orm.annotations.Tuple;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Tuple with a mix of primitives, a primitive array, an array of tags and a map, like most tuples of the tests.
+ */
+@Tuple(spaceName = "mixed", indexes = {
+        @Index(name = "primary", isPrimary = true),
+        @Index(name = "name")
+})
+public class MixedTuple {
+    @IndexedField(indexes = @IndexedFieldParams(indexName = "primary"))
+    private int id;
+    @IndexedField(indexes = @IndexedFieldParams(indexName = "name"))
+    private String name;
+    private short rank;
+    private byte level;
+    private long total;
+    private float ratio;
+    private double score;
+    private long[] history;
+    private boolean active;
+    private Object[] tags;
+    private Map<String, Object> attributes;
+
+    public static MixedTuple of(int id) {
+        MixedTuple tuple = new MixedTuple();
+        tuple.id = id;
+        tuple.name = "name-" + id;
+        tuple.rank = (short) id;
+        tuple.level = (byte) id;
+        tuple.total = id * 1_000_000_007L;
+        tuple.ratio = id / 3f;
+        tuple.score = id / 7d;
+        tuple.history = new long[]{id, id + 1L, id + 2L, id + 3L};
+        tuple.active = id % 2 == 0;
+        tuple.tags = new Object[]{"a", id, 1.5d};
+        tuple.attributes = new HashMap<>();
+        tuple.attributes.put("created", 1577836800L + id);
+        tuple.attributes.put("source", "benchmark");
+        return tuple;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public short getRank() {
+        return rank;
+    }
+
+    public void setRank(short rank) {
+        this.rank = rank;
+    }
+
+    public byte getLevel() {
+        return level;
+    }
+
+    public void setLevel(byte level) {
+        this.level = level;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    public float getRatio() {
+        return ratio;
+    }
+
+    public void setRatio(float ratio) {
+        this.ratio = ratio;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    public void setScore(double score) {
+        this.score = score;
+    }
+
+    public long[] getHistory() {
+        return history;
+    }
+
+    public void setHistory(long[] history) {
+        this.history = history;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    public void setActive(boolean active) {
+        this.active = active;
+    }
+
+    public Object[] getTags() {
+        return tags;
+    }
+
+    public void setTags(Object[] tags) {
+        this.tags = tags;
+    }
+
+    public Map<String, Object> getAttributes() {
+        return attributes;
+    }
+
+    public void setAttributes(Map<String, Object> attributes) {
+        this.attributes = attributes;
+    }
+}
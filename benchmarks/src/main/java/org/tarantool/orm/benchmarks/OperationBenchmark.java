@@ -0,0 +1,163 @@
+package org.tarantool.orm.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import org.tarantool.Iterator;
+import org.tarantool.orm.fake.FakeTarantoolClient;
+import org.tarantool.orm.generated.ManagerFactory;
+import org.tarantool.orm.generated.MixedTupleManager;
+import org.tarantool.orm.internals.operations.BulkResult;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of operations on the client: building requests, encoding and decoding tuples and the bookkeeping
+ * of the ORM, measured against {@link FakeTarantoolClient}, whose own work is a map lookup and, for writes,
+ * a MessagePack round trip of the tuple. Run with {@code -prof gc} to see allocation per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class OperationBenchmark {
+    private static final int ROWS = 1024;
+    private static final int GET_ALL_KEYS = 16;
+    private static final int BULK_SIZE = 100;
+    private static final int PAGE_SIZE = 100;
+    private static final Set<MixedTupleManager.Fields> PROJECTION = EnumSet.of(MixedTupleManager.Fields.ID, MixedTupleManager.Fields.RANK, MixedTupleManager.Fields.TOTAL);
+
+    private MixedTupleManager manager;
+    private MixedTuple[] tuples;
+    private List<Integer> getAllKeys;
+    private List<MixedTuple> bulk;
+
+    @State(Scope.Thread)
+    public static class Keys {
+        private int next;
+
+        int next() {
+            next = (next + 1) & (ROWS - 1);
+            return next;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        manager = new ManagerFactory(Fixtures.client()).mixedTupleManager();
+        tuples = new MixedTuple[ROWS];
+        getAllKeys = new ArrayList<>();
+        bulk = new ArrayList<>();
+
+        for (int i = 0; i < ROWS; i++) {
+            tuples[i] = MixedTuple.of(i);
+            manager.replace(tuples[i]).runSync();
+        }
+        for (int i = 0; i < GET_ALL_KEYS; i++) {
+            getAllKeys.add(i * (ROWS / GET_ALL_KEYS));
+        }
+        for (int i = 0; i < BULK_SIZE; i++) {
+            bulk.add(tuples[i]);
+        }
+    }
+
+    @Benchmark
+    public MixedTuple selectSync(Keys keys) {
+        return manager.selectUsingPrimaryIndex(keys.next()).runSync();
+    }
+
+    @Benchmark
+    public MixedTuple selectAsync(Keys keys) {
+        return manager.selectUsingPrimaryIndex(keys.next()).runAsync().toCompletableFuture().join();
+    }
+
+    // only the fields a dashboard needs are sent by the server and decoded
+    @Benchmark
+    public MixedTuple selectFields(Keys keys) {
+        return manager.selectUsingPrimaryIndex(keys.next(), PROJECTION).runSync();
+    }
+
+    @Benchmark
+    public List<MixedTuple> selectMany(Keys keys) {
+        return manager.selectManyUsingPrimaryIndex(keys.next(), 0, 10, Iterator.GE).runSync();
+    }
+
+    @Benchmark
+    public Map<Integer, MixedTuple> getAll() {
+        return manager.getAll(getAllKeys).runSync();
+    }
+
+    // keys above the preloaded ones, so the space keeps its size
+    @Benchmark
+    public MixedTuple insertAndDelete(Keys keys) {
+        MixedTuple inserted = manager.insert(MixedTuple.of(ROWS + keys.next())).runSync();
+        return manager.delete(inserted).runSync();
+    }
+
+    @Benchmark
+    public MixedTuple replace(Keys keys) {
+        return manager.replace(tuples[keys.next()]).runSync();
+    }
+
+    @Benchmark
+    public MixedTuple replaceAsync(Keys keys) {
+        return manager.replace(tuples[keys.next()]).runAsync().toCompletableFuture().join();
+    }
+
+    @Benchmark
+    public MixedTuple update(Keys keys) {
+        return manager.update(keys.next(), manager.updateBuilder().incrementTotal(1)).runSync();
+    }
+
+    @Benchmark
+    public MixedTuple upsert(Keys keys) {
+        return manager.upsert(tuples[keys.next()], manager.updateBuilder().incrementTotal(1)).runSync();
+    }
+
+    @Benchmark
+    public BulkResult bulkReplace() {
+        return manager.bulkReplace(bulk, false).runSync();
+    }
+
+    // pages of the fake client complete at once, so the whole space is read by the time subscribe returns
+    @Benchmark
+    public void scan(Blackhole blackhole) {
+        manager.scanUsingPrimaryIndex(Iterator.GE, PAGE_SIZE).subscribe(new Subscriber<MixedTuple>() {
+            @Override
+            public void onSubscribe(Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(MixedTuple tuple) {
+                blackhole.consume(tuple);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                throw new IllegalStateException(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+    }
+}
@@ -0,0 +1,681 @@
+package org.tarantool.orm.fake;
+
+import org.tarantool.Iterator;
+import org.tarantool.TarantoolClient;
+import org.tarantool.TarantoolClientOps;
+import org.tarantool.TarantoolException;
+import org.tarantool.TarantoolSQLOps;
+import org.tarantool.orm.internals.MsgPack;
+import org.tarantool.schema.TarantoolSchemaMeta;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * In-process stand-in for the connector and the server which keeps spaces in memory, so benchmarks measure
+ * the ORM rather than the network. Tuples are stored as the connector would return them: they are passed through
+ * MessagePack on write, and reads return stored tuples without copying. Asynchronous operations complete
+ * before they are returned unless {@link #latency} is set.
+ *
+ * <p>Supports what generated managers send: selects by the primary index with any iterator, by secondary indexes
+ * with EQ and ALL, writes, updates with arithmetic, bitwise, assignment and splice operations, and calls of the
+ * functions of bulk writes, lookups of many keys and selects of fields.
+ */
+public final class FakeTarantoolClient implements TarantoolClient {
+    // error codes of Tarantool
+    private static final long TUPLE_FOUND = 3;
+    private static final long NO_SUCH_PROCEDURE = 33;
+    private static final long NO_SUCH_SPACE = 36;
+
+    private static final String BULK_WRITE = "tarantool_orm_bulk_write_";
+    private static final String GET_ALL = "tarantool_orm_get_all_";
+    private static final String SELECT_FIELDS = "tarantool_orm_select_fields_";
+
+    private final ConcurrentHashMap<String, Space> spaces = new ConcurrentHashMap<>();
+    private final AtomicLong requests = new AtomicLong();
+    // null if responses are not delayed
+    private volatile LongSupplier latency;
+    private volatile ScheduledExecutorService responder;
+    private volatile boolean closed;
+
+    private final Ops<List<?>> syncOps = new Ops<List<?>>() {
+        @Override
+        List<?> respond(Supplier<List<?>> request) {
+            LongSupplier delay = latency;
+            if (delay != null) {
+                LockSupport.parkNanos(delay.getAsLong());
+            }
+            return request.get();
+        }
+    };
+
+    private final Ops<CompletionStage<List<?>>> composableAsyncOps = new Ops<CompletionStage<List<?>>>() {
+        @Override
+        CompletionStage<List<?>> respond(Supplier<List<?>> request) {
+            return future(request);
+        }
+    };
+
+    private final Ops<Future<List<?>>> asyncOps = new Ops<Future<List<?>>>() {
+        @Override
+        Future<List<?>> respond(Supplier<List<?>> request) {
+            return future(request);
+        }
+    };
+
+    private final Ops<Long> fireAndForgetOps = new Ops<Long>() {
+        @Override
+        Long respond(Supplier<List<?>> request) {
+            future(request);
+            return requests.get();
+        }
+    };
+
+    /**
+     * Creates a space if it does not exist. The first index is the primary one,
+     * indexes are given by name and zero-based numbers of their fields.
+     */
+    public FakeTarantoolClient space(String spaceName, String primaryIndexName, int... primaryIndexFields) {
+        spaces.computeIfAbsent(spaceName, ignored -> new Space(spaceName, primaryIndexName, primaryIndexFields));
+        return this;
+    }
+
+    public FakeTarantoolClient index(String spaceName, String indexName, int... fields) {
+        space(spaceName).secondaryIndexes.put(indexName, fields);
+        return this;
+    }
+
+    /**
+     * Delays responses by the given number of nanoseconds to stand in for the network and the server.
+     * Requests are executed when they are sent, asynchronous ones are completed by a pool of two threads
+     * after the delay, synchronous ones park the caller. The supplier is called once per request.
+     */
+    public FakeTarantoolClient latency(LongSupplier nanos) {
+        synchronized (this) {
+            if (responder == null) {
+                responder = Executors.newScheduledThreadPool(2, runnable -> {
+                    Thread thread = new Thread(runnable, "fake-tarantool-responder");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            }
+        }
+
+        latency = nanos;
+        return this;
+    }
+
+    // number of requests received by the client
+    public long getRequests() {
+        return requests.get();
+    }
+
+    @Override
+    public TarantoolClientOps<Integer, List<?>, Object, List<?>> syncOps() {
+        return syncOps;
+    }
+
+    @Override
+    public TarantoolClientOps<Integer, List<?>, Object, Future<List<?>>> asyncOps() {
+        return asyncOps;
+    }
+
+    @Override
+    public TarantoolClientOps<Integer, List<?>, Object, CompletionStage<List<?>>> composableAsyncOps() {
+        return composableAsyncOps;
+    }
+
+    @Override
+    public TarantoolClientOps<Integer, List<?>, Object, Long> fireAndForgetOps() {
+        return fireAndForgetOps;
+    }
+
+    @Override
+    public TarantoolSQLOps<Object, Long, List<Map<String, Object>>> sqlSyncOps() {
+        throw new UnsupportedOperationException("SQL is not supported by the fake client");
+    }
+
+    @Override
+    public TarantoolSQLOps<Object, Future<Long>, Future<List<Map<String, Object>>>> sqlAsyncOps() {
+        throw new UnsupportedOperationException("SQL is not supported by the fake client");
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+
+        synchronized (this) {
+            if (responder != null) {
+                responder.shutdown();
+            }
+        }
+    }
+
+    @Override
+    public boolean isAlive() {
+        return !closed;
+    }
+
+    @Override
+    public boolean isClosed() {
+        return closed;
+    }
+
+    @Override
+    public void waitAlive() {
+    }
+
+    @Override
+    public boolean waitAlive(long timeout, TimeUnit unit) {
+        return !closed;
+    }
+
+    @Override
+    public TarantoolSchemaMeta getSchemaMeta() {
+        throw new UnsupportedOperationException("Schema is not supported by the fake client");
+    }
+
+    private CompletableFuture<List<?>> future(Supplier<List<?>> request) {
+        CompletableFuture<List<?>> future = new CompletableFuture<>();
+        List<?> response = null;
+        RuntimeException error = null;
+
+        try {
+            response = request.get();
+        } catch (RuntimeException e) {
+            error = e;
+        }
+
+        LongSupplier delay = latency;
+        if (delay == null) {
+            complete(future, response, error);
+        } else {
+            List<?> delayed = response;
+            RuntimeException delayedError = error;
+            responder.schedule(() -> complete(future, delayed, delayedError), delay.getAsLong(), TimeUnit.NANOSECONDS);
+        }
+
+        return future;
+    }
+
+    private static void complete(CompletableFuture<List<?>> future, List<?> response, RuntimeException error) {
+        if (error != null) {
+            future.completeExceptionally(error);
+        } else {
+            future.complete(response);
+        }
+    }
+
+    private Space space(String spaceName) {
+        Space space = spaces.get(spaceName);
+        if (space == null) {
+            throw new TarantoolException(NO_SUCH_SPACE, String.format("Space '%s' does not exist", spaceName));
+        }
+
+        return space;
+    }
+
+    private List<?> call(String function, Object[] args) {
+        if (function.startsWith(BULK_WRITE)) {
+            return space(function.substring(BULK_WRITE.length())).bulkWrite((String) args[0], (List<?>) args[1], (Boolean) args[2]);
+        }
+        if (function.startsWith(GET_ALL)) {
+            return space(function.substring(GET_ALL.length())).getAll((List<?>) args[0]);
+        }
+        if (function.startsWith(SELECT_FIELDS)) {
+            List<?> rows = space(function.substring(SELECT_FIELDS.length()))
+                    .select((String) args[0], normalize(args[1]), (Integer) args[3], (Integer) args[4], Iterator.valueOf((String) args[5]));
+            return Collections.singletonList(project(rows, (List<?>) args[2]));
+        }
+
+        throw new TarantoolException(NO_SUCH_PROCEDURE, String.format("Procedure '%s' is not defined", function));
+    }
+
+    // positions of fields are 1-based like in Lua
+    private static List<?> project(List<?> tuples, List<?> fields) {
+        List<Object> rows = new ArrayList<>(tuples.size());
+
+        for (Object tuple : tuples) {
+            List<?> values = (List<?>) tuple;
+            List<Object> row = new ArrayList<>(fields.size());
+
+            for (Object field : fields) {
+                int position = (Integer) field - 1;
+                row.add(position < values.size() ? values.get(position) : null);
+            }
+
+            rows.add(row);
+        }
+
+        return rows;
+    }
+
+    // tuples are stored with the types the connector decodes them to
+    private static List<?> normalize(Object value) {
+        return (List<?>) MsgPack.decode(MsgPack.encode(value));
+    }
+
+    private abstract class Ops<R> implements TarantoolClientOps<Integer, List<?>, Object, R> {
+        abstract R respond(Supplier<List<?>> request);
+
+        private R execute(Supplier<List<?>> request) {
+            if (closed) {
+                throw new IllegalStateException("Client is closed");
+            }
+
+            requests.incrementAndGet();
+            return respond(request);
+        }
+
+        @Override
+        public R select(Integer space, Integer index, List<?> key, int offset, int limit, int iterator) {
+            throw new UnsupportedOperationException("Spaces and indexes are looked up by name");
+        }
+
+        @Override
+        public R select(String space, String index, List<?> key, int offset, int limit, int iterator) {
+            return select(space, index, key, offset, limit, Iterator.valueOf(iterator));
+        }
+
+        @Override
+        public R select(Integer space, Integer index, List<?> key, int offset, int limit, Iterator iterator) {
+            throw new UnsupportedOperationException("Spaces and indexes are looked up by name");
+        }
+
+        @Override
+        public R select(String space, String index, List<?> key, int offset, int limit, Iterator iterator) {
+            return execute(() -> space(space).select(index, normalize(key), offset, limit, iterator));
+        }
+
+        @Override
+        public R insert(Integer space, List<?> tuple) {
+            throw new UnsupportedOperationException("Spaces are looked up by name");
+        }
+
+        @Override
+        public R insert(String space, List<?> tuple) {
+            return execute(() -> space(space).insert(normalize(tuple)));
+        }
+
+        @Override
+        public R replace(Integer space, List<?> tuple) {
+            throw new UnsupportedOperationException("Spaces are looked up by name");
+        }
+
+        @Override
+        public R replace(String space, List<?> tuple) {
+            return execute(() -> space(space).replace(normalize(tuple)));
+        }
+
+        @Override
+        public R update(Integer space, List<?> key, Object... ops) {
+            throw new UnsupportedOperationException("Spaces are looked up by name");
+        }
+
+        @Override
+        public R update(String space, List<?> key, Object... ops) {
+            return execute(() -> space(space).update(normalize(key), ops));
+        }
+
+        @Override
+        public R upsert(Integer space, List<?> key, List<?> defaultTuple, Object... ops) {
+            throw new UnsupportedOperationException("Spaces are looked up by name");
+        }
+
+        @Override
+        public R upsert(String space, List<?> key, List<?> defaultTuple, Object... ops) {
+            return execute(() -> space(space).upsert(normalize(defaultTuple), ops));
+        }
+
+        @Override
+        public R delete(Integer space, List<?> key) {
+            throw new UnsupportedOperationException("Spaces are looked up by name");
+        }
+
+        @Override
+        public R delete(String space, List<?> key) {
+            return execute(() -> space(space).delete(normalize(key)));
+        }
+
+        @Override
+        public R call(String function, Object... args) {
+            return execute(() -> FakeTarantoolClient.this.call(function, args));
+        }
+
+        // sources of functions are not run, calls of known functions are served by the fake
+        @Override
+        public R eval(String expression, Object... args) {
+            return execute(Collections::emptyList);
+        }
+
+        @Override
+        public void ping() {
+        }
+
+        @Override
+        public void close() {
+            FakeTarantoolClient.this.close();
+        }
+    }
+
+    private static final class Space {
+        private static final Comparator<List<?>> KEY_ORDER = Space::compareKeys;
+
+        private final String name;
+        private final String primaryIndexName;
+        private final int[] primaryIndexFields;
+        private final Map<String, int[]> secondaryIndexes = new ConcurrentHashMap<>();
+        private final ConcurrentSkipListMap<List<?>, List<?>> tuples = new ConcurrentSkipListMap<>(KEY_ORDER);
+
+        private Space(String name, String primaryIndexName, int[] primaryIndexFields) {
+            this.name = name;
+            this.primaryIndexName = primaryIndexName;
+            this.primaryIndexFields = primaryIndexFields;
+        }
+
+        private List<?> select(String index, List<?> key, int offset, int limit, Iterator iterator) {
+            Collection<List<?>> candidates;
+
+            if (primaryIndexName.equals(index)) {
+                candidates = range(key, iterator);
+            } else {
+                int[] fields = secondaryIndexes.get(index);
+                if (fields == null) {
+                    throw new IllegalArgumentException(String.format("Index %s is not defined in space %s", index, name));
+                }
+                if (iterator != Iterator.EQ && iterator != Iterator.ALL) {
+                    throw new UnsupportedOperationException(String.format("Iterator %s is supported only by primary indexes", iterator));
+                }
+
+                candidates = new ArrayList<>();
+                for (List<?> tuple : tuples.values()) {
+                    if (compareKeys(extract(tuple, fields), key) == 0) {
+                        candidates.add(tuple);
+                    }
+                }
+            }
+
+            List<Object> result = new ArrayList<>(Math.min(limit, candidates.size()));
+            int skipped = 0;
+
+            for (List<?> tuple : candidates) {
+                if (result.size() >= limit) {
+                    break;
+                }
+                if (skipped++ >= offset) {
+                    result.add(tuple);
+                }
+            }
+
+            return result;
+        }
+
+        private Collection<List<?>> range(List<?> key, Iterator iterator) {
+            if (key.isEmpty() || iterator == Iterator.ALL) {
+                return iterator == Iterator.LE || iterator == Iterator.LT || iterator == Iterator.REQ ? tuples.descendingMap().values() : tuples.values();
+            }
+
+            // keys shorter than the index match all tuples with the prefix, compareKeys treats them as equal
+            switch (iterator) {
+                case EQ:
+                    if (key.size() == primaryIndexFields.length) {
+                        List<?> tuple = tuples.get(key);
+                        return tuple == null ? Collections.emptyList() : Collections.singletonList(tuple);
+                    }
+                    return prefix(key, tuples.tailMap(key, true));
+                case REQ:
+                    return prefix(key, tuples.headMap(key, true).descendingMap());
+                case GE:
+                    return tuples.tailMap(key, true).values();
+                case GT:
+                    return after(key, tuples.tailMap(key, true));
+                case LE:
+                    return tuples.headMap(key, true).descendingMap().values();
+                case LT:
+                    return after(key, tuples.headMap(key, true).descendingMap());
+                default:
+                    throw new UnsupportedOperationException(String.format("Iterator %s is not supported", iterator));
+            }
+        }
+
+        private static Collection<List<?>> prefix(List<?> key, NavigableMap<List<?>, List<?>> range) {
+            List<List<?>> result = new ArrayList<>();
+
+            for (Map.Entry<List<?>, List<?>> entry : range.entrySet()) {
+                if (compareKeys(entry.getKey(), key) != 0) {
+                    break;
+                }
+                result.add(entry.getValue());
+            }
+
+            return result;
+        }
+
+        // entries of the range which do not match the key
+        private static Collection<List<?>> after(List<?> key, NavigableMap<List<?>, List<?>> range) {
+            List<List<?>> result = new ArrayList<>();
+
+            for (Map.Entry<List<?>, List<?>> entry : range.entrySet()) {
+                if (!result.isEmpty() || compareKeys(entry.getKey(), key) != 0) {
+                    result.add(entry.getValue());
+                }
+            }
+
+            return result;
+        }
+
+        private synchronized List<?> insert(List<?> tuple) {
+            List<?> key = extract(tuple, primaryIndexFields);
+            if (tuples.containsKey(key)) {
+                throw new TarantoolException(TUPLE_FOUND, String.format("Duplicate key exists in unique index '%s' in space '%s'", primaryIndexName, name));
+            }
+
+            tuples.put(key, tuple);
+            return Collections.singletonList(tuple);
+        }
+
+        private synchronized List<?> replace(List<?> tuple) {
+            tuples.put(extract(tuple, primaryIndexFields), tuple);
+            return Collections.singletonList(tuple);
+        }
+
+        private synchronized List<?> delete(List<?> key) {
+            List<?> tuple = tuples.remove(key);
+            return tuple == null ? Collections.emptyList() : Collections.singletonList(tuple);
+        }
+
+        private synchronized List<?> update(List<?> key, Object[] ops) {
+            List<?> tuple = tuples.get(key);
+            if (tuple == null) {
+                return Collections.emptyList();
+            }
+
+            List<?> updated = apply(tuple, ops);
+            tuples.put(key, updated);
+            return Collections.singletonList(updated);
+        }
+
+        private synchronized List<?> upsert(List<?> defaultTuple, Object[] ops) {
+            List<?> key = extract(defaultTuple, primaryIndexFields);
+            List<?> tuple = tuples.get(key);
+
+            tuples.put(key, tuple == null ? defaultTuple : apply(tuple, ops));
+            return Collections.emptyList();
+        }
+
+        // result -> [[count, [failed positions]]]
+        private List<?> bulkWrite(String operation, List<?> values, boolean atomic) {
+            int count = 0;
+            List<Integer> failed = new ArrayList<>();
+
+            synchronized (this) {
+                // only inserts can fail, so atomic writes are checked before anything is applied
+                if (atomic && "insert".equals(operation)) {
+                    Set<List<?>> keys = new HashSet<>();
+                    for (Object value : values) {
+                        List<?> key = extract(normalize(value), primaryIndexFields);
+                        if (tuples.containsKey(key) || !keys.add(key)) {
+                            throw new TarantoolException(TUPLE_FOUND, String.format("Duplicate key exists in unique index '%s' in space '%s'", primaryIndexName, name));
+                        }
+                    }
+                }
+
+                for (int i = 0; i < values.size(); i++) {
+                    List<?> value = normalize(values.get(i));
+
+                    try {
+                        List<?> result;
+                        if ("insert".equals(operation)) {
+                            result = insert(value);
+                        } else if ("replace".equals(operation)) {
+                            result = replace(value);
+                        } else {
+                            result = delete(value);
+                        }
+
+                        count += result.size();
+                    } catch (TarantoolException e) {
+                        failed.add(i);
+                    }
+                }
+            }
+
+            List<Object> result = new ArrayList<>();
+            result.add(count);
+            result.add(failed);
+            return Collections.singletonList(result);
+        }
+
+        // result -> [[tuple, tuple, ...]]
+        private List<?> getAll(List<?> keys) {
+            List<Object> found = new ArrayList<>(keys.size());
+
+            for (Object key : keys) {
+                List<?> tuple = tuples.get(normalize(key));
+                if (tuple != null) {
+                    found.add(tuple);
+                }
+            }
+
+            return Collections.singletonList(found);
+        }
+
+        private static List<?> apply(List<?> tuple, Object[] ops) {
+            List<Object> updated = new ArrayList<>(tuple);
+
+            for (Object op : ops) {
+                List<?> operation = (List<?>) op;
+                String operator = (String) operation.get(0);
+                if (!(operation.get(1) instanceof Number)) {
+                    throw new UnsupportedOperationException("Updates of JSON paths are not supported by the fake client");
+                }
+
+                int field = ((Number) operation.get(1)).intValue();
+                Object current = updated.get(field);
+                Object argument = operation.get(2);
+
+                switch (operator) {
+                    case "=":
+                        updated.set(field, argument);
+                        break;
+                    case "+":
+                        updated.set(field, arithmetic(current, argument, 1));
+                        break;
+                    case "-":
+                        updated.set(field, arithmetic(current, argument, -1));
+                        break;
+                    case "&":
+                        updated.set(field, ((Number) current).longValue() & ((Number) argument).longValue());
+                        break;
+                    case "|":
+                        updated.set(field, ((Number) current).longValue() | ((Number) argument).longValue());
+                        break;
+                    case "^":
+                        updated.set(field, ((Number) current).longValue() ^ ((Number) argument).longValue());
+                        break;
+                    case ":":
+                        // positions start from 1
+                        String value = (String) current;
+                        int from = ((Number) argument).intValue() - 1;
+                        int to = Math.min(value.length(), from + ((Number) operation.get(3)).intValue());
+                        updated.set(field, value.substring(0, from) + operation.get(4) + value.substring(to));
+                        break;
+                    default:
+                        throw new UnsupportedOperationException(String.format("Update operation %s is not supported by the fake client", operator));
+                }
+            }
+
+            return normalize(updated);
+        }
+
+        private static Object arithmetic(Object current, Object argument, int sign) {
+            Number left = (Number) current;
+            Number right = (Number) argument;
+
+            if (isIntegral(left) && isIntegral(right)) {
+                return left.longValue() + sign * right.longValue();
+            }
+
+            return left.doubleValue() + sign * right.doubleValue();
+        }
+
+        private static List<?> extract(List<?> tuple, int[] fields) {
+            List<Object> key = new ArrayList<>(fields.length);
+
+            for (int field : fields) {
+                key.add(tuple.get(field));
+            }
+
+            return key;
+        }
+
+        // a shorter key is equal to every key it is a prefix of
+        @SuppressWarnings("unchecked")
+        private static int compareKeys(List<?> left, List<?> right) {
+            int length = Math.min(left.size(), right.size());
+
+            for (int i = 0; i < length; i++) {
+                Object a = left.get(i);
+                Object b = right.get(i);
+                int result;
+
+                if (a instanceof Number && b instanceof Number) {
+                    result = isIntegral((Number) a) && isIntegral((Number) b)
+                            ? Long.compare(((Number) a).longValue(), ((Number) b).longValue())
+                            : Double.compare(((Number) a).doubleValue(), ((Number) b).doubleValue());
+                } else {
+                    result = ((Comparable<Object>) a).compareTo(b);
+                }
+
+                if (result != 0) {
+                    return result;
+                }
+            }
+
+            return 0;
+        }
+
+        private static boolean isIntegral(Number number) {
+            return !(number instanceof Double) && !(number instanceof Float);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package org.tarantool.orm.loadtest;
+
+import java.util.SplittableRandom;
+
+/**
+ * Distribution of keys of requests over {@code [0, keys)}.
+ */
+public interface KeyDistribution {
+    int next(SplittableRandom random);
+
+    static KeyDistribution uniform(int keys) {
+        return random -> random.nextInt(keys);
+    }
+
+    // the most requested keys are the smallest ones, theta of 0.99 is the usual skew of YCSB workloads
+    static KeyDistribution zipfian(int keys, double theta) {
+        return new ZipfianKeys(keys, theta);
+    }
+}
@@ -0,0 +1,251 @@
+package org.tarantool.orm.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.tarantool.orm.generated.LoadTupleManager;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Starts requests at a fixed rate regardless of how many of them are in flight (an open model).
+ * Request number {@code i} is intended to start at {@code start + i / rate}, and its latency is measured from that time,
+ * so requests which start late because the generator was blocked, e.g. by a busy thread pool, a slow encoding or a GC pause,
+ * count the delay instead of hiding it (coordinated omission). Latency from the actual start is reported as well
+ * to show how much of the time is spent before requests are sent.
+ */
+public final class LoadGenerator {
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9, 99.99};
+
+    private final LoadTupleManager manager;
+    private final LoadOptions options;
+    private final KeyDistribution keyDistribution;
+    private final String payload;
+    private final PrintStream out;
+
+    private final Latencies reads = new Latencies("reads");
+    private final Latencies writes = new Latencies("writes");
+    private final LongAdder errors = new LongAdder();
+    private final AtomicLong nextRequest = new AtomicLong();
+    private final AtomicLong inFlight = new AtomicLong();
+    private volatile boolean overloaded;
+
+    public LoadGenerator(LoadTupleManager manager, LoadOptions options, PrintStream out) {
+        this.manager = manager;
+        this.options = options;
+        this.keyDistribution = options.getKeyDistribution();
+        this.out = out;
+
+        StringBuilder builder = new StringBuilder(options.getTupleSize());
+        for (int i = 0; i < options.getTupleSize(); i++) {
+            builder.append((char) ('a' + i % 26));
+        }
+        this.payload = builder.toString();
+    }
+
+    // writes every key once, so reads find tuples
+    public void preload() {
+        for (int key = 0; key < options.getKeys(); key++) {
+            manager.replace(new LoadTuple(key, 0, payload)).runSync();
+        }
+    }
+
+    public void run() throws InterruptedException {
+        long start = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(10);
+        long measureStart = start + options.getWarmupNanos();
+        long end = measureStart + options.getDurationNanos();
+        double interval = 1e9 / options.getRate();
+
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "loadtest-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        out.printf("%8s %10s %10s %10s %10s %10s %10s %8s%n", "time, s", "completed", "in flight", "p50, ms", "p99, ms", "p99.9, ms", "max, ms", "errors");
+        reporter.scheduleAtFixedRate(() -> reportInterval(start), 1, 1, TimeUnit.SECONDS);
+
+        SplittableRandom random = new SplittableRandom(options.getSeed());
+        List<Thread> workers = new ArrayList<>();
+        for (int i = 0; i < options.getThreads(); i++) {
+            SplittableRandom workerRandom = random.split();
+            Thread worker = new Thread(() -> generate(workerRandom, start, measureStart, end, interval), "loadtest-worker-" + i);
+            worker.start();
+            workers.add(worker);
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        // requests in flight are waited for, the latest of them are the most delayed ones
+        long drainDeadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(10);
+        }
+
+        reporter.shutdown();
+        reporter.awaitTermination(1, TimeUnit.SECONDS);
+        reportInterval(start);
+        report();
+    }
+
+    private void generate(SplittableRandom random, long start, long measureStart, long end, double interval) {
+        while (!overloaded) {
+            long intended = start + (long) (nextRequest.getAndIncrement() * interval);
+            if (intended >= end) {
+                return;
+            }
+
+            for (long now = System.nanoTime(); now < intended; now = System.nanoTime()) {
+                LockSupport.parkNanos(intended - now);
+            }
+
+            if (inFlight.get() >= options.getMaxInFlight()) {
+                overloaded = true;
+                return;
+            }
+
+            boolean read = random.nextDouble() < options.getReads();
+            int key = keyDistribution.next(random);
+            boolean measured = intended >= measureStart;
+            long sent = System.nanoTime();
+            inFlight.incrementAndGet();
+
+            if (options.isSync()) {
+                Throwable error = null;
+                try {
+                    runSync(read, key);
+                } catch (RuntimeException e) {
+                    error = e;
+                }
+                completed(read, measured, intended, sent, error);
+            } else {
+                CompletionStage<?> stage;
+                try {
+                    stage = runAsync(read, key);
+                } catch (RuntimeException e) {
+                    CompletableFuture<?> failed = new CompletableFuture<>();
+                    failed.completeExceptionally(e);
+                    stage = failed;
+                }
+                stage.whenComplete((result, error) -> completed(read, measured, intended, sent, error));
+            }
+        }
+    }
+
+    private void runSync(boolean read, int key) {
+        if (read) {
+            manager.selectUsingPrimaryIndex(key).runSync();
+        } else if (options.isUpdates()) {
+            manager.update(key, manager.updateBuilder().incrementCounter(1)).runSync();
+        } else {
+            manager.replace(new LoadTuple(key, key, payload)).runSync();
+        }
+    }
+
+    private CompletionStage<?> runAsync(boolean read, int key) {
+        if (read) {
+            return manager.selectUsingPrimaryIndex(key).runAsync();
+        } else if (options.isUpdates()) {
+            return manager.update(key, manager.updateBuilder().incrementCounter(1)).runAsync();
+        } else {
+            return manager.replace(new LoadTuple(key, key, payload)).runAsync();
+        }
+    }
+
+    private void completed(boolean read, boolean measured, long intended, long sent, Throwable error) {
+        long now = System.nanoTime();
+        inFlight.decrementAndGet();
+
+        if (!measured) {
+            return;
+        }
+        if (error != null) {
+            errors.increment();
+            return;
+        }
+
+        (read ? reads : writes).record(intended, sent, now);
+    }
+
+    private void reportInterval(long start) {
+        Histogram interval = new Histogram(3);
+        interval.add(reads.takeInterval());
+        interval.add(writes.takeInterval());
+
+        out.printf("%8d %10d %10d %10.3f %10.3f %10.3f %10.3f %8d%n",
+                TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start),
+                interval.getTotalCount(),
+                inFlight.get(),
+                millis(interval.getValueAtPercentile(50)),
+                millis(interval.getValueAtPercentile(99)),
+                millis(interval.getValueAtPercentile(99.9)),
+                millis(interval.getMaxValue()),
+                errors.sum());
+    }
+
+    private void report() {
+        long completed = reads.total.getTotalCount() + writes.total.getTotalCount();
+        double seconds = options.getDurationNanos() / 1e9;
+
+        out.println();
+        if (overloaded) {
+            out.printf("Stopped: more than %d requests were in flight, the rate of %d/s cannot be sustained%n", options.getMaxInFlight(), options.getRate());
+        }
+        out.printf("Target rate %d/s, completed %.1f/s, errors %d%n", options.getRate(), completed / seconds, errors.sum());
+        reads.report(out);
+        writes.report(out);
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+
+    private static final class Latencies {
+        private final String name;
+        // from the intended start and from the actual start of requests
+        private final Recorder corrected = new Recorder(3);
+        private final Recorder uncorrected = new Recorder(3);
+        private final Histogram total = new Histogram(3);
+        private final Histogram totalUncorrected = new Histogram(3);
+
+        private Latencies(String name) {
+            this.name = name;
+        }
+
+        private void record(long intended, long sent, long now) {
+            corrected.recordValue(now - intended);
+            uncorrected.recordValue(now - sent);
+        }
+
+        // called only by the reporter
+        private synchronized Histogram takeInterval() {
+            Histogram interval = corrected.getIntervalHistogram();
+            total.add(interval);
+            totalUncorrected.add(uncorrected.getIntervalHistogram());
+            return interval;
+        }
+
+        private synchronized void report(PrintStream out) {
+            if (total.getTotalCount() == 0) {
+                return;
+            }
+
+            out.printf("%n%s: %d, mean %.3f ms%n", name, total.getTotalCount(), total.getMean() / 1e6);
+            out.printf("%12s %12s %14s%n", "percentile", "latency, ms", "uncorrected, ms");
+            for (double percentile : PERCENTILES) {
+                out.printf("%12s %12.3f %14.3f%n", percentile, millis(total.getValueAtPercentile(percentile)), millis(totalUncorrected.getValueAtPercentile(percentile)));
+            }
+            out.printf("%12s %12.3f %14.3f%n", "max", millis(total.getMaxValue()), millis(totalUncorrected.getMaxValue()));
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package org.tarantool.orm.loadtest;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Workload of a load test: the arrival rate, the mix of requests, keys and tuples, and the latency of the fake server.
+ */
+public final class LoadOptions {
+    private final int rate;
+    private long durationNanos = TimeUnit.SECONDS.toNanos(60);
+    private long warmupNanos = TimeUnit.SECONDS.toNanos(10);
+    private int keys = 100_000;
+    private double zipfianTheta;
+    private double reads = 0.9;
+    private boolean updates;
+    private int tupleSize = 100;
+    private int threads = 1;
+    private boolean sync;
+    private int maxInFlight = 100_000;
+    private long seed = 42;
+    private long latencyNanos = TimeUnit.MILLISECONDS.toNanos(1);
+    private long jitterNanos;
+    private long stallIntervalNanos;
+    private long stallNanos;
+
+    // rate is the number of requests started per second, whether previous ones completed or not
+    public LoadOptions(int rate) {
+        if (rate <= 0) {
+            throw new IllegalArgumentException("Rate should be positive");
+        }
+
+        this.rate = rate;
+    }
+
+    // requests are measured after the warmup, during the duration
+    public LoadOptions duration(long duration, long warmup, TimeUnit unit) {
+        if (duration <= 0 || warmup < 0) {
+            throw new IllegalArgumentException("Duration should be positive and warmup should not be negative");
+        }
+
+        this.durationNanos = unit.toNanos(duration);
+        this.warmupNanos = unit.toNanos(warmup);
+        return this;
+    }
+
+    public LoadOptions keys(int keys) {
+        if (keys <= 0) {
+            throw new IllegalArgumentException("Number of keys should be positive");
+        }
+
+        this.keys = keys;
+        return this;
+    }
+
+    // keys are uniform by default
+    public LoadOptions zipfian(double theta) {
+        if (theta <= 0 || theta >= 1) {
+            throw new IllegalArgumentException("Theta should be in (0, 1)");
+        }
+
+        this.zipfianTheta = theta;
+        return this;
+    }
+
+    // fraction of selects, the rest are writes
+    public LoadOptions reads(double reads) {
+        if (reads < 0 || reads > 1) {
+            throw new IllegalArgumentException("Fraction of reads should be in [0, 1]");
+        }
+
+        this.reads = reads;
+        return this;
+    }
+
+    // writes increment a field of tuples instead of replacing them
+    public LoadOptions updates() {
+        this.updates = true;
+        return this;
+    }
+
+    // length of the string field of tuples
+    public LoadOptions tupleSize(int tupleSize) {
+        if (tupleSize < 0) {
+            throw new IllegalArgumentException("Tuple size should not be negative");
+        }
+
+        this.tupleSize = tupleSize;
+        return this;
+    }
+
+    // requests are run synchronously by the given number of threads, a request starts late if all of them are busy
+    public LoadOptions sync(int threads) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Number of threads should be positive");
+        }
+
+        this.sync = true;
+        this.threads = threads;
+        return this;
+    }
+
+    // the test stops if more requests are not completed, as the rate cannot be sustained
+    public LoadOptions maxInFlight(int maxInFlight) {
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("Max requests in flight should be positive");
+        }
+
+        this.maxInFlight = maxInFlight;
+        return this;
+    }
+
+    public LoadOptions seed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    // responses of the fake server take the latency plus a uniformly distributed jitter
+    public LoadOptions latency(long latency, long jitter, TimeUnit unit) {
+        if (latency < 0 || jitter < 0) {
+            throw new IllegalArgumentException("Latency and jitter should not be negative");
+        }
+
+        this.latencyNanos = unit.toNanos(latency);
+        this.jitterNanos = unit.toNanos(jitter);
+        return this;
+    }
+
+    // the fake server stops responding for the stall once per interval, as during a pause of GC or a snapshot
+    public LoadOptions stall(long interval, long stall, TimeUnit unit) {
+        if (stall < 0 || interval <= stall) {
+            throw new IllegalArgumentException("Stall should not be negative and should be shorter than its interval");
+        }
+
+        this.stallIntervalNanos = unit.toNanos(interval);
+        this.stallNanos = unit.toNanos(stall);
+        return this;
+    }
+
+    public int getRate() {
+        return rate;
+    }
+
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    public long getWarmupNanos() {
+        return warmupNanos;
+    }
+
+    public int getKeys() {
+        return keys;
+    }
+
+    public KeyDistribution getKeyDistribution() {
+        return zipfianTheta == 0 ? KeyDistribution.uniform(keys) : KeyDistribution.zipfian(keys, zipfianTheta);
+    }
+
+    public boolean isZipfian() {
+        return zipfianTheta != 0;
+    }
+
+    public double getReads() {
+        return reads;
+    }
+
+    public boolean isUpdates() {
+        return updates;
+    }
+
+    public int getTupleSize() {
+        return tupleSize;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public boolean isSync() {
+        return sync;
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public long getLatencyNanos() {
+        return latencyNanos;
+    }
+
+    public long getJitterNanos() {
+        return jitterNanos;
+    }
+
+    public long getStallIntervalNanos() {
+        return stallIntervalNanos;
+    }
+
+    public long getStallNanos() {
+        return stallNanos;
+    }
+}
@@ -0,0 +1,194 @@
+package org.tarantool.orm.loadtest;
+
+import org.tarantool.orm.fake.FakeTarantoolClient;
+import org.tarantool.orm.generated.LoadTupleManager;
+import org.tarantool.orm.generated.ManagerFactory;
+import org.tarantool.orm.internals.CacheOptions;
+import org.tarantool.orm.internals.ManagerOptions;
+import org.tarantool.orm.internals.WriteBehindOptions;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Runs a manager of {@link LoadTuple} against the fake client with the latency of a server, e.g.
+ * {@code java -jar loadtest.jar --rate=20000 --reads=0.8 --keys=1000000 --zipfian=0.99 --latency=1ms --batch-selects=64}.
+ */
+public final class LoadTest {
+    private static final String USAGE = String.join(System.lineSeparator(),
+            "Options, durations have a unit of ns, us, ms, s or m:",
+            "  --rate=N                  requests started per second (required)",
+            "  --duration=D, --warmup=D  time of measurement and of warmup before it, 60s and 10s by default",
+            "  --keys=N                  number of tuples, 100000 by default",
+            "  --zipfian=THETA           zipfian keys with the given skew in (0, 1) instead of uniform ones",
+            "  --reads=F                 fraction of selects, the rest are writes, 0.9 by default",
+            "  --updates                 writes increment a field instead of replacing tuples",
+            "  --tuple-size=N            length of the string field of tuples, 100 by default",
+            "  --sync=THREADS            run requests synchronously by the threads instead of asynchronously",
+            "  --max-in-flight=N         stop if more requests are not completed, 100000 by default",
+            "  --seed=N                  seed of keys and of the mix",
+            "  --latency=D, --jitter=D   latency of the fake server, 1ms and 0 by default",
+            "  --stall=D, --stall-every=D  the fake server stops responding for the time once per interval",
+            "  --batch-selects=N, --batch-delay=D  batch selects of the manager, with 100us delay by default",
+            "  --single-flight           share selects of the same key which are in flight",
+            "  --cache=N                 cache selects of up to N tuples",
+            "  --write-behind=D          buffer writes and flush them with the interval");
+
+    private static final Set<String> OPTIONS = new HashSet<>(Arrays.asList(
+            "--rate", "--duration", "--warmup", "--keys", "--zipfian", "--reads", "--updates", "--tuple-size", "--sync",
+            "--max-in-flight", "--seed", "--latency", "--jitter", "--stall", "--stall-every", "--batch-selects", "--batch-delay",
+            "--single-flight", "--cache", "--write-behind"));
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        LoadOptions options;
+        ManagerOptions managerOptions = new ManagerOptions();
+
+        try {
+            options = parse(args, managerOptions);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            System.exit(2);
+            return;
+        }
+
+        FakeTarantoolClient client = new FakeTarantoolClient().space("load", "primary", 0);
+        LoadTupleManager manager = new ManagerFactory(client, managerOptions).loadTupleManager();
+        LoadGenerator generator = new LoadGenerator(manager, options, System.out);
+
+        generator.preload();
+        if (options.getLatencyNanos() != 0 || options.getJitterNanos() != 0 || options.getStallNanos() != 0) {
+            client.latency(latency(options, System.nanoTime()));
+        }
+
+        generator.run();
+        client.close();
+        System.exit(0);
+    }
+
+    private static LoadOptions parse(String[] args, ManagerOptions managerOptions) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            String name = separator < 0 ? arg : arg.substring(0, separator);
+            if (!OPTIONS.contains(name)) {
+                throw new IllegalArgumentException(String.format("Unknown option %s", arg));
+            }
+            values.put(name, separator < 0 ? null : arg.substring(separator + 1));
+        }
+
+        if (!values.containsKey("--rate")) {
+            throw new IllegalArgumentException("Rate is required");
+        }
+
+        LoadOptions options = new LoadOptions(Integer.parseInt(value(values, "--rate")));
+
+        if (values.containsKey("--duration") || values.containsKey("--warmup")) {
+            long duration = values.containsKey("--duration") ? nanos(value(values, "--duration")) : options.getDurationNanos();
+            long warmup = values.containsKey("--warmup") ? nanos(value(values, "--warmup")) : options.getWarmupNanos();
+            options.duration(duration, warmup, TimeUnit.NANOSECONDS);
+        }
+        if (values.containsKey("--keys")) {
+            options.keys(Integer.parseInt(value(values, "--keys")));
+        }
+        if (values.containsKey("--zipfian")) {
+            options.zipfian(Double.parseDouble(value(values, "--zipfian")));
+        }
+        if (values.containsKey("--reads")) {
+            options.reads(Double.parseDouble(value(values, "--reads")));
+        }
+        if (values.containsKey("--updates")) {
+            options.updates();
+        }
+        if (values.containsKey("--tuple-size")) {
+            options.tupleSize(Integer.parseInt(value(values, "--tuple-size")));
+        }
+        if (values.containsKey("--sync")) {
+            options.sync(Integer.parseInt(value(values, "--sync")));
+        }
+        if (values.containsKey("--max-in-flight")) {
+            options.maxInFlight(Integer.parseInt(value(values, "--max-in-flight")));
+        }
+        if (values.containsKey("--seed")) {
+            options.seed(Long.parseLong(value(values, "--seed")));
+        }
+        if (values.containsKey("--latency") || values.containsKey("--jitter")) {
+            long latency = values.containsKey("--latency") ? nanos(value(values, "--latency")) : options.getLatencyNanos();
+            long jitter = values.containsKey("--jitter") ? nanos(value(values, "--jitter")) : 0;
+            options.latency(latency, jitter, TimeUnit.NANOSECONDS);
+        }
+        if (values.containsKey("--stall") || values.containsKey("--stall-every")) {
+            options.stall(nanos(value(values, "--stall-every")), nanos(value(values, "--stall")), TimeUnit.NANOSECONDS);
+        }
+
+        if (values.containsKey("--batch-selects")) {
+            long delay = values.containsKey("--batch-delay") ? nanos(value(values, "--batch-delay")) : TimeUnit.MICROSECONDS.toNanos(100);
+            managerOptions.batchSelects(Integer.parseInt(value(values, "--batch-selects")), delay, TimeUnit.NANOSECONDS);
+        }
+        if (values.containsKey("--single-flight")) {
+            managerOptions.singleFlightSelects();
+        }
+        if (values.containsKey("--cache")) {
+            managerOptions.cacheSelects("load", new CacheOptions(Integer.parseInt(value(values, "--cache"))));
+        }
+        if (values.containsKey("--write-behind")) {
+            managerOptions.writeBehind("load", new WriteBehindOptions(nanos(value(values, "--write-behind")), TimeUnit.NANOSECONDS));
+        }
+
+        return options;
+    }
+
+    private static String value(Map<String, String> values, String name) {
+        String value = values.get(name);
+        if (value == null || value.isEmpty()) {
+            throw new IllegalArgumentException(String.format("Option %s requires a value", name));
+        }
+
+        return value;
+    }
+
+    private static long nanos(String duration) {
+        String[] units = {"ns", "us", "ms", "s", "m"};
+        TimeUnit[] timeUnits = {TimeUnit.NANOSECONDS, TimeUnit.MICROSECONDS, TimeUnit.MILLISECONDS, TimeUnit.SECONDS, TimeUnit.MINUTES};
+
+        for (int i = 0; i < units.length; i++) {
+            String number = duration.substring(0, Math.max(0, duration.length() - units[i].length()));
+            if (duration.endsWith(units[i]) && !number.isEmpty() && number.chars().allMatch(Character::isDigit)) {
+                return timeUnits[i].toNanos(Long.parseLong(number));
+            }
+        }
+
+        throw new IllegalArgumentException(String.format("Duration %s should be a number with a unit of ns, us, ms, s or m", duration));
+    }
+
+    // the stall is a window at the start of every interval, requests which arrive during it wait until it ends
+    private static LongSupplier latency(LoadOptions options, long origin) {
+        long latency = options.getLatencyNanos();
+        long jitter = options.getJitterNanos();
+        long stallInterval = options.getStallIntervalNanos();
+        long stall = options.getStallNanos();
+
+        return () -> {
+            long delay = latency;
+            if (jitter != 0) {
+                delay += ThreadLocalRandom.current().nextLong(jitter + 1);
+            }
+            if (stall != 0) {
+                long phase = (System.nanoTime() - origin) % stallInterval;
+                if (phase < stall) {
+                    delay += stall - phase;
+                }
+            }
+            return delay;
+        };
+    }
+}
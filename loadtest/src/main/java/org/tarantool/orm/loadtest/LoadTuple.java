@@ -0,0 +1,50 @@
+package org.tarantool.orm.loadtest;
+
+import org.tarantool.orm.annotations.Index;
+import org.tarantool.orm.annotations.IndexedField;
+import org.tarantool.orm.annotations.IndexedFieldParams;
+import org.tarantool.orm.annotations.Tuple;
+
+/**
+ * Tuple of the load test. The size of tuples is set by the length of the payload.
+ */
+@Tuple(spaceName = "load", indexes = @Index(name = "primary", isPrimary = true))
+public class LoadTuple {
+    @IndexedField(indexes = @IndexedFieldParams(indexName = "primary"))
+    private int id;
+    private long counter;
+    private String payload;
+
+    public LoadTuple() {
+    }
+
+    public LoadTuple(int id, long counter, String payload) {
+        this.id = id;
+        this.counter = counter;
+        this.payload = payload;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public long getCounter() {
+        return counter;
+    }
+
+    public void setCounter(long counter) {
+        this.counter = counter;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public void setPayload(String payload) {
+        this.payload = payload;
+    }
+}
@@ -0,0 +1,54 @@
+package org.tarantool.orm.loadtest;
+
+import java.util.SplittableRandom;
+
+/**
+ * Zipfian distribution generated as in "Quickly Generating Billion-Record Synthetic Databases" by Gray et al.,
+ * like in YCSB. The zeta constant is computed once, in time linear in the number of keys.
+ */
+final class ZipfianKeys implements KeyDistribution {
+    private final int keys;
+    private final double theta;
+    private final double zetan;
+    private final double alpha;
+    private final double eta;
+
+    ZipfianKeys(int keys, double theta) {
+        if (keys <= 0) {
+            throw new IllegalArgumentException("Number of keys should be positive");
+        }
+        if (theta <= 0 || theta >= 1) {
+            throw new IllegalArgumentException("Theta should be in (0, 1)");
+        }
+
+        this.keys = keys;
+        this.theta = theta;
+        this.zetan = zeta(keys, theta);
+        this.alpha = 1 / (1 - theta);
+        this.eta = (1 - Math.pow(2.0 / keys, 1 - theta)) / (1 - zeta(2, theta) / zetan);
+    }
+
+    @Override
+    public int next(SplittableRandom random) {
+        double u = random.nextDouble();
+        double uz = u * zetan;
+
+        if (uz < 1) {
+            return 0;
+        }
+        if (uz < 1 + Math.pow(0.5, theta)) {
+            return Math.min(1, keys - 1);
+        }
+
+        return (int) Math.min(keys - 1, (long) (keys * Math.pow(eta * u - eta + 1, alpha)));
+    }
+
+    private static double zeta(int n, double theta) {
+        double sum = 0;
+        for (int i = 1; i <= n; i++) {
+            sum += 1 / Math.pow(i, theta);
+        }
+
+        return sum;
+    }
+}
@@ -0,0 +1,15 @@
+package org.tarantool.orm.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a numeric field which is changed by increments. The manager sums increments on the client
+ * and adds them to the field in background.
+ */
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.SOURCE)
+public @interface Counter {
+}
@@ -9,4 +9,7 @@ import java.lang.annotation.Target;
 @Retention(RetentionPolicy.SOURCE)
 public @interface Field {
     int position() default 1;
+
+    // CharSequence fields hold strings decoded when their characters are read
+    boolean lazyString() default false;
 }
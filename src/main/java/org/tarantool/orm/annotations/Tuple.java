@@ -10,4 +10,8 @@ import java.lang.annotation.Target;
 public @interface Tuple {
     String spaceName();
     Index[] indexes();
+    // generate a subclass which records called setters, so update and upsert send only changed fields
+    boolean trackChanges() default false;
+    // generate a subclass which keeps the received tuple and converts fields when their getters are first called
+    boolean lazyDecoding() default false;
 }
@@ -0,0 +1,52 @@
+package org.tarantool.orm.auto;
+
+import com.squareup.javapoet.*;
+import org.tarantool.orm.internals.ChangeTracker;
+
+import javax.lang.model.element.Modifier;
+import java.util.BitSet;
+
+final class ChangeTrackerGenerator {
+    public ChangeTrackerGenerator() {
+    }
+
+    public static String className(TupleMeta tupleMeta) {
+        return "Tracked" + tupleMeta.initialClassName;
+    }
+
+    public TypeSpec generate(TupleMeta tupleMeta) {
+        TypeSpec.Builder builder = TypeSpec.classBuilder(className(tupleMeta))
+                .addModifiers(Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                .superclass(tupleMeta.classType)
+                .addSuperinterface(ChangeTracker.class)
+                .addField(FieldSpec.builder(BitSet.class, "changes", Modifier.PRIVATE, Modifier.FINAL)
+                        .initializer("new $T($L)", BitSet.class, tupleMeta.fields.size())
+                        .build());
+
+        for (FieldMeta fieldMeta : tupleMeta.fields) {
+            builder.addMethod(MethodSpec.methodBuilder(fieldMeta.setterName)
+                    .addAnnotation(Override.class)
+                    .addModifiers(Modifier.PUBLIC)
+                    .addParameter(fieldMeta.fieldType, "value", Modifier.FINAL)
+                    .addStatement("super.$L(value)", fieldMeta.setterName)
+                    .addStatement("changes.set($L)", fieldMeta.getIndex())
+                    .build());
+        }
+
+        builder.addMethod(MethodSpec.methodBuilder("isFieldChanged")
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(int.class, "index", Modifier.FINAL)
+                .returns(boolean.class)
+                .addStatement("return changes.get(index)")
+                .build());
+
+        builder.addMethod(MethodSpec.methodBuilder("clearChangedFields")
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PUBLIC)
+                .addStatement("changes.clear()")
+                .build());
+
+        return builder.build();
+    }
+}
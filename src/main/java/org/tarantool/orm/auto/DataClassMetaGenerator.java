@@ -1,51 +1,125 @@
 package org.tarantool.orm.auto;
 
-import com.google.common.primitives.*;
 import com.squareup.javapoet.*;
 import org.tarantool.orm.internals.Meta;
+import org.tarantool.orm.internals.MsgPackReader;
+import org.tarantool.orm.internals.MsgPackWriter;
+import org.tarantool.orm.internals.PrimitiveArrays;
+import org.tarantool.orm.internals.Slices;
 
 import javax.lang.model.element.Modifier;
 import javax.lang.model.type.ArrayType;
 import javax.lang.model.type.TypeKind;
 import javax.lang.model.type.TypeMirror;
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+import java.util.List;
 
 final class DataClassMetaGenerator {
     private final ClassName list = ClassName.get("java.util", "List");
     private final ParameterizedTypeName wildCardList = ParameterizedTypeName.get(list, WildcardTypeName.subtypeOf(Object.class));
     private final ParameterizedTypeName listOfObjects = ParameterizedTypeName.get(list, ClassName.OBJECT);
     private final ClassName arrayList = ClassName.get("java.util", "ArrayList");
-    private final ClassName collection = ClassName.get("java.util", "Collection");
-    private final ParameterizedTypeName subtypeOfNumber = ParameterizedTypeName.get(collection, WildcardTypeName.subtypeOf(Number.class));
-    private final ParameterizedTypeName collectionOfBooleans = ParameterizedTypeName.get(collection, ClassName.get(Boolean.class));
-    private final ParameterizedTypeName collectionOfCharacters = ParameterizedTypeName.get(collection, ClassName.get(Character.class));
 
     public DataClassMetaGenerator() {
     }
 
     public TypeSpec generate(TupleMeta tupleMeta) {
-        return TypeSpec.classBuilder(tupleMeta.className + "Meta")
+        TypeSpec.Builder builder = TypeSpec.classBuilder(tupleMeta.className + "Meta")
                 .addModifiers(Modifier.PRIVATE, Modifier.FINAL)
                 .superclass(ParameterizedTypeName.get(ClassName.get(Meta.class), tupleMeta.classType))
                 .addMethod(generateDataClassToListMethod(tupleMeta))
+                .addMethod(generateEncodeMethod(tupleMeta))
                 .addMethod(generateListToDataClassMethod(tupleMeta))
+                .addMethod(generateFieldsToDataClassMethod(tupleMeta))
+                .addMethod(generateDecodeMethod(tupleMeta))
+                .addMethod(generateFingerprintMethod(tupleMeta));
+
+        if (hasSlices(tupleMeta)) {
+            builder.addMethod(generateDetachMethod(tupleMeta));
+        }
+
+        return builder.build();
+    }
+
+    static boolean hasSlices(TupleMeta tupleMeta) {
+        return tupleMeta.fields.stream().anyMatch(fieldMeta -> fieldMeta.isByteBuffer || fieldMeta.isCharSequence);
+    }
+
+    // copies fields which may be slices of the buffer the tuple was decoded from
+    private MethodSpec generateDetachMethod(TupleMeta tupleMeta) {
+        MethodSpec.Builder builder = MethodSpec.methodBuilder("detach")
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(tupleMeta.classType, "value", Modifier.FINAL)
+                .returns(tupleMeta.classType);
+
+        for (FieldMeta fieldMeta : tupleMeta.fields) {
+            if (fieldMeta.isByteBuffer || fieldMeta.isCharSequence) {
+                builder.addStatement("value.$L($T.detach(value.$L()))", fieldMeta.setterName, Slices.class, fieldMeta.getterName);
+            }
+        }
+
+        builder.addStatement("return value");
+
+        return builder.build();
+    }
+
+    private MethodSpec generateFingerprintMethod(TupleMeta tupleMeta) {
+        return MethodSpec.methodBuilder("getFingerprint")
+                .addModifiers(Modifier.PUBLIC)
+                .returns(long.class)
+                .addStatement("return $LL", fingerprint(tupleMeta))
                 .build();
     }
 
+    // FNV-1a hash of the space, positions, names and types of fields and the primary index
+    private long fingerprint(TupleMeta tupleMeta) {
+        StringBuilder layout = new StringBuilder(tupleMeta.spaceName);
+
+        tupleMeta.fields
+                .stream()
+                .sorted(Comparator.comparingInt(FieldMeta::getIndex))
+                .forEach(fieldMeta -> layout.append(';').append(fieldMeta.getIndex()).append(':').append(fieldMeta.fieldName).append(':').append(fieldMeta.fieldType));
+
+        for (IndexFieldMeta indexFieldMeta : tupleMeta.indexedFields.get(tupleMeta.primaryIndexName)) {
+            layout.append(";pk:").append(indexFieldMeta.fieldName);
+        }
+
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : layout.toString().getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+
+        return hash;
+    }
+
     private MethodSpec generateListToDataClassMethod(TupleMeta tupleMeta) {
         MethodSpec.Builder builder = MethodSpec.methodBuilder("fromList")
                 .addModifiers(Modifier.PUBLIC)
                 .addParameter(wildCardList, "values", Modifier.FINAL)
-                .returns(tupleMeta.classType)
-                .addStatement("$T result = new $T()", tupleMeta.classType, tupleMeta.classType);
+                .returns(tupleMeta.classType);
+
+        // fields are converted by getters of the subclass
+        if (tupleMeta.lazyDecoding) {
+            return builder
+                    .addStatement("return new $L(values)", LazyTupleGenerator.className(tupleMeta))
+                    .build();
+        }
+
+        if (tupleMeta.trackChanges) {
+            builder.addStatement("$L result = new $L()", ChangeTrackerGenerator.className(tupleMeta), ChangeTrackerGenerator.className(tupleMeta));
+        } else {
+            builder.addStatement("$T result = new $T()", tupleMeta.classType, tupleMeta.classType);
+        }
 
         for (FieldMeta fieldMeta : tupleMeta.fields) {
-            if (Common.isNumber(fieldMeta.field.asType().getKind())) {
-                builder.addCode(handleNumberType(fieldMeta));
-            } else if (fieldMeta.field.asType().getKind() == TypeKind.ARRAY) {
-                builder.addCode(handleArrayType(fieldMeta));
-            } else {
-                builder.addCode(handleDeclaredType(fieldMeta));
-            }
+            builder.addStatement("result.$L($L)", fieldMeta.setterName, listValue(fieldMeta, fieldMeta.getIndex()));
+        }
+
+        if (tupleMeta.trackChanges) {
+            // setters were called only to decode values, so the tuple is not changed yet
+            builder.addStatement("result.clearChangedFields()");
         }
 
         builder.addStatement("return result");
@@ -53,66 +127,136 @@ final class DataClassMetaGenerator {
         return builder.build();
     }
 
-    private CodeBlock handleDeclaredType(FieldMeta fieldMeta) {
-        return CodeBlock
-                .builder()
-                .addStatement("result.$L(($T) values.get($L))", fieldMeta.setterName, fieldMeta.valueType, fieldMeta.getIndex())
-                .build();
-    }
+    // values of the fields of a projection are converted in place of whole tuples, so lazy decoding is not used
+    private MethodSpec generateFieldsToDataClassMethod(TupleMeta tupleMeta) {
+        MethodSpec.Builder builder = MethodSpec.methodBuilder("fromFields")
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(int[].class, "fields", Modifier.FINAL)
+                .addParameter(wildCardList, "values", Modifier.FINAL)
+                .returns(tupleMeta.classType);
 
-    private CodeBlock handleNumberType(FieldMeta fieldMeta) {
-        String toValue = fieldMeta.field.asType().getKind().name().toLowerCase() + "Value()";
+        if (tupleMeta.trackChanges) {
+            builder.addStatement("$L result = new $L()", ChangeTrackerGenerator.className(tupleMeta), ChangeTrackerGenerator.className(tupleMeta));
+        } else {
+            builder.addStatement("$T result = new $T()", tupleMeta.classType, tupleMeta.classType);
+        }
 
-        return CodeBlock
-                .builder()
-                .addStatement("result.$L((($T) values.get($L)).$L)", fieldMeta.setterName, Number.class, fieldMeta.getIndex(), toValue)
-                .build();
+        builder.beginControlFlow("for (int i = 0; i < fields.length; i++)")
+                .beginControlFlow("switch (fields[i])");
+
+        for (FieldMeta fieldMeta : tupleMeta.fields) {
+            builder.addCode("case $L:\n", fieldMeta.getIndex())
+                    .addStatement("$>result.$L($L)", fieldMeta.setterName, listValue(fieldMeta, "i"))
+                    .addStatement("break$<");
+        }
+
+        builder.addCode("default:\n")
+                .addStatement("$>throw new $T($T.format($S, fields[i]))$<", IllegalArgumentException.class, String.class, "Tuple has no field %d")
+                .endControlFlow()
+                .endControlFlow();
+
+        if (tupleMeta.trackChanges) {
+            builder.addStatement("result.clearChangedFields()");
+        }
+
+        builder.addStatement("return result");
+
+        return builder.build();
     }
 
-    private CodeBlock handleArrayType(FieldMeta fieldMeta) {
-        CodeBlock.Builder builder = CodeBlock.builder();
+    private MethodSpec generateDecodeMethod(TupleMeta tupleMeta) {
+        MethodSpec.Builder builder = MethodSpec.methodBuilder("decode")
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(MsgPackReader.class, "reader", Modifier.FINAL)
+                .returns(tupleMeta.classType)
+                .addStatement("int extraValues = reader.readTupleHeader($L)", tupleMeta.fields.size());
 
-        TypeMirror arrayTypeKind = ((ArrayType) fieldMeta.field.asType()).getComponentType();
-        if (arrayTypeKind.getKind().isPrimitive()) {
-            builder.add(handlePrimitiveArrayType(arrayTypeKind.getKind(), fieldMeta.setterName, fieldMeta.getIndex()));
+        if (tupleMeta.trackChanges) {
+            builder.addStatement("$L result = new $L()", ChangeTrackerGenerator.className(tupleMeta), ChangeTrackerGenerator.className(tupleMeta));
         } else {
-            builder.addStatement("result.$L((($T) values.get($L)).toArray(new $T {}))", fieldMeta.setterName, wildCardList, fieldMeta.getIndex(), fieldMeta.field.asType());
+            builder.addStatement("$T result = new $T()", tupleMeta.classType, tupleMeta.classType);
+        }
+
+        for (FieldMeta fieldMeta : tupleMeta.fields) {
+            builder.addStatement("result.$L($L)", fieldMeta.setterName, readValue(fieldMeta));
+        }
+
+        builder.addStatement("reader.skipValues(extraValues)");
+
+        if (tupleMeta.trackChanges) {
+            builder.addStatement("result.clearChangedFields()");
         }
 
+        builder.addStatement("return result");
+
         return builder.build();
     }
 
-    private CodeBlock handlePrimitiveArrayType(TypeKind kind, String setterName, int index) {
-        CodeBlock.Builder builder = CodeBlock.builder();
+    private CodeBlock readValue(FieldMeta fieldMeta) {
+        TypeMirror type = fieldMeta.field.asType();
 
-        switch (kind) {
-            case BOOLEAN:
-                builder.addStatement("result.$L($T.toArray(($T) values.get($L)))", setterName, Booleans.class, collectionOfBooleans, index);
-                break;
+        if (fieldMeta.isByteBuffer) {
+            return CodeBlock.of("reader.readBinarySlice()");
+        }
+        if (fieldMeta.isCharSequence) {
+            return CodeBlock.of(fieldMeta.isLazyString ? "reader.readUtf8String()" : "reader.readString()");
+        }
+
+        switch (type.getKind()) {
             case BYTE:
-                builder.addStatement("result.$L($T.toArray(($T) values.get($L)))", setterName, Bytes.class, subtypeOfNumber, index);
-                break;
             case SHORT:
-                builder.addStatement("result.$L($T.toArray(($T) values.get($L)))", setterName, Shorts.class, subtypeOfNumber, index);
-                break;
             case INT:
-                builder.addStatement("result.$L($T.toArray(($T) values.get($L)))", setterName, Ints.class, subtypeOfNumber, index);
-                break;
+                return CodeBlock.of("($T) reader.readLong()", type);
             case LONG:
-                builder.addStatement("result.$L($T.toArray(($T) values.get($L)))", setterName, Longs.class, subtypeOfNumber, index);
-                break;
-            case CHAR:
-                builder.addStatement("result.$L($T.toArray(($T) values.get($L)))", setterName, Chars.class, collectionOfCharacters, index);
-                break;
+                return CodeBlock.of("reader.readLong()");
             case FLOAT:
-                builder.addStatement("result.$L($T.toArray(($T) values.get($L)))", setterName, Floats.class, subtypeOfNumber, index);
-                break;
+                return CodeBlock.of("reader.readFloat()");
             case DOUBLE:
-                builder.addStatement("result.$L($T.toArray(($T) values.get($L)))", setterName, Doubles.class, subtypeOfNumber, index);
-                break;
+                return CodeBlock.of("reader.readDouble()");
+            case BOOLEAN:
+                return CodeBlock.of("reader.readBoolean()");
+            case ARRAY:
+                TypeKind componentKind = ((ArrayType) type).getComponentType().getKind();
+                if (componentKind == TypeKind.CHAR) {
+                    return CodeBlock.of("$T.toCharArray(reader.readValue())", PrimitiveArrays.class);
+                }
+                if (componentKind.isPrimitive()) {
+                    return CodeBlock.of("reader.read$LArray()", primitiveName(componentKind));
+                }
+                return CodeBlock.of("(($T) reader.readValue()).toArray(new $T {})", wildCardList, type);
+            default:
+                if (TypeName.get(type).equals(ClassName.get(String.class))) {
+                    return CodeBlock.of("reader.readString()");
+                }
+                return CodeBlock.of("($T) reader.readValue()", fieldMeta.valueType);
         }
+    }
 
-        return builder.build();
+    // value of the field converted from the element of the list "values" which the connector decoded
+    static CodeBlock listValue(FieldMeta fieldMeta, Object index) {
+        TypeMirror type = fieldMeta.field.asType();
+
+        if (fieldMeta.isByteBuffer) {
+            return CodeBlock.of("$T.wrap(values.get($L))", Slices.class, index);
+        }
+        if (Common.isNumber(type.getKind())) {
+            return CodeBlock.of("(($T) values.get($L)).$LValue()", Number.class, index, type.getKind().name().toLowerCase());
+        }
+        if (type.getKind() == TypeKind.ARRAY) {
+            TypeKind componentKind = ((ArrayType) type).getComponentType().getKind();
+            if (componentKind.isPrimitive()) {
+                return CodeBlock.of("$T.to$LArray(values.get($L))", PrimitiveArrays.class, primitiveName(componentKind), index);
+            }
+            return CodeBlock.of("(($T) values.get($L)).toArray(new $T {})", ParameterizedTypeName.get(ClassName.get(List.class), WildcardTypeName.subtypeOf(Object.class)), index, type);
+        }
+
+        return CodeBlock.of("($T) values.get($L)", fieldMeta.valueType, index);
+    }
+
+    // Long for long
+    private static String primitiveName(TypeKind kind) {
+        String name = kind.name().toLowerCase();
+        return Character.toUpperCase(name.charAt(0)) + name.substring(1);
     }
 
     private MethodSpec generateDataClassToListMethod(TupleMeta tupleMeta) {
@@ -120,14 +264,74 @@ final class DataClassMetaGenerator {
                 .addModifiers(Modifier.PUBLIC)
                 .addParameter(tupleMeta.classType, "value", Modifier.FINAL)
                 .returns(wildCardList)
-                .addStatement("$T result = new $T<>()", listOfObjects, arrayList);
+                .addStatement("$T result = new $T<>($L)", listOfObjects, arrayList, tupleMeta.fields.size());
 
         for (FieldMeta fieldMeta : tupleMeta.fields) {
-            builder.addStatement("result.add(value.$L())", fieldMeta.getterName);
+            builder.addStatement("result.add($L)", fieldValue(fieldMeta, "value"));
         }
 
         builder.addStatement("return result");
 
         return builder.build();
     }
+
+    // value of the field as the codec of the connector accepts it
+    static CodeBlock fieldValue(FieldMeta fieldMeta, String valueName) {
+        if (fieldMeta.isByteBuffer) {
+            return CodeBlock.of("$T.toBytes($L.$L())", Slices.class, valueName, fieldMeta.getterName);
+        }
+        if (fieldMeta.isCharSequence) {
+            return CodeBlock.of("$T.asString($L.$L())", Slices.class, valueName, fieldMeta.getterName);
+        }
+
+        return CodeBlock.of("$L.$L()", valueName, fieldMeta.getterName);
+    }
+
+    private MethodSpec generateEncodeMethod(TupleMeta tupleMeta) {
+        MethodSpec.Builder builder = MethodSpec.methodBuilder("encode")
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(tupleMeta.classType, "value", Modifier.FINAL)
+                .addParameter(MsgPackWriter.class, "writer", Modifier.FINAL)
+                .addStatement("writer.writeArrayHeader($L)", tupleMeta.fields.size());
+
+        for (FieldMeta fieldMeta : tupleMeta.fields) {
+            builder.addStatement("writer.$L(value.$L())", writeMethod(fieldMeta), fieldMeta.getterName);
+        }
+
+        return builder.build();
+    }
+
+    // char and char[] are left to the codec of the connector like other types it may not support
+    private String writeMethod(FieldMeta fieldMeta) {
+        TypeMirror type = fieldMeta.field.asType();
+
+        if (fieldMeta.isByteBuffer) {
+            return "writeBinary";
+        }
+        if (fieldMeta.isCharSequence) {
+            return "writeString";
+        }
+
+        switch (type.getKind()) {
+            case BOOLEAN:
+                return "writeBoolean";
+            case BYTE:
+            case SHORT:
+            case INT:
+            case LONG:
+                return "writeLong";
+            case FLOAT:
+                return "writeFloat";
+            case DOUBLE:
+                return "writeDouble";
+            case ARRAY:
+                TypeKind componentKind = ((ArrayType) type).getComponentType().getKind();
+                if (componentKind == TypeKind.BYTE) {
+                    return "writeBinary";
+                }
+                return componentKind.isPrimitive() && componentKind != TypeKind.CHAR ? "writeArray" : "writeValue";
+            default:
+                return TypeName.get(type).equals(ClassName.get(String.class)) ? "writeString" : "writeValue";
+        }
+    }
 }
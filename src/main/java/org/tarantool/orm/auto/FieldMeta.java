@@ -1,6 +1,8 @@
 package org.tarantool.orm.auto;
 
+import com.squareup.javapoet.ClassName;
 import com.squareup.javapoet.TypeName;
+import org.tarantool.orm.annotations.Counter;
 import org.tarantool.orm.annotations.Field;
 import org.tarantool.orm.annotations.IndexedField;
 import org.tarantool.orm.annotations.IndexedFieldParams;
@@ -10,6 +12,7 @@ import javax.lang.model.element.VariableElement;
 import javax.lang.model.type.PrimitiveType;
 import javax.lang.model.type.TypeMirror;
 import javax.lang.model.util.Types;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -25,6 +28,11 @@ final class FieldMeta {
     // position is the index of field specified by user, so it may be not unique. Represents a desired field position
     public final int position;
     public final boolean isIndexed;
+    public final boolean isCounter;
+    public final boolean isLazyString;
+    // fields which may be slices of the buffer a tuple was decoded from
+    public final boolean isByteBuffer;
+    public final boolean isCharSequence;
     public final List<IndexFieldMeta> indexFieldMetas;
     public final TypeMirror valueType;
 
@@ -53,10 +61,17 @@ final class FieldMeta {
         Field field = variableElement.getAnnotation(Field.class);
         if (field == null) {
             this.position = 1;
+            this.isLazyString = false;
         } else {
             this.position = field.position() > 0 ? field.position() : 1;
+            this.isLazyString = field.lazyString();
         }
 
+        this.isByteBuffer = fieldType.equals(ClassName.get(ByteBuffer.class));
+        this.isCharSequence = fieldType.equals(ClassName.get(CharSequence.class));
+
+        this.isCounter = variableElement.getAnnotation(Counter.class) != null;
+
         IndexedField indexField = variableElement.getAnnotation(IndexedField.class);
         if (indexField != null) {
             this.isIndexed = true;
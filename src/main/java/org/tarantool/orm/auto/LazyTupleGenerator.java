@@ -0,0 +1,142 @@
+package org.tarantool.orm.auto;
+
+import com.squareup.javapoet.*;
+import org.tarantool.orm.internals.ChangeTracker;
+
+import javax.lang.model.element.Modifier;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Generates a subclass of the data class which keeps the list of values received from the server
+ * and converts a field when its getter is called for the first time. Setters mark fields as decoded,
+ * so values set by them are not overwritten. When every field is decoded the list is released.
+ *
+ * <p>Instances may be shared, e.g. by caches, so fields are decoded under the lock of the instance,
+ * and the list is volatile: getters of fully decoded instances read it without locking.
+ */
+final class LazyTupleGenerator {
+    private final ParameterizedTypeName wildCardList = ParameterizedTypeName.get(ClassName.get(List.class), WildcardTypeName.subtypeOf(Object.class));
+
+    public LazyTupleGenerator() {
+    }
+
+    public static String className(TupleMeta tupleMeta) {
+        return "Lazy" + tupleMeta.initialClassName;
+    }
+
+    public TypeSpec generate(TupleMeta tupleMeta) {
+        int size = tupleMeta.fields.size();
+
+        TypeSpec.Builder builder = TypeSpec.classBuilder(className(tupleMeta))
+                .addModifiers(Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                .superclass(tupleMeta.classType)
+                .addField(FieldSpec.builder(BitSet.class, "decoded", Modifier.PRIVATE, Modifier.FINAL)
+                        .initializer("new $T($L)", BitSet.class, size)
+                        .build())
+                .addField(FieldSpec.builder(int.class, "pending", Modifier.PRIVATE)
+                        .initializer("$L", size)
+                        .build())
+                // null when every field is decoded
+                .addField(wildCardList, "values", Modifier.PRIVATE, Modifier.VOLATILE);
+
+        if (tupleMeta.trackChanges) {
+            builder.addSuperinterface(ChangeTracker.class)
+                    .addField(FieldSpec.builder(BitSet.class, "changes", Modifier.PRIVATE, Modifier.FINAL)
+                            .initializer("new $T($L)", BitSet.class, size)
+                            .build());
+        }
+
+        builder.addMethod(MethodSpec.constructorBuilder()
+                .addParameter(wildCardList, "values", Modifier.FINAL)
+                .beginControlFlow("if (values.size() < $L)", size)
+                .addStatement("throw new $T($T.format($S, values.size(), $L))", IllegalArgumentException.class, String.class, "Tuple has %d fields, at least %d expected", size)
+                .endControlFlow()
+                .addStatement("this.values = values")
+                .build());
+
+        for (FieldMeta fieldMeta : tupleMeta.fields) {
+            builder.addMethod(MethodSpec.methodBuilder(fieldMeta.getterName)
+                    .addAnnotation(Override.class)
+                    .addModifiers(Modifier.PUBLIC)
+                    .returns(fieldMeta.fieldType)
+                    .beginControlFlow("if (values != null)")
+                    .addStatement("decode($L)", fieldMeta.getIndex())
+                    .endControlFlow()
+                    .addStatement("return super.$L()", fieldMeta.getterName)
+                    .build());
+
+            MethodSpec.Builder setter = MethodSpec.methodBuilder(fieldMeta.setterName)
+                    .addAnnotation(Override.class)
+                    .addModifiers(Modifier.PUBLIC)
+                    .addParameter(fieldMeta.fieldType, "value", Modifier.FINAL)
+                    .addStatement("super.$L(value)", fieldMeta.setterName)
+                    .beginControlFlow("if (values != null)")
+                    .addStatement("markDecoded($L)", fieldMeta.getIndex())
+                    .endControlFlow();
+
+            if (tupleMeta.trackChanges) {
+                setter.addStatement("changes.set($L)", fieldMeta.getIndex());
+            }
+
+            builder.addMethod(setter.build());
+        }
+
+        builder.addMethod(generateDecodeMethod(tupleMeta));
+        builder.addMethod(generateMarkDecodedMethod());
+
+        if (tupleMeta.trackChanges) {
+            builder.addMethod(MethodSpec.methodBuilder("isFieldChanged")
+                    .addAnnotation(Override.class)
+                    .addModifiers(Modifier.PUBLIC)
+                    .addParameter(int.class, "index", Modifier.FINAL)
+                    .returns(boolean.class)
+                    .addStatement("return changes.get(index)")
+                    .build());
+
+            builder.addMethod(MethodSpec.methodBuilder("clearChangedFields")
+                    .addAnnotation(Override.class)
+                    .addModifiers(Modifier.PUBLIC)
+                    .addStatement("changes.clear()")
+                    .build());
+        }
+
+        return builder.build();
+    }
+
+    // setters of the data class are called directly, so decoding does not change tracked fields
+    private MethodSpec generateDecodeMethod(TupleMeta tupleMeta) {
+        MethodSpec.Builder builder = MethodSpec.methodBuilder("decode")
+                .addModifiers(Modifier.PRIVATE, Modifier.SYNCHRONIZED)
+                .addParameter(int.class, "index", Modifier.FINAL)
+                .beginControlFlow("if (values == null || decoded.get(index))")
+                .addStatement("return")
+                .endControlFlow()
+                .beginControlFlow("switch (index)");
+
+        for (FieldMeta fieldMeta : tupleMeta.fields) {
+            builder.addCode("case $L:\n", fieldMeta.getIndex())
+                    .addStatement("$>super.$L($L)", fieldMeta.setterName, DataClassMetaGenerator.listValue(fieldMeta, fieldMeta.getIndex()))
+                    .addStatement("break$<");
+        }
+
+        return builder
+                .endControlFlow()
+                .addStatement("markDecoded(index)")
+                .build();
+    }
+
+    private MethodSpec generateMarkDecodedMethod() {
+        return MethodSpec.methodBuilder("markDecoded")
+                .addModifiers(Modifier.PRIVATE, Modifier.SYNCHRONIZED)
+                .addParameter(int.class, "index", Modifier.FINAL)
+                .beginControlFlow("if (values == null || decoded.get(index))")
+                .addStatement("return")
+                .endControlFlow()
+                .addStatement("decoded.set(index)")
+                .beginControlFlow("if (--pending == 0)")
+                .addStatement("values = null")
+                .endControlFlow()
+                .build();
+    }
+}
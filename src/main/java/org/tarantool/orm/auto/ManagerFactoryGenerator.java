@@ -2,6 +2,8 @@ package org.tarantool.orm.auto;
 
 import com.squareup.javapoet.*;
 import org.tarantool.TarantoolClient;
+import org.tarantool.orm.internals.ManagerOptions;
+import org.tarantool.orm.internals.metrics.MetricsRegistry;
 
 import javax.annotation.processing.Filer;
 import javax.lang.model.element.Modifier;
@@ -16,8 +18,14 @@ final class ManagerFactoryGenerator {
     public void generate(Filer filer, List<TupleMeta> metas) throws IOException {
         TypeSpec managerFactory = TypeSpec.classBuilder("ManagerFactory")
                 .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
+                .addSuperinterface(AutoCloseable.class)
                 .addField(TarantoolClient.class, "tarantoolClient", Modifier.PRIVATE, Modifier.FINAL)
+                .addField(ManagerOptions.class, "options", Modifier.PRIVATE, Modifier.FINAL)
+                .addField(MetricsRegistry.class, "metrics", Modifier.PRIVATE, Modifier.FINAL)
+                .addFields(managerFields(metas))
                 .addMethods(methodSpecs(metas))
+                .addMethod(createCloseMethod(metas))
+                .addMethod(createDefaultConstructor())
                 .addMethod(createConstructor())
                 .build();
 
@@ -27,18 +35,33 @@ final class ManagerFactoryGenerator {
         javaFile.writeTo(filer);
     }
 
+    // managers keep caches and write buffers of their spaces, so a factory creates a single manager per data class
+    private Iterable<FieldSpec> managerFields(List<TupleMeta> metas) {
+        List<FieldSpec> fieldSpecs = new ArrayList<>();
+
+        for (TupleMeta meta : metas) {
+            fieldSpecs.add(FieldSpec.builder(ClassName.get(Common.PACKAGE_NAME, meta.className), methodName(meta.initialClassName), Modifier.PRIVATE).build());
+        }
+
+        return fieldSpecs;
+    }
+
     //todo: check duplicate names in different packages
     private Iterable<MethodSpec> methodSpecs(List<TupleMeta> metas) {
         List<MethodSpec> methodSpecs = new ArrayList<>();
 
         for (TupleMeta meta : metas) {
             ClassName generatedClass = ClassName.get(Common.PACKAGE_NAME, meta.className);
+            String name = methodName(meta.initialClassName);
 
             MethodSpec spec = MethodSpec
-                    .methodBuilder(methodName(meta.initialClassName))
-                    .addModifiers(Modifier.PUBLIC)
+                    .methodBuilder(name)
+                    .addModifiers(Modifier.PUBLIC, Modifier.SYNCHRONIZED)
                     .returns(generatedClass)
-                    .addStatement("return new $T(this.$N)", generatedClass, "tarantoolClient")
+                    .beginControlFlow("if (this.$N == null)", name)
+                    .addStatement("this.$N = new $T(this.$N, this.$N, this.$N.forSpace($S, $S))", name, generatedClass, "tarantoolClient", "options", "metrics", meta.spaceName, meta.primaryIndexName)
+                    .endControlFlow()
+                    .addStatement("return this.$N", name)
                     .build();
 
             methodSpecs.add(spec);
@@ -47,12 +70,39 @@ final class ManagerFactoryGenerator {
         return methodSpecs;
     }
 
+    private MethodSpec createCloseMethod(List<TupleMeta> metas) {
+        MethodSpec.Builder builder = MethodSpec.methodBuilder("close")
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PUBLIC, Modifier.SYNCHRONIZED);
+
+        for (TupleMeta meta : metas) {
+            String name = methodName(meta.initialClassName);
+            builder.beginControlFlow("if (this.$N != null)", name)
+                    .addStatement("this.$N.close()", name)
+                    .endControlFlow();
+        }
+
+        return builder.addStatement("this.metrics.close()").build();
+    }
+
+    private MethodSpec createDefaultConstructor() {
+        return MethodSpec
+                .constructorBuilder()
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(TarantoolClient.class, "tarantoolClient")
+                .addStatement("this($N, new $T())", "tarantoolClient", ManagerOptions.class)
+                .build();
+    }
+
     private MethodSpec createConstructor() {
         MethodSpec constructor = MethodSpec
                 .constructorBuilder()
                 .addModifiers(Modifier.PUBLIC)
                 .addParameter(TarantoolClient.class, "tarantoolClient")
+                .addParameter(ManagerOptions.class, "options")
                 .addStatement("this.$N = $N", "tarantoolClient", "tarantoolClient")
+                .addStatement("this.$N = $N", "options", "options")
+                .addStatement("this.$N = new $T($N)", "metrics", MetricsRegistry.class, "options")
                 .build();
 
         return constructor;
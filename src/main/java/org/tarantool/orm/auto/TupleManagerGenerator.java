@@ -1,15 +1,30 @@
 package org.tarantool.orm.auto;
 
 import com.squareup.javapoet.*;
+import org.tarantool.Iterator;
 import org.tarantool.TarantoolClient;
+import org.tarantool.orm.internals.ChangeTracker;
+import org.tarantool.orm.internals.ManagerOptions;
 import org.tarantool.orm.internals.Meta;
+import org.tarantool.orm.internals.ServerFunction;
+import org.tarantool.orm.internals.ServerFunctions;
+import org.tarantool.orm.internals.TupleField;
+import org.tarantool.orm.internals.metrics.OperationMetrics;
+import org.tarantool.orm.internals.metrics.OperationType;
 import org.tarantool.orm.internals.operations.*;
+import org.tarantool.orm.internals.reads.ReadPath;
+import org.tarantool.orm.internals.reads.ReadStats;
+import org.tarantool.orm.internals.writes.CounterBuffer;
+import org.tarantool.orm.internals.writes.WriteBehindBuffer;
 
 import javax.annotation.processing.Filer;
 import javax.lang.model.element.Modifier;
+import javax.lang.model.type.TypeKind;
 import java.io.IOException;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 final class TupleManagerGenerator {
     private final ClassName list = ClassName.get("java.util", "List");
@@ -26,22 +41,66 @@ final class TupleManagerGenerator {
     public void generate(TupleMeta tupleMeta) throws IOException {
         DataClassMetaGenerator dataClassMetaGenerator = new DataClassMetaGenerator();
 
-        TypeSpec newClass = TypeSpec.classBuilder(tupleMeta.className)
+        TypeSpec.Builder newClass = TypeSpec.classBuilder(tupleMeta.className)
                 .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
+                .addSuperinterface(AutoCloseable.class)
                 .addField(spaceName(tupleMeta.spaceName))
                 .addField(TarantoolClient.class, "tarantoolClient", Modifier.PRIVATE, Modifier.FINAL)
                 .addField(ParameterizedTypeName.get(ClassName.get(Meta.class), tupleMeta.classType), "meta", Modifier.PRIVATE, Modifier.FINAL)
+                .addField(ServerFunction.class, "bulkWriteFunction", Modifier.PRIVATE, Modifier.FINAL)
+                .addField(ServerFunction.class, "getAllFunction", Modifier.PRIVATE, Modifier.FINAL)
+                .addField(ServerFunction.class, "selectFieldsFunction", Modifier.PRIVATE, Modifier.FINAL)
+                .addField(OperationMetrics.class, "metrics", Modifier.PRIVATE, Modifier.FINAL)
+                .addField(ParameterizedTypeName.get(ClassName.get(ReadPath.class), tupleMeta.classType), "reads", Modifier.PRIVATE, Modifier.FINAL)
+                .addField(ParameterizedTypeName.get(ClassName.get(WriteBehindBuffer.class), tupleMeta.classType), "writeBehind", Modifier.PRIVATE, Modifier.FINAL)
+                .addMethod(generateDefaultConstructor())
+                .addMethod(generateOptionsConstructor(tupleMeta))
                 .addMethod(generateConstructor(tupleMeta))
                 .addType(dataClassMetaGenerator.generate(tupleMeta))
+                .addType(generateFieldsEnum(tupleMeta))
                 .addMethods(generateSelectMethods(tupleMeta))
+                .addMethod(generateGetAllMethod(tupleMeta))
+                .addMethod(generateReadStatsMethod())
+                .addMethod(generateMetricsMethod())
                 .addMethod(generateInsertMethod(tupleMeta))
                 .addMethod(generateDeleteMethod(tupleMeta))
                 .addMethod(generateReplaceMethod(tupleMeta))
                 .addMethod(generateUpdateMethod(tupleMeta))
                 .addMethod(generateUpsertMethod(tupleMeta))
-                .build();
+                .addType(new UpdateBuilderGenerator().generate(tupleMeta))
+                .addMethod(generateUpdateBuilderMethod(tupleMeta))
+                .addMethod(generateUpdateWithBuilderMethod(tupleMeta))
+                .addMethod(generateUpsertWithBuilderMethod(tupleMeta))
+                .addMethod(generateBatchMethod(tupleMeta, "insertAll", "insert"))
+                .addMethod(generateBatchMethod(tupleMeta, "replaceAll", "replace"))
+                .addMethod(generateBatchMethod(tupleMeta, "deleteAll", "delete"))
+                .addMethod(generateBulkMethod(tupleMeta, "bulkInsert", "insert", CodeBlock.of("meta::toList")))
+                .addMethod(generateBulkMethod(tupleMeta, "bulkReplace", "replace", CodeBlock.of("meta::toList")))
+                .addMethod(generateBulkMethod(tupleMeta, "bulkDelete", "delete", getKeyExtractor(tupleMeta.indexedFields.get(tupleMeta.primaryIndexName))))
+                .addMethod(generateWriteBehindMethod(tupleMeta));
+
+        if (tupleMeta.trackChanges) {
+            newClass.addType(new ChangeTrackerGenerator().generate(tupleMeta));
+            newClass.addMethod(generateNewInstanceMethod(tupleMeta));
+        }
+
+        if (tupleMeta.lazyDecoding) {
+            newClass.addType(new LazyTupleGenerator().generate(tupleMeta));
+        }
+
+        if (!tupleMeta.counters.isEmpty()) {
+            newClass.addField(ParameterizedTypeName.get(ClassName.get(CounterBuffer.class), tupleMeta.classType), "counters", Modifier.PRIVATE, Modifier.FINAL);
+            newClass.addMethods(generateIncrementMethods(tupleMeta));
+            newClass.addMethod(generateCountersMethod(tupleMeta));
+        }
 
-        JavaFile javaFile = JavaFile.builder(Common.PACKAGE_NAME, newClass)
+        if (DataClassMetaGenerator.hasSlices(tupleMeta)) {
+            newClass.addMethod(generateDetachMethod(tupleMeta));
+        }
+
+        newClass.addMethod(generateCloseMethod(tupleMeta));
+
+        JavaFile javaFile = JavaFile.builder(Common.PACKAGE_NAME, newClass.build())
                 .build();
 
         javaFile.writeTo(filer);
@@ -54,17 +113,94 @@ final class TupleManagerGenerator {
                 .build();
     }
 
-    private MethodSpec generateConstructor(TupleMeta tupleMeta) {
+    private MethodSpec generateDefaultConstructor() {
         return MethodSpec
                 .constructorBuilder()
                 .addModifiers(Modifier.PUBLIC)
                 .addParameter(TarantoolClient.class, "tarantoolClient")
+                .addStatement("this($N, new $T())", "tarantoolClient", ManagerOptions.class)
+                .build();
+    }
+
+    // managers created without a factory record metrics, but do not register them in JMX
+    private MethodSpec generateOptionsConstructor(TupleMeta tupleMeta) {
+        return MethodSpec
+                .constructorBuilder()
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(TarantoolClient.class, "tarantoolClient")
+                .addParameter(ManagerOptions.class, "options")
+                .addStatement("this($N, $N, new $T($S, $S, $N))", "tarantoolClient", "options", OperationMetrics.class, tupleMeta.spaceName, tupleMeta.primaryIndexName, "options")
+                .build();
+    }
+
+    private MethodSpec generateConstructor(TupleMeta tupleMeta) {
+        MethodSpec.Builder builder = MethodSpec
+                .constructorBuilder()
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(TarantoolClient.class, "tarantoolClient")
+                .addParameter(ManagerOptions.class, "options")
+                .addParameter(OperationMetrics.class, "metrics")
                 .addStatement("this.$N = $N", "tarantoolClient", "tarantoolClient")
+                .addStatement("this.$N = $N", "metrics", "metrics")
                 // fixme: use type ($T)
                 .addStatement("this.$N = new $L()", "meta", tupleMeta.className + "Meta")
+                .addStatement("this.$N = $T.bulkWrite(spaceName)", "bulkWriteFunction", ServerFunctions.class)
+                .addStatement("this.$N = $T.getAll(spaceName)", "getAllFunction", ServerFunctions.class)
+                .addStatement("this.$N = $T.selectFields(spaceName)", "selectFieldsFunction", ServerFunctions.class)
+                .addStatement("this.$N = new $T<>(tarantoolClient, meta, spaceName, $S, getAllFunction, $L, options, metrics)", "reads", ReadPath.class, tupleMeta.primaryIndexName, getKeyExtractor(tupleMeta.indexedFields.get(tupleMeta.primaryIndexName)))
+                .addStatement("this.$N = new $T<>(tarantoolClient, meta, spaceName, bulkWriteFunction, $L, $L, reads, options.getWriteBehindOptions(spaceName), metrics)", "writeBehind", WriteBehindBuffer.class, getKeyExtractor(tupleMeta.indexedFields.get(tupleMeta.primaryIndexName)), getKeyConverter(tupleMeta.indexedFields.get(tupleMeta.primaryIndexName)));
+
+        if (!tupleMeta.counters.isEmpty()) {
+            builder.addStatement("this.$N = new $T<>(tarantoolClient, meta, spaceName, $T::new, $L, $L, $L, reads, options.getCounterOptions(spaceName), metrics)",
+                    "counters", CounterBuffer.class, tupleMeta.classType,
+                    fieldIndexes(tupleMeta.indexedFields.get(tupleMeta.primaryIndexName).stream().map(indexFieldMeta -> fieldOf(tupleMeta, indexFieldMeta))),
+                    fieldIndexes(tupleMeta.counters.stream().filter(fieldMeta -> !isFloatingPoint(fieldMeta))),
+                    fieldIndexes(tupleMeta.counters.stream().filter(TupleManagerGenerator::isFloatingPoint)));
+        }
+
+        return builder.build();
+    }
+
+    private List<MethodSpec> generateIncrementMethods(TupleMeta tupleMeta) {
+        List<IndexFieldMeta> indexFieldMetas = tupleMeta.indexedFields.get(tupleMeta.primaryIndexName);
+        String arguments = indexFieldMetas.stream().map(meta -> meta.indexField.getSimpleName().toString()).collect(Collectors.joining(", "));
+        List<MethodSpec> methodSpecs = new ArrayList<>();
+
+        for (FieldMeta counter : tupleMeta.counters) {
+            methodSpecs.add(MethodSpec.methodBuilder("increment" + counter.setterName.substring(3))
+                    .addModifiers(Modifier.PUBLIC)
+                    .addParameters(getParametersForSelect(indexFieldMetas, tupleMeta.indexMetas.get(tupleMeta.primaryIndexName)))
+                    .addParameter(isFloatingPoint(counter) ? double.class : long.class, "delta", Modifier.FINAL)
+                    .addStatement("counters.add($T.asList($L), $L, delta)", Arrays.class, arguments, counter.getIndex())
+                    .build());
+        }
+
+        return methodSpecs;
+    }
+
+    private MethodSpec generateCountersMethod(TupleMeta tupleMeta) {
+        return MethodSpec.methodBuilder("counters")
+                .addModifiers(Modifier.PUBLIC)
+                .returns(ParameterizedTypeName.get(ClassName.get(CounterBuffer.class), tupleMeta.classType))
+                .addStatement("return counters")
                 .build();
     }
 
+    private static boolean isFloatingPoint(FieldMeta fieldMeta) {
+        TypeKind kind = fieldMeta.field.asType().getKind();
+        return kind == TypeKind.FLOAT || kind == TypeKind.DOUBLE;
+    }
+
+    private static FieldMeta fieldOf(TupleMeta tupleMeta, IndexFieldMeta indexFieldMeta) {
+        //noinspection OptionalGetWithoutIsPresent
+        return tupleMeta.fields.stream().filter(fieldMeta -> fieldMeta.field.equals(indexFieldMeta.indexField)).findFirst().get();
+    }
+
+    private static CodeBlock fieldIndexes(Stream<FieldMeta> fields) {
+        String indexes = fields.map(fieldMeta -> String.valueOf(fieldMeta.getIndex())).collect(Collectors.joining(", "));
+        return CodeBlock.of("new int[] {$L}", indexes);
+    }
+
     private MethodSpec generateUpdateMethod(TupleMeta tupleMeta) {
         MethodSpec.Builder builder = MethodSpec.methodBuilder("update")
                 .addModifiers(Modifier.PUBLIC)
@@ -86,15 +222,74 @@ final class TupleManagerGenerator {
                 .filter(fieldMeta -> fieldMeta.indexFieldMetas
                         .stream()
                         .noneMatch(indexFieldMeta -> indexFieldMeta.indexName.equals(tupleMeta.primaryIndexName)))
-                .forEach(fieldMeta ->
-                        builder.addStatement("ops.add($T.asList($S, $L, value.$L()))", Arrays.class, "=", fieldMeta.getIndex(), fieldMeta.getterName)
-                );
+                .forEach(fieldMeta -> addAssignment(builder, tupleMeta, "value", fieldMeta));
 
-        builder.addStatement("return new $T<>(tarantoolClient, meta, spaceName, keys, ops)", UpdateOperation.class);
+        builder.addStatement("return new $T<>(tarantoolClient, meta, spaceName, keys, ops, reads, metrics)", UpdateOperation.class);
 
         return builder.build();
     }
 
+    // with change tracking only fields whose setters were called are assigned
+    private void addAssignment(MethodSpec.Builder builder, TupleMeta tupleMeta, String valueName, FieldMeta fieldMeta) {
+        if (tupleMeta.trackChanges) {
+            builder.beginControlFlow("if ($T.isChanged($L, $L))", ChangeTracker.class, valueName, fieldMeta.getIndex());
+        }
+
+        builder.addStatement("ops.add($T.asList($S, $L, $L))", Arrays.class, "=", fieldMeta.getIndex(), DataClassMetaGenerator.fieldValue(fieldMeta, valueName));
+
+        if (tupleMeta.trackChanges) {
+            builder.endControlFlow();
+        }
+    }
+
+    private MethodSpec generateUpdateBuilderMethod(TupleMeta tupleMeta) {
+        return MethodSpec.methodBuilder("updateBuilder")
+                .addModifiers(Modifier.PUBLIC)
+                .returns(UpdateBuilderGenerator.className(tupleMeta))
+                .addStatement("return new $T()", UpdateBuilderGenerator.className(tupleMeta))
+                .build();
+    }
+
+    private MethodSpec generateUpdateWithBuilderMethod(TupleMeta tupleMeta) {
+        List<IndexFieldMeta> indexFieldMetas = tupleMeta.indexedFields.get(tupleMeta.primaryIndexName);
+        String arguments = indexFieldMetas.stream().map(meta -> meta.indexField.getSimpleName().toString()).collect(Collectors.joining(", "));
+
+        return MethodSpec.methodBuilder("update")
+                .addModifiers(Modifier.PUBLIC)
+                .addParameters(getParametersForSelect(indexFieldMetas, tupleMeta.indexMetas.get(tupleMeta.primaryIndexName)))
+                .addParameter(UpdateBuilderGenerator.className(tupleMeta), "updateBuilder", Modifier.FINAL)
+                .returns(ParameterizedTypeName.get(ClassName.get(UpdateOperation.class), tupleMeta.classType))
+                .addStatement("$T keys = $T.asList($L)", wildCardList, Arrays.class, arguments)
+                .addStatement("return new $T<>(tarantoolClient, meta, spaceName, keys, updateBuilder.getOps(), reads, metrics)", UpdateOperation.class)
+                .build();
+    }
+
+    private MethodSpec generateUpsertWithBuilderMethod(TupleMeta tupleMeta) {
+        MethodSpec.Builder builder = MethodSpec.methodBuilder("upsert")
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(tupleMeta.classType, "defaultValue", Modifier.FINAL)
+                .addParameter(UpdateBuilderGenerator.className(tupleMeta), "updateBuilder", Modifier.FINAL)
+                .returns(ParameterizedTypeName.get(ClassName.get(UpsertOperation.class), tupleMeta.classType));
+
+        builder.addStatement("$T keys = new $T<>()", listOfObjects, arrayList);
+
+        for (IndexFieldMeta indexFieldMeta : tupleMeta.indexedFields.get(tupleMeta.primaryIndexName)) {
+            builder.addStatement("keys.add(defaultValue.$L())", indexFieldMeta.getterName);
+        }
+
+        builder.addStatement("return new $T<>(tarantoolClient, meta, spaceName, keys, defaultValue, updateBuilder.getOps(), reads, metrics)", UpsertOperation.class);
+
+        return builder.build();
+    }
+
+    private MethodSpec generateNewInstanceMethod(TupleMeta tupleMeta) {
+        return MethodSpec.methodBuilder("newInstance")
+                .addModifiers(Modifier.PUBLIC)
+                .returns(tupleMeta.classType)
+                .addStatement("return new $L()", ChangeTrackerGenerator.className(tupleMeta))
+                .build();
+    }
+
     private MethodSpec generateUpsertMethod(TupleMeta tupleMeta) {
         MethodSpec.Builder builder = MethodSpec.methodBuilder("upsert")
                 .addModifiers(Modifier.PUBLIC)
@@ -117,11 +312,9 @@ final class TupleManagerGenerator {
                 .filter(fieldMeta -> fieldMeta.indexFieldMetas
                         .stream()
                         .noneMatch(indexFieldMeta -> indexFieldMeta.indexName.equals(tupleMeta.primaryIndexName)))
-                .forEach(fieldMeta ->
-                        builder.addStatement("ops.add($T.asList($S, $L, updatedValue.$L()))", Arrays.class, "=", fieldMeta.getIndex(), fieldMeta.getterName)
-                );
+                .forEach(fieldMeta -> addAssignment(builder, tupleMeta, "updatedValue", fieldMeta));
 
-        builder.addStatement("return new $T<>(tarantoolClient, meta, spaceName, keys, defaultValue, ops)", UpsertOperation.class);
+        builder.addStatement("return new $T<>(tarantoolClient, meta, spaceName, keys, defaultValue, ops, reads, metrics)", UpsertOperation.class);
 
         return builder.build();
     }
@@ -131,7 +324,7 @@ final class TupleManagerGenerator {
                 .addModifiers(Modifier.PUBLIC)
                 .addParameter(tupleMeta.classType, "value", Modifier.FINAL)
                 .returns(ParameterizedTypeName.get(ClassName.get(InsertOperation.class), tupleMeta.classType))
-                .addStatement("return new $T<>(tarantoolClient, meta, spaceName, value)", InsertOperation.class)
+                .addStatement("return new $T<>(tarantoolClient, meta, spaceName, value, reads, metrics)", InsertOperation.class)
                 .build();
     }
 
@@ -140,7 +333,7 @@ final class TupleManagerGenerator {
                 .addModifiers(Modifier.PUBLIC)
                 .addParameter(tupleMeta.classType, "value", Modifier.FINAL)
                 .returns(ParameterizedTypeName.get(ClassName.get(ReplaceOperation.class), tupleMeta.classType))
-                .addStatement("return new $T<>(tarantoolClient, meta, spaceName, value)", ReplaceOperation.class)
+                .addStatement("return new $T<>(tarantoolClient, meta, spaceName, value, reads, metrics)", ReplaceOperation.class)
                 .build();
     }
 
@@ -158,11 +351,101 @@ final class TupleManagerGenerator {
             builder.addStatement("keys.add(value.$L())", indexFieldMeta.getterName);
         }
 
-        builder.addStatement("return new $T<>(tarantoolClient, meta, spaceName, keys)", DeleteOperation.class);
+        builder.addStatement("return new $T<>(tarantoolClient, meta, spaceName, keys, reads, metrics)", DeleteOperation.class);
+
+        return builder.build();
+    }
+
+    // single-part primary keys are passed as values of the field, composite keys as lists of parts
+    private MethodSpec generateGetAllMethod(TupleMeta tupleMeta) {
+        List<IndexFieldMeta> indexFieldMetas = tupleMeta.indexedFields.get(tupleMeta.primaryIndexName);
+        boolean composite = indexFieldMetas.size() > 1;
+        TypeName keyType = composite ? wildCardList : indexFieldMetas.get(0).fieldType.box();
+
+        MethodSpec.Builder builder = MethodSpec.methodBuilder("getAll")
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(ParameterizedTypeName.get(ClassName.get(Collection.class), keyType), "keys", Modifier.FINAL)
+                .returns(ParameterizedTypeName.get(ClassName.get(GetAllOperation.class), keyType, tupleMeta.classType));
+
+        if (composite) {
+            builder.addStatement("return new $T<>(tarantoolClient, meta, getAllFunction, keys, $L, $L, metrics)", GetAllOperation.class, getKeyConverter(indexFieldMetas), getKeyExtractor(indexFieldMetas));
+        } else {
+            builder.addStatement("return new $T<>(tarantoolClient, meta, getAllFunction, keys, $T::singletonList, $L, metrics)", GetAllOperation.class, Collections.class, getKeyExtractor(indexFieldMetas));
+        }
 
         return builder.build();
     }
 
+    private MethodSpec generateReadStatsMethod() {
+        return MethodSpec.methodBuilder("getReadStats")
+                .addModifiers(Modifier.PUBLIC)
+                .returns(ReadStats.class)
+                .addStatement("return reads.getStats()")
+                .build();
+    }
+
+    // buffered writes are flushed before the cache is closed
+    private MethodSpec generateCloseMethod(TupleMeta tupleMeta) {
+        MethodSpec.Builder builder = MethodSpec.methodBuilder("close")
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PUBLIC)
+                .addStatement("writeBehind.close()");
+
+        if (!tupleMeta.counters.isEmpty()) {
+            builder.addStatement("counters.close()");
+        }
+
+        return builder
+                .addStatement("reads.close()")
+                .build();
+    }
+
+    private MethodSpec generateWriteBehindMethod(TupleMeta tupleMeta) {
+        return MethodSpec.methodBuilder("writeBehind")
+                .addModifiers(Modifier.PUBLIC)
+                .returns(ParameterizedTypeName.get(ClassName.get(WriteBehindBuffer.class), tupleMeta.classType))
+                .addStatement("return writeBehind")
+                .build();
+    }
+
+    // copies ByteBuffer and CharSequence fields of a tuple, so it outlives the buffer it was decoded from
+    private MethodSpec generateDetachMethod(TupleMeta tupleMeta) {
+        return MethodSpec.methodBuilder("detach")
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(tupleMeta.classType, "value", Modifier.FINAL)
+                .returns(tupleMeta.classType)
+                .addStatement("return meta.detach(value)")
+                .build();
+    }
+
+    private MethodSpec generateMetricsMethod() {
+        return MethodSpec.methodBuilder("getMetrics")
+                .addModifiers(Modifier.PUBLIC)
+                .returns(OperationMetrics.class)
+                .addStatement("return metrics")
+                .build();
+    }
+
+    private MethodSpec generateBatchMethod(TupleMeta tupleMeta, String methodName, String singleMethodName) {
+        return MethodSpec.methodBuilder(methodName)
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(ParameterizedTypeName.get(ClassName.get(Collection.class), tupleMeta.classType), "values", Modifier.FINAL)
+                .addParameter(int.class, "maxInFlight", Modifier.FINAL)
+                .returns(ParameterizedTypeName.get(ClassName.get(BatchOperation.class), tupleMeta.classType, tupleMeta.classType))
+                .addStatement("return new $T<>(values, this::$L, maxInFlight)", BatchOperation.class, singleMethodName)
+                .build();
+    }
+
+    private MethodSpec generateBulkMethod(TupleMeta tupleMeta, String methodName, String operation, CodeBlock encoder) {
+        return MethodSpec.methodBuilder(methodName)
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(ParameterizedTypeName.get(ClassName.get(Collection.class), tupleMeta.classType), "values", Modifier.FINAL)
+                .addParameter(boolean.class, "atomic", Modifier.FINAL)
+                .returns(ParameterizedTypeName.get(ClassName.get(BulkOperation.class), tupleMeta.classType))
+                .addStatement("return new $T<>(tarantoolClient, bulkWriteFunction, $S, values, $L, atomic, reads, metrics)", BulkOperation.class, operation, encoder)
+                .build();
+    }
+
     private Iterable<MethodSpec> generateSelectMethods(TupleMeta tupleMeta) {
         List<MethodSpec> methodSpecs = new ArrayList<>();
 
@@ -176,11 +459,147 @@ final class TupleManagerGenerator {
             builder.addCode(getSelectStatement(fields, tupleMeta.indexMetas.get(indexName)));
 
             methodSpecs.add(builder.build());
+            methodSpecs.add(generateSelectFieldsMethod(tupleMeta, fields, tupleMeta.indexMetas.get(indexName)));
+            methodSpecs.add(generateSelectManyMethod(tupleMeta, fields, tupleMeta.indexMetas.get(indexName)));
+            methodSpecs.add(generateSelectManyFieldsMethod(tupleMeta, fields, tupleMeta.indexMetas.get(indexName)));
+            methodSpecs.add(generateScanMethod(tupleMeta, fields, tupleMeta.indexMetas.get(indexName)));
+            methodSpecs.add(generateScanFromKeyMethod(tupleMeta, fields, tupleMeta.indexMetas.get(indexName)));
         });
 
         return methodSpecs;
     }
 
+    private MethodSpec generateSelectManyMethod(TupleMeta tupleMeta, List<IndexFieldMeta> fields, IndexMeta indexMeta) {
+        String arguments = fields.stream().map(meta -> meta.indexField.getSimpleName().toString()).collect(Collectors.joining(", "));
+
+        return MethodSpec.methodBuilder("selectManyUsing" + Common.capitalize(indexMeta.name) + "Index")
+                .addModifiers(Modifier.PUBLIC)
+                .returns(ParameterizedTypeName.get(ClassName.get(SelectManyOperation.class), tupleMeta.classType))
+                .addParameters(getParametersForSelect(fields, indexMeta))
+                .addParameter(int.class, "offset", Modifier.FINAL)
+                .addParameter(int.class, "limit", Modifier.FINAL)
+                .addParameter(Iterator.class, "iterator", Modifier.FINAL)
+                .addStatement("$T keys = $T.asList($L)", wildCardList, Arrays.class, arguments)
+                .addStatement("return new $T<>(tarantoolClient, meta, spaceName, $S, keys, offset, limit, iterator, metrics)", SelectManyOperation.class, indexMeta.name)
+                .build();
+    }
+
+    private MethodSpec generateSelectFieldsMethod(TupleMeta tupleMeta, List<IndexFieldMeta> fields, IndexMeta indexMeta) {
+        String arguments = fields.stream().map(meta -> meta.indexField.getSimpleName().toString()).collect(Collectors.joining(", "));
+
+        return MethodSpec.methodBuilder("selectUsing" + Common.capitalize(indexMeta.name) + "Index")
+                .addModifiers(Modifier.PUBLIC)
+                .returns(ParameterizedTypeName.get(ClassName.get(ProjectionOperation.class), tupleMeta.classType, tupleMeta.classType))
+                .addParameters(getParametersForSelect(fields, indexMeta))
+                .addParameter(ParameterizedTypeName.get(ClassName.get(Set.class), fieldsEnum(tupleMeta)), "fields", Modifier.FINAL)
+                .addStatement("$T keys = $T.asList($L)", wildCardList, Arrays.class, arguments)
+                .addStatement("return new $T<>(tarantoolClient, meta, selectFieldsFunction, $T.SELECT, $S, keys, fields, 0, 1, $T.EQ, $T::first, metrics)",
+                        ProjectionOperation.class, OperationType.class, indexMeta.name, Iterator.class, ProjectionOperation.class)
+                .build();
+    }
+
+    private MethodSpec generateSelectManyFieldsMethod(TupleMeta tupleMeta, List<IndexFieldMeta> fields, IndexMeta indexMeta) {
+        String arguments = fields.stream().map(meta -> meta.indexField.getSimpleName().toString()).collect(Collectors.joining(", "));
+
+        return MethodSpec.methodBuilder("selectManyUsing" + Common.capitalize(indexMeta.name) + "Index")
+                .addModifiers(Modifier.PUBLIC)
+                .returns(ParameterizedTypeName.get(ClassName.get(ProjectionOperation.class), tupleMeta.classType, ParameterizedTypeName.get(list, tupleMeta.classType)))
+                .addParameters(getParametersForSelect(fields, indexMeta))
+                .addParameter(int.class, "offset", Modifier.FINAL)
+                .addParameter(int.class, "limit", Modifier.FINAL)
+                .addParameter(Iterator.class, "iterator", Modifier.FINAL)
+                .addParameter(ParameterizedTypeName.get(ClassName.get(Set.class), fieldsEnum(tupleMeta)), "fields", Modifier.FINAL)
+                .addStatement("$T keys = $T.asList($L)", wildCardList, Arrays.class, arguments)
+                .addStatement("return new $T<>(tarantoolClient, meta, selectFieldsFunction, $T.SELECT_MANY, $S, keys, fields, offset, limit, iterator, $T.identity(), metrics)",
+                        ProjectionOperation.class, OperationType.class, indexMeta.name, Function.class)
+                .build();
+    }
+
+    private static ClassName fieldsEnum(TupleMeta tupleMeta) {
+        return ClassName.get(Common.PACKAGE_NAME, tupleMeta.className, "Fields");
+    }
+
+    // constants are named after fields, e.g. FIRST_NAME for firstName, and declared in the order of the tuple
+    private TypeSpec generateFieldsEnum(TupleMeta tupleMeta) {
+        TypeSpec.Builder builder = TypeSpec.enumBuilder("Fields")
+                .addModifiers(Modifier.PUBLIC)
+                .addSuperinterface(TupleField.class)
+                .addField(int.class, "index", Modifier.PRIVATE, Modifier.FINAL)
+                .addMethod(MethodSpec.constructorBuilder()
+                        .addParameter(int.class, "index", Modifier.FINAL)
+                        .addStatement("this.index = index")
+                        .build())
+                .addMethod(MethodSpec.methodBuilder("getIndex")
+                        .addAnnotation(Override.class)
+                        .addModifiers(Modifier.PUBLIC)
+                        .returns(int.class)
+                        .addStatement("return index")
+                        .build());
+
+        for (FieldMeta fieldMeta : tupleMeta.fields) {
+            String constant = fieldMeta.fieldName.replaceAll("([a-z0-9])([A-Z])", "$1_$2").toUpperCase(Locale.ROOT);
+            builder.addEnumConstant(constant, TypeSpec.anonymousClassBuilder("$L", fieldMeta.getIndex()).build());
+        }
+
+        return builder.build();
+    }
+
+    private MethodSpec generateScanMethod(TupleMeta tupleMeta, List<IndexFieldMeta> fields, IndexMeta indexMeta) {
+        return MethodSpec.methodBuilder("scanUsing" + Common.capitalize(indexMeta.name) + "Index")
+                .addModifiers(Modifier.PUBLIC)
+                .returns(ParameterizedTypeName.get(ClassName.get(ScanOperation.class), tupleMeta.classType))
+                .addParameter(Iterator.class, "iterator", Modifier.FINAL)
+                .addParameter(int.class, "pageSize", Modifier.FINAL)
+                .addStatement("$T keys = $T.emptyList()", wildCardList, Collections.class)
+                .addStatement("return new $T<>(tarantoolClient, meta, spaceName, $S, keys, iterator, pageSize, $L, $L, metrics)", ScanOperation.class, indexMeta.name, indexMeta.isPrimary, getKeyExtractor(fields))
+                .build();
+    }
+
+    private MethodSpec generateScanFromKeyMethod(TupleMeta tupleMeta, List<IndexFieldMeta> fields, IndexMeta indexMeta) {
+        String arguments = fields.stream().map(meta -> meta.indexField.getSimpleName().toString()).collect(Collectors.joining(", "));
+
+        return MethodSpec.methodBuilder("scanUsing" + Common.capitalize(indexMeta.name) + "Index")
+                .addModifiers(Modifier.PUBLIC)
+                .returns(ParameterizedTypeName.get(ClassName.get(ScanOperation.class), tupleMeta.classType))
+                .addParameters(getParametersForSelect(fields, indexMeta))
+                .addParameter(Iterator.class, "iterator", Modifier.FINAL)
+                .addParameter(int.class, "pageSize", Modifier.FINAL)
+                .addStatement("$T keys = $T.asList($L)", wildCardList, Arrays.class, arguments)
+                .addStatement("return new $T<>(tarantoolClient, meta, spaceName, $S, keys, iterator, pageSize, $L, $L, metrics)", ScanOperation.class, indexMeta.name, indexMeta.isPrimary, getKeyExtractor(fields))
+                .build();
+    }
+
+    // lambda which extracts the key of index from a tuple, e.g. tuple -> Arrays.asList(tuple.getId())
+    private CodeBlock getKeyExtractor(List<IndexFieldMeta> fields) {
+        String getters = fields.stream().map(meta -> "tuple." + meta.getterName + "()").collect(Collectors.joining(", "));
+        return CodeBlock.of("tuple -> $T.asList($L)", Arrays.class, getters);
+    }
+
+    // untyped keys are compared with keys extracted from tuples, so numbers are converted to the types of the fields
+    private CodeBlock getKeyConverter(List<IndexFieldMeta> fields) {
+        List<CodeBlock> parts = new ArrayList<>(fields.size());
+
+        for (int i = 0; i < fields.size(); i++) {
+            TypeName fieldType = fields.get(i).fieldType;
+            TypeName unboxed = fieldType.isBoxedPrimitive() ? fieldType.unbox() : fieldType;
+
+            if (!isNumber(unboxed)) {
+                parts.add(CodeBlock.of("key.get($L)", i));
+            } else if (fieldType.isPrimitive()) {
+                parts.add(CodeBlock.of("(($T) key.get($L)).$LValue()", Number.class, i, unboxed));
+            } else {
+                parts.add(CodeBlock.of("key.get($L) == null ? null : (($T) key.get($L)).$LValue()", i, Number.class, i, unboxed));
+            }
+        }
+
+        return CodeBlock.of("key -> $T.asList($L)", Arrays.class, CodeBlock.join(parts, ", "));
+    }
+
+    private static boolean isNumber(TypeName type) {
+        return type.equals(TypeName.BYTE) || type.equals(TypeName.SHORT) || type.equals(TypeName.INT)
+                || type.equals(TypeName.LONG) || type.equals(TypeName.FLOAT) || type.equals(TypeName.DOUBLE);
+    }
+
     private Iterable<ParameterSpec> getParametersForSelect(List<IndexFieldMeta> indexFieldMetas, IndexMeta indexMeta) {
         return indexFieldMetas.stream().map(meta -> {
             ParameterSpec.Builder builder = ParameterSpec
@@ -199,7 +618,7 @@ final class TupleManagerGenerator {
 
         String arguments = indexFieldMetas.stream().map(meta -> meta.indexField.getSimpleName().toString()).collect(Collectors.joining(", "));
         builder.addStatement("$T keys = $T.asList($L)", wildCardList, Arrays.class, arguments);
-        builder.addStatement("return new $T<>(tarantoolClient, meta, spaceName, $S, keys)", SelectOperation.class, indexMeta.name);
+        builder.addStatement("return new $T<>(reads, $S, keys, metrics)", SelectOperation.class, indexMeta.name);
 
         return builder.build();
     }
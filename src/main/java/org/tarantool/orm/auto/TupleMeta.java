@@ -23,6 +23,9 @@ final class TupleMeta {
     public final String className;
     public final String initialClassName;
     public final String spaceName;
+    public final boolean trackChanges;
+    public final boolean lazyDecoding;
+    public final List<FieldMeta> counters;
 
     public static TupleMeta getInstance(TypeElement element, Types typeUtil) {
         isClassValid(element);
@@ -42,6 +45,61 @@ final class TupleMeta {
         }
     }
 
+    // change tracking is implemented by a generated subclass which overrides setters
+    private static void isTrackable(TypeElement element, List<FieldMeta> fields) {
+        if (element.getModifiers().contains(Modifier.FINAL)) {
+            throw new IllegalArgumentException(String.format("Class %s should not be final to track changes", element.getSimpleName()));
+        }
+
+        for (FieldMeta field : fields) {
+            Set<Modifier> modifiers = field.setter.getModifiers();
+
+            if (modifiers.contains(Modifier.FINAL) || modifiers.contains(Modifier.PRIVATE) || modifiers.contains(Modifier.STATIC)) {
+                throw new IllegalArgumentException(String.format("Setter of field %s in class %s should be overridable to track changes", field.fieldName, element.getSimpleName()));
+            }
+        }
+    }
+
+    // lazy decoding is implemented by a generated subclass which overrides getters and setters
+    private static void isLazyDecodable(TypeElement element, List<FieldMeta> fields) {
+        if (element.getModifiers().contains(Modifier.FINAL)) {
+            throw new IllegalArgumentException(String.format("Class %s should not be final to decode fields lazily", element.getSimpleName()));
+        }
+
+        for (FieldMeta field : fields) {
+            if (!isOverridable(field.getter) || !isOverridable(field.setter)) {
+                throw new IllegalArgumentException(String.format("Getter and setter of field %s in class %s should be overridable to decode it lazily", field.fieldName, element.getSimpleName()));
+            }
+        }
+    }
+
+    private static boolean isOverridable(ExecutableElement method) {
+        Set<Modifier> modifiers = method.getModifiers();
+        return !modifiers.contains(Modifier.FINAL) && !modifiers.contains(Modifier.PRIVATE) && !modifiers.contains(Modifier.STATIC);
+    }
+
+    // counters are added with arithmetic update operations, and the key of a tuple can't be updated
+    private static void isCounterValid(TypeElement element, FieldMeta field, String primaryIndexName) {
+        if (!Common.isNumber(field.field.asType().getKind())) {
+            throw new IllegalArgumentException(String.format("Counter field %s in class %s should be of a primitive numeric type", field.fieldName, element.getSimpleName()));
+        }
+
+        if (field.indexFieldMetas.stream().anyMatch(indexFieldMeta -> indexFieldMeta.indexName.equals(primaryIndexName))) {
+            throw new IllegalArgumentException(String.format("Counter field %s in class %s should not be a part of the primary index", field.fieldName, element.getSimpleName()));
+        }
+    }
+
+    private static void isSliceValid(TypeElement element, FieldMeta field) {
+        if (field.isLazyString && !field.isCharSequence) {
+            throw new IllegalArgumentException(String.format("Lazy string field %s in class %s should be a CharSequence", field.fieldName, element.getSimpleName()));
+        }
+
+        // keys are passed to the connector as they are
+        if (field.isIndexed && (field.isByteBuffer || field.isCharSequence)) {
+            throw new IllegalArgumentException(String.format("Indexed field %s in class %s should not be a ByteBuffer or CharSequence", field.fieldName, element.getSimpleName()));
+        }
+    }
+
     private static List<FieldMeta> getFieldMetas(TypeElement element, Types typeUtil) {
         Map<String, ExecutableElement> executableElementMap = getMethodsMap(element);
         List<FieldMeta> fieldMetas = new ArrayList<>();
@@ -143,6 +201,8 @@ final class TupleMeta {
 
         Tuple tupleAnnotation = classElement.getAnnotation(Tuple.class);
         this.spaceName = tupleAnnotation.spaceName();
+        this.trackChanges = tupleAnnotation.trackChanges();
+        this.lazyDecoding = tupleAnnotation.lazyDecoding();
 
         if (this.spaceName.isEmpty()) {
             throw new IllegalArgumentException("Space name should not be empty");
@@ -177,6 +237,25 @@ final class TupleMeta {
 
         this.indexMetas = Collections.unmodifiableMap(indexMetaMap);
 
+        if (trackChanges) {
+            isTrackable(classElement, fields);
+        }
+
+        if (lazyDecoding) {
+            isLazyDecodable(classElement, fields);
+        }
+
+        for (FieldMeta field : fields) {
+            isSliceValid(classElement, field);
+        }
+
+        List<FieldMeta> counters = fields.stream().filter(field -> field.isCounter).collect(Collectors.toList());
+        for (FieldMeta counter : counters) {
+            isCounterValid(classElement, counter, primaryIndexName);
+        }
+
+        this.counters = Collections.unmodifiableList(counters);
+
         Sets.SetView<String> difference = Sets.symmetricDifference(
                 indexMetas.keySet(),
                 indexedFields.keySet()
@@ -0,0 +1,116 @@
+package org.tarantool.orm.auto;
+
+import com.squareup.javapoet.*;
+import org.tarantool.orm.internals.UpdateBuilder;
+
+import javax.lang.model.element.Modifier;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+
+final class UpdateBuilderGenerator {
+    public UpdateBuilderGenerator() {
+    }
+
+    public static ClassName className(TupleMeta tupleMeta) {
+        return ClassName.get(Common.PACKAGE_NAME, tupleMeta.className, tupleMeta.initialClassName + "UpdateBuilder");
+    }
+
+    public TypeSpec generate(TupleMeta tupleMeta) {
+        ClassName builderType = className(tupleMeta);
+        TypeSpec.Builder builder = TypeSpec.classBuilder(builderType)
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+                .superclass(UpdateBuilder.class);
+
+        // fields of primary index can't be updated
+        tupleMeta.fields
+                .stream()
+                .filter(fieldMeta -> fieldMeta.indexFieldMetas
+                        .stream()
+                        .noneMatch(indexFieldMeta -> indexFieldMeta.indexName.equals(tupleMeta.primaryIndexName)))
+                .forEach(fieldMeta -> addFieldMethods(builder, builderType, fieldMeta));
+
+        return builder.build();
+    }
+
+    private void addFieldMethods(TypeSpec.Builder builder, ClassName builderType, FieldMeta fieldMeta) {
+        // setter name keeps the same capitalization of the field name which is used in getters and setters
+        String name = fieldMeta.setterName.substring(3);
+        TypeKind kind = fieldMeta.field.asType().getKind();
+
+        builder.addMethod(operation(builderType, "set" + name)
+                .addParameter(fieldMeta.fieldType, "value", Modifier.FINAL)
+                .addStatement("add($S, $L, value)", "=", fieldMeta.getIndex())
+                .addStatement("return this")
+                .build());
+
+        if (Common.isNumber(kind)) {
+            builder.addMethod(arithmetic(builderType, "increment" + name, "+", fieldMeta));
+            builder.addMethod(arithmetic(builderType, "subtract" + name, "-", fieldMeta));
+        }
+
+        if (isInteger(kind)) {
+            builder.addMethod(arithmetic(builderType, "bitAnd" + name, "&", fieldMeta));
+            builder.addMethod(arithmetic(builderType, "bitOr" + name, "|", fieldMeta));
+            builder.addMethod(arithmetic(builderType, "bitXor" + name, "^", fieldMeta));
+        }
+
+        if (TypeName.get(String.class).equals(fieldMeta.fieldType) || fieldMeta.isCharSequence) {
+            builder.addMethod(operation(builderType, "splice" + name)
+                    .addParameter(int.class, "position", Modifier.FINAL)
+                    .addParameter(int.class, "length", Modifier.FINAL)
+                    .addParameter(String.class, "replacement", Modifier.FINAL)
+                    .addStatement("splice($L, position, length, replacement)", fieldMeta.getIndex())
+                    .addStatement("return this")
+                    .build());
+        }
+
+        if (isArray(fieldMeta.field.asType())) {
+            TypeMirror componentType = ((ArrayType) fieldMeta.field.asType()).getComponentType();
+
+            builder.addMethod(operation(builderType, "insertAt" + name)
+                    .addParameter(int.class, "position", Modifier.FINAL)
+                    .addParameter(TypeName.get(componentType), "value", Modifier.FINAL)
+                    .addStatement("add($S, path($L, position), value)", "!", fieldMeta.getIndex())
+                    .addStatement("return this")
+                    .build());
+            builder.addMethod(operation(builderType, "deleteAt" + name)
+                    .addParameter(int.class, "position", Modifier.FINAL)
+                    .addParameter(int.class, "count", Modifier.FINAL)
+                    .addStatement("add($S, path($L, position), count)", "#", fieldMeta.getIndex())
+                    .addStatement("return this")
+                    .build());
+        }
+    }
+
+    private MethodSpec.Builder operation(ClassName builderType, String methodName) {
+        return MethodSpec.methodBuilder(methodName)
+                .addModifiers(Modifier.PUBLIC)
+                .returns(builderType);
+    }
+
+    private MethodSpec arithmetic(ClassName builderType, String methodName, String operator, FieldMeta fieldMeta) {
+        return operation(builderType, methodName)
+                .addParameter(fieldMeta.fieldType, "value", Modifier.FINAL)
+                .addStatement("add($S, $L, value)", operator, fieldMeta.getIndex())
+                .addStatement("return this")
+                .build();
+    }
+
+    // byte[] is written as binary, so only other arrays have elements the server can insert or delete
+    private static boolean isArray(TypeMirror type) {
+        return type.getKind() == TypeKind.ARRAY && ((ArrayType) type).getComponentType().getKind() != TypeKind.BYTE;
+    }
+
+    private static boolean isInteger(TypeKind kind) {
+        switch (kind) {
+            case BYTE:
+            case SHORT:
+            case INT:
+            case LONG:
+                return true;
+            default:
+                return false;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package org.tarantool.orm.internals;
+
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Options of the near cache of primary index selects.
+ * By default decoded tuples are kept on the heap and evicted in LRU order,
+ * {@link #offHeap(long)} keeps encoded tuples in direct memory instead.
+ */
+public final class CacheOptions {
+    private final int maximumSize;
+    private final long maximumBytes;
+    private final Path directory;
+    private long expireAfterWriteNanos;
+    private boolean cacheMissingKeys;
+
+    public CacheOptions(int maximumSize) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("Cache size should be positive");
+        }
+
+        this.maximumSize = maximumSize;
+        this.maximumBytes = 0;
+        this.directory = null;
+    }
+
+    private CacheOptions(long maximumBytes, Path directory) {
+        this.maximumSize = 0;
+        this.maximumBytes = maximumBytes;
+        this.directory = directory;
+    }
+
+    /**
+     * Keeps tuples encoded in MessagePack in direct buffers of maximumBytes in total, they are decoded on every hit.
+     * Tuples are evicted in clock order, and every hit returns a new instance.
+     */
+    public static CacheOptions offHeap(long maximumBytes) {
+        if (maximumBytes <= 0) {
+            throw new IllegalArgumentException("Cache size should be positive");
+        }
+
+        return new CacheOptions(maximumBytes, null);
+    }
+
+    /**
+     * Keeps tuples like {@link #offHeap(long)} does, but in a memory-mapped file per space in the given directory,
+     * so the cache is warm after restart. Restored tuples are served immediately and reloaded from the server
+     * on their first hit. The file is discarded if the layout of the tuple changes or the application was not
+     * stopped cleanly. A space file is limited to 2 GB.
+     */
+    public static CacheOptions persistent(Path directory, long maximumBytes) {
+        if (maximumBytes <= 0 || maximumBytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Cache size should be positive and not exceed 2 GB");
+        }
+
+        return new CacheOptions(maximumBytes, directory);
+    }
+
+    // entries are dropped when the given time passes since they were loaded
+    public CacheOptions expireAfterWrite(long duration, TimeUnit unit) {
+        if (duration <= 0) {
+            throw new IllegalArgumentException("Expiration time should be positive");
+        }
+
+        this.expireAfterWriteNanos = unit.toNanos(duration);
+        return this;
+    }
+
+    // remember keys which were not found, so repeated lookups of absent tuples are not sent to the server
+    public CacheOptions cacheMissingKeys() {
+        this.cacheMissingKeys = true;
+        return this;
+    }
+
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    public long getMaximumBytes() {
+        return maximumBytes;
+    }
+
+    public boolean isOffHeap() {
+        return maximumBytes > 0;
+    }
+
+    public boolean isPersistent() {
+        return directory != null;
+    }
+
+    // null if the cache is not persistent
+    public Path getDirectory() {
+        return directory;
+    }
+
+    public long getExpireAfterWriteNanos() {
+        return expireAfterWriteNanos;
+    }
+
+    public boolean isCacheMissingKeys() {
+        return cacheMissingKeys;
+    }
+}
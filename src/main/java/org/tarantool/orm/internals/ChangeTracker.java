@@ -0,0 +1,16 @@
+package org.tarantool.orm.internals;
+
+/**
+ * Implemented by generated subclasses of data classes which remember what setters were called.
+ * Fields are addressed by their position in the tuple.
+ */
+public interface ChangeTracker {
+    boolean isFieldChanged(int index);
+
+    void clearChangedFields();
+
+    // values which are not tracked are treated as completely changed
+    static boolean isChanged(Object value, int index) {
+        return !(value instanceof ChangeTracker) || ((ChangeTracker) value).isFieldChanged(index);
+    }
+}
@@ -0,0 +1,38 @@
+package org.tarantool.orm.internals;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Options of the client-side aggregation of {@code @Counter} fields.
+ */
+public final class CounterOptions {
+    private final long flushIntervalNanos;
+    private long maxStalenessNanos = TimeUnit.MINUTES.toNanos(1);
+
+    // summed increments are sent once per interval
+    public CounterOptions(long flushInterval, TimeUnit unit) {
+        if (flushInterval <= 0) {
+            throw new IllegalArgumentException("Flush interval should be positive");
+        }
+
+        this.flushIntervalNanos = unit.toNanos(flushInterval);
+    }
+
+    // increments of a key which could not be flushed for this time are dropped, so an outage does not end with a burst of old increments
+    public CounterOptions maxStaleness(long maxStaleness, TimeUnit unit) {
+        if (unit.toNanos(maxStaleness) < flushIntervalNanos) {
+            throw new IllegalArgumentException("Max staleness should not be less than flush interval");
+        }
+
+        this.maxStalenessNanos = unit.toNanos(maxStaleness);
+        return this;
+    }
+
+    public long getFlushIntervalNanos() {
+        return flushIntervalNanos;
+    }
+
+    public long getMaxStalenessNanos() {
+        return maxStalenessNanos;
+    }
+}
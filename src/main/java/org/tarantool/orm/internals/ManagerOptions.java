@@ -0,0 +1,187 @@
+package org.tarantool.orm.internals;
+
+import org.tarantool.orm.internals.metrics.MetricsSink;
+import org.tarantool.orm.internals.metrics.PhaseListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runtime options of generated managers, passed to {@code ManagerFactory}. Every feature is disabled by default.
+ */
+public final class ManagerOptions {
+    private int batchSize;
+    private long batchDelayNanos;
+    private boolean singleFlight;
+    private CacheOptions cacheOptions;
+    private final Map<String, CacheOptions> spaceCacheOptions = new HashMap<>();
+    private final Map<String, WriteBehindOptions> writeBehindOptions = new HashMap<>();
+    private CounterOptions counterOptions = new CounterOptions(1, TimeUnit.SECONDS);
+    private final Map<String, CounterOptions> spaceCounterOptions = new HashMap<>();
+    private boolean metrics;
+    private final List<MetricsSink> metricsSinks = new ArrayList<>();
+    private boolean phaseTiming;
+    private final List<PhaseListener> phaseListeners = new ArrayList<>();
+    private SlowLogOptions slowLogOptions;
+
+    /**
+     * Coalesces primary index selects which are run asynchronously into lookups of many keys.
+     * A batch is sent when it collects maxBatchSize keys or when maxDelay passes since its first key.
+     * Batches are looked up by a server-side function, so the user needs {@code execute} privilege on {@code universe}.
+     */
+    public ManagerOptions batchSelects(int maxBatchSize, long maxDelay, TimeUnit unit) {
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("Batch size should be positive");
+        }
+        if (maxDelay <= 0) {
+            throw new IllegalArgumentException("Batch delay should be positive");
+        }
+
+        this.batchSize = maxBatchSize;
+        this.batchDelayNanos = unit.toNanos(maxDelay);
+        return this;
+    }
+
+    /**
+     * Lets concurrent selects of the same key from the same index share one request and one decoded tuple.
+     * Shared tuples must not be modified by callers.
+     */
+    public ManagerOptions singleFlightSelects() {
+        this.singleFlight = true;
+        return this;
+    }
+
+    /**
+     * Keeps tuples returned by primary index selects of every space on the client.
+     * Writes of a manager invalidate cached tuples, writes made by other clients are seen only after expiration.
+     */
+    public ManagerOptions cacheSelects(CacheOptions cacheOptions) {
+        this.cacheOptions = cacheOptions;
+        return this;
+    }
+
+    // overrides cache options for a single space
+    public ManagerOptions cacheSelects(String spaceName, CacheOptions cacheOptions) {
+        this.spaceCacheOptions.put(spaceName, cacheOptions);
+        return this;
+    }
+
+    /**
+     * Buffers replaces, updates and deletes of a space made through {@code writeBehind()} of its manager
+     * and writes them in background. Writes of the same key are coalesced, so only the last state is sent.
+     */
+    public ManagerOptions writeBehind(String spaceName, WriteBehindOptions writeBehindOptions) {
+        this.writeBehindOptions.put(spaceName, writeBehindOptions);
+        return this;
+    }
+
+    /**
+     * Sets how increments of {@code @Counter} fields are flushed. By default they are flushed every second.
+     */
+    public ManagerOptions counters(CounterOptions counterOptions) {
+        this.counterOptions = counterOptions;
+        return this;
+    }
+
+    // overrides counter options for a single space
+    public ManagerOptions counters(String spaceName, CounterOptions counterOptions) {
+        this.spaceCounterOptions.put(spaceName, counterOptions);
+        return this;
+    }
+
+    /**
+     * Records latency histograms, throughput, errors and operations in flight per operation type, space and index.
+     * {@code ManagerFactory} registers them as an MBean per space.
+     */
+    public ManagerOptions recordMetrics() {
+        this.metrics = true;
+        return this;
+    }
+
+    // passes every operation to the sink, enables metrics
+    public ManagerOptions metricsSink(MetricsSink metricsSink) {
+        this.metrics = true;
+        this.metricsSinks.add(metricsSink);
+        return this;
+    }
+
+    /**
+     * Measures encode, queue-plus-network wait and decode times of every operation separately
+     * and aggregates them per space. Costs two more clock reads per operation.
+     */
+    public ManagerOptions timePhases() {
+        this.phaseTiming = true;
+        return this;
+    }
+
+    // passes phases of every successful operation to the listener, enables phase timing
+    public ManagerOptions phaseListener(PhaseListener phaseListener) {
+        this.phaseTiming = true;
+        this.phaseListeners.add(phaseListener);
+        return this;
+    }
+
+    /**
+     * Logs operations which are slower than the threshold, and optionally a random sample of the rest,
+     * with their space, index, key, sizes of the request and the response and the number of returned tuples.
+     */
+    public ManagerOptions logSlowOperations(SlowLogOptions slowLogOptions) {
+        this.slowLogOptions = slowLogOptions;
+        return this;
+    }
+
+    public boolean isBatchingEnabled() {
+        return batchSize > 0;
+    }
+
+    public boolean isSingleFlightEnabled() {
+        return singleFlight;
+    }
+
+    // returns null if the space is not cached
+    public CacheOptions getCacheOptions(String spaceName) {
+        return spaceCacheOptions.getOrDefault(spaceName, cacheOptions);
+    }
+
+    // returns null if write-behind is not enabled for the space
+    public WriteBehindOptions getWriteBehindOptions(String spaceName) {
+        return writeBehindOptions.get(spaceName);
+    }
+
+    public CounterOptions getCounterOptions(String spaceName) {
+        return spaceCounterOptions.getOrDefault(spaceName, counterOptions);
+    }
+
+    public boolean isMetricsEnabled() {
+        return metrics;
+    }
+
+    public List<MetricsSink> getMetricsSinks() {
+        return Collections.unmodifiableList(new ArrayList<>(metricsSinks));
+    }
+
+    public boolean isPhaseTimingEnabled() {
+        return phaseTiming;
+    }
+
+    public List<PhaseListener> getPhaseListeners() {
+        return Collections.unmodifiableList(new ArrayList<>(phaseListeners));
+    }
+
+    // returns null if slow operations are not logged
+    public SlowLogOptions getSlowLogOptions() {
+        return slowLogOptions;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public long getBatchDelayNanos() {
+        return batchDelayNanos;
+    }
+}
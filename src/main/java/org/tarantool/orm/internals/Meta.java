@@ -1,5 +1,6 @@
 package org.tarantool.orm.internals;
 
+import java.util.ArrayList;
 import java.util.List;
 
 public abstract class Meta<T> {
@@ -7,6 +8,27 @@ public abstract class Meta<T> {
 
     public abstract T fromList(List<?> values);
 
+    // values are the given fields of a tuple in the same order, the rest of fields keep values of a new instance
+    public abstract T fromFields(int[] fields, List<?> values);
+
+    // writes the tuple as a MessagePack array, generated metas write fields without building a list
+    public void encode(T value, MsgPackWriter writer) {
+        writer.writeValue(toList(value));
+    }
+
+    // reads a tuple written as a MessagePack array, generated metas read fields without building a list
+    public T decode(MsgPackReader reader) {
+        return fromList((List<?>) reader.readValue());
+    }
+
+    // copies fields which are slices of the buffer the tuple was decoded from, see Slices
+    public T detach(T value) {
+        return value;
+    }
+
+    // hash of the tuple layout, changes together with fields of the data class
+    public abstract long getFingerprint();
+
     // values -> List of List<?>
     public final T resultToDataClass(List<?> values) {
         if (values.size() == 1) {
@@ -15,4 +37,15 @@ public abstract class Meta<T> {
             return null;
         }
     }
+
+    // values -> List of List<?>; every row is decoded, result has the same order as the response
+    public final List<T> resultToDataClasses(List<?> values) {
+        List<T> result = new ArrayList<>(values.size());
+
+        for (Object row : values) {
+            result.add(fromList((List<?>) row));
+        }
+
+        return result;
+    }
 }
@@ -0,0 +1,47 @@
+package org.tarantool.orm.internals;
+
+import org.tarantool.MsgPackLite;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * MessagePack encoding of tuples kept outside the heap. Uses the codec of the connector,
+ * so decoded values have the same types as values received from the server.
+ */
+public final class MsgPack {
+    private MsgPack() {
+    }
+
+    public static byte[] encode(Object value) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64);
+
+        try {
+            MsgPackLite.INSTANCE.pack(value, out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return out.toByteArray();
+    }
+
+    public static <T> byte[] encode(Meta<T> meta, T value) {
+        MsgPackWriter writer = MsgPackWriter.local();
+        meta.encode(value, writer);
+        return writer.toByteArray();
+    }
+
+    public static <T> T decode(Meta<T> meta, byte[] bytes) {
+        return meta.decode(new MsgPackReader(bytes));
+    }
+
+    public static Object decode(byte[] bytes) {
+        try {
+            return MsgPackLite.INSTANCE.unpack(new ByteArrayInputStream(bytes));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,391 @@
+package org.tarantool.orm.internals;
+
+import org.tarantool.MsgPackLite;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads MessagePack values from a buffer. Generated metas read fields of tuples with the typed methods,
+ * so primitives are not boxed and primitive arrays are filled in place. Values of other types are decoded
+ * by the codec of the connector and have the same types as values received from the server.
+ *
+ * <p>Typed methods accept any numeric format, like conversions of decoded numbers do, and fail with
+ * {@link IllegalArgumentException} on values of other types.
+ */
+public final class MsgPackReader {
+    private final ByteBuffer buffer;
+
+    private final InputStream stream = new InputStream() {
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xff : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+
+            int read = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, read);
+            return read;
+        }
+    };
+
+    // reads from the position to the limit of the buffer, the buffer itself is not modified
+    public MsgPackReader(ByteBuffer buffer) {
+        this.buffer = buffer.duplicate().order(ByteOrder.BIG_ENDIAN);
+    }
+
+    public MsgPackReader(byte[] bytes) {
+        this(ByteBuffer.wrap(bytes));
+    }
+
+    // consumes nil and returns true if the next value is nil
+    public boolean readNil() {
+        if ((buffer.get(buffer.position()) & 0xff) == 0xc0) {
+            buffer.get();
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Reads the header of a tuple of a data class with the given number of fields
+     * and returns the number of values after them, which are not fields of the class.
+     */
+    public int readTupleHeader(int fields) {
+        int size = readArrayHeader();
+        if (size < fields) {
+            throw new IllegalArgumentException(String.format("Tuple has %d fields, at least %d expected", size, fields));
+        }
+
+        return size - fields;
+    }
+
+    public int readArrayHeader() {
+        int type = buffer.get() & 0xff;
+
+        if ((type & 0xf0) == 0x90) {
+            return type & 0x0f;
+        }
+        switch (type) {
+            case 0xdc:
+                return buffer.getShort() & 0xffff;
+            case 0xdd:
+                return length(buffer.getInt());
+            default:
+                throw unexpected(type, "array");
+        }
+    }
+
+    public int readMapHeader() {
+        int type = buffer.get() & 0xff;
+
+        if ((type & 0xf0) == 0x80) {
+            return type & 0x0f;
+        }
+        switch (type) {
+            case 0xde:
+                return buffer.getShort() & 0xffff;
+            case 0xdf:
+                return length(buffer.getInt());
+            default:
+                throw unexpected(type, "map");
+        }
+    }
+
+    public long readLong() {
+        int type = buffer.get() & 0xff;
+
+        if (type <= 0x7f) {
+            return type;
+        }
+        if (type >= 0xe0) {
+            return (byte) type;
+        }
+        switch (type) {
+            case 0xcc:
+                return buffer.get() & 0xff;
+            case 0xcd:
+                return buffer.getShort() & 0xffff;
+            case 0xce:
+                return buffer.getInt() & 0xffffffffL;
+            // values above the range of long wrap around like longValue() of big integers
+            case 0xcf:
+            case 0xd3:
+                return buffer.getLong();
+            case 0xd0:
+                return buffer.get();
+            case 0xd1:
+                return buffer.getShort();
+            case 0xd2:
+                return buffer.getInt();
+            case 0xca:
+                return (long) buffer.getFloat();
+            case 0xcb:
+                return (long) buffer.getDouble();
+            default:
+                throw unexpected(type, "number");
+        }
+    }
+
+    public double readDouble() {
+        int type = buffer.get(buffer.position()) & 0xff;
+
+        switch (type) {
+            case 0xca:
+                buffer.get();
+                return buffer.getFloat();
+            case 0xcb:
+                buffer.get();
+                return buffer.getDouble();
+            case 0xcf:
+                buffer.get();
+                long value = buffer.getLong();
+                return value >= 0 ? value : (value >>> 1) * 2.0 + (value & 1);
+            default:
+                return readLong();
+        }
+    }
+
+    public float readFloat() {
+        return (float) readDouble();
+    }
+
+    public boolean readBoolean() {
+        int type = buffer.get() & 0xff;
+
+        switch (type) {
+            case 0xc2:
+                return false;
+            case 0xc3:
+                return true;
+            default:
+                throw unexpected(type, "boolean");
+        }
+    }
+
+    public String readString() {
+        if (readNil()) {
+            return null;
+        }
+
+        int length = readStringHeader();
+        String value;
+        if (buffer.hasArray()) {
+            value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+            ((Buffer) buffer).position(buffer.position() + length);
+        } else {
+            byte[] bytes = new byte[length];
+            buffer.get(bytes);
+            value = new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        return value;
+    }
+
+    public byte[] readBinary() {
+        if (readNil()) {
+            return null;
+        }
+
+        byte[] value = new byte[readBinaryHeader()];
+        buffer.get(value);
+        return value;
+    }
+
+    // read-only slice of the buffer, see Slices for how long it is valid
+    public ByteBuffer readBinarySlice() {
+        if (readNil()) {
+            return null;
+        }
+
+        return slice(readBinaryHeader());
+    }
+
+    // string which is decoded when its characters are read, its bytes are a slice of the buffer
+    public Utf8String readUtf8String() {
+        if (readNil()) {
+            return null;
+        }
+
+        return new Utf8String(slice(readStringHeader()));
+    }
+
+    public boolean[] readBooleanArray() {
+        if (readNil()) {
+            return null;
+        }
+
+        boolean[] values = new boolean[readArrayHeader()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = readBoolean();
+        }
+
+        return values;
+    }
+
+    // byte arrays are written as binaries, arrays of numbers are read as well
+    public byte[] readByteArray() {
+        int type = buffer.get(buffer.position()) & 0xff;
+        if (type == 0xc0 || type == 0xc4 || type == 0xc5 || type == 0xc6) {
+            return readBinary();
+        }
+
+        byte[] values = new byte[readArrayHeader()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (byte) readLong();
+        }
+
+        return values;
+    }
+
+    public short[] readShortArray() {
+        if (readNil()) {
+            return null;
+        }
+
+        short[] values = new short[readArrayHeader()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (short) readLong();
+        }
+
+        return values;
+    }
+
+    public int[] readIntArray() {
+        if (readNil()) {
+            return null;
+        }
+
+        int[] values = new int[readArrayHeader()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (int) readLong();
+        }
+
+        return values;
+    }
+
+    public long[] readLongArray() {
+        if (readNil()) {
+            return null;
+        }
+
+        long[] values = new long[readArrayHeader()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = readLong();
+        }
+
+        return values;
+    }
+
+    public float[] readFloatArray() {
+        if (readNil()) {
+            return null;
+        }
+
+        float[] values = new float[readArrayHeader()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = readFloat();
+        }
+
+        return values;
+    }
+
+    public double[] readDoubleArray() {
+        if (readNil()) {
+            return null;
+        }
+
+        double[] values = new double[readArrayHeader()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = readDouble();
+        }
+
+        return values;
+    }
+
+    // reads a value of any type with the codec of the connector
+    public Object readValue() {
+        try {
+            return MsgPackLite.INSTANCE.unpack(stream);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void skipValues(int count) {
+        for (int i = 0; i < count; i++) {
+            readValue();
+        }
+    }
+
+    public boolean hasRemaining() {
+        return buffer.hasRemaining();
+    }
+
+    private int readBinaryHeader() {
+        int type = buffer.get() & 0xff;
+
+        switch (type) {
+            case 0xc4:
+                return buffer.get() & 0xff;
+            case 0xc5:
+                return buffer.getShort() & 0xffff;
+            case 0xc6:
+                return length(buffer.getInt());
+            default:
+                throw unexpected(type, "binary");
+        }
+    }
+
+    private int readStringHeader() {
+        int type = buffer.get() & 0xff;
+
+        if ((type & 0xe0) == 0xa0) {
+            return type & 0x1f;
+        }
+        switch (type) {
+            case 0xd9:
+                return buffer.get() & 0xff;
+            case 0xda:
+                return buffer.getShort() & 0xffff;
+            case 0xdb:
+                return length(buffer.getInt());
+            default:
+                throw unexpected(type, "string");
+        }
+    }
+
+    // positions are set through Buffer, ByteBuffer overrides these methods since Java 9 and classes built there would not link on Java 8
+    private ByteBuffer slice(int length) {
+        ByteBuffer slice = buffer.slice();
+        ((Buffer) slice).limit(length);
+        ((Buffer) buffer).position(buffer.position() + length);
+        return slice.asReadOnlyBuffer();
+    }
+
+    private static int length(int length) {
+        if (length < 0) {
+            throw new IllegalArgumentException("MessagePack value is too large");
+        }
+
+        return length;
+    }
+
+    private IllegalArgumentException unexpected(int type, String expected) {
+        return new IllegalArgumentException(String.format("Expected MessagePack %s, got type 0x%02x at %d", expected, type, buffer.position() - 1));
+    }
+}
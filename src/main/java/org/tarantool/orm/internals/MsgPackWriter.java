@@ -0,0 +1,380 @@
+package org.tarantool.orm.internals;
+
+import org.tarantool.MsgPackLite;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Growable buffer which values are written to as MessagePack, byte for byte as the codec of the connector writes them.
+ * Generated metas write fields of tuples with the typed methods, so primitives are not boxed and primitive arrays
+ * are written by plain loops. Values of other types are passed to the codec of the connector.
+ *
+ * <p>Writers are not thread-safe. {@link #local()} returns a writer reused by the calling thread.
+ */
+public final class MsgPackWriter {
+    // larger buffers are not kept by threads after use
+    private static final int MAX_RETAINED_CAPACITY = 64 * 1024;
+    private static final ThreadLocal<MsgPackWriter> LOCAL = ThreadLocal.withInitial(() -> new MsgPackWriter(256));
+
+    private final OutputStream stream = new OutputStream() {
+        @Override
+        public void write(int b) {
+            writeByte(b);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) {
+            writeBytes(bytes, offset, length);
+        }
+    };
+
+    private byte[] buffer;
+    private int size;
+
+    public MsgPackWriter(int capacity) {
+        this.buffer = new byte[Math.max(16, capacity)];
+    }
+
+    // empty writer of the calling thread, valid until the next call of the method by the thread
+    public static MsgPackWriter local() {
+        MsgPackWriter writer = LOCAL.get();
+
+        if (writer.buffer.length > MAX_RETAINED_CAPACITY) {
+            writer = new MsgPackWriter(256);
+            LOCAL.set(writer);
+        }
+
+        writer.reset();
+        return writer;
+    }
+
+    public void writeNil() {
+        writeByte(0xc0);
+    }
+
+    public void writeBoolean(boolean value) {
+        writeByte(value ? 0xc3 : 0xc2);
+    }
+
+    public void writeLong(long value) {
+        ensureCapacity(9);
+
+        if (value >= 0) {
+            if (value <= 0x7f) {
+                buffer[size++] = (byte) value;
+            } else if (value <= 0xff) {
+                buffer[size++] = (byte) 0xcc;
+                buffer[size++] = (byte) value;
+            } else if (value <= 0xffff) {
+                buffer[size++] = (byte) 0xcd;
+                putShort((int) value);
+            } else if (value <= 0xffffffffL) {
+                buffer[size++] = (byte) 0xce;
+                putInt((int) value);
+            } else {
+                buffer[size++] = (byte) 0xcf;
+                putLong(value);
+            }
+        } else {
+            if (value >= -32) {
+                buffer[size++] = (byte) value;
+            } else if (value >= Byte.MIN_VALUE) {
+                buffer[size++] = (byte) 0xd0;
+                buffer[size++] = (byte) value;
+            } else if (value >= Short.MIN_VALUE) {
+                buffer[size++] = (byte) 0xd1;
+                putShort((int) value);
+            } else if (value >= Integer.MIN_VALUE) {
+                buffer[size++] = (byte) 0xd2;
+                putInt((int) value);
+            } else {
+                buffer[size++] = (byte) 0xd3;
+                putLong(value);
+            }
+        }
+    }
+
+    public void writeFloat(float value) {
+        ensureCapacity(5);
+        buffer[size++] = (byte) 0xca;
+        putInt(Float.floatToIntBits(value));
+    }
+
+    public void writeDouble(double value) {
+        ensureCapacity(9);
+        buffer[size++] = (byte) 0xcb;
+        putLong(Double.doubleToLongBits(value));
+    }
+
+    public void writeString(String value) {
+        if (value == null) {
+            writeNil();
+            return;
+        }
+
+        int length = value.length();
+        boolean ascii = true;
+        for (int i = 0; i < length && ascii; i++) {
+            ascii = value.charAt(i) < 0x80;
+        }
+
+        if (!ascii) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeStringHeader(bytes.length);
+            writeBytes(bytes, 0, bytes.length);
+            return;
+        }
+
+        writeStringHeader(length);
+        ensureCapacity(length);
+        for (int i = 0; i < length; i++) {
+            buffer[size++] = (byte) value.charAt(i);
+        }
+    }
+
+    // strings decoded lazily are written as their bytes, other sequences are converted to strings
+    public void writeString(CharSequence value) {
+        if (value instanceof Utf8String) {
+            ByteBuffer bytes = ((Utf8String) value).getBytes();
+            writeStringHeader(bytes.remaining());
+            writeBytes(bytes);
+        } else {
+            writeString(value == null ? null : value.toString());
+        }
+    }
+
+    public void writeBinary(byte[] value) {
+        if (value == null) {
+            writeNil();
+            return;
+        }
+
+        ensureCapacity(5);
+        if (value.length <= 0xff) {
+            buffer[size++] = (byte) 0xc4;
+            buffer[size++] = (byte) value.length;
+        } else if (value.length <= 0xffff) {
+            buffer[size++] = (byte) 0xc5;
+            putShort(value.length);
+        } else {
+            buffer[size++] = (byte) 0xc6;
+            putInt(value.length);
+        }
+        writeBytes(value, 0, value.length);
+    }
+
+    // writes the remaining bytes of the buffer, its position is not changed
+    public void writeBinary(ByteBuffer value) {
+        if (value == null) {
+            writeNil();
+            return;
+        }
+
+        int length = value.remaining();
+        ensureCapacity(5);
+        if (length <= 0xff) {
+            buffer[size++] = (byte) 0xc4;
+            buffer[size++] = (byte) length;
+        } else if (length <= 0xffff) {
+            buffer[size++] = (byte) 0xc5;
+            putShort(length);
+        } else {
+            buffer[size++] = (byte) 0xc6;
+            putInt(length);
+        }
+        writeBytes(value.duplicate());
+    }
+
+    public void writeArrayHeader(int length) {
+        ensureCapacity(5);
+        if (length <= 15) {
+            buffer[size++] = (byte) (0x90 | length);
+        } else if (length <= 0xffff) {
+            buffer[size++] = (byte) 0xdc;
+            putShort(length);
+        } else {
+            buffer[size++] = (byte) 0xdd;
+            putInt(length);
+        }
+    }
+
+    public void writeMapHeader(int length) {
+        ensureCapacity(5);
+        if (length <= 15) {
+            buffer[size++] = (byte) (0x80 | length);
+        } else if (length <= 0xffff) {
+            buffer[size++] = (byte) 0xde;
+            putShort(length);
+        } else {
+            buffer[size++] = (byte) 0xdf;
+            putInt(length);
+        }
+    }
+
+    public void writeArray(boolean[] values) {
+        if (values == null) {
+            writeNil();
+            return;
+        }
+
+        writeArrayHeader(values.length);
+        for (boolean value : values) {
+            writeBoolean(value);
+        }
+    }
+
+    public void writeArray(short[] values) {
+        if (values == null) {
+            writeNil();
+            return;
+        }
+
+        writeArrayHeader(values.length);
+        for (short value : values) {
+            writeLong(value);
+        }
+    }
+
+    public void writeArray(int[] values) {
+        if (values == null) {
+            writeNil();
+            return;
+        }
+
+        writeArrayHeader(values.length);
+        for (int value : values) {
+            writeLong(value);
+        }
+    }
+
+    public void writeArray(long[] values) {
+        if (values == null) {
+            writeNil();
+            return;
+        }
+
+        writeArrayHeader(values.length);
+        for (long value : values) {
+            writeLong(value);
+        }
+    }
+
+    public void writeArray(float[] values) {
+        if (values == null) {
+            writeNil();
+            return;
+        }
+
+        writeArrayHeader(values.length);
+        for (float value : values) {
+            writeFloat(value);
+        }
+    }
+
+    public void writeArray(double[] values) {
+        if (values == null) {
+            writeNil();
+            return;
+        }
+
+        writeArrayHeader(values.length);
+        for (double value : values) {
+            writeDouble(value);
+        }
+    }
+
+    // writes a value of any type the codec of the connector supports
+    public void writeValue(Object value) {
+        if (value == null) {
+            writeNil();
+        } else if (value instanceof String) {
+            writeString((String) value);
+        } else if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            writeLong(((Number) value).longValue());
+        } else if (value instanceof Double) {
+            writeDouble((Double) value);
+        } else if (value instanceof Boolean) {
+            writeBoolean((Boolean) value);
+        } else {
+            try {
+                MsgPackLite.INSTANCE.pack(value, stream);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void reset() {
+        size = 0;
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, size);
+    }
+
+    private void writeStringHeader(int length) {
+        ensureCapacity(5);
+        if (length <= 31) {
+            buffer[size++] = (byte) (0xa0 | length);
+        } else if (length <= 0xff) {
+            buffer[size++] = (byte) 0xd9;
+            buffer[size++] = (byte) length;
+        } else if (length <= 0xffff) {
+            buffer[size++] = (byte) 0xda;
+            putShort(length);
+        } else {
+            buffer[size++] = (byte) 0xdb;
+            putInt(length);
+        }
+    }
+
+    private void writeByte(int value) {
+        ensureCapacity(1);
+        buffer[size++] = (byte) value;
+    }
+
+    private void writeBytes(byte[] bytes, int offset, int length) {
+        ensureCapacity(length);
+        System.arraycopy(bytes, offset, buffer, size, length);
+        size += length;
+    }
+
+    private void writeBytes(ByteBuffer bytes) {
+        int length = bytes.remaining();
+        ensureCapacity(length);
+        bytes.get(buffer, size, length);
+        size += length;
+    }
+
+    private void putShort(int value) {
+        buffer[size++] = (byte) (value >>> 8);
+        buffer[size++] = (byte) value;
+    }
+
+    private void putInt(int value) {
+        buffer[size++] = (byte) (value >>> 24);
+        buffer[size++] = (byte) (value >>> 16);
+        buffer[size++] = (byte) (value >>> 8);
+        buffer[size++] = (byte) value;
+    }
+
+    private void putLong(long value) {
+        putInt((int) (value >>> 32));
+        putInt((int) value);
+    }
+
+    private void ensureCapacity(int length) {
+        if (size + length > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + length));
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package org.tarantool.orm.internals;
+
+import java.util.List;
+
+/**
+ * Conversions of arrays decoded by the connector, lists of boxed values, to primitive arrays of data classes
+ * in a single pass. Missing arrays stay null. Byte arrays written as MessagePack binaries are decoded
+ * to byte arrays by the connector and are returned as is.
+ */
+public final class PrimitiveArrays {
+    private PrimitiveArrays() {
+    }
+
+    public static boolean[] toBooleanArray(Object value) {
+        if (value == null) {
+            return null;
+        }
+
+        List<?> values = (List<?>) value;
+        boolean[] result = new boolean[values.size()];
+        int i = 0;
+        for (Object element : values) {
+            result[i++] = (Boolean) element;
+        }
+
+        return result;
+    }
+
+    public static byte[] toByteArray(Object value) {
+        if (value == null || value instanceof byte[]) {
+            return (byte[]) value;
+        }
+
+        List<?> values = (List<?>) value;
+        byte[] result = new byte[values.size()];
+        int i = 0;
+        for (Object element : values) {
+            result[i++] = ((Number) element).byteValue();
+        }
+
+        return result;
+    }
+
+    public static short[] toShortArray(Object value) {
+        if (value == null) {
+            return null;
+        }
+
+        List<?> values = (List<?>) value;
+        short[] result = new short[values.size()];
+        int i = 0;
+        for (Object element : values) {
+            result[i++] = ((Number) element).shortValue();
+        }
+
+        return result;
+    }
+
+    public static int[] toIntArray(Object value) {
+        if (value == null) {
+            return null;
+        }
+
+        List<?> values = (List<?>) value;
+        int[] result = new int[values.size()];
+        int i = 0;
+        for (Object element : values) {
+            result[i++] = ((Number) element).intValue();
+        }
+
+        return result;
+    }
+
+    public static long[] toLongArray(Object value) {
+        if (value == null) {
+            return null;
+        }
+
+        List<?> values = (List<?>) value;
+        long[] result = new long[values.size()];
+        int i = 0;
+        for (Object element : values) {
+            result[i++] = ((Number) element).longValue();
+        }
+
+        return result;
+    }
+
+    public static char[] toCharArray(Object value) {
+        if (value == null) {
+            return null;
+        }
+
+        List<?> values = (List<?>) value;
+        char[] result = new char[values.size()];
+        int i = 0;
+        for (Object element : values) {
+            result[i++] = (Character) element;
+        }
+
+        return result;
+    }
+
+    public static float[] toFloatArray(Object value) {
+        if (value == null) {
+            return null;
+        }
+
+        List<?> values = (List<?>) value;
+        float[] result = new float[values.size()];
+        int i = 0;
+        for (Object element : values) {
+            result[i++] = ((Number) element).floatValue();
+        }
+
+        return result;
+    }
+
+    public static double[] toDoubleArray(Object value) {
+        if (value == null) {
+            return null;
+        }
+
+        List<?> values = (List<?>) value;
+        double[] result = new double[values.size()];
+        int i = 0;
+        for (Object element : values) {
+            result[i++] = ((Number) element).doubleValue();
+        }
+
+        return result;
+    }
+}
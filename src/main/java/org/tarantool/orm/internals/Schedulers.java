@@ -0,0 +1,31 @@
+package org.tarantool.orm.internals;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+
+/**
+ * Background scheduler shared by all managers. It runs only short tasks which hand work over to the client,
+ * so a single daemon thread is enough.
+ */
+public final class Schedulers {
+    private Schedulers() {
+    }
+
+    public static ScheduledExecutorService shared() {
+        return Holder.SHARED;
+    }
+
+    private static final class Holder {
+        private static final ScheduledExecutorService SHARED = create();
+
+        private static ScheduledExecutorService create() {
+            ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+                Thread thread = new Thread(runnable, "tarantool-orm-scheduler");
+                thread.setDaemon(true);
+                return thread;
+            });
+            executor.setRemoveOnCancelPolicy(true);
+            return executor;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package org.tarantool.orm.internals;
+
+import org.tarantool.TarantoolClient;
+import org.tarantool.TarantoolException;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Lua function which is shipped with the ORM and registered on the server by eval before the first call.
+ * Source must define a global function using the name passed as the first argument of the chunk.
+ * If the server forgets the function (e.g. after restart) it is registered again and the call is retried once.
+ */
+public final class ServerFunction {
+    // ER_NO_SUCH_PROC
+    private static final long NO_SUCH_PROCEDURE = 33;
+
+    private final String name;
+    private final String source;
+    private final Object[] sourceArgs;
+    private volatile boolean registered;
+
+    public ServerFunction(String name, String source, Object... sourceArgs) {
+        this.name = name;
+        this.source = source;
+        this.sourceArgs = new Object[sourceArgs.length + 1];
+        this.sourceArgs[0] = name;
+        System.arraycopy(sourceArgs, 0, this.sourceArgs, 1, sourceArgs.length);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public List<?> callSync(TarantoolClient tarantoolClient, Object... args) {
+        if (!registered) {
+            register(tarantoolClient);
+        }
+
+        try {
+            return tarantoolClient.syncOps().call(name, args);
+        } catch (TarantoolException e) {
+            if (e.getCode() != NO_SUCH_PROCEDURE) {
+                throw e;
+            }
+
+            register(tarantoolClient);
+            return tarantoolClient.syncOps().call(name, args);
+        }
+    }
+
+    public CompletionStage<List<?>> callAsync(TarantoolClient tarantoolClient, Object... args) {
+        if (!registered) {
+            return registerAndCallAsync(tarantoolClient, args);
+        }
+
+        return tarantoolClient.composableAsyncOps().call(name, args)
+                .handle((result, throwable) -> {
+                    if (throwable == null) {
+                        return CompletableFuture.<List<?>>completedFuture(result);
+                    }
+
+                    // retried only once, a function which is missing right after eval is reported as is
+                    Throwable cause = throwable instanceof CompletionException ? throwable.getCause() : throwable;
+                    if (cause instanceof TarantoolException && ((TarantoolException) cause).getCode() == NO_SUCH_PROCEDURE) {
+                        registered = false;
+                        return registerAndCallAsync(tarantoolClient, args);
+                    }
+
+                    throw throwable instanceof CompletionException ? (CompletionException) throwable : new CompletionException(throwable);
+                })
+                .thenCompose(stage -> stage);
+    }
+
+    private CompletionStage<List<?>> registerAndCallAsync(TarantoolClient tarantoolClient, Object... args) {
+        return tarantoolClient.composableAsyncOps().eval(source, sourceArgs)
+                .thenCompose(ignored -> {
+                    registered = true;
+                    return tarantoolClient.composableAsyncOps().call(name, args);
+                });
+    }
+
+    private void register(TarantoolClient tarantoolClient) {
+        tarantoolClient.syncOps().eval(source, sourceArgs);
+        registered = true;
+    }
+}
@@ -0,0 +1,107 @@
+package org.tarantool.orm.internals;
+
+/**
+ * Lua sources of the functions which generated managers call on the server.
+ * Every function is registered per space, name of the space is a part of the function name.
+ * Functions return a single table, so the response of IPROTO_CALL (default of the connector) is [result].
+ */
+public final class ServerFunctions {
+    private static final String PREFIX = "tarantool_orm_";
+
+    private static final String BULK_WRITE = String.join("\n",
+            "local name, space_name = ...",
+            "rawset(_G, name, function(operation, tuples, atomic)",
+            "    local space = box.space[space_name]",
+            "    local count = 0",
+            "    local failed = setmetatable({}, { __serialize = 'seq' })",
+            "    if atomic then",
+            "        box.begin()",
+            "        local ok, err = pcall(function()",
+            "            for _, tuple in ipairs(tuples) do",
+            "                if space[operation](space, tuple) ~= nil then count = count + 1 end",
+            "            end",
+            "        end)",
+            "        if not ok then",
+            "            box.rollback()",
+            "            error(err)",
+            "        end",
+            "        box.commit()",
+            "    else",
+            "        for i, tuple in ipairs(tuples) do",
+            "            local ok, result = pcall(space[operation], space, tuple)",
+            "            if not ok then",
+            "                table.insert(failed, i - 1)",
+            "            elseif result ~= nil then",
+            "                count = count + 1",
+            "            end",
+            "        end",
+            "    end",
+            "    return { count, failed }",
+            "end)"
+    );
+
+    private static final String GET_ALL = String.join("\n",
+            "local name, space_name = ...",
+            "rawset(_G, name, function(keys)",
+            "    local index = box.space[space_name].index[0]",
+            "    local result = setmetatable({}, { __serialize = 'seq' })",
+            "    for _, key in ipairs(keys) do",
+            "        local tuple = index:get(key)",
+            "        if tuple ~= nil then table.insert(result, tuple) end",
+            "    end",
+            "    return result",
+            "end)"
+    );
+
+    // fields are 1-based positions, missing values are sent as nil so positions of the rest are kept
+    private static final String SELECT_FIELDS = String.join("\n",
+            "local name, space_name = ...",
+            "rawset(_G, name, function(index_name, key, fields, offset, limit, iterator)",
+            "    local index = box.space[space_name].index[index_name]",
+            "    local result = setmetatable({}, { __serialize = 'seq' })",
+            "    for _, tuple in ipairs(index:select(key, { offset = offset, limit = limit, iterator = iterator })) do",
+            "        local row = setmetatable({}, { __serialize = 'seq' })",
+            "        for i, field in ipairs(fields) do",
+            "            local value = tuple[field]",
+            "            if value == nil then value = box.NULL end",
+            "            row[i] = value",
+            "        end",
+            "        table.insert(result, row)",
+            "    end",
+            "    return result",
+            "end)"
+    );
+
+    private ServerFunctions() {
+    }
+
+    public static ServerFunction bulkWrite(String spaceName) {
+        return new ServerFunction(functionName("bulk_write", spaceName), BULK_WRITE, spaceName);
+    }
+
+    public static ServerFunction getAll(String spaceName) {
+        return new ServerFunction(functionName("get_all", spaceName), GET_ALL, spaceName);
+    }
+
+    public static ServerFunction selectFields(String spaceName) {
+        return new ServerFunction(functionName("select_fields", spaceName), SELECT_FIELDS, spaceName);
+    }
+
+    // function is called by name, so characters which are treated as path separators ('.' and ':') must not be used.
+    // Every character except letters, digits and '_' is escaped as '$' followed by four hex digits of its code,
+    // the escape has fixed length, so different spaces never get the same function
+    static String functionName(String function, String spaceName) {
+        StringBuilder name = new StringBuilder(PREFIX).append(function).append('_');
+
+        for (int i = 0; i < spaceName.length(); i++) {
+            char c = spaceName.charAt(i);
+            if ((c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == '_') {
+                name.append(c);
+            } else {
+                name.append(String.format("$%04x", (int) c));
+            }
+        }
+
+        return name.toString();
+    }
+}
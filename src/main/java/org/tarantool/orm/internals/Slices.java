@@ -0,0 +1,55 @@
+package org.tarantool.orm.internals;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Conversions of {@link ByteBuffer} and {@link CharSequence} fields of data classes.
+ *
+ * <p>Fields decoded by {@link Meta#decode} are read-only slices of the buffer of the reader, they are not copied.
+ * Tuples returned by managers are decoded from buffers which belong to them and are never reused,
+ * so their slices stay valid as long as the tuples. Tuples decoded from a buffer which is reused,
+ * e.g. a pooled network frame, must be detached by {@code detach} of their manager before the buffer is released.
+ * Fields decoded from lists of the connector wrap arrays which the connector allocated for them.
+ */
+public final class Slices {
+    private Slices() {
+    }
+
+    // read-only view of a binary value of the connector
+    public static ByteBuffer wrap(Object value) {
+        if (value == null || value instanceof ByteBuffer) {
+            return (ByteBuffer) value;
+        }
+
+        return ByteBuffer.wrap((byte[]) value).asReadOnlyBuffer();
+    }
+
+    // the remaining bytes in their own read-only buffer
+    public static ByteBuffer detach(ByteBuffer value) {
+        if (value == null) {
+            return null;
+        }
+
+        return ByteBuffer.wrap(toBytes(value)).asReadOnlyBuffer();
+    }
+
+    public static CharSequence detach(CharSequence value) {
+        return value instanceof Utf8String ? ((Utf8String) value).detach() : value;
+    }
+
+    // the codec of the connector writes whole arrays of buffers, so only the remaining bytes are passed to it
+    public static byte[] toBytes(ByteBuffer value) {
+        if (value == null) {
+            return null;
+        }
+
+        byte[] bytes = new byte[value.remaining()];
+        value.duplicate().get(bytes);
+        return bytes;
+    }
+
+    // the codec of the connector writes only strings
+    public static String asString(CharSequence value) {
+        return value == null ? null : value.toString();
+    }
+}
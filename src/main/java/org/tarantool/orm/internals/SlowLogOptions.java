@@ -0,0 +1,54 @@
+package org.tarantool.orm.internals;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Options of the slow operation log.
+ */
+public final class SlowLogOptions {
+    private final long thresholdNanos;
+    private int sampleRate;
+    private int maxEntriesPerSecond = 10;
+
+    // operations which take at least the threshold are logged as warnings
+    public SlowLogOptions(long threshold, TimeUnit unit) {
+        if (threshold <= 0) {
+            throw new IllegalArgumentException("Slow operation threshold should be positive");
+        }
+
+        this.thresholdNanos = unit.toNanos(threshold);
+    }
+
+    // also logs a random one of every sampleRate operations regardless of its latency, at info level
+    public SlowLogOptions sample(int sampleRate) {
+        if (sampleRate <= 0) {
+            throw new IllegalArgumentException("Sample rate should be positive");
+        }
+
+        this.sampleRate = sampleRate;
+        return this;
+    }
+
+    // entries above the limit are dropped and their number is reported by the next entry, so a latency spike does not flood the log
+    public SlowLogOptions maxEntriesPerSecond(int maxEntriesPerSecond) {
+        if (maxEntriesPerSecond <= 0) {
+            throw new IllegalArgumentException("Max entries per second should be positive");
+        }
+
+        this.maxEntriesPerSecond = maxEntriesPerSecond;
+        return this;
+    }
+
+    public long getThresholdNanos() {
+        return thresholdNanos;
+    }
+
+    // 0 if operations are not sampled
+    public int getSampleRate() {
+        return sampleRate;
+    }
+
+    public int getMaxEntriesPerSecond() {
+        return maxEntriesPerSecond;
+    }
+}
@@ -0,0 +1,9 @@
+package org.tarantool.orm.internals;
+
+/**
+ * Field of a data class, implemented by the generated {@code Fields} enums of managers.
+ * The index is the position of the field in the tuple.
+ */
+public interface TupleField {
+    int getIndex();
+}
@@ -0,0 +1,47 @@
+package org.tarantool.orm.internals;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Base class of generated update builders. Collects update operations in the format of the connector:
+ * operator, field number (or JSON path) and arguments.
+ * Positions inside strings and arrays start from 1 as in Tarantool.
+ */
+public abstract class UpdateBuilder {
+    private final List<List<?>> ops = new ArrayList<>();
+
+    protected final void add(String operator, Object field, Object argument) {
+        ops.add(Arrays.asList(operator, field, value(argument)));
+    }
+
+    protected final void splice(int index, int position, int length, String replacement) {
+        ops.add(Arrays.asList(":", index, position, length, replacement));
+    }
+
+    private static Object value(Object argument) {
+        if (argument instanceof ByteBuffer) {
+            return Slices.toBytes((ByteBuffer) argument);
+        }
+        if (argument instanceof CharSequence) {
+            return argument.toString();
+        }
+        return argument;
+    }
+
+    // path to an element of an array field, field index is zero-based like in the rest of operations
+    protected static String path(int index, int position) {
+        return "[" + (index + 1) + "][" + position + "]";
+    }
+
+    public final List<List<?>> getOps() {
+        return Collections.unmodifiableList(ops);
+    }
+
+    public final boolean isEmpty() {
+        return ops.isEmpty();
+    }
+}
@@ -0,0 +1,86 @@
+package org.tarantool.orm.internals;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * String field kept as UTF-8 bytes of a MessagePack buffer and decoded the first time its characters are read.
+ * Strings which are only written back or compared are never decoded, and they are written without being encoded again.
+ *
+ * <p>The bytes are a slice of the buffer the tuple was decoded from, see {@link Slices} for who owns it.
+ * {@link #detach()} copies them.
+ */
+public final class Utf8String implements CharSequence {
+    private final ByteBuffer bytes;
+    // null until characters are read
+    private String decoded;
+
+    public Utf8String(ByteBuffer bytes) {
+        this.bytes = bytes.asReadOnlyBuffer();
+    }
+
+    // read-only view of the bytes
+    public ByteBuffer getBytes() {
+        return bytes.duplicate();
+    }
+
+    public int getByteLength() {
+        return bytes.remaining();
+    }
+
+    // the same string backed by its own copy of the bytes
+    public Utf8String detach() {
+        Utf8String detached = new Utf8String(Slices.detach(bytes));
+        detached.decoded = decoded;
+        return detached;
+    }
+
+    @Override
+    public int length() {
+        return toString().length();
+    }
+
+    @Override
+    public char charAt(int index) {
+        return toString().charAt(index);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return toString().subSequence(start, end);
+    }
+
+    @Override
+    public String toString() {
+        String value = decoded;
+        if (value == null) {
+            ByteBuffer view = bytes.duplicate();
+            if (view.hasArray()) {
+                value = new String(view.array(), view.arrayOffset() + view.position(), view.remaining(), StandardCharsets.UTF_8);
+            } else {
+                value = StandardCharsets.UTF_8.decode(view).toString();
+            }
+            decoded = value;
+        }
+
+        return value;
+    }
+
+    // strings with the same bytes are equal, whether they were decoded or not
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Utf8String)) {
+            return false;
+        }
+
+        return bytes.equals(((Utf8String) o).bytes);
+    }
+
+    @Override
+    public int hashCode() {
+        return toString().hashCode();
+    }
+}
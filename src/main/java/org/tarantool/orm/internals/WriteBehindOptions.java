@@ -0,0 +1,53 @@
+package org.tarantool.orm.internals;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Options of the write-behind buffer of a space.
+ */
+public final class WriteBehindOptions {
+    private final long flushIntervalNanos;
+    private int maxBatchSize = 1000;
+    private int maxPendingKeys = 100_000;
+
+    // pending writes are flushed at least once per interval
+    public WriteBehindOptions(long flushInterval, TimeUnit unit) {
+        if (flushInterval <= 0) {
+            throw new IllegalArgumentException("Flush interval should be positive");
+        }
+
+        this.flushIntervalNanos = unit.toNanos(flushInterval);
+    }
+
+    // a flush is started as soon as this number of keys is pending, replaces and deletes are sent in chunks of this size
+    public WriteBehindOptions maxBatchSize(int maxBatchSize) {
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("Batch size should be positive");
+        }
+
+        this.maxBatchSize = maxBatchSize;
+        return this;
+    }
+
+    // writers wait for a flush when this number of keys is pending, so the buffer does not grow unbounded
+    public WriteBehindOptions maxPendingKeys(int maxPendingKeys) {
+        if (maxPendingKeys <= 0) {
+            throw new IllegalArgumentException("Number of pending keys should be positive");
+        }
+
+        this.maxPendingKeys = maxPendingKeys;
+        return this;
+    }
+
+    public long getFlushIntervalNanos() {
+        return flushIntervalNanos;
+    }
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    public int getMaxPendingKeys() {
+        return maxPendingKeys;
+    }
+}
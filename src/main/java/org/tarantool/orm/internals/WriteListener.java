@@ -0,0 +1,14 @@
+package org.tarantool.orm.internals;
+
+import java.util.List;
+
+/**
+ * Observes writes of a manager, e.g. to invalidate cached tuples.
+ * Every write notifies the listener twice: before the request is sent and after it completes, successfully or not.
+ */
+public interface WriteListener<T> {
+    // primary key of the written tuple
+    void onKeyWrite(List<?> keys);
+
+    void onValueWrite(T value);
+}
@@ -0,0 +1,75 @@
+package org.tarantool.orm.internals.metrics;
+
+import org.tarantool.orm.internals.ManagerOptions;
+
+import javax.management.InstanceNotFoundException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Metrics of the managers created by one {@code ManagerFactory}. Managers of the same space share their metrics,
+ * which are registered in the platform MBean server as
+ * {@code org.tarantool.orm:type=OperationMetrics,factory=<number>,space=<space>} when metrics are enabled
+ * and unregistered when the factory is closed.
+ */
+public final class MetricsRegistry implements AutoCloseable {
+    private static final AtomicInteger factories = new AtomicInteger();
+
+    private final ManagerOptions options;
+    private final int factory = factories.incrementAndGet();
+    private final ConcurrentHashMap<String, OperationMetrics> spaces = new ConcurrentHashMap<>();
+    private final List<ObjectName> registered = new CopyOnWriteArrayList<>();
+    private volatile boolean closed;
+
+    public MetricsRegistry(ManagerOptions options) {
+        this.options = options;
+    }
+
+    public OperationMetrics forSpace(String spaceName, String primaryIndexName) {
+        return spaces.computeIfAbsent(spaceName, ignored -> {
+            OperationMetrics metrics = new OperationMetrics(spaceName, primaryIndexName, options);
+
+            // managers created after close still count, they are just not exposed
+            if (metrics.isEnabled() && !closed) {
+                register(metrics);
+            }
+
+            return metrics;
+        });
+    }
+
+    private void register(OperationMetrics metrics) {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+        try {
+            ObjectName name = new ObjectName(String.format("org.tarantool.orm:type=OperationMetrics,factory=%d,space=%s", factory, ObjectName.quote(metrics.getSpaceName())));
+            server.registerMBean(metrics, name);
+            registered.add(name);
+        } catch (JMException e) {
+            throw new IllegalStateException(String.format("Failed to register metrics of space %s", metrics.getSpaceName()), e);
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+        for (ObjectName name : registered) {
+            try {
+                server.unregisterMBean(name);
+            } catch (InstanceNotFoundException ignored) {
+                // already unregistered by the application
+            } catch (JMException e) {
+                throw new IllegalStateException(String.format("Failed to unregister metrics %s", name), e);
+            }
+        }
+        registered.clear();
+    }
+}
@@ -0,0 +1,15 @@
+package org.tarantool.orm.internals.metrics;
+
+/**
+ * Receives every recorded operation, e.g. to forward it to Micrometer or Dropwizard Metrics.
+ * Methods are called on the threads which run and complete operations, so they should be fast and must not block.
+ * Exceptions thrown by a sink are logged and do not affect operations.
+ */
+public interface MetricsSink {
+    // called before the request of an operation is sent
+    default void onStart(OperationType type, String spaceName, String indexName) {
+    }
+
+    // error is null for successful operations
+    void onComplete(OperationType type, String spaceName, String indexName, long durationNanos, Throwable error);
+}
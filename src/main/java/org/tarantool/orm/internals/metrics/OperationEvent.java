@@ -0,0 +1,89 @@
+package org.tarantool.orm.internals.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight Recorder event of an operation. It is enabled, disabled and filtered by duration through JFR settings,
+ * e.g. {@code -XX:StartFlightRecording:settings=profile,+org.tarantool.orm.Operation#threshold=0ms} on JDK 17.
+ * Sizes of requests and responses are computed only for events which pass the threshold.
+ *
+ * <p>The class is loaded only by JVMs which have the Flight Recorder API (8u262+ and 11+),
+ * so the rest of the library refers to events as objects and calls the static methods of this class.
+ */
+@Name("org.tarantool.orm.Operation")
+@Label("Tarantool ORM Operation")
+@Category({"Tarantool", "ORM"})
+@Description("Operation of a manager: a request to the server and the encoding and decoding of its tuples")
+@StackTrace(false)
+@Threshold("10 ms")
+final class OperationEvent extends Event {
+    private static final EventType TYPE = EventType.getEventType(OperationEvent.class);
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Space")
+    String space;
+
+    @Label("Index")
+    String index;
+
+    @Label("Key Count")
+    @Description("Number of keys or tuples sent by the operation")
+    int keyCount;
+
+    @Label("Row Count")
+    @Description("Number of tuples returned by the operation")
+    int rowCount;
+
+    @Label("Request Size")
+    @Description("Size of the arguments of the request encoded in MessagePack")
+    @DataAmount
+    long requestSize;
+
+    @Label("Response Size")
+    @Description("Size of the response decoded by the operation, 0 if the result was not received by it")
+    @DataAmount
+    long responseSize;
+
+    @Label("Error")
+    String error;
+
+    // returns null if no recording has the event enabled
+    static Object start() {
+        if (!TYPE.isEnabled()) {
+            return null;
+        }
+
+        OperationEvent event = new OperationEvent();
+        event.begin();
+        return event;
+    }
+
+    static void finish(Object begun, OperationType type, String spaceName, String indexName, int keyCount, int rowCount, Object[] request, Object response, Throwable error) {
+        OperationEvent event = (OperationEvent) begun;
+        event.end();
+
+        if (!event.shouldCommit()) {
+            return;
+        }
+
+        event.operation = type.name();
+        event.space = spaceName;
+        event.index = indexName;
+        event.keyCount = keyCount;
+        event.rowCount = rowCount;
+        event.requestSize = OperationTrace.requestSize(request);
+        event.responseSize = OperationTrace.responseSize(response);
+        event.error = error == null ? null : error.toString();
+        event.commit();
+    }
+}
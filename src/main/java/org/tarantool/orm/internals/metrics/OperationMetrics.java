@@ -0,0 +1,166 @@
+package org.tarantool.orm.internals.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.tarantool.orm.internals.ManagerOptions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records operations of a space: latency histograms, throughput, errors and operations in flight
+ * per operation type and index, and passes every operation to the configured sinks.
+ * Operations are also emitted as Flight Recorder events when a recording enables them, and logged if they are slow.
+ * If all of these are disabled operations get {@link OperationTrace#NONE} and nothing is recorded.
+ */
+public final class OperationMetrics implements OperationMetricsMXBean {
+    private static final Logger log = LoggerFactory.getLogger(OperationMetrics.class);
+    private static final boolean FLIGHT_RECORDER = isFlightRecorderAvailable();
+
+    private final String spaceName;
+    private final String primaryIndexName;
+    private final boolean enabled;
+    private final List<MetricsSink> sinks;
+    private final boolean phaseTiming;
+    private final List<PhaseListener> phaseListeners;
+    private final PhaseRecorder phases = new PhaseRecorder();
+    // null if slow operations are not logged
+    private final SlowOperationLog slowLog;
+    // recorders of every operation type by index name
+    private final ConcurrentHashMap<String, OperationRecorder[]> recorders = new ConcurrentHashMap<>();
+
+    public OperationMetrics(String spaceName, String primaryIndexName, ManagerOptions options) {
+        this.spaceName = spaceName;
+        this.primaryIndexName = primaryIndexName;
+        this.enabled = options.isMetricsEnabled();
+        this.sinks = options.getMetricsSinks();
+        this.phaseTiming = options.isPhaseTimingEnabled();
+        this.phaseListeners = options.getPhaseListeners();
+        this.slowLog = options.getSlowLogOptions() == null ? null : new SlowOperationLog(spaceName, options.getSlowLogOptions());
+    }
+
+    // true if operations are recorded by metrics or phase timing
+    public boolean isEnabled() {
+        return enabled || phaseTiming;
+    }
+
+    /**
+     * Starts measuring an operation. Operations which do not use a secondary index pass null as index name,
+     * they are recorded under the primary index.
+     */
+    public OperationTrace start(OperationType type, String indexName) {
+        Object event = FLIGHT_RECORDER ? OperationEvent.start() : null;
+        if (!enabled && !phaseTiming && slowLog == null && event == null) {
+            return OperationTrace.NONE;
+        }
+
+        String index = indexName == null ? primaryIndexName : indexName;
+        OperationRecorder recorder = null;
+
+        if (enabled) {
+            recorder = recorder(type, index);
+            recorder.started();
+
+            for (MetricsSink sink : sinks) {
+                try {
+                    sink.onStart(type, spaceName, index);
+                } catch (RuntimeException e) {
+                    log.warn("Metrics sink {} failed", sink, e);
+                }
+            }
+        }
+
+        return new OperationTrace(this, recorder, phaseTiming, slowLog, type, index, System.nanoTime(), event);
+    }
+
+    @Override
+    public String getSpaceName() {
+        return spaceName;
+    }
+
+    @Override
+    public List<OperationStats> getOperations() {
+        List<OperationStats> stats = new ArrayList<>();
+
+        for (OperationRecorder[] byType : recorders.values()) {
+            for (OperationRecorder recorder : byType) {
+                if (recorder != null) {
+                    stats.add(recorder.getStats());
+                }
+            }
+        }
+
+        return stats;
+    }
+
+    @Override
+    public PhaseStats getPhases() {
+        return phases.getStats();
+    }
+
+    @Override
+    public void reset() {
+        phases.reset();
+        for (OperationRecorder[] byType : recorders.values()) {
+            for (OperationRecorder recorder : byType) {
+                if (recorder != null) {
+                    recorder.reset();
+                }
+            }
+        }
+    }
+
+    void completed(OperationType type, String indexName, long durationNanos, Throwable error) {
+        for (MetricsSink sink : sinks) {
+            try {
+                sink.onComplete(type, spaceName, indexName, durationNanos, error);
+            } catch (RuntimeException e) {
+                log.warn("Metrics sink {} failed", sink, e);
+            }
+        }
+    }
+
+    void phasesCompleted(OperationType type, String indexName, long encodeNanos, long waitNanos, long decodeNanos) {
+        phases.record(encodeNanos, waitNanos, decodeNanos);
+
+        for (PhaseListener listener : phaseListeners) {
+            try {
+                listener.onPhases(type, spaceName, indexName, encodeNanos, waitNanos, decodeNanos);
+            } catch (RuntimeException e) {
+                log.warn("Phase listener {} failed", listener, e);
+            }
+        }
+    }
+
+    // the Flight Recorder API is present in 8u262+ and 11+
+    private static boolean isFlightRecorderAvailable() {
+        try {
+            Class.forName("jdk.jfr.Event", false, OperationMetrics.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    private OperationRecorder recorder(OperationType type, String indexName) {
+        OperationRecorder[] byType = recorders.get(indexName);
+        if (byType == null) {
+            byType = recorders.computeIfAbsent(indexName, ignored -> new OperationRecorder[OperationType.values().length]);
+        }
+
+        OperationRecorder recorder = byType[type.ordinal()];
+        if (recorder == null) {
+            // recorders are created rarely, so the array of an index is used as a lock
+            synchronized (byType) {
+                recorder = byType[type.ordinal()];
+                if (recorder == null) {
+                    recorder = new OperationRecorder(type, indexName);
+                    byType[type.ordinal()] = recorder;
+                }
+            }
+        }
+
+        return recorder;
+    }
+}
@@ -0,0 +1,16 @@
+package org.tarantool.orm.internals.metrics;
+
+import java.util.List;
+
+/**
+ * JMX view of the operations of a manager, registered by {@code ManagerFactory} when metrics or phase timing are enabled.
+ */
+public interface OperationMetricsMXBean {
+    String getSpaceName();
+
+    List<OperationStats> getOperations();
+
+    PhaseStats getPhases();
+
+    void reset();
+}
@@ -0,0 +1,79 @@
+package org.tarantool.orm.internals.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency, throughput, errors and operations in flight of one operation type on one index.
+ */
+final class OperationRecorder {
+    private static final long WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final OperationType type;
+    private final String indexName;
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder inFlight = new LongAdder();
+
+    // throughput is measured over windows of a second, the rate of the last completed window is reported
+    private final AtomicLong windowStart = new AtomicLong(System.nanoTime());
+    private final LongAdder windowCount = new LongAdder();
+    private volatile double throughput;
+
+    OperationRecorder(OperationType type, String indexName) {
+        this.type = type;
+        this.indexName = indexName;
+    }
+
+    void started() {
+        inFlight.increment();
+    }
+
+    void completed(long durationNanos, long now, boolean failed) {
+        inFlight.decrement();
+        latency.record(durationNanos);
+        if (failed) {
+            errors.increment();
+        }
+
+        windowCount.increment();
+        long start = windowStart.get();
+        if (now - start >= WINDOW_NANOS && windowStart.compareAndSet(start, now)) {
+            throughput = windowCount.sumThenReset() * 1e9 / (now - start);
+        }
+    }
+
+    OperationStats getStats() {
+        long now = System.nanoTime();
+        long start = windowStart.get();
+        // without completions the window is not rolled, so the rate of the long current window is reported instead
+        double rate = now - start >= 2 * WINDOW_NANOS ? windowCount.sum() * 1e9 / (now - start) : throughput;
+
+        LatencyHistogram.Snapshot snapshot = latency.snapshot();
+        return new OperationStats(
+                type.name(),
+                indexName,
+                snapshot.getCount(),
+                errors.sum(),
+                inFlight.sum(),
+                rate,
+                snapshot.getMean() / 1000,
+                micros(snapshot.getValueAtPercentile(50)),
+                micros(snapshot.getValueAtPercentile(90)),
+                micros(snapshot.getValueAtPercentile(99)),
+                micros(snapshot.getValueAtPercentile(99.9)),
+                micros(snapshot.getMax())
+        );
+    }
+
+    // operations in flight are kept, their completions would make the gauge negative otherwise
+    void reset() {
+        latency.reset();
+        errors.reset();
+    }
+
+    private static double micros(long nanos) {
+        return nanos / 1000.0;
+    }
+}
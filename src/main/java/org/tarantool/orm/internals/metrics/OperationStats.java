@@ -0,0 +1,89 @@
+package org.tarantool.orm.internals.metrics;
+
+/**
+ * Statistics of one operation type on one index since the manager was created or reset.
+ * Latencies are in microseconds, throughput is in operations per second.
+ */
+public final class OperationStats {
+    private final String operation;
+    private final String indexName;
+    private final long count;
+    private final long errors;
+    private final long inFlight;
+    private final double throughput;
+    private final double meanMicros;
+    private final double p50Micros;
+    private final double p90Micros;
+    private final double p99Micros;
+    private final double p999Micros;
+    private final double maxMicros;
+
+    public OperationStats(String operation, String indexName, long count, long errors, long inFlight, double throughput, double meanMicros, double p50Micros, double p90Micros, double p99Micros, double p999Micros, double maxMicros) {
+        this.operation = operation;
+        this.indexName = indexName;
+        this.count = count;
+        this.errors = errors;
+        this.inFlight = inFlight;
+        this.throughput = throughput;
+        this.meanMicros = meanMicros;
+        this.p50Micros = p50Micros;
+        this.p90Micros = p90Micros;
+        this.p99Micros = p99Micros;
+        this.p999Micros = p999Micros;
+        this.maxMicros = maxMicros;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public String getIndexName() {
+        return indexName;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getErrors() {
+        return errors;
+    }
+
+    public long getInFlight() {
+        return inFlight;
+    }
+
+    public double getThroughput() {
+        return throughput;
+    }
+
+    public double getMeanMicros() {
+        return meanMicros;
+    }
+
+    public double getP50Micros() {
+        return p50Micros;
+    }
+
+    public double getP90Micros() {
+        return p90Micros;
+    }
+
+    public double getP99Micros() {
+        return p99Micros;
+    }
+
+    public double getP999Micros() {
+        return p999Micros;
+    }
+
+    public double getMaxMicros() {
+        return maxMicros;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s on %s: count=%d, errors=%d, inFlight=%d, throughput=%.1f/s, mean=%.1fus, p50=%.1fus, p90=%.1fus, p99=%.1fus, p99.9=%.1fus, max=%.1fus",
+                operation, indexName, count, errors, inFlight, throughput, meanMicros, p50Micros, p90Micros, p99Micros, p999Micros, maxMicros);
+    }
+}
@@ -0,0 +1,167 @@
+package org.tarantool.orm.internals.metrics;
+
+import org.tarantool.orm.internals.MsgPack;
+import org.tarantool.orm.internals.operations.BulkResult;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Measures a single run of an operation. When metrics and Flight Recorder events are disabled operations get {@link #NONE},
+ * whose methods only return their arguments, so nothing is allocated and the clock is not read.
+ *
+ * <p>Operations pass the encoded arguments of their request to {@link #request} and the raw response
+ * to {@link #received}. The calls split the run into encode, wait and decode phases for phase timing,
+ * and their arguments are used by Flight Recorder events and the slow operation log.
+ */
+public final class OperationTrace {
+    public static final OperationTrace NONE = new OperationTrace(null, null, false, null, null, null, 0, null);
+
+    private final OperationMetrics metrics;
+    // null if metrics are disabled
+    private final OperationRecorder recorder;
+    private final boolean phaseTiming;
+    // null if slow operations are not logged
+    private final SlowOperationLog slowLog;
+    private final OperationType type;
+    private final String indexName;
+    private final long start;
+    // null if the event is disabled
+    private final Object event;
+
+    private int keyCount;
+    private Object[] request;
+    private Object response;
+    // zero until the phase is reached
+    private long sentAt;
+    private long receivedAt;
+
+    OperationTrace(OperationMetrics metrics, OperationRecorder recorder, boolean phaseTiming, SlowOperationLog slowLog, OperationType type, String indexName, long start, Object event) {
+        this.metrics = metrics;
+        this.recorder = recorder;
+        this.phaseTiming = phaseTiming;
+        this.slowLog = slowLog;
+        this.type = type;
+        this.indexName = indexName;
+        this.start = start;
+        this.event = event;
+    }
+
+    // keyCount is the number of keys or tuples sent, payload is the arguments of the request
+    public void request(int keyCount, Object... payload) {
+        if (phaseTiming) {
+            sentAt = System.nanoTime();
+        }
+        if (event != null || slowLog != null) {
+            this.keyCount = keyCount;
+            this.request = payload;
+        }
+    }
+
+    // records the raw response and returns it
+    public List<?> received(List<?> response) {
+        if (phaseTiming) {
+            receivedAt = System.nanoTime();
+        }
+        if (event != null || slowLog != null) {
+            this.response = response;
+        }
+        return response;
+    }
+
+    public CompletionStage<List<?>> receive(CompletionStage<List<?>> stage) {
+        if (event == null && !phaseTiming && slowLog == null) {
+            return stage;
+        }
+        return stage.thenApply(this::received);
+    }
+
+    // records a successful run and returns its result
+    public <R> R finish(R result) {
+        if (metrics != null) {
+            complete(result, null);
+        }
+        return result;
+    }
+
+    // records a failed run and returns the error to be thrown
+    public RuntimeException fail(RuntimeException error) {
+        if (metrics != null) {
+            complete(null, error);
+        }
+        return error;
+    }
+
+    // records the run when the stage completes
+    public <R> CompletionStage<R> track(CompletionStage<R> stage) {
+        if (metrics == null) {
+            return stage;
+        }
+        return stage.whenComplete(this::complete);
+    }
+
+    private void complete(Object result, Throwable error) {
+        long now = System.nanoTime();
+
+        if (recorder != null) {
+            recorder.completed(now - start, now, error != null);
+            metrics.completed(type, indexName, now - start, error);
+        }
+
+        // failed operations may stop at any phase, so only successful ones are timed
+        if (phaseTiming && error == null && sentAt != 0) {
+            // operations which do not decode a response themselves, e.g. cached selects, spend all time after the request waiting
+            long decodeStart = receivedAt != 0 ? receivedAt : now;
+            metrics.phasesCompleted(type, indexName, sentAt - start, decodeStart - sentAt, now - decodeStart);
+        }
+
+        if (event != null) {
+            OperationEvent.finish(event, type, metrics.getSpaceName(), indexName, keyCount, rows(result), request, response, unwrap(error));
+        }
+
+        if (slowLog != null) {
+            slowLog.completed(type, indexName, now - start, keyCount, request, response, rows(result), unwrap(error), now);
+        }
+    }
+
+    static long requestSize(Object[] request) {
+        if (request == null) {
+            return 0;
+        }
+
+        long size = 0;
+        for (Object part : request) {
+            size += MsgPack.encode(part).length;
+        }
+
+        return size;
+    }
+
+    static long responseSize(Object response) {
+        return response == null ? 0 : MsgPack.encode(response).length;
+    }
+
+    // errors of asynchronous operations are wrapped by the stages
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    private static int rows(Object result) {
+        if (result == null) {
+            return 0;
+        }
+        if (result instanceof Collection) {
+            return ((Collection<?>) result).size();
+        }
+        if (result instanceof Map) {
+            return ((Map<?, ?>) result).size();
+        }
+        if (result instanceof BulkResult) {
+            return ((BulkResult) result).getCount();
+        }
+        return 1;
+    }
+}
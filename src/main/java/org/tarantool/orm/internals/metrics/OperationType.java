@@ -0,0 +1,33 @@
+package org.tarantool.orm.internals.metrics;
+
+/**
+ * Kinds of recorded operations. Batches of single operations are recorded as the operations they consist of.
+ */
+public enum OperationType {
+    SELECT,
+    SELECT_MANY,
+    SCAN,
+    GET_ALL,
+    INSERT,
+    REPLACE,
+    UPDATE,
+    UPSERT,
+    DELETE,
+    BULK_INSERT,
+    BULK_REPLACE,
+    BULK_DELETE;
+
+    // operation is the name used by the bulk write function
+    public static OperationType bulk(String operation) {
+        switch (operation) {
+            case "insert":
+                return BULK_INSERT;
+            case "replace":
+                return BULK_REPLACE;
+            case "delete":
+                return BULK_DELETE;
+            default:
+                throw new IllegalArgumentException(String.format("Unknown bulk operation %s", operation));
+        }
+    }
+}
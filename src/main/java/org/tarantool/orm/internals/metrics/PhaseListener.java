@@ -0,0 +1,16 @@
+package org.tarantool.orm.internals.metrics;
+
+/**
+ * Receives the phases of every successful operation of managers with phase timing enabled.
+ * Called on the thread which completes the operation, so it should be fast and must not block.
+ * Exceptions thrown by a listener are logged and do not affect operations.
+ */
+public interface PhaseListener {
+    /**
+     * @param encodeNanos time spent converting the arguments to the request, e.g. in {@code Meta.toList}
+     * @param waitNanos   time since the request was passed to the connector until its response was received,
+     *                    which includes the queue of the connector, the network and the server
+     * @param decodeNanos time spent converting the response to the result, e.g. in {@code Meta.fromList}
+     */
+    void onPhases(OperationType type, String spaceName, String indexName, long encodeNanos, long waitNanos, long decodeNanos);
+}
@@ -0,0 +1,42 @@
+package org.tarantool.orm.internals.metrics;
+
+/**
+ * Encode, wait and decode times of the operations of a space.
+ */
+final class PhaseRecorder {
+    private final LatencyHistogram encode = new LatencyHistogram();
+    private final LatencyHistogram wait = new LatencyHistogram();
+    private final LatencyHistogram decode = new LatencyHistogram();
+
+    void record(long encodeNanos, long waitNanos, long decodeNanos) {
+        encode.record(encodeNanos);
+        wait.record(waitNanos);
+        decode.record(decodeNanos);
+    }
+
+    PhaseStats getStats() {
+        LatencyHistogram.Snapshot encodeSnapshot = encode.snapshot();
+        LatencyHistogram.Snapshot waitSnapshot = wait.snapshot();
+        LatencyHistogram.Snapshot decodeSnapshot = decode.snapshot();
+
+        return new PhaseStats(
+                encodeSnapshot.getCount(),
+                encodeSnapshot.getMean() / 1000,
+                micros(encodeSnapshot.getValueAtPercentile(99)),
+                waitSnapshot.getMean() / 1000,
+                micros(waitSnapshot.getValueAtPercentile(99)),
+                decodeSnapshot.getMean() / 1000,
+                micros(decodeSnapshot.getValueAtPercentile(99))
+        );
+    }
+
+    void reset() {
+        encode.reset();
+        wait.reset();
+        decode.reset();
+    }
+
+    private static double micros(long nanos) {
+        return nanos / 1000.0;
+    }
+}
@@ -0,0 +1,59 @@
+package org.tarantool.orm.internals.metrics;
+
+/**
+ * Encode, wait and decode times of the successful operations of a space since the manager was created or reset.
+ * Times are in microseconds. A slow server or network shows up in wait times, large tuples in encode and decode times.
+ */
+public final class PhaseStats {
+    private final long count;
+    private final double encodeMeanMicros;
+    private final double encodeP99Micros;
+    private final double waitMeanMicros;
+    private final double waitP99Micros;
+    private final double decodeMeanMicros;
+    private final double decodeP99Micros;
+
+    public PhaseStats(long count, double encodeMeanMicros, double encodeP99Micros, double waitMeanMicros, double waitP99Micros, double decodeMeanMicros, double decodeP99Micros) {
+        this.count = count;
+        this.encodeMeanMicros = encodeMeanMicros;
+        this.encodeP99Micros = encodeP99Micros;
+        this.waitMeanMicros = waitMeanMicros;
+        this.waitP99Micros = waitP99Micros;
+        this.decodeMeanMicros = decodeMeanMicros;
+        this.decodeP99Micros = decodeP99Micros;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getEncodeMeanMicros() {
+        return encodeMeanMicros;
+    }
+
+    public double getEncodeP99Micros() {
+        return encodeP99Micros;
+    }
+
+    public double getWaitMeanMicros() {
+        return waitMeanMicros;
+    }
+
+    public double getWaitP99Micros() {
+        return waitP99Micros;
+    }
+
+    public double getDecodeMeanMicros() {
+        return decodeMeanMicros;
+    }
+
+    public double getDecodeP99Micros() {
+        return decodeP99Micros;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("count=%d, encode mean=%.1fus p99=%.1fus, wait mean=%.1fus p99=%.1fus, decode mean=%.1fus p99=%.1fus",
+                count, encodeMeanMicros, encodeP99Micros, waitMeanMicros, waitP99Micros, decodeMeanMicros, decodeP99Micros);
+    }
+}
@@ -0,0 +1,90 @@
+package org.tarantool.orm.internals.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.tarantool.orm.internals.SlowLogOptions;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Logs operations of a space which are slower than the threshold and a random sample of the rest,
+ * with the first argument of the request (the key, or the tuple of inserts and replaces), sizes of the request
+ * and the response encoded in MessagePack and the number of returned tuples.
+ * Sizes are computed only for logged operations.
+ */
+final class SlowOperationLog {
+    private static final Logger log = LoggerFactory.getLogger(SlowOperationLog.class);
+    private static final long WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final int MAX_ARGUMENT_LENGTH = 256;
+
+    private final String spaceName;
+    private final long thresholdNanos;
+    private final int sampleRate;
+    private final int maxEntriesPerSecond;
+
+    private final AtomicLong windowStart = new AtomicLong(System.nanoTime());
+    private final AtomicInteger windowEntries = new AtomicInteger();
+    private final LongAdder suppressed = new LongAdder();
+
+    SlowOperationLog(String spaceName, SlowLogOptions options) {
+        this.spaceName = spaceName;
+        this.thresholdNanos = options.getThresholdNanos();
+        this.sampleRate = options.getSampleRate();
+        this.maxEntriesPerSecond = options.getMaxEntriesPerSecond();
+    }
+
+    void completed(OperationType type, String indexName, long durationNanos, int keyCount, Object[] request, Object response, int rowCount, Throwable error, long now) {
+        boolean slow = durationNanos >= thresholdNanos;
+        if (!slow && (sampleRate == 0 || ThreadLocalRandom.current().nextInt(sampleRate) != 0)) {
+            return;
+        }
+
+        if (!acquire(now)) {
+            suppressed.increment();
+            return;
+        }
+
+        long dropped = suppressed.sumThenReset();
+        String entry = String.format("%s %s on space %s, index %s: %.3f ms, %s, request %d bytes, response %d bytes, %d row(s)%s%s",
+                slow ? "Slow" : "Sampled",
+                type,
+                spaceName,
+                indexName,
+                durationNanos / 1e6,
+                keys(keyCount, request),
+                OperationTrace.requestSize(request),
+                OperationTrace.responseSize(response),
+                rowCount,
+                error == null ? "" : ", failed with " + error,
+                dropped == 0 ? "" : String.format(" (%d entries suppressed)", dropped));
+
+        if (slow) {
+            log.warn(entry);
+        } else {
+            log.info(entry);
+        }
+    }
+
+    private boolean acquire(long now) {
+        long start = windowStart.get();
+        if (now - start >= WINDOW_NANOS && windowStart.compareAndSet(start, now)) {
+            windowEntries.set(0);
+        }
+
+        return windowEntries.incrementAndGet() <= maxEntriesPerSecond;
+    }
+
+    // arguments of requests with many keys hold all of them, so they are summarized by the count
+    private static String keys(int keyCount, Object[] request) {
+        if (keyCount != 1 || request == null || request.length == 0) {
+            return keyCount + " keys";
+        }
+
+        String argument = String.valueOf(request[0]);
+        return "key " + (argument.length() > MAX_ARGUMENT_LENGTH ? argument.substring(0, MAX_ARGUMENT_LENGTH) + "..." : argument);
+    }
+}
@@ -0,0 +1,120 @@
+package org.tarantool.orm.internals.operations;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Runs an operation per item of a collection without waiting for the previous responses.
+ * At most maxInFlight requests are sent but not yet answered, every completed request immediately frees a slot for the next item.
+ * A failed item does not stop the batch, its error is reported in {@link BatchResult#getFailures()}.
+ */
+public final class BatchOperation<V, T> implements Operation<BatchResult<T>> {
+    private final Collection<V> values;
+    private final Function<V, ? extends Operation<T>> operationFactory;
+    private final int maxInFlight;
+
+    public BatchOperation(Collection<V> values, Function<V, ? extends Operation<T>> operationFactory, int maxInFlight) {
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("Max number of requests in flight should be positive");
+        }
+
+        this.values = values;
+        this.operationFactory = operationFactory;
+        this.maxInFlight = maxInFlight;
+    }
+
+    @Override
+    public BatchResult<T> runSync() {
+        return runAsync().toCompletableFuture().join();
+    }
+
+    @Override
+    public CompletionStage<BatchResult<T>> runAsync() {
+        return new Pipeline().start();
+    }
+
+    private final class Pipeline {
+        private final CompletableFuture<BatchResult<T>> result = new CompletableFuture<>();
+        private final Iterator<V> iterator = values.iterator();
+        private final int size = values.size();
+        private final Object[] results = new Object[size];
+        private final Map<Integer, Throwable> failures = new TreeMap<>();
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger completed = new AtomicInteger();
+        private final AtomicInteger wip = new AtomicInteger();
+        // accessed only inside launch loop
+        private int position;
+
+        private CompletionStage<BatchResult<T>> start() {
+            if (size == 0) {
+                result.complete(new BatchResult<>(Collections.emptyList(), Collections.emptyMap()));
+            } else {
+                launch();
+            }
+
+            return result;
+        }
+
+        // responses which are completed synchronously call launch() again, so a loop is used instead of recursion
+        private void launch() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+
+            int missed = 1;
+            do {
+                while (inFlight.get() < maxInFlight && position < size) {
+                    int current = position++;
+                    V value = iterator.next();
+                    inFlight.incrementAndGet();
+
+                    CompletionStage<T> stage;
+                    try {
+                        stage = operationFactory.apply(value).runAsync();
+                    } catch (RuntimeException e) {
+                        CompletableFuture<T> failed = new CompletableFuture<>();
+                        failed.completeExceptionally(e);
+                        stage = failed;
+                    }
+
+                    stage.whenComplete((response, throwable) -> onComplete(current, response, throwable));
+                }
+
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void onComplete(int current, T response, Throwable throwable) {
+            if (throwable != null) {
+                synchronized (failures) {
+                    failures.put(current, throwable);
+                }
+            } else {
+                results[current] = response;
+            }
+
+            inFlight.decrementAndGet();
+
+            if (completed.incrementAndGet() == size) {
+                finish();
+            } else {
+                launch();
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private void finish() {
+            List<T> list = new ArrayList<>(size);
+            for (Object value : results) {
+                list.add((T) value);
+            }
+
+            synchronized (failures) {
+                result.complete(new BatchResult<>(list, new TreeMap<>(failures)));
+            }
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package org.tarantool.orm.internals.operations;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of a batch: results and failures are addressed by the position of an item in the source collection.
+ * Position of a failed item holds null in results.
+ */
+public final class BatchResult<T> {
+    private final List<T> results;
+    private final Map<Integer, Throwable> failures;
+
+    public BatchResult(List<T> results, Map<Integer, Throwable> failures) {
+        this.results = Collections.unmodifiableList(results);
+        this.failures = Collections.unmodifiableMap(failures);
+    }
+
+    public List<T> getResults() {
+        return results;
+    }
+
+    public Map<Integer, Throwable> getFailures() {
+        return failures;
+    }
+
+    public boolean hasFailures() {
+        return !failures.isEmpty();
+    }
+}
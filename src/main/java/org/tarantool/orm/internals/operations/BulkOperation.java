@@ -0,0 +1,104 @@
+package org.tarantool.orm.internals.operations;
+
+import org.tarantool.TarantoolClient;
+import org.tarantool.orm.internals.ServerFunction;
+import org.tarantool.orm.internals.WriteListener;
+import org.tarantool.orm.internals.metrics.OperationMetrics;
+import org.tarantool.orm.internals.metrics.OperationTrace;
+import org.tarantool.orm.internals.metrics.OperationType;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+
+/**
+ * Sends a whole collection of tuples (or keys for delete) in a single call of a server-side function,
+ * which applies the operation to every element. Costs one request and one fiber on the server regardless of the collection size.
+ */
+public final class BulkOperation<T> implements Operation<BulkResult> {
+    private final TarantoolClient tarantoolClient;
+    private final ServerFunction function;
+    private final String operation;
+    private final Collection<T> values;
+    private final Function<T, List<?>> encoder;
+    private final boolean atomic;
+    private final WriteListener<T> writeListener;
+    private final OperationMetrics metrics;
+
+    public BulkOperation(TarantoolClient tarantoolClient, ServerFunction function, String operation, Collection<T> values, Function<T, List<?>> encoder, boolean atomic, WriteListener<T> writeListener, OperationMetrics metrics) {
+        if (!"insert".equals(operation) && !"replace".equals(operation) && !"delete".equals(operation)) {
+            throw new IllegalArgumentException(String.format("Bulk operation %s is not supported", operation));
+        }
+
+        this.tarantoolClient = tarantoolClient;
+        this.function = function;
+        this.operation = operation;
+        this.values = values;
+        this.encoder = encoder;
+        this.atomic = atomic;
+        this.writeListener = writeListener;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public BulkResult runSync() {
+        OperationTrace trace = metrics.start(OperationType.bulk(operation), null);
+        notifyListener();
+        try {
+            List<List<?>> encoded = encode();
+            trace.request(encoded.size(), encoded);
+            List<?> result = trace.received(function.callSync(tarantoolClient, operation, encoded, atomic));
+            return trace.finish(toBulkResult(result));
+        } catch (RuntimeException e) {
+            throw trace.fail(e);
+        } finally {
+            notifyListener();
+        }
+    }
+
+    @Override
+    public CompletionStage<BulkResult> runAsync() {
+        OperationTrace trace = metrics.start(OperationType.bulk(operation), null);
+        notifyListener();
+        try {
+            List<List<?>> encoded = encode();
+            trace.request(encoded.size(), encoded);
+            return trace.track(trace.receive(function.callAsync(tarantoolClient, operation, encoded, atomic))
+                    .whenComplete((result, throwable) -> notifyListener())
+                    .thenApply(BulkOperation::toBulkResult));
+        } catch (RuntimeException e) {
+            throw trace.fail(e);
+        }
+    }
+
+    private void notifyListener() {
+        for (T value : values) {
+            writeListener.onValueWrite(value);
+        }
+    }
+
+    private List<List<?>> encode() {
+        List<List<?>> encoded = new ArrayList<>(values.size());
+
+        for (T value : values) {
+            encoded.add(encoder.apply(value));
+        }
+
+        return encoded;
+    }
+
+    // result -> [[count, [failed positions]]]
+    private static BulkResult toBulkResult(List<?> result) {
+        List<?> values = (List<?>) result.get(0);
+        List<?> positions = (List<?>) values.get(1);
+        List<Integer> failed = new ArrayList<>(positions.size());
+
+        for (Object position : positions) {
+            failed.add(((Number) position).intValue());
+        }
+
+        return new BulkResult(((Number) values.get(0)).intValue(), failed);
+    }
+}
@@ -0,0 +1,30 @@
+package org.tarantool.orm.internals.operations;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of a bulk write: number of affected tuples and positions of tuples which were rejected by the server.
+ * Atomic bulk writes never have failed positions, they fail as a whole.
+ */
+public final class BulkResult {
+    private final int count;
+    private final List<Integer> failed;
+
+    public BulkResult(int count, List<Integer> failed) {
+        this.count = count;
+        this.failed = Collections.unmodifiableList(failed);
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public List<Integer> getFailed() {
+        return failed;
+    }
+
+    public boolean hasFailures() {
+        return !failed.isEmpty();
+    }
+}
@@ -2,6 +2,10 @@ package org.tarantool.orm.internals.operations;
 
 import org.tarantool.TarantoolClient;
 import org.tarantool.orm.internals.Meta;
+import org.tarantool.orm.internals.WriteListener;
+import org.tarantool.orm.internals.metrics.OperationMetrics;
+import org.tarantool.orm.internals.metrics.OperationTrace;
+import org.tarantool.orm.internals.metrics.OperationType;
 
 import java.util.List;
 import java.util.concurrent.CompletionStage;
@@ -11,23 +15,44 @@ public final class DeleteOperation<T> implements Operation<T> {
     private final Meta<T> meta;
     private final String spaceName;
     private final List<?> keys;
+    private final WriteListener<T> writeListener;
+    private final OperationMetrics metrics;
 
-    public DeleteOperation(TarantoolClient tarantoolClient, Meta<T> meta, String spaceName, List<?> keys) {
+    public DeleteOperation(TarantoolClient tarantoolClient, Meta<T> meta, String spaceName, List<?> keys, WriteListener<T> writeListener, OperationMetrics metrics) {
         this.tarantoolClient = tarantoolClient;
         this.meta = meta;
         this.spaceName = spaceName;
         this.keys = keys;
+        this.writeListener = writeListener;
+        this.metrics = metrics;
     }
 
     @Override
     public T runSync() {
-        List<?> result = tarantoolClient.syncOps().delete(spaceName, keys);
-        return meta.resultToDataClass(result);
+        OperationTrace trace = metrics.start(OperationType.DELETE, null);
+        writeListener.onKeyWrite(keys);
+        try {
+            trace.request(1, keys);
+            List<?> result = trace.received(tarantoolClient.syncOps().delete(spaceName, keys));
+            return trace.finish(meta.resultToDataClass(result));
+        } catch (RuntimeException e) {
+            throw trace.fail(e);
+        } finally {
+            writeListener.onKeyWrite(keys);
+        }
     }
 
     @Override
     public CompletionStage<T> runAsync() {
-        return tarantoolClient.composableAsyncOps().delete(spaceName, keys)
-                .thenApply(meta::resultToDataClass);
+        OperationTrace trace = metrics.start(OperationType.DELETE, null);
+        writeListener.onKeyWrite(keys);
+        try {
+            trace.request(1, keys);
+            return trace.track(trace.receive(tarantoolClient.composableAsyncOps().delete(spaceName, keys))
+                    .whenComplete((result, throwable) -> writeListener.onKeyWrite(keys))
+                    .thenApply(meta::resultToDataClass));
+        } catch (RuntimeException e) {
+            throw trace.fail(e);
+        }
     }
 }
@@ -0,0 +1,97 @@
+package org.tarantool.orm.internals.operations;
+
+import org.tarantool.TarantoolClient;
+import org.tarantool.orm.internals.Meta;
+import org.tarantool.orm.internals.ServerFunction;
+import org.tarantool.orm.internals.metrics.OperationMetrics;
+import org.tarantool.orm.internals.metrics.OperationTrace;
+import org.tarantool.orm.internals.metrics.OperationType;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+
+/**
+ * Looks up tuples by a collection of primary keys in a single call of a server-side function.
+ * Keys which are not found are absent in the resulting map. Found tuples are mapped by the keys passed by the caller,
+ * matched by the encoded key which is compared with the key extracted from the tuple.
+ */
+public final class GetAllOperation<K, T> implements Operation<Map<K, T>> {
+    private final TarantoolClient tarantoolClient;
+    private final Meta<T> meta;
+    private final ServerFunction function;
+    private final Collection<K> keys;
+    private final Function<K, List<?>> keyEncoder;
+    private final Function<T, List<?>> keyExtractor;
+    private final OperationMetrics metrics;
+
+    public GetAllOperation(TarantoolClient tarantoolClient, Meta<T> meta, ServerFunction function, Collection<K> keys, Function<K, List<?>> keyEncoder, Function<T, List<?>> keyExtractor, OperationMetrics metrics) {
+        this.tarantoolClient = tarantoolClient;
+        this.meta = meta;
+        this.function = function;
+        this.keys = keys;
+        this.keyEncoder = keyEncoder;
+        this.keyExtractor = keyExtractor;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Map<K, T> runSync() {
+        OperationTrace trace = metrics.start(OperationType.GET_ALL, null);
+        try {
+            List<List<?>> encoded = encode();
+            trace.request(encoded.size(), encoded);
+            List<?> result = trace.received(function.callSync(tarantoolClient, encoded));
+            return trace.finish(toMap(result));
+        } catch (RuntimeException e) {
+            throw trace.fail(e);
+        }
+    }
+
+    @Override
+    public CompletionStage<Map<K, T>> runAsync() {
+        OperationTrace trace = metrics.start(OperationType.GET_ALL, null);
+        try {
+            List<List<?>> encoded = encode();
+            trace.request(encoded.size(), encoded);
+            return trace.track(trace.receive(function.callAsync(tarantoolClient, encoded))
+                    .thenApply(this::toMap));
+        } catch (RuntimeException e) {
+            throw trace.fail(e);
+        }
+    }
+
+    private List<List<?>> encode() {
+        List<List<?>> encoded = new ArrayList<>(keys.size());
+
+        for (K key : keys) {
+            encoded.add(keyEncoder.apply(key));
+        }
+
+        return encoded;
+    }
+
+    // result -> [[tuple, tuple, ...]]
+    private Map<K, T> toMap(List<?> result) {
+        List<T> values = meta.resultToDataClasses((List<?>) result.get(0));
+        Map<List<?>, T> byKey = new HashMap<>(values.size() * 4 / 3 + 1);
+
+        for (T value : values) {
+            byKey.put(keyExtractor.apply(value), value);
+        }
+
+        Map<K, T> map = new HashMap<>(values.size() * 4 / 3 + 1);
+        for (K key : keys) {
+            T value = byKey.get(keyEncoder.apply(key));
+            if (value != null) {
+                map.put(key, value);
+            }
+        }
+
+        return map;
+    }
+}
@@ -2,6 +2,10 @@ package org.tarantool.orm.internals.operations;
 
 import org.tarantool.TarantoolClient;
 import org.tarantool.orm.internals.Meta;
+import org.tarantool.orm.internals.WriteListener;
+import org.tarantool.orm.internals.metrics.OperationMetrics;
+import org.tarantool.orm.internals.metrics.OperationTrace;
+import org.tarantool.orm.internals.metrics.OperationType;
 
 import java.util.List;
 import java.util.concurrent.CompletionStage;
@@ -11,23 +15,46 @@ public final class InsertOperation<T> implements Operation<T> {
     private final Meta<T> meta;
     private final String spaceName;
     private final T value;
+    private final WriteListener<T> writeListener;
+    private final OperationMetrics metrics;
 
-    public InsertOperation(TarantoolClient tarantoolClient, Meta<T> meta, String spaceName, T value) {
+    public InsertOperation(TarantoolClient tarantoolClient, Meta<T> meta, String spaceName, T value, WriteListener<T> writeListener, OperationMetrics metrics) {
         this.tarantoolClient = tarantoolClient;
         this.meta = meta;
         this.spaceName = spaceName;
         this.value = value;
+        this.writeListener = writeListener;
+        this.metrics = metrics;
     }
 
     @Override
     public T runSync() {
-        List<?> result = tarantoolClient.syncOps().insert(spaceName, meta.toList(value));
-        return meta.resultToDataClass(result);
+        OperationTrace trace = metrics.start(OperationType.INSERT, null);
+        writeListener.onValueWrite(value);
+        try {
+            List<?> tuple = meta.toList(value);
+            trace.request(1, tuple);
+            List<?> result = trace.received(tarantoolClient.syncOps().insert(spaceName, tuple));
+            return trace.finish(meta.resultToDataClass(result));
+        } catch (RuntimeException e) {
+            throw trace.fail(e);
+        } finally {
+            writeListener.onValueWrite(value);
+        }
     }
 
     @Override
     public CompletionStage<T> runAsync() {
-        return tarantoolClient.composableAsyncOps().insert(spaceName, meta.toList(value))
-                .thenApply(meta::resultToDataClass);
+        OperationTrace trace = metrics.start(OperationType.INSERT, null);
+        writeListener.onValueWrite(value);
+        try {
+            List<?> tuple = meta.toList(value);
+            trace.request(1, tuple);
+            return trace.track(trace.receive(tarantoolClient.composableAsyncOps().insert(spaceName, tuple))
+                    .whenComplete((result, throwable) -> writeListener.onValueWrite(value))
+                    .thenApply(meta::resultToDataClass));
+        } catch (RuntimeException e) {
+            throw trace.fail(e);
+        }
     }
 }
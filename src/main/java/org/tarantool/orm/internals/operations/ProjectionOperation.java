@@ -0,0 +1,123 @@
+package org.tarantool.orm.internals.operations;
+
+import org.tarantool.Iterator;
+import org.tarantool.TarantoolClient;
+import org.tarantool.orm.internals.Meta;
+import org.tarantool.orm.internals.ServerFunction;
+import org.tarantool.orm.internals.TupleField;
+import org.tarantool.orm.internals.metrics.OperationMetrics;
+import org.tarantool.orm.internals.metrics.OperationTrace;
+import org.tarantool.orm.internals.metrics.OperationType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+
+/**
+ * Selects tuples by an index in a call of a server-side function which returns only the requested fields
+ * of every tuple, so the rest of fields are not sent over the network. Returned instances have only
+ * the requested fields set, other fields keep the values of a new instance, so such instances should not
+ * be replaced or updated as a whole unless changes of the data class are tracked.
+ */
+public final class ProjectionOperation<T, R> implements Operation<R> {
+    private final TarantoolClient tarantoolClient;
+    private final Meta<T> meta;
+    private final ServerFunction function;
+    private final OperationType type;
+    private final String indexName;
+    private final List<?> keys;
+    // positions of the fields in ascending order
+    private final int[] fields;
+    // the same positions for Lua, where they are 1-based
+    private final List<Integer> luaFields;
+    private final int offset;
+    private final int limit;
+    private final Iterator iterator;
+    private final Function<List<T>, R> result;
+    private final OperationMetrics metrics;
+
+    public ProjectionOperation(TarantoolClient tarantoolClient, Meta<T> meta, ServerFunction function, OperationType type, String indexName, List<?> keys, Collection<? extends TupleField> fields, int offset, int limit, Iterator iterator, Function<List<T>, R> result, OperationMetrics metrics) {
+        this.tarantoolClient = tarantoolClient;
+        this.meta = meta;
+        this.function = function;
+        this.type = type;
+        this.indexName = indexName;
+        this.keys = keys;
+        this.fields = positions(fields);
+        this.luaFields = new ArrayList<>(this.fields.length);
+        for (int field : this.fields) {
+            this.luaFields.add(field + 1);
+        }
+        this.offset = offset;
+        this.limit = limit;
+        this.iterator = iterator;
+        this.result = result;
+        this.metrics = metrics;
+    }
+
+    // result of point selects
+    public static <T> T first(List<T> values) {
+        return values.isEmpty() ? null : values.get(0);
+    }
+
+    @Override
+    public R runSync() {
+        OperationTrace trace = metrics.start(type, indexName);
+        try {
+            Object[] args = arguments();
+            trace.request(1, args);
+            List<?> response = trace.received(function.callSync(tarantoolClient, args));
+            return trace.finish(decode(response));
+        } catch (RuntimeException e) {
+            throw trace.fail(e);
+        }
+    }
+
+    @Override
+    public CompletionStage<R> runAsync() {
+        OperationTrace trace = metrics.start(type, indexName);
+        try {
+            Object[] args = arguments();
+            trace.request(1, args);
+            return trace.track(trace.receive(function.callAsync(tarantoolClient, args))
+                    .thenApply(this::decode));
+        } catch (RuntimeException e) {
+            throw trace.fail(e);
+        }
+    }
+
+    private Object[] arguments() {
+        return new Object[] {indexName, keys, luaFields, offset, limit, iterator.name()};
+    }
+
+    // result -> [[row, row, ...]], where a row has the values of the fields
+    private R decode(List<?> response) {
+        List<?> rows = (List<?>) response.get(0);
+        List<T> values = new ArrayList<>(rows.size());
+
+        for (Object row : rows) {
+            values.add(meta.fromFields(fields, (List<?>) row));
+        }
+
+        return result.apply(values);
+    }
+
+    private static int[] positions(Collection<? extends TupleField> fields) {
+        if (fields.isEmpty()) {
+            throw new IllegalArgumentException("Projection should have at least one field");
+        }
+
+        int[] positions = new int[fields.size()];
+        int i = 0;
+        for (TupleField field : fields) {
+            positions[i++] = field.getIndex();
+        }
+
+        // cheap for enum sets of generated fields, which are already in the order of the tuple
+        Arrays.sort(positions);
+        return positions;
+    }
+}
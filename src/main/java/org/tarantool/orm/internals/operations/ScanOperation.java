@@ -0,0 +1,254 @@
+package org.tarantool.orm.internals.operations;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import org.tarantool.Iterator;
+import org.tarantool.TarantoolClient;
+import org.tarantool.orm.internals.Meta;
+import org.tarantool.orm.internals.metrics.OperationMetrics;
+import org.tarantool.orm.internals.metrics.OperationTrace;
+import org.tarantool.orm.internals.metrics.OperationType;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Streams all tuples of an index page by page.
+ * Every next page is requested starting from the key of the last received tuple (keyset pagination),
+ * so the cost of a page does not depend on how far the scan has already gone.
+ * The next page is prefetched while the subscriber consumes the current one,
+ * hence at most two pages are kept in memory per subscription.
+ *
+ * <p>Non-unique indexes may contain several tuples with the same key. For them the continuation is requested
+ * inclusively (GE/LE) and tuples with the last key which were already emitted are skipped using offset.
+ */
+public final class ScanOperation<T> implements Publisher<T> {
+    private final TarantoolClient tarantoolClient;
+    private final Meta<T> meta;
+    private final String spaceName;
+    private final String indexName;
+    private final List<?> keys;
+    private final Iterator iterator;
+    private final int pageSize;
+    private final boolean unique;
+    private final Function<T, List<?>> keyExtractor;
+    private final OperationMetrics metrics;
+
+    public ScanOperation(TarantoolClient tarantoolClient, Meta<T> meta, String spaceName, String indexName, List<?> keys, Iterator iterator, int pageSize, boolean unique, Function<T, List<?>> keyExtractor, OperationMetrics metrics) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page size should be positive");
+        }
+
+        switch (iterator) {
+            case ALL:
+            case GE:
+            case GT:
+            case LE:
+            case LT:
+                break;
+            default:
+                throw new IllegalArgumentException(String.format("Scan does not support %s iterator", iterator));
+        }
+
+        this.tarantoolClient = tarantoolClient;
+        this.meta = meta;
+        this.spaceName = spaceName;
+        this.indexName = indexName;
+        this.keys = keys;
+        this.iterator = iterator;
+        this.pageSize = pageSize;
+        this.unique = unique;
+        this.keyExtractor = keyExtractor;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> subscriber) {
+        if (subscriber == null) {
+            throw new NullPointerException("Subscriber should not be null");
+        }
+
+        ScanSubscription subscription = new ScanSubscription(subscriber);
+        subscriber.onSubscribe(subscription);
+    }
+
+    private boolean isReverse() {
+        return iterator == Iterator.LE || iterator == Iterator.LT;
+    }
+
+    private final class ScanSubscription implements Subscription {
+        private final Subscriber<? super T> subscriber;
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+        private final AtomicBoolean started = new AtomicBoolean();
+
+        // accessed only inside drain loop
+        private final Queue<T> current = new ArrayDeque<>();
+        private boolean currentIsLast;
+        private List<?> lastKey;
+        private int duplicates;
+
+        // written by connector threads, read inside drain loop
+        private volatile List<T> prefetched;
+        private volatile Throwable error;
+        private volatile boolean cancelled;
+        private boolean done;
+
+        private ScanSubscription(Subscriber<? super T> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                error = new IllegalArgumentException("Requested number of elements should be positive (rule 3.9)");
+                drain();
+                return;
+            }
+
+            long previous;
+            long next;
+            do {
+                previous = requested.get();
+                next = previous + n < 0 ? Long.MAX_VALUE : previous + n;
+            } while (!requested.compareAndSet(previous, next));
+
+            if (started.compareAndSet(false, true)) {
+                fetch(keys, iterator, 0);
+            }
+
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+
+        // every page is recorded as a separate operation.
+        // Synchronous failures of the client are delivered through onError as well, not thrown from request()
+        private void fetch(List<?> key, Iterator pageIterator, int offset) {
+            OperationTrace trace = metrics.start(OperationType.SCAN, indexName);
+
+            try {
+                trace.request(1, key);
+                trace.track(trace.receive(tarantoolClient.composableAsyncOps().select(spaceName, indexName, key, offset, pageSize, pageIterator))
+                        .thenApply(meta::resultToDataClasses))
+                        .whenComplete((page, throwable) -> {
+                            if (throwable != null) {
+                                error = throwable;
+                            } else {
+                                prefetched = page;
+                            }
+                            drain();
+                        });
+            } catch (RuntimeException e) {
+                error = trace.fail(e);
+                drain();
+            }
+        }
+
+        private void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+
+            int missed = 1;
+            do {
+                if (done) {
+                    return;
+                }
+
+                if (cancelled) {
+                    done = true;
+                    current.clear();
+                    prefetched = null;
+                    return;
+                }
+
+                if (error != null) {
+                    done = true;
+                    subscriber.onError(error);
+                    return;
+                }
+
+                long emitted = 0;
+                long demand = requested.get();
+
+                while (!cancelled) {
+                    if (current.isEmpty() && !promotePrefetched()) {
+                        break;
+                    }
+
+                    if (emitted == demand) {
+                        break;
+                    }
+
+                    subscriber.onNext(current.poll());
+                    emitted++;
+                }
+
+                if (emitted != 0) {
+                    requested.addAndGet(-emitted);
+                }
+
+                if (current.isEmpty() && currentIsLast && !cancelled) {
+                    done = true;
+                    subscriber.onComplete();
+                    return;
+                }
+
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        // moves the prefetched page into the current buffer and starts loading the next one.
+        // The last page is recognized by its size, so a space with exactly pageSize * n tuples costs one extra empty select
+        private boolean promotePrefetched() {
+            List<T> page = prefetched;
+
+            if (page == null || currentIsLast) {
+                return false;
+            }
+
+            prefetched = null;
+            current.addAll(page);
+            currentIsLast = page.size() < pageSize;
+
+            if (!currentIsLast) {
+                List<?> key = keyExtractor.apply(page.get(page.size() - 1));
+                int trailing = trailingDuplicates(page, key);
+
+                duplicates = trailing == page.size() && key.equals(lastKey) ? duplicates + trailing : trailing;
+                lastKey = key;
+
+                if (unique) {
+                    fetch(lastKey, isReverse() ? Iterator.LT : Iterator.GT, 0);
+                } else {
+                    fetch(lastKey, isReverse() ? Iterator.LE : Iterator.GE, duplicates);
+                }
+            }
+
+            return !page.isEmpty();
+        }
+
+        private int trailingDuplicates(List<T> page, List<?> key) {
+            int count = 0;
+
+            for (int i = page.size() - 1; i >= 0; i--) {
+                if (!key.equals(keyExtractor.apply(page.get(i)))) {
+                    break;
+                }
+                count++;
+            }
+
+            return count;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package org.tarantool.orm.internals.operations;
+
+import org.tarantool.Iterator;
+import org.tarantool.TarantoolClient;
+import org.tarantool.orm.internals.Meta;
+import org.tarantool.orm.internals.metrics.OperationMetrics;
+import org.tarantool.orm.internals.metrics.OperationTrace;
+import org.tarantool.orm.internals.metrics.OperationType;
+
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+
+public final class SelectManyOperation<T> implements Operation<List<T>> {
+    private final TarantoolClient tarantoolClient;
+    private final Meta<T> meta;
+    private final String spaceName;
+    private final String indexName;
+    private final List<?> keys;
+    private final int offset;
+    private final int limit;
+    private final Iterator iterator;
+    private final OperationMetrics metrics;
+
+    public SelectManyOperation(TarantoolClient tarantoolClient, Meta<T> meta, String spaceName, String indexName, List<?> keys, int offset, int limit, Iterator iterator, OperationMetrics metrics) {
+        this.tarantoolClient = tarantoolClient;
+        this.meta = meta;
+        this.spaceName = spaceName;
+        this.indexName = indexName;
+        this.keys = keys;
+        this.offset = offset;
+        this.limit = limit;
+        this.iterator = iterator;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public List<T> runSync() {
+        OperationTrace trace = metrics.start(OperationType.SELECT_MANY, indexName);
+        try {
+            trace.request(1, keys);
+            List<?> result = trace.received(tarantoolClient.syncOps().select(spaceName, indexName, keys, offset, limit, iterator));
+            return trace.finish(meta.resultToDataClasses(result));
+        } catch (RuntimeException e) {
+            throw trace.fail(e);
+        }
+    }
+
+    @Override
+    public CompletionStage<List<T>> runAsync() {
+        OperationTrace trace = metrics.start(OperationType.SELECT_MANY, indexName);
+        try {
+            trace.request(1, keys);
+            return trace.track(trace.receive(tarantoolClient.composableAsyncOps().select(spaceName, indexName, keys, offset, limit, iterator))
+                    .thenApply(meta::resultToDataClasses));
+        } catch (RuntimeException e) {
+            throw trace.fail(e);
+        }
+    }
+}
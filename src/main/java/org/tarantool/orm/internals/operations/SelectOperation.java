@@ -1,36 +1,45 @@
 package org.tarantool.orm.internals.operations;
 
-import org.tarantool.Iterator;
-import org.tarantool.TarantoolClient;
-import org.tarantool.orm.internals.Meta;
+import org.tarantool.orm.internals.metrics.OperationMetrics;
+import org.tarantool.orm.internals.metrics.OperationTrace;
+import org.tarantool.orm.internals.metrics.OperationType;
+import org.tarantool.orm.internals.reads.PointReader;
 
 import java.util.List;
 import java.util.concurrent.CompletionStage;
 
 public final class SelectOperation<T> implements Operation<T> {
-    private final TarantoolClient tarantoolClient;
-    private final Meta<T> meta;
-    private final String spaceName;
+    private final PointReader<T> reader;
     private final String indexName;
     private final List<?> keys;
+    private final OperationMetrics metrics;
 
-    public SelectOperation(TarantoolClient tarantoolClient, Meta<T> meta, String spaceName, String indexName, List<?> keys) {
-        this.tarantoolClient = tarantoolClient;
-        this.meta = meta;
-        this.spaceName = spaceName;
+    public SelectOperation(PointReader<T> reader, String indexName, List<?> keys, OperationMetrics metrics) {
+        this.reader = reader;
         this.indexName = indexName;
         this.keys = keys;
+        this.metrics = metrics;
     }
 
     @Override
     public T runSync() {
-        List<?> result = tarantoolClient.syncOps().select(spaceName, indexName, keys, 0, 1, Iterator.EQ);
-        return meta.resultToDataClass(result);
+        OperationTrace trace = metrics.start(OperationType.SELECT, indexName);
+        trace.request(1, keys);
+        try {
+            return trace.finish(reader.readSync(indexName, keys, trace));
+        } catch (RuntimeException e) {
+            throw trace.fail(e);
+        }
     }
 
     @Override
     public CompletionStage<T> runAsync() {
-        return tarantoolClient.composableAsyncOps().select(spaceName, indexName, keys, 0, 1, Iterator.EQ)
-                .thenApply(meta::resultToDataClass);
+        OperationTrace trace = metrics.start(OperationType.SELECT, indexName);
+        trace.request(1, keys);
+        try {
+            return trace.track(reader.readAsync(indexName, keys, trace));
+        } catch (RuntimeException e) {
+            throw trace.fail(e);
+        }
     }
 }
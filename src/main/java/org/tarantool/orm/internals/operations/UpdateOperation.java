@@ -2,6 +2,10 @@ package org.tarantool.orm.internals.operations;
 
 import org.tarantool.TarantoolClient;
 import org.tarantool.orm.internals.Meta;
+import org.tarantool.orm.internals.WriteListener;
+import org.tarantool.orm.internals.metrics.OperationMetrics;
+import org.tarantool.orm.internals.metrics.OperationTrace;
+import org.tarantool.orm.internals.metrics.OperationType;
 
 import java.util.List;
 import java.util.concurrent.CompletionStage;
@@ -12,24 +16,47 @@ public final class UpdateOperation<T> implements Operation<T> {
     private final String spaceName;
     private final List<?> keys;
     private final List<?> ops;
+    private final WriteListener<T> writeListener;
+    private final OperationMetrics metrics;
 
-    public UpdateOperation(TarantoolClient tarantoolClient, Meta<T> meta, String spaceName, List<?> keys, List<?> ops) {
+    public UpdateOperation(TarantoolClient tarantoolClient, Meta<T> meta, String spaceName, List<?> keys, List<?> ops, WriteListener<T> writeListener, OperationMetrics metrics) {
         this.tarantoolClient = tarantoolClient;
         this.meta = meta;
         this.spaceName = spaceName;
         this.keys = keys;
         this.ops = ops;
+        this.writeListener = writeListener;
+        this.metrics = metrics;
     }
 
     @Override
     public T runSync() {
-        List<?> result = tarantoolClient.syncOps().update(spaceName, keys, ops.toArray());
-        return meta.resultToDataClass(result);
+        OperationTrace trace = metrics.start(OperationType.UPDATE, null);
+        writeListener.onKeyWrite(keys);
+        try {
+            Object[] operations = ops.toArray();
+            trace.request(1, keys, operations);
+            List<?> result = trace.received(tarantoolClient.syncOps().update(spaceName, keys, operations));
+            return trace.finish(meta.resultToDataClass(result));
+        } catch (RuntimeException e) {
+            throw trace.fail(e);
+        } finally {
+            writeListener.onKeyWrite(keys);
+        }
     }
 
     @Override
     public CompletionStage<T> runAsync() {
-        return tarantoolClient.composableAsyncOps().update(spaceName, keys, ops.toArray())
-                .thenApply(meta::resultToDataClass);
+        OperationTrace trace = metrics.start(OperationType.UPDATE, null);
+        writeListener.onKeyWrite(keys);
+        try {
+            Object[] operations = ops.toArray();
+            trace.request(1, keys, operations);
+            return trace.track(trace.receive(tarantoolClient.composableAsyncOps().update(spaceName, keys, operations))
+                    .whenComplete((result, throwable) -> writeListener.onKeyWrite(keys))
+                    .thenApply(meta::resultToDataClass));
+        } catch (RuntimeException e) {
+            throw trace.fail(e);
+        }
     }
 }
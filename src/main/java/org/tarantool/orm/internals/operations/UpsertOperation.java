@@ -2,6 +2,10 @@ package org.tarantool.orm.internals.operations;
 
 import org.tarantool.TarantoolClient;
 import org.tarantool.orm.internals.Meta;
+import org.tarantool.orm.internals.WriteListener;
+import org.tarantool.orm.internals.metrics.OperationMetrics;
+import org.tarantool.orm.internals.metrics.OperationTrace;
+import org.tarantool.orm.internals.metrics.OperationType;
 
 import java.util.List;
 import java.util.concurrent.CompletionStage;
@@ -13,25 +17,50 @@ public final class UpsertOperation<T> implements Operation<T> {
     private final List<?> keys;
     private final T defaultValue;
     private final List<?> ops;
+    private final WriteListener<T> writeListener;
+    private final OperationMetrics metrics;
 
-    public UpsertOperation(TarantoolClient tarantoolClient, Meta<T> meta, String spaceName, List<?> keys, T defaultValue, List<?> ops) {
+    public UpsertOperation(TarantoolClient tarantoolClient, Meta<T> meta, String spaceName, List<?> keys, T defaultValue, List<?> ops, WriteListener<T> writeListener, OperationMetrics metrics) {
         this.tarantoolClient = tarantoolClient;
         this.meta = meta;
         this.spaceName = spaceName;
         this.keys = keys;
         this.defaultValue = defaultValue;
         this.ops = ops;
+        this.writeListener = writeListener;
+        this.metrics = metrics;
     }
 
     @Override
     public T runSync() {
-        List<?> result = tarantoolClient.syncOps().upsert(spaceName, keys, meta.toList(defaultValue), ops.toArray());
-        return meta.resultToDataClass(result);
+        OperationTrace trace = metrics.start(OperationType.UPSERT, null);
+        writeListener.onKeyWrite(keys);
+        try {
+            List<?> tuple = meta.toList(defaultValue);
+            Object[] operations = ops.toArray();
+            trace.request(1, keys, tuple, operations);
+            List<?> result = trace.received(tarantoolClient.syncOps().upsert(spaceName, keys, tuple, operations));
+            return trace.finish(meta.resultToDataClass(result));
+        } catch (RuntimeException e) {
+            throw trace.fail(e);
+        } finally {
+            writeListener.onKeyWrite(keys);
+        }
     }
 
     @Override
     public CompletionStage<T> runAsync() {
-        return tarantoolClient.composableAsyncOps().upsert(spaceName, keys, meta.toList(defaultValue), ops.toArray())
-                .thenApply(meta::resultToDataClass);
+        OperationTrace trace = metrics.start(OperationType.UPSERT, null);
+        writeListener.onKeyWrite(keys);
+        try {
+            List<?> tuple = meta.toList(defaultValue);
+            Object[] operations = ops.toArray();
+            trace.request(1, keys, tuple, operations);
+            return trace.track(trace.receive(tarantoolClient.composableAsyncOps().upsert(spaceName, keys, tuple, operations))
+                    .whenComplete((result, throwable) -> writeListener.onKeyWrite(keys))
+                    .thenApply(meta::resultToDataClass));
+        } catch (RuntimeException e) {
+            throw trace.fail(e);
+        }
     }
 }
@@ -0,0 +1,136 @@
+package org.tarantool.orm.internals.reads;
+
+import org.tarantool.TarantoolClient;
+import org.tarantool.orm.internals.Meta;
+import org.tarantool.orm.internals.ServerFunction;
+import org.tarantool.orm.internals.metrics.OperationMetrics;
+import org.tarantool.orm.internals.metrics.OperationTrace;
+import org.tarantool.orm.internals.operations.GetAllOperation;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Gathers asynchronous primary index selects which arrive within a window and looks them up in one call.
+ * The window closes when it collects maxBatchSize distinct keys or when delay passes since its first key.
+ * Callers which ask for the same key within a window receive the same decoded tuple.
+ * Synchronous selects are not delayed and go straight to the next reader.
+ * Batched responses are traced by the get-all operation, so traces of batched selects count decoding as wait.
+ */
+public final class BatchingReader<T> implements PointReader<T> {
+    private final PointReader<T> delegate;
+    private final TarantoolClient tarantoolClient;
+    private final Meta<T> meta;
+    private final ServerFunction getAllFunction;
+    private final String primaryIndexName;
+    private final Function<T, List<?>> keyExtractor;
+    private final int maxBatchSize;
+    private final long delayNanos;
+    private final ScheduledExecutorService scheduler;
+    private final OperationMetrics metrics;
+
+    private final Object lock = new Object();
+    // guarded by lock
+    private Map<List<?>, CompletableFuture<T>> pending;
+    private ScheduledFuture<?> scheduledFlush;
+
+    public BatchingReader(PointReader<T> delegate, TarantoolClient tarantoolClient, Meta<T> meta, ServerFunction getAllFunction, String primaryIndexName, Function<T, List<?>> keyExtractor, int maxBatchSize, long delayNanos, ScheduledExecutorService scheduler, OperationMetrics metrics) {
+        this.delegate = delegate;
+        this.tarantoolClient = tarantoolClient;
+        this.meta = meta;
+        this.getAllFunction = getAllFunction;
+        this.primaryIndexName = primaryIndexName;
+        this.keyExtractor = keyExtractor;
+        this.maxBatchSize = maxBatchSize;
+        this.delayNanos = delayNanos;
+        this.scheduler = scheduler;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public T readSync(String indexName, List<?> keys, OperationTrace trace) {
+        return delegate.readSync(indexName, keys, trace);
+    }
+
+    @Override
+    public CompletionStage<T> readAsync(String indexName, List<?> keys, OperationTrace trace) {
+        if (!primaryIndexName.equals(indexName)) {
+            return delegate.readAsync(indexName, keys, trace);
+        }
+
+        CompletableFuture<T> future;
+        Map<List<?>, CompletableFuture<T>> full = null;
+
+        synchronized (lock) {
+            if (pending == null) {
+                pending = new LinkedHashMap<>();
+                scheduledFlush = scheduler.schedule(this::flushScheduled, delayNanos, TimeUnit.NANOSECONDS);
+            }
+
+            future = pending.computeIfAbsent(keys, key -> new CompletableFuture<>());
+
+            if (pending.size() >= maxBatchSize) {
+                full = pending;
+                pending = null;
+                scheduledFlush.cancel(false);
+                scheduledFlush = null;
+            }
+        }
+
+        if (full != null) {
+            send(full);
+        }
+
+        // callers must not be able to complete the shared future
+        return future.thenApply(Function.identity());
+    }
+
+    private void flushScheduled() {
+        Map<List<?>, CompletableFuture<T>> batch;
+
+        synchronized (lock) {
+            batch = pending;
+            pending = null;
+            scheduledFlush = null;
+        }
+
+        if (batch != null) {
+            send(batch);
+        }
+    }
+
+    // runs on the scheduler or on the caller which filled the batch, so failures are passed to every waiting caller instead
+    private void send(Map<List<?>, CompletableFuture<T>> batch) {
+        List<List<?>> keys = new ArrayList<>(batch.keySet());
+        CompletionStage<Map<List<?>, T>> result;
+
+        try {
+            result = new GetAllOperation<List<?>, T>(tarantoolClient, meta, getAllFunction, keys, key -> key, keyExtractor, metrics).runAsync();
+        } catch (RuntimeException e) {
+            fail(batch, e);
+            return;
+        }
+
+        result.whenComplete((found, throwable) -> {
+            if (throwable != null) {
+                fail(batch, throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable);
+                return;
+            }
+
+            batch.forEach((key, future) -> future.complete(found.get(key)));
+        });
+    }
+
+    private void fail(Map<List<?>, CompletableFuture<T>> batch, Throwable cause) {
+        batch.values().forEach(future -> future.completeExceptionally(cause));
+    }
+}
@@ -0,0 +1,11 @@
+package org.tarantool.orm.internals.reads;
+
+interface CacheEntry<T> {
+    // null for keys which are known to be absent
+    T getValue();
+
+    // stale entries are returned to the caller and reloaded in background
+    default boolean isStale() {
+        return false;
+    }
+}
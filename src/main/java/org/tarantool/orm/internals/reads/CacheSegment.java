@@ -0,0 +1,27 @@
+package org.tarantool.orm.internals.reads;
+
+import java.util.List;
+
+/**
+ * Storage of a part of the near cache. Every method is called under the lock of the segment.
+ */
+abstract class CacheSegment<T> {
+    // number of invalidations, selects which were in flight during an invalidation do not store their results
+    long generation;
+
+    // returns null if the key is absent or expired
+    abstract CacheEntry<T> get(List<?> keys, long now);
+
+    // expiresAt is 0 if entry does not expire
+    abstract void put(List<?> keys, T value, long expiresAt);
+
+    abstract void remove(List<?> keys);
+
+    // releases resources which are not freed by the garbage collector
+    void close() {
+    }
+
+    static boolean isExpired(long expiresAt, long now) {
+        return expiresAt != 0 && now - expiresAt > 0;
+    }
+}
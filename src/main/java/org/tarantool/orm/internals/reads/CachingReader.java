@@ -0,0 +1,197 @@
+package org.tarantool.orm.internals.reads;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.tarantool.orm.internals.CacheOptions;
+import org.tarantool.orm.internals.Meta;
+import org.tarantool.orm.internals.metrics.OperationTrace;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Near cache of primary index selects.
+ * Entries are spread over segments, each segment is guarded by its own lock and keeps decoded tuples on the heap
+ * or encoded tuples in direct memory.
+ * A segment counts invalidations, and a select which was in flight during an invalidation of its segment
+ * does not store its result, so a tuple read before a write is never cached after the write.
+ * Tuples cached on the heap are shared between callers and must not be modified.
+ * A persistent cache whose file is locked by another manager falls back to direct memory.
+ */
+public final class CachingReader<T> implements PointReader<T> {
+    private static final Logger log = LoggerFactory.getLogger(CachingReader.class);
+
+    private static final int MAX_SEGMENTS = 16;
+    // off-heap segments are not made smaller than this
+    private static final long MIN_SEGMENT_BYTES = 1 << 20;
+
+    private final PointReader<T> delegate;
+    private final String primaryIndexName;
+    private final long expireAfterWriteNanos;
+    private final boolean cacheMissingKeys;
+    private final ReadStats stats;
+    private final CacheSegment<T>[] segments;
+
+    public CachingReader(PointReader<T> delegate, Meta<T> meta, String spaceName, String primaryIndexName, CacheOptions options, ReadStats stats) {
+        this.delegate = delegate;
+        this.primaryIndexName = primaryIndexName;
+        this.expireAfterWriteNanos = options.getExpireAfterWriteNanos();
+        this.cacheMissingKeys = options.isCacheMissingKeys();
+        this.stats = stats;
+
+        CacheSegment<T> persistent = null;
+        if (options.isPersistent()) {
+            Path file = PersistentCacheSegment.fileName(options.getDirectory(), spaceName);
+            persistent = PersistentCacheSegment.open(file, (int) options.getMaximumBytes(), meta, stats);
+            if (persistent == null) {
+                log.warn("Cache file {} is used by another manager, the cache of space {} is kept in memory", file, spaceName);
+            }
+        }
+
+        if (persistent != null) {
+            // a single file per space
+            this.segments = newSegments(1);
+            segments[0] = persistent;
+        } else if (options.isOffHeap()) {
+            int count = (int) Math.max(1, Math.min(MAX_SEGMENTS, options.getMaximumBytes() / MIN_SEGMENT_BYTES));
+            this.segments = newSegments(count);
+            for (int i = 0; i < count; i++) {
+                segments[i] = new OffHeapCacheSegment<>(ByteBuffer.allocateDirect((int) Math.min(Integer.MAX_VALUE, options.getMaximumBytes() / count)), meta, stats);
+            }
+        } else {
+            int count = Math.min(MAX_SEGMENTS, options.getMaximumSize());
+            this.segments = newSegments(count);
+            for (int i = 0; i < count; i++) {
+                // the first segments take the remainder, so capacities sum up to the maximum size
+                int capacity = options.getMaximumSize() / count + (i < options.getMaximumSize() % count ? 1 : 0);
+                segments[i] = new HeapCacheSegment<>(capacity, stats);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> CacheSegment<T>[] newSegments(int count) {
+        return (CacheSegment<T>[]) new CacheSegment<?>[count];
+    }
+
+    @Override
+    public T readSync(String indexName, List<?> keys, OperationTrace trace) {
+        if (!primaryIndexName.equals(indexName)) {
+            return delegate.readSync(indexName, keys, trace);
+        }
+
+        CacheSegment<T> segment = segmentFor(keys);
+        CacheEntry<T> entry = lookup(segment, keys);
+        if (entry != null) {
+            revalidateIfStale(segment, keys, entry);
+            return entry.getValue();
+        }
+
+        long generation = generation(segment);
+        T value = delegate.readSync(indexName, keys, trace);
+        store(segment, keys, value, generation);
+        return value;
+    }
+
+    @Override
+    public CompletionStage<T> readAsync(String indexName, List<?> keys, OperationTrace trace) {
+        if (!primaryIndexName.equals(indexName)) {
+            return delegate.readAsync(indexName, keys, trace);
+        }
+
+        CacheSegment<T> segment = segmentFor(keys);
+        CacheEntry<T> entry = lookup(segment, keys);
+        if (entry != null) {
+            revalidateIfStale(segment, keys, entry);
+            return CompletableFuture.completedFuture(entry.getValue());
+        }
+
+        long generation = generation(segment);
+        return delegate.readAsync(indexName, keys, trace)
+                .whenComplete((value, throwable) -> {
+                    if (throwable == null) {
+                        store(segment, keys, value, generation);
+                    }
+                });
+    }
+
+    public void invalidate(List<?> keys) {
+        CacheSegment<T> segment = segmentFor(keys);
+
+        synchronized (segment) {
+            segment.generation++;
+            segment.remove(keys);
+        }
+    }
+
+    // a persistent segment is marked clean, unlocked and stops serving, other segments are left to the garbage collector
+    public void close() {
+        for (CacheSegment<T> segment : segments) {
+            synchronized (segment) {
+                segment.close();
+            }
+        }
+    }
+
+    private void revalidateIfStale(CacheSegment<T> segment, List<?> keys, CacheEntry<T> entry) {
+        if (!entry.isStale()) {
+            return;
+        }
+
+        long generation = generation(segment);
+        // the revalidation runs in background, it is not a part of the select which found the stale entry
+        delegate.readAsync(primaryIndexName, keys, OperationTrace.NONE)
+                .whenComplete((value, throwable) -> {
+                    if (throwable == null && (value != null || cacheMissingKeys)) {
+                        store(segment, keys, value, generation);
+                    } else {
+                        invalidate(keys);
+                    }
+                });
+    }
+
+    private CacheEntry<T> lookup(CacheSegment<T> segment, List<?> keys) {
+        CacheEntry<T> entry;
+
+        synchronized (segment) {
+            entry = segment.get(keys, System.nanoTime());
+        }
+
+        if (entry == null) {
+            stats.cacheMisses.increment();
+        } else {
+            stats.cacheHits.increment();
+        }
+
+        return entry;
+    }
+
+    private long generation(CacheSegment<T> segment) {
+        synchronized (segment) {
+            return segment.generation;
+        }
+    }
+
+    private void store(CacheSegment<T> segment, List<?> keys, T value, long generation) {
+        if (value == null && !cacheMissingKeys) {
+            return;
+        }
+
+        long expiresAt = expireAfterWriteNanos > 0 ? System.nanoTime() + expireAfterWriteNanos : 0;
+
+        synchronized (segment) {
+            if (segment.generation == generation) {
+                segment.put(keys, value, expiresAt);
+            }
+        }
+    }
+
+    private CacheSegment<T> segmentFor(List<?> keys) {
+        int hash = keys.hashCode();
+        hash ^= hash >>> 16;
+        return segments[(hash & Integer.MAX_VALUE) % segments.length];
+    }
+}
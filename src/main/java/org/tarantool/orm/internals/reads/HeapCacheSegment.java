@@ -0,0 +1,62 @@
+package org.tarantool.orm.internals.reads;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps decoded tuples in an LRU map bounded by the number of entries.
+ */
+final class HeapCacheSegment<T> extends CacheSegment<T> {
+    private final Map<List<?>, Entry<T>> entries;
+
+    HeapCacheSegment(int capacity, ReadStats stats) {
+        this.entries = new LinkedHashMap<List<?>, Entry<T>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<List<?>, Entry<T>> eldest) {
+                if (size() > capacity) {
+                    stats.cacheEvictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    @Override
+    CacheEntry<T> get(List<?> keys, long now) {
+        Entry<T> entry = entries.get(keys);
+
+        if (entry != null && isExpired(entry.expiresAt, now)) {
+            entries.remove(keys);
+            return null;
+        }
+
+        return entry;
+    }
+
+    @Override
+    void put(List<?> keys, T value, long expiresAt) {
+        entries.put(keys, new Entry<>(value, expiresAt));
+    }
+
+    @Override
+    void remove(List<?> keys) {
+        entries.remove(keys);
+    }
+
+    private static final class Entry<T> implements CacheEntry<T> {
+        private final T value;
+        private final long expiresAt;
+
+        private Entry(T value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+
+        @Override
+        public T getValue() {
+            return value;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package org.tarantool.orm.internals.reads;
+
+import org.tarantool.Iterator;
+import org.tarantool.TarantoolClient;
+import org.tarantool.orm.internals.Meta;
+import org.tarantool.orm.internals.metrics.OperationTrace;
+
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+
+public final class NetworkReader<T> implements PointReader<T> {
+    private final TarantoolClient tarantoolClient;
+    private final Meta<T> meta;
+    private final String spaceName;
+
+    public NetworkReader(TarantoolClient tarantoolClient, Meta<T> meta, String spaceName) {
+        this.tarantoolClient = tarantoolClient;
+        this.meta = meta;
+        this.spaceName = spaceName;
+    }
+
+    @Override
+    public T readSync(String indexName, List<?> keys, OperationTrace trace) {
+        List<?> result = tarantoolClient.syncOps().select(spaceName, indexName, keys, 0, 1, Iterator.EQ);
+        return meta.resultToDataClass(trace.received(result));
+    }
+
+    @Override
+    public CompletionStage<T> readAsync(String indexName, List<?> keys, OperationTrace trace) {
+        return trace.receive(tarantoolClient.composableAsyncOps().select(spaceName, indexName, keys, 0, 1, Iterator.EQ))
+                .thenApply(meta::resultToDataClass);
+    }
+}
@@ -0,0 +1,355 @@
+package org.tarantool.orm.internals.reads;
+
+import org.tarantool.orm.internals.Meta;
+import org.tarantool.orm.internals.MsgPack;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Keeps MessagePack encoded tuples in a direct buffer, so cached tuples cost the garbage collector nothing
+ * until they are hit and decoded.
+ *
+ * <p>The buffer is a circular log of records. New records are written at the write position,
+ * the scan position moves ahead of it and frees space: dead and unreferenced records are dropped,
+ * records which were hit since the previous pass get a second chance and are moved down to the write position (clock).
+ * Records are found by an open-addressing index of primary key hashes which lives in two int arrays.
+ */
+class OffHeapCacheSegment<T> extends CacheSegment<T> {
+    // record: length, flags, key hash, key length, value length, padding, expiresAt, key, value; aligned to 8 bytes
+    private static final int LENGTH = 0;
+    private static final int FLAGS = 4;
+    private static final int HASH = 8;
+    private static final int KEY_LENGTH = 12;
+    private static final int VALUE_LENGTH = 16;
+    private static final int EXPIRES_AT = 24;
+    private static final int HEADER_SIZE = 32;
+
+    private static final int LIVE = 1;
+    private static final int REFERENCED = 2;
+    // restored from a previous run and not checked against the server yet
+    private static final int STALE = 4;
+    // value length of keys which are known to be absent
+    private static final int MISSING = -1;
+
+    private static final int EMPTY = -1;
+    private static final int DELETED = -2;
+    private static final int INITIAL_INDEX_SIZE = 1024;
+
+    private final Meta<T> meta;
+    private final ReadStats stats;
+    private final ByteBuffer memory;
+    private final int capacity;
+
+    // [write, scan) is free, records are in [scan, limit) and [0, write)
+    private int write;
+    private int scan;
+    private int limit;
+
+    private int[] offsets = new int[INITIAL_INDEX_SIZE];
+    private int[] hashes = new int[INITIAL_INDEX_SIZE];
+    private int size;
+    private int deleted;
+
+    OffHeapCacheSegment(ByteBuffer memory, Meta<T> meta, ReadStats stats) {
+        this.meta = meta;
+        this.stats = stats;
+        this.capacity = memory.capacity() & ~7;
+        this.memory = memory;
+        Arrays.fill(offsets, EMPTY);
+    }
+
+    @Override
+    CacheEntry<T> get(List<?> keys, long now) {
+        byte[] key = MsgPack.encode(keys);
+        int hash = Arrays.hashCode(key);
+        int slot = find(hash, key);
+
+        if (slot < 0) {
+            return null;
+        }
+
+        int offset = offsets[slot];
+        if (isExpired(memory.getLong(offset + EXPIRES_AT), now)) {
+            delete(slot);
+            return null;
+        }
+
+        // only the first hit of a stale record is reported as stale, so it is revalidated once
+        boolean stale = (memory.getInt(offset + FLAGS) & STALE) != 0;
+        memory.putInt(offset + FLAGS, LIVE | REFERENCED);
+
+        int valueLength = memory.getInt(offset + VALUE_LENGTH);
+        if (valueLength == MISSING) {
+            return new Entry<>(meta, null, stale);
+        }
+
+        byte[] value = new byte[valueLength];
+        ByteBuffer source = memory.duplicate();
+        ((Buffer) source).position(offset + HEADER_SIZE + key.length);
+        source.get(value);
+
+        return new Entry<>(meta, value, stale);
+    }
+
+    @Override
+    void put(List<?> keys, T value, long expiresAt) {
+        byte[] key = MsgPack.encode(keys);
+        byte[] encoded = value == null ? null : MsgPack.encode(meta, value);
+        int hash = Arrays.hashCode(key);
+
+        int existing = find(hash, key);
+        if (existing >= 0) {
+            delete(existing);
+        }
+
+        int length = align(HEADER_SIZE + key.length + (encoded == null ? 0 : encoded.length));
+        if (length > capacity) {
+            return;
+        }
+
+        int offset = allocate(length, System.nanoTime());
+
+        memory.putInt(offset + LENGTH, length);
+        memory.putInt(offset + FLAGS, LIVE);
+        memory.putInt(offset + HASH, hash);
+        memory.putInt(offset + KEY_LENGTH, key.length);
+        memory.putInt(offset + VALUE_LENGTH, encoded == null ? MISSING : encoded.length);
+        memory.putLong(offset + EXPIRES_AT, expiresAt);
+
+        ByteBuffer target = memory.duplicate();
+        ((Buffer) target).position(offset + HEADER_SIZE);
+        target.put(key);
+        if (encoded != null) {
+            target.put(encoded);
+        }
+
+        index(hash, offset);
+    }
+
+    @Override
+    void remove(List<?> keys) {
+        byte[] key = MsgPack.encode(keys);
+        int slot = find(Arrays.hashCode(key), key);
+
+        if (slot >= 0) {
+            delete(slot);
+        }
+    }
+
+    final int getWrite() {
+        return write;
+    }
+
+    final int getScan() {
+        return scan;
+    }
+
+    final int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Indexes records left in the buffer by a previous run. Records are marked stale,
+     * and their expiration times are dropped because they are not comparable between runs.
+     */
+    final void restore(int write, int scan, int limit) {
+        this.write = write;
+        this.scan = scan;
+        this.limit = limit;
+
+        restoreRecords(scan, limit);
+        restoreRecords(0, write);
+    }
+
+    private void restoreRecords(int from, int to) {
+        for (int offset = from; offset < to; offset += memory.getInt(offset + LENGTH)) {
+            if ((memory.getInt(offset + FLAGS) & LIVE) != 0) {
+                memory.putInt(offset + FLAGS, LIVE | STALE);
+                memory.putLong(offset + EXPIRES_AT, 0);
+                index(memory.getInt(offset + HASH), offset);
+            }
+        }
+    }
+
+    // frees length contiguous bytes at the write position and returns their offset
+    private int allocate(int length, long now) {
+        while (scan - write < length) {
+            if (scan == limit) {
+                // nothing is stored behind the limit
+                if (capacity - write >= length) {
+                    scan = limit = capacity;
+                    break;
+                }
+
+                // the tail is too short, continue from the beginning of the buffer
+                limit = write;
+                write = 0;
+                scan = 0;
+                continue;
+            }
+
+            int recordLength = memory.getInt(scan + LENGTH);
+            int flags = memory.getInt(scan + FLAGS);
+
+            if ((flags & LIVE) != 0) {
+                int slot = findOffset(memory.getInt(scan + HASH), scan);
+                boolean expired = isExpired(memory.getLong(scan + EXPIRES_AT), now);
+
+                if ((flags & REFERENCED) != 0 && !expired) {
+                    memory.putInt(scan + FLAGS, LIVE);
+                    move(scan, write, recordLength);
+                    offsets[slot] = write;
+                    write += recordLength;
+                } else {
+                    if (!expired) {
+                        stats.cacheEvictions.increment();
+                    }
+                    unindex(slot);
+                }
+            }
+
+            scan += recordLength;
+        }
+
+        int offset = write;
+        write += length;
+        return offset;
+    }
+
+    // positions are set through Buffer, ByteBuffer overrides these methods since Java 9 and classes built there would not link on Java 8
+    private void move(int from, int to, int length) {
+        if (from == to) {
+            return;
+        }
+
+        byte[] bytes = new byte[length];
+        ByteBuffer source = memory.duplicate();
+        ((Buffer) source).position(from);
+        source.get(bytes);
+
+        ByteBuffer target = memory.duplicate();
+        ((Buffer) target).position(to);
+        target.put(bytes);
+    }
+
+    private int find(int hash, byte[] key) {
+        int mask = offsets.length - 1;
+
+        for (int slot = mix(hash) & mask; ; slot = (slot + 1) & mask) {
+            int offset = offsets[slot];
+
+            if (offset == EMPTY) {
+                return -1;
+            }
+            if (offset >= 0 && hashes[slot] == hash && keyEquals(offset, key)) {
+                return slot;
+            }
+        }
+    }
+
+    private int findOffset(int hash, int offset) {
+        int mask = offsets.length - 1;
+
+        for (int slot = mix(hash) & mask; ; slot = (slot + 1) & mask) {
+            if (offsets[slot] == offset) {
+                return slot;
+            }
+        }
+    }
+
+    private boolean keyEquals(int offset, byte[] key) {
+        if (memory.getInt(offset + KEY_LENGTH) != key.length) {
+            return false;
+        }
+
+        for (int i = 0; i < key.length; i++) {
+            if (memory.get(offset + HEADER_SIZE + i) != key[i]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private void index(int hash, int offset) {
+        if ((size + deleted + 1) * 2 > offsets.length) {
+            rehash(size * 4 > offsets.length ? offsets.length * 2 : offsets.length);
+        }
+
+        int mask = offsets.length - 1;
+        int slot = mix(hash) & mask;
+        while (offsets[slot] >= 0) {
+            slot = (slot + 1) & mask;
+        }
+
+        if (offsets[slot] == DELETED) {
+            deleted--;
+        }
+
+        offsets[slot] = offset;
+        hashes[slot] = hash;
+        size++;
+    }
+
+    private void delete(int slot) {
+        memory.putInt(offsets[slot] + FLAGS, 0);
+        unindex(slot);
+    }
+
+    private void unindex(int slot) {
+        offsets[slot] = DELETED;
+        size--;
+        deleted++;
+    }
+
+    private void rehash(int length) {
+        int[] oldOffsets = offsets;
+        int[] oldHashes = hashes;
+
+        offsets = new int[length];
+        hashes = new int[length];
+        Arrays.fill(offsets, EMPTY);
+        size = 0;
+        deleted = 0;
+
+        for (int i = 0; i < oldOffsets.length; i++) {
+            if (oldOffsets[i] >= 0) {
+                index(oldHashes[i], oldOffsets[i]);
+            }
+        }
+    }
+
+    private static int mix(int hash) {
+        int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static int align(int length) {
+        return (length + 7) & ~7;
+    }
+
+    private static final class Entry<T> implements CacheEntry<T> {
+        private final Meta<T> meta;
+        private final byte[] value;
+        private final boolean stale;
+
+        private Entry(Meta<T> meta, byte[] value, boolean stale) {
+            this.meta = meta;
+            this.value = value;
+            this.stale = stale;
+        }
+
+        @Override
+        public boolean isStale() {
+            return stale;
+        }
+
+        @Override
+        public T getValue() {
+            return value == null ? null : MsgPack.decode(meta, value);
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package org.tarantool.orm.internals.reads;
+
+import org.tarantool.orm.internals.Meta;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Off-heap segment kept in a memory-mapped file, so cached tuples survive restarts of the application.
+ *
+ * <p>The file starts with a header which holds the fingerprint of the tuple layout, the capacity
+ * and positions of the log. The file is reused only if all of them match and the previous run closed it cleanly,
+ * otherwise it is discarded. Tuples restored from the file are served immediately and reloaded on the first hit.
+ *
+ * <p>The file is locked while the segment is open, so it is never written by two segments, in this JVM or another one.
+ */
+final class PersistentCacheSegment<T> extends OffHeapCacheSegment<T> {
+    private static final long MAGIC = 0x54524D4F43414348L;
+    private static final int VERSION = 1;
+
+    private static final int MAGIC_OFFSET = 0;
+    private static final int VERSION_OFFSET = 8;
+    private static final int CLEAN_OFFSET = 12;
+    private static final int FINGERPRINT_OFFSET = 16;
+    private static final int CAPACITY_OFFSET = 24;
+    private static final int WRITE_OFFSET = 28;
+    private static final int SCAN_OFFSET = 32;
+    private static final int LIMIT_OFFSET = 36;
+    private static final int FILE_HEADER_SIZE = 64;
+
+    private final FileChannel channel;
+    private final FileLock lock;
+    private final MappedByteBuffer header;
+    private final MappedByteBuffer data;
+    private final Thread shutdownHook = new Thread(this::close, "tarantool-orm-cache-close");
+    private boolean closed;
+
+    private PersistentCacheSegment(FileChannel channel, FileLock lock, MappedByteBuffer header, MappedByteBuffer data, Meta<T> meta, ReadStats stats) {
+        super(data, meta, stats);
+        this.channel = channel;
+        this.lock = lock;
+        this.header = header;
+        this.data = data;
+    }
+
+    // returns null if the file is locked by another segment
+    static <T> PersistentCacheSegment<T> open(Path file, int capacity, Meta<T> meta, ReadStats stats) {
+        int alignedCapacity = capacity & ~7;
+        FileChannel channel = null;
+
+        try {
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+            FileLock lock = tryLock(channel);
+            if (lock == null) {
+                channel.close();
+                return null;
+            }
+
+            // the capacity may be close to Integer.MAX_VALUE, so the size of the file is counted in longs
+            boolean reusable = channel.size() == FILE_HEADER_SIZE + (long) alignedCapacity;
+
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0, FILE_HEADER_SIZE);
+            MappedByteBuffer data = channel.map(FileChannel.MapMode.READ_WRITE, FILE_HEADER_SIZE, alignedCapacity);
+
+            reusable = reusable
+                    && header.getLong(MAGIC_OFFSET) == MAGIC
+                    && header.getInt(VERSION_OFFSET) == VERSION
+                    && header.getInt(CLEAN_OFFSET) == 1
+                    && header.getLong(FINGERPRINT_OFFSET) == meta.getFingerprint()
+                    && header.getInt(CAPACITY_OFFSET) == alignedCapacity;
+
+            PersistentCacheSegment<T> segment = new PersistentCacheSegment<>(channel, lock, header, data, meta, stats);
+
+            if (reusable) {
+                segment.restore(header.getInt(WRITE_OFFSET), header.getInt(SCAN_OFFSET), header.getInt(LIMIT_OFFSET));
+            }
+
+            // the file stays dirty until it is closed, so a crashed run is not trusted
+            header.putLong(MAGIC_OFFSET, MAGIC);
+            header.putInt(VERSION_OFFSET, VERSION);
+            header.putInt(CLEAN_OFFSET, 0);
+            header.putLong(FINGERPRINT_OFFSET, meta.getFingerprint());
+            header.putInt(CAPACITY_OFFSET, alignedCapacity);
+            segment.savePositions();
+            header.force();
+
+            Runtime.getRuntime().addShutdownHook(segment.shutdownHook);
+
+            return segment;
+        } catch (IOException e) {
+            closeQuietly(channel, e);
+            throw new UncheckedIOException(e);
+        } catch (RuntimeException e) {
+            closeQuietly(channel, e);
+            throw e;
+        }
+    }
+
+    // the lock is held by the JVM, so another channel of this JVM gets OverlappingFileLockException instead of null
+    private static FileLock tryLock(FileChannel channel) throws IOException {
+        try {
+            return channel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            return null;
+        }
+    }
+
+    private static void closeQuietly(FileChannel channel, Exception error) {
+        if (channel == null) {
+            return;
+        }
+
+        try {
+            channel.close();
+        } catch (IOException e) {
+            error.addSuppressed(e);
+        }
+    }
+
+    static Path fileName(Path directory, String spaceName) {
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return directory.resolve(spaceName.replaceAll("[^A-Za-z0-9_.-]", "_") + ".cache");
+    }
+
+    @Override
+    CacheEntry<T> get(List<?> keys, long now) {
+        return closed ? null : super.get(keys, now);
+    }
+
+    @Override
+    void put(List<?> keys, T value, long expiresAt) {
+        if (!closed) {
+            super.put(keys, value, expiresAt);
+            savePositions();
+        }
+    }
+
+    @Override
+    void remove(List<?> keys) {
+        if (!closed) {
+            super.remove(keys);
+        }
+    }
+
+    private void savePositions() {
+        header.putInt(WRITE_OFFSET, getWrite());
+        header.putInt(SCAN_OFFSET, getScan());
+        header.putInt(LIMIT_OFFSET, getLimit());
+    }
+
+    @Override
+    void close() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+
+            closed = true;
+            data.force();
+            header.putInt(CLEAN_OFFSET, 1);
+            header.force();
+
+            try {
+                lock.release();
+                channel.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        // fails if called by the hook itself during shutdown
+        try {
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        } catch (IllegalStateException ignored) {
+        }
+    }
+}
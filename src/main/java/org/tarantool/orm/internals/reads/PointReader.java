@@ -0,0 +1,18 @@
+package org.tarantool.orm.internals.reads;
+
+import org.tarantool.orm.internals.metrics.OperationTrace;
+
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Executes point selects of a manager.
+ * Readers are stacked on top of {@link NetworkReader}: every layer handles selects it is configured for
+ * and passes the rest to the next one.
+ * The trace of the select is passed down, so the reader which receives the response reports it before decoding.
+ */
+public interface PointReader<T> {
+    T readSync(String indexName, List<?> keys, OperationTrace trace);
+
+    CompletionStage<T> readAsync(String indexName, List<?> keys, OperationTrace trace);
+}
@@ -0,0 +1,84 @@
+package org.tarantool.orm.internals.reads;
+
+import org.tarantool.TarantoolClient;
+import org.tarantool.orm.internals.CacheOptions;
+import org.tarantool.orm.internals.ManagerOptions;
+import org.tarantool.orm.internals.Meta;
+import org.tarantool.orm.internals.Schedulers;
+import org.tarantool.orm.internals.ServerFunction;
+import org.tarantool.orm.internals.WriteListener;
+import org.tarantool.orm.internals.metrics.OperationMetrics;
+import org.tarantool.orm.internals.metrics.OperationTrace;
+
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+
+/**
+ * Point reads of a manager. Builds the chain of read layers enabled by options
+ * and passes writes of the manager to the layers which keep tuples.
+ * Without any options selects go straight to the network.
+ */
+public final class ReadPath<T> implements PointReader<T>, WriteListener<T> {
+    private final PointReader<T> head;
+    private final CachingReader<T> cache;
+    private final Function<T, List<?>> keyExtractor;
+    private final ReadStats stats = new ReadStats();
+
+    public ReadPath(TarantoolClient tarantoolClient, Meta<T> meta, String spaceName, String primaryIndexName, ServerFunction getAllFunction, Function<T, List<?>> keyExtractor, ManagerOptions options, OperationMetrics metrics) {
+        PointReader<T> reader = new NetworkReader<>(tarantoolClient, meta, spaceName);
+
+        if (options.isBatchingEnabled()) {
+            reader = new BatchingReader<>(reader, tarantoolClient, meta, getAllFunction, primaryIndexName, keyExtractor, options.getBatchSize(), options.getBatchDelayNanos(), Schedulers.shared(), metrics);
+        }
+
+        if (options.isSingleFlightEnabled()) {
+            reader = new SingleFlightReader<>(reader, stats);
+        }
+
+        CacheOptions cacheOptions = options.getCacheOptions(spaceName);
+        if (cacheOptions != null) {
+            cache = new CachingReader<>(reader, meta, spaceName, primaryIndexName, cacheOptions, stats);
+            reader = cache;
+        } else {
+            cache = null;
+        }
+
+        this.head = reader;
+        this.keyExtractor = keyExtractor;
+    }
+
+    public ReadStats getStats() {
+        return stats;
+    }
+
+    public void close() {
+        if (cache != null) {
+            cache.close();
+        }
+    }
+
+    @Override
+    public T readSync(String indexName, List<?> keys, OperationTrace trace) {
+        return head.readSync(indexName, keys, trace);
+    }
+
+    @Override
+    public CompletionStage<T> readAsync(String indexName, List<?> keys, OperationTrace trace) {
+        return head.readAsync(indexName, keys, trace);
+    }
+
+    @Override
+    public void onKeyWrite(List<?> keys) {
+        if (cache != null) {
+            cache.invalidate(keys);
+        }
+    }
+
+    @Override
+    public void onValueWrite(T value) {
+        if (cache != null) {
+            cache.invalidate(keyExtractor.apply(value));
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package org.tarantool.orm.internals.reads;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters of the read layers of a manager. Counters of disabled layers stay zero.
+ */
+public final class ReadStats {
+    final LongAdder singleFlightHits = new LongAdder();
+    final LongAdder singleFlightMisses = new LongAdder();
+    final LongAdder cacheHits = new LongAdder();
+    final LongAdder cacheMisses = new LongAdder();
+    final LongAdder cacheEvictions = new LongAdder();
+
+    // selects which joined a request already in flight
+    public long getSingleFlightHits() {
+        return singleFlightHits.sum();
+    }
+
+    // selects which were sent to the next layer
+    public long getSingleFlightMisses() {
+        return singleFlightMisses.sum();
+    }
+
+    public long getCacheHits() {
+        return cacheHits.sum();
+    }
+
+    public long getCacheMisses() {
+        return cacheMisses.sum();
+    }
+
+    // entries evicted because the cache is full, expired entries are not counted
+    public long getCacheEvictions() {
+        return cacheEvictions.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "ReadStats{" +
+                "singleFlightHits=" + getSingleFlightHits() +
+                ", singleFlightMisses=" + getSingleFlightMisses() +
+                ", cacheHits=" + getCacheHits() +
+                ", cacheMisses=" + getCacheMisses() +
+                ", cacheEvictions=" + getCacheEvictions() +
+                '}';
+    }
+}
@@ -0,0 +1,124 @@
+package org.tarantool.orm.internals.reads;
+
+import org.tarantool.orm.internals.metrics.OperationTrace;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Lets concurrent identical selects share one request. The first caller of a key runs the select,
+ * others wait for its result and receive the same decoded tuple. Only the trace of the first caller sees the response.
+ * A key is forgotten as soon as its request completes, so results are never served after the fact.
+ */
+public final class SingleFlightReader<T> implements PointReader<T> {
+    private final PointReader<T> delegate;
+    private final ReadStats stats;
+    private final ConcurrentMap<FlightKey, CompletableFuture<T>> inFlight = new ConcurrentHashMap<>();
+
+    public SingleFlightReader(PointReader<T> delegate, ReadStats stats) {
+        this.delegate = delegate;
+        this.stats = stats;
+    }
+
+    @Override
+    public T readSync(String indexName, List<?> keys, OperationTrace trace) {
+        FlightKey key = new FlightKey(indexName, keys);
+        CompletableFuture<T> flight = new CompletableFuture<>();
+        CompletableFuture<T> existing = inFlight.putIfAbsent(key, flight);
+
+        if (existing != null) {
+            stats.singleFlightHits.increment();
+            return join(existing);
+        }
+
+        stats.singleFlightMisses.increment();
+        try {
+            T result = delegate.readSync(indexName, keys, trace);
+            inFlight.remove(key, flight);
+            flight.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            inFlight.remove(key, flight);
+            flight.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public CompletionStage<T> readAsync(String indexName, List<?> keys, OperationTrace trace) {
+        FlightKey key = new FlightKey(indexName, keys);
+        CompletableFuture<T> flight = new CompletableFuture<>();
+        CompletableFuture<T> existing = inFlight.putIfAbsent(key, flight);
+
+        if (existing != null) {
+            stats.singleFlightHits.increment();
+            return existing.thenApply(Function.identity());
+        }
+
+        stats.singleFlightMisses.increment();
+        CompletionStage<T> read;
+        try {
+            read = delegate.readAsync(indexName, keys, trace);
+        } catch (RuntimeException e) {
+            // callers which joined the flight get the error too
+            inFlight.remove(key, flight);
+            flight.completeExceptionally(e);
+            throw e;
+        }
+
+        read.whenComplete((result, throwable) -> {
+            inFlight.remove(key, flight);
+
+            if (throwable != null) {
+                flight.completeExceptionally(throwable);
+            } else {
+                flight.complete(result);
+            }
+        });
+
+        // callers must not be able to complete the shared future
+        return flight.thenApply(Function.identity());
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private static final class FlightKey {
+        private final String indexName;
+        private final List<?> keys;
+        private final int hash;
+
+        private FlightKey(String indexName, List<?> keys) {
+            this.indexName = indexName;
+            this.keys = keys;
+            this.hash = 31 * indexName.hashCode() + keys.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof FlightKey)) return false;
+            FlightKey flightKey = (FlightKey) o;
+            return Objects.equals(indexName, flightKey.indexName) && Objects.equals(keys, flightKey.keys);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
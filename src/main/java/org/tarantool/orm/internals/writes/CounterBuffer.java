@@ -0,0 +1,388 @@
+package org.tarantool.orm.internals.writes;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.tarantool.TarantoolClient;
+import org.tarantool.orm.internals.CounterOptions;
+import org.tarantool.orm.internals.Meta;
+import org.tarantool.orm.internals.Schedulers;
+import org.tarantool.orm.internals.WriteListener;
+import org.tarantool.orm.internals.metrics.OperationMetrics;
+import org.tarantool.orm.internals.metrics.OperationTrace;
+import org.tarantool.orm.internals.metrics.OperationType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Sums increments of counter fields per primary key and adds the sums to the tuples in background,
+ * with one upsert of {@code +} operations per key. If a tuple does not exist, it is inserted with the key,
+ * the summed counters and the rest of fields taken from a new instance of the data class.
+ *
+ * <p>Increments are visible to selects only after they are flushed. Sums which failed to flush are retried
+ * with the next flush until they are older than max staleness.
+ *
+ * <p>No increment is lost or counted twice when it races with a flush. {@code sumThenReset()} of the JDK 8 adders
+ * reads and clears cells one by one, so a flush takes the sum of a {@link LongAdder} by subtracting it back,
+ * and double counters are kept as raw bits swapped with {@link AtomicLongArray#getAndSet(int, long)}.
+ * Writers which still hold the sums of a key removed as idle move their increments to the current sums of the key.
+ */
+public final class CounterBuffer<T> implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(CounterBuffer.class);
+
+    private final TarantoolClient tarantoolClient;
+    private final Meta<T> meta;
+    private final String spaceName;
+    private final Supplier<T> factory;
+    private final int[] keyFields;
+    private final int[] longFields;
+    private final int[] doubleFields;
+    // slot of a counter in adders of its kind by field index
+    private final int[] slots;
+    private final WriteListener<T> writeListener;
+    private final CounterOptions options;
+    private final OperationMetrics metrics;
+
+    private final ConcurrentHashMap<List<?>, Deltas> deltas = new ConcurrentHashMap<>();
+    private final LongAdder pendingIncrements = new LongAdder();
+    private final LongAdder flushedUpserts = new LongAdder();
+    private final LongAdder failedUpserts = new LongAdder();
+    private final LongAdder droppedKeys = new LongAdder();
+
+    private final Object flushLock = new Object();
+    // guarded by flushLock
+    private CompletableFuture<Void> lastFlush = CompletableFuture.completedFuture(null);
+    private final AtomicBoolean started = new AtomicBoolean();
+    private volatile ScheduledFuture<?> scheduledFlush;
+    private final Thread shutdownHook = new Thread(this::close, "tarantool-orm-counters-close");
+    private volatile boolean closed;
+
+    public CounterBuffer(TarantoolClient tarantoolClient, Meta<T> meta, String spaceName, Supplier<T> factory, int[] keyFields, int[] longFields, int[] doubleFields, WriteListener<T> writeListener, CounterOptions options, OperationMetrics metrics) {
+        this.tarantoolClient = tarantoolClient;
+        this.meta = meta;
+        this.spaceName = spaceName;
+        this.factory = factory;
+        this.keyFields = keyFields;
+        this.longFields = longFields;
+        this.doubleFields = doubleFields;
+        this.writeListener = writeListener;
+        this.options = options;
+        this.metrics = metrics;
+
+        int fields = 0;
+        for (int field : longFields) {
+            fields = Math.max(fields, field + 1);
+        }
+        for (int field : doubleFields) {
+            fields = Math.max(fields, field + 1);
+        }
+
+        this.slots = new int[fields];
+        for (int i = 0; i < longFields.length; i++) {
+            slots[longFields[i]] = i;
+        }
+        for (int i = 0; i < doubleFields.length; i++) {
+            slots[doubleFields[i]] = i;
+        }
+    }
+
+    public void add(List<?> keys, int field, long delta) {
+        checkOpen();
+        addLong(keys, slots[field], delta);
+        pendingIncrements.increment();
+    }
+
+    public void add(List<?> keys, int field, double delta) {
+        checkOpen();
+        addDouble(keys, slots[field], delta);
+        pendingIncrements.increment();
+    }
+
+    /**
+     * Sends the sums of all increments made before the call. The stage completes when they are applied or failed.
+     */
+    public CompletionStage<Void> flush() {
+        synchronized (flushLock) {
+            // the next flush runs whatever happened to the previous one
+            lastFlush = lastFlush
+                    .handle((ignored, throwable) -> (Void) null)
+                    .thenCompose(ignored -> drain())
+                    .handle((ignored, throwable) -> {
+                        if (throwable != null) {
+                            log.warn("Flush of increments of space {} failed", spaceName, throwable);
+                        }
+                        return (Void) null;
+                    });
+            return lastFlush;
+        }
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+
+        closed = true;
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+        }
+        flush().toCompletableFuture().join();
+
+        // fails if the hook was not added, or if called by the hook itself during shutdown
+        try {
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        } catch (IllegalStateException ignored) {
+        }
+    }
+
+    public int getPendingKeys() {
+        return deltas.size();
+    }
+
+    // increments which were not taken by a flush yet
+    public long getPendingIncrements() {
+        return pendingIncrements.sum();
+    }
+
+    public long getFlushedUpserts() {
+        return flushedUpserts.sum();
+    }
+
+    public long getFailedUpserts() {
+        return failedUpserts.sum();
+    }
+
+    // keys whose sums were dropped because they could not be flushed within max staleness
+    public long getDroppedKeys() {
+        return droppedKeys.sum();
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException(String.format("Counters of space %s are closed", spaceName));
+        }
+
+        // the flush task is started by the first increment, so managers which do not count cost nothing
+        if (!started.get() && started.compareAndSet(false, true)) {
+            long interval = options.getFlushIntervalNanos();
+            scheduledFlush = Schedulers.shared().scheduleWithFixedDelay(this::flush, interval, interval, TimeUnit.NANOSECONDS);
+            Runtime.getRuntime().addShutdownHook(shutdownHook);
+        }
+    }
+
+    private void addLong(List<?> keys, int slot, long delta) {
+        Deltas pending = deltas(keys);
+        pending.longs[slot].add(delta);
+        if (pending.retired) {
+            moveRetired(keys, pending);
+        }
+    }
+
+    private void addDouble(List<?> keys, int slot, double delta) {
+        Deltas pending = deltas(keys);
+        pending.addDouble(slot, delta);
+        if (pending.retired) {
+            moveRetired(keys, pending);
+        }
+    }
+
+    private Deltas deltas(List<?> keys) {
+        Deltas existing = deltas.get(keys);
+        return existing != null ? existing : deltas.computeIfAbsent(keys, ignored -> new Deltas(longFields.length, doubleFields.length));
+    }
+
+    // an increment made into the sums of a key after they were removed from the map, or right before that, is either
+    // taken by the flush which retired them or seen here, because both check the other side after their own write.
+    // Sums are moved under the lock of the retired instance, so every increment is moved once
+    private void moveRetired(List<?> keys, Deltas retired) {
+        synchronized (retired) {
+            if (!retired.takeSums()) {
+                return;
+            }
+
+            for (int i = 0; i < longFields.length; i++) {
+                if (retired.longSums[i] != 0) {
+                    addLong(keys, i, retired.longSums[i]);
+                }
+            }
+            for (int i = 0; i < doubleFields.length; i++) {
+                if (retired.doubleSums[i] != 0) {
+                    addDouble(keys, i, retired.doubleSums[i]);
+                }
+            }
+        }
+    }
+
+    // never completes exceptionally, so a failed flush does not stop the next ones
+    private CompletableFuture<Void> drain() {
+        long now = System.nanoTime();
+        pendingIncrements.reset();
+
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+
+        for (Map.Entry<List<?>, Deltas> entry : deltas.entrySet()) {
+            Deltas pending = entry.getValue();
+
+            if (pending.takeSums()) {
+                pending.idle = false;
+                futures.add(send(entry.getKey(), pending, now));
+            } else if (pending.idle && pending.failedSince == 0 && deltas.remove(entry.getKey(), pending)) {
+                pending.retired = true;
+                moveRetired(entry.getKey(), pending);
+            } else {
+                pending.idle = true;
+            }
+        }
+
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]));
+    }
+
+    private CompletableFuture<Void> send(List<?> keys, Deltas pending, long now) {
+        if (pending.failedSince != 0 && now - pending.failedSince > options.getMaxStalenessNanos()) {
+            pending.failedSince = 0;
+            droppedKeys.increment();
+            log.warn("Dropped increments of key {} of space {} which were not flushed within max staleness", keys, spaceName);
+            return CompletableFuture.completedFuture(null);
+        }
+
+        long[] longSums = pending.longSums;
+        double[] doubleSums = pending.doubleSums;
+
+        CompletionStage<?> upsert;
+        try {
+            upsert = upsert(keys, longSums, doubleSums);
+        } catch (RuntimeException e) {
+            failed(keys, pending, longSums, doubleSums, now, e);
+            return CompletableFuture.completedFuture(null);
+        }
+
+        return upsert
+                .whenComplete((result, throwable) -> writeListener.onKeyWrite(keys))
+                .handle((result, throwable) -> {
+                    if (throwable != null) {
+                        failed(keys, pending, longSums, doubleSums, now, throwable);
+                    } else {
+                        flushedUpserts.increment();
+                        pending.failedSince = 0;
+                    }
+                    return (Void) null;
+                })
+                .toCompletableFuture();
+    }
+
+    private CompletionStage<?> upsert(List<?> keys, long[] longSums, double[] doubleSums) {
+        List<Object> defaultValue = new ArrayList<>(meta.toList(factory.get()));
+        for (int i = 0; i < keyFields.length; i++) {
+            defaultValue.set(keyFields[i], keys.get(i));
+        }
+
+        List<List<?>> ops = new ArrayList<>();
+
+        for (int i = 0; i < longFields.length; i++) {
+            if (longSums[i] != 0) {
+                defaultValue.set(longFields[i], longSums[i]);
+                ops.add(Arrays.asList("+", longFields[i], longSums[i]));
+            }
+        }
+        for (int i = 0; i < doubleFields.length; i++) {
+            if (doubleSums[i] != 0) {
+                defaultValue.set(doubleFields[i], doubleSums[i]);
+                ops.add(Arrays.asList("+", doubleFields[i], doubleSums[i]));
+            }
+        }
+
+        // the default tuple is sent as is, decoding it would fail on fields which a new instance leaves null
+        OperationTrace trace = metrics.start(OperationType.UPSERT, null);
+        Object[] operations = ops.toArray();
+        trace.request(1, keys, defaultValue, operations);
+        writeListener.onKeyWrite(keys);
+        try {
+            return trace.track(trace.receive(tarantoolClient.composableAsyncOps().upsert(spaceName, keys, defaultValue, operations)));
+        } catch (RuntimeException e) {
+            throw trace.fail(e);
+        }
+    }
+
+    // the sums are added back, so they are sent with the next flush
+    private void failed(List<?> keys, Deltas pending, long[] longSums, double[] doubleSums, long now, Throwable throwable) {
+        failedUpserts.increment();
+        log.warn("Failed to flush increments of key {} of space {}", keys, spaceName, throwable);
+        pending.restore(longSums, doubleSums);
+        if (pending.failedSince == 0) {
+            pending.failedSince = now;
+        }
+    }
+
+    private static final class Deltas {
+        private final LongAdder[] longs;
+        private final AtomicLongArray doubles;
+        // sums taken by the last drain, accessed only by the flush in progress or under the lock of a retired instance
+        private long[] longSums;
+        private double[] doubleSums;
+        private boolean idle;
+        private volatile long failedSince;
+        // set when the instance is removed from the map
+        private volatile boolean retired;
+
+        private Deltas(int longCount, int doubleCount) {
+            this.longs = new LongAdder[longCount];
+            this.doubles = new AtomicLongArray(doubleCount);
+
+            for (int i = 0; i < longCount; i++) {
+                longs[i] = new LongAdder();
+            }
+        }
+
+        // raw bits of 0L are +0.0
+        private void addDouble(int slot, double delta) {
+            long current;
+            do {
+                current = doubles.get(slot);
+            } while (!doubles.compareAndSet(slot, current, Double.doubleToRawLongBits(Double.longBitsToDouble(current) + delta)));
+        }
+
+        // returns false if nothing was added since the previous drain. Increments made meanwhile stay for the next one
+        private boolean takeSums() {
+            boolean changed = false;
+            longSums = new long[longs.length];
+            doubleSums = new double[doubles.length()];
+
+            for (int i = 0; i < longs.length; i++) {
+                longSums[i] = longs[i].sum();
+                if (longSums[i] != 0) {
+                    longs[i].add(-longSums[i]);
+                    changed = true;
+                }
+            }
+            for (int i = 0; i < doubleSums.length; i++) {
+                doubleSums[i] = Double.longBitsToDouble(doubles.getAndSet(i, 0L));
+                changed |= doubleSums[i] != 0;
+            }
+
+            return changed;
+        }
+
+        private void restore(long[] longSums, double[] doubleSums) {
+            for (int i = 0; i < longs.length; i++) {
+                longs[i].add(longSums[i]);
+            }
+            for (int i = 0; i < doubleSums.length; i++) {
+                if (doubleSums[i] != 0) {
+                    addDouble(i, doubleSums[i]);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package org.tarantool.orm.internals.writes;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Coalesced state of the writes of a key which were not flushed yet.
+ * Replace and delete overwrite everything before them.
+ *
+ * <p>Tarantool rejects an update which changes a field twice, so update operations are folded per field:
+ * '+' and '-' of a number are added up, the last '=' overwrites arithmetic and assignments before it.
+ * An update which has any other operation on an already changed field, or which inserts or deletes fields,
+ * is kept as a separate update and sent after the previous ones.
+ * Mutated only inside compute of the buffer map.
+ */
+final class PendingWrite<T> {
+    private T replacement;
+    private boolean deleted;
+    private final List<List<List<?>>> updates = new ArrayList<>();
+
+    void replace(T value) {
+        replacement = value;
+        deleted = false;
+        updates.clear();
+    }
+
+    void delete() {
+        replacement = null;
+        deleted = true;
+        updates.clear();
+    }
+
+    // update of a deleted tuple does nothing on the server, so it is dropped
+    void update(List<List<?>> ops) {
+        if (deleted || ops.isEmpty()) {
+            return;
+        }
+
+        if (updates.isEmpty()) {
+            updates.add(new ArrayList<>(ops));
+            return;
+        }
+
+        List<List<?>> last = updates.get(updates.size() - 1);
+        List<List<?>> merged = merge(last, ops);
+        if (merged != null) {
+            updates.set(updates.size() - 1, merged);
+        } else {
+            updates.add(new ArrayList<>(ops));
+        }
+    }
+
+    T getReplacement() {
+        return replacement;
+    }
+
+    boolean isDeleted() {
+        return deleted;
+    }
+
+    // operations of every update, in the order they must be applied
+    List<List<List<?>>> getUpdates() {
+        return updates;
+    }
+
+    // returns null if the operations can not be sent in one update with the previous ones
+    private static List<List<?>> merge(List<List<?>> previous, List<List<?>> ops) {
+        for (List<?> op : previous) {
+            if (shiftsFields(op)) {
+                return null;
+            }
+        }
+
+        List<List<?>> merged = new ArrayList<>(previous);
+
+        for (List<?> op : ops) {
+            int field = rootField(op.get(1));
+            if (shiftsFields(op) || field < 0) {
+                return null;
+            }
+
+            int existing = -1;
+            for (int i = 0; i < merged.size(); i++) {
+                if (rootField(merged.get(i).get(1)) == field) {
+                    existing = i;
+                    break;
+                }
+            }
+
+            if (existing < 0) {
+                merged.add(op);
+                continue;
+            }
+
+            List<?> folded = fold(merged.get(existing), op);
+            if (folded == null) {
+                return null;
+            }
+            merged.set(existing, folded);
+        }
+
+        return merged;
+    }
+
+    // returns the single operation which has the effect of both, or null
+    private static List<?> fold(List<?> previous, List<?> op) {
+        if (!previous.get(1).equals(op.get(1)) || !isFoldable(previous) || !isFoldable(op)) {
+            return null;
+        }
+
+        String operator = (String) op.get(0);
+        if (operator.equals("=")) {
+            return op;
+        }
+
+        Object value = previous.get(2);
+        Object delta = op.get(2);
+        if (!(value instanceof Number) || !(delta instanceof Number)) {
+            return null;
+        }
+
+        // '-' of the previous operation is turned into '+' of the negated value
+        String previousOperator = (String) previous.get(0);
+        Number left = previousOperator.equals("-") ? negate((Number) value) : (Number) value;
+        Number right = operator.equals("-") ? negate((Number) delta) : (Number) delta;
+        return Arrays.asList(previousOperator.equals("=") ? "=" : "+", op.get(1), add(left, right));
+    }
+
+    private static boolean isFoldable(List<?> op) {
+        String operator = (String) op.get(0);
+        return operator.equals("=") || operator.equals("+") || operator.equals("-");
+    }
+
+    // insert and delete of fields change numbers of the following fields
+    private static boolean shiftsFields(List<?> op) {
+        String operator = (String) op.get(0);
+        return operator.equals("!") || operator.equals("#");
+    }
+
+    // fields are zero-based numbers or JSON paths which start with the one-based number of the field, e.g. [3][1].
+    // Returns -1 for paths of other forms, they are never merged
+    private static int rootField(Object field) {
+        if (field instanceof Number) {
+            return ((Number) field).intValue();
+        }
+
+        String path = field.toString();
+        int end = path.indexOf(']');
+        if (!path.startsWith("[") || end < 2) {
+            return -1;
+        }
+
+        try {
+            return Integer.parseInt(path.substring(1, end)) - 1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static Number add(Number left, Number right) {
+        if (isFloatingPoint(left) || isFloatingPoint(right)) {
+            return left.doubleValue() + right.doubleValue();
+        }
+        return left.longValue() + right.longValue();
+    }
+
+    // not a conditional expression, it would turn longs into doubles
+    private static Number negate(Number value) {
+        if (isFloatingPoint(value)) {
+            return -value.doubleValue();
+        }
+        return -value.longValue();
+    }
+
+    private static boolean isFloatingPoint(Number value) {
+        return value instanceof Double || value instanceof Float;
+    }
+}
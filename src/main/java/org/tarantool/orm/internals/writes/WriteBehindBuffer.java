@@ -0,0 +1,315 @@
+package org.tarantool.orm.internals.writes;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.tarantool.TarantoolClient;
+import org.tarantool.orm.internals.Meta;
+import org.tarantool.orm.internals.Schedulers;
+import org.tarantool.orm.internals.ServerFunction;
+import org.tarantool.orm.internals.UpdateBuilder;
+import org.tarantool.orm.internals.WriteBehindOptions;
+import org.tarantool.orm.internals.WriteListener;
+import org.tarantool.orm.internals.metrics.OperationMetrics;
+import org.tarantool.orm.internals.operations.BulkOperation;
+import org.tarantool.orm.internals.operations.BulkResult;
+import org.tarantool.orm.internals.operations.UpdateOperation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Buffers writes of a space and sends them in background. The buffer keeps a single pending write per primary key:
+ * replace and delete replace the pending write, update operations are merged into it per field (see {@link PendingWrite}).
+ * Flushes run one at a time. Replaces and deletes are sent in chunks through the bulk write function,
+ * updates are pipelined after them, several updates of one key are sent one after another.
+ *
+ * <p>Writes are eventually consistent: selects do not see pending writes, and failed writes are only counted and logged.
+ * Pending writes are flushed on {@link #close()} and on JVM shutdown.
+ * Managers own their buffers, and a factory creates a single manager per tuple class,
+ * so all writes of a space made through one factory are merged in one buffer.
+ */
+public final class WriteBehindBuffer<T> implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(WriteBehindBuffer.class);
+
+    private final TarantoolClient tarantoolClient;
+    private final Meta<T> meta;
+    private final String spaceName;
+    private final ServerFunction bulkWriteFunction;
+    private final Function<T, List<?>> keyExtractor;
+    private final Function<List<?>, List<?>> keyConverter;
+    private final WriteListener<T> writeListener;
+    private final WriteBehindOptions options;
+    private final OperationMetrics metrics;
+
+    private final ConcurrentHashMap<List<?>, PendingWrite<T>> pending = new ConcurrentHashMap<>();
+    private final LongAdder coalescedWrites = new LongAdder();
+    private final LongAdder flushedWrites = new LongAdder();
+    private final LongAdder failedWrites = new LongAdder();
+
+    private final Object flushLock = new Object();
+    // guarded by flushLock
+    private CompletableFuture<Void> lastFlush = CompletableFuture.completedFuture(null);
+    // set while a flush started by the batch size is queued, so writers do not queue a flush per write
+    private final AtomicBoolean batchFlushQueued = new AtomicBoolean();
+    private final ScheduledFuture<?> scheduledFlush;
+    private final Thread shutdownHook;
+    private volatile boolean closed;
+
+    // options may be null, then the buffer is disabled and rejects writes
+    public WriteBehindBuffer(TarantoolClient tarantoolClient, Meta<T> meta, String spaceName, ServerFunction bulkWriteFunction, Function<T, List<?>> keyExtractor, Function<List<?>, List<?>> keyConverter, WriteListener<T> writeListener, WriteBehindOptions options, OperationMetrics metrics) {
+        this.tarantoolClient = tarantoolClient;
+        this.meta = meta;
+        this.spaceName = spaceName;
+        this.bulkWriteFunction = bulkWriteFunction;
+        this.keyExtractor = keyExtractor;
+        this.keyConverter = keyConverter;
+        this.writeListener = writeListener;
+        this.options = options;
+        this.metrics = metrics;
+
+        if (options != null) {
+            long interval = options.getFlushIntervalNanos();
+            this.scheduledFlush = Schedulers.shared().scheduleWithFixedDelay(this::flush, interval, interval, TimeUnit.NANOSECONDS);
+            this.shutdownHook = new Thread(this::close, "tarantool-orm-write-behind-close");
+            Runtime.getRuntime().addShutdownHook(shutdownHook);
+        } else {
+            this.scheduledFlush = null;
+            this.shutdownHook = null;
+        }
+    }
+
+    public void replace(T value) {
+        enqueue(keyExtractor.apply(value), write -> write.replace(value));
+    }
+
+    // keys are converted to the types of the primary key fields, so writes of a tuple are merged whatever number types are passed
+    public void update(List<?> keys, UpdateBuilder updateBuilder) {
+        List<List<?>> ops = updateBuilder.getOps();
+        enqueue(keyConverter.apply(keys), write -> write.update(ops));
+    }
+
+    public void delete(List<?> keys) {
+        enqueue(keyConverter.apply(keys), PendingWrite::delete);
+    }
+
+    /**
+     * Sends all writes which are pending at the moment. The stage completes when they are applied or failed.
+     */
+    public CompletionStage<Void> flush() {
+        synchronized (flushLock) {
+            lastFlush = afterLastFlush(this::drain);
+            return lastFlush;
+        }
+    }
+
+    @Override
+    public void close() {
+        if (options == null || closed) {
+            return;
+        }
+
+        closed = true;
+        scheduledFlush.cancel(false);
+        flush().toCompletableFuture().join();
+
+        // fails if called by the hook itself during shutdown
+        try {
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        } catch (IllegalStateException ignored) {
+        }
+    }
+
+    public int getPendingKeys() {
+        return pending.size();
+    }
+
+    // writes which were merged into a write of the same key that was still pending
+    public long getCoalescedWrites() {
+        return coalescedWrites.sum();
+    }
+
+    public long getFlushedWrites() {
+        return flushedWrites.sum();
+    }
+
+    public long getFailedWrites() {
+        return failedWrites.sum();
+    }
+
+    private void enqueue(List<?> keys, Consumer<PendingWrite<T>> write) {
+        if (options == null) {
+            throw new IllegalStateException(String.format("Write-behind is not enabled for space %s", spaceName));
+        }
+        if (closed) {
+            throw new IllegalStateException(String.format("Write-behind buffer of space %s is closed", spaceName));
+        }
+
+        writeListener.onKeyWrite(keys);
+        pending.compute(keys, (key, pendingWrite) -> {
+            if (pendingWrite == null) {
+                pendingWrite = new PendingWrite<>();
+            } else {
+                coalescedWrites.increment();
+            }
+
+            write.accept(pendingWrite);
+            return pendingWrite;
+        });
+
+        int size = pending.size();
+        if (size >= options.getMaxPendingKeys()) {
+            flush().toCompletableFuture().join();
+        } else if (size >= options.getMaxBatchSize() && batchFlushQueued.compareAndSet(false, true)) {
+            synchronized (flushLock) {
+                lastFlush = afterLastFlush(() -> {
+                    batchFlushQueued.set(false);
+                    return drain();
+                });
+            }
+        }
+    }
+
+    // guarded by flushLock. The next flush runs whatever happened to the previous one,
+    // and the returned stage never completes exceptionally, so callers which join it do not fail
+    private CompletableFuture<Void> afterLastFlush(Supplier<CompletableFuture<Void>> next) {
+        return lastFlush
+                .handle((ignored, throwable) -> (Void) null)
+                .thenCompose(ignored -> next.get())
+                .handle((ignored, throwable) -> {
+                    if (throwable != null) {
+                        log.warn("Flush of buffered writes of space {} failed", spaceName, throwable);
+                    }
+                    return (Void) null;
+                });
+    }
+
+    // pending writes are removed before they are sent, so every failure, including synchronous ones, is counted
+    private CompletableFuture<Void> drain() {
+        List<T> replacements = new ArrayList<>();
+        List<List<?>> deletions = new ArrayList<>();
+        List<List<?>> updatedKeys = new ArrayList<>();
+        List<List<List<List<?>>>> updates = new ArrayList<>();
+        List<List<?>> keys = new ArrayList<>();
+
+        for (List<?> key : pending.keySet()) {
+            PendingWrite<T> write = pending.remove(key);
+            if (write == null) {
+                continue;
+            }
+
+            keys.add(key);
+            if (write.isDeleted()) {
+                deletions.add(key);
+            } else if (write.getReplacement() != null) {
+                replacements.add(write.getReplacement());
+            }
+
+            if (!write.getUpdates().isEmpty()) {
+                updatedKeys.add(key);
+                updates.add(write.getUpdates());
+            }
+        }
+
+        if (keys.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        List<CompletableFuture<Void>> bulks = new ArrayList<>();
+        sendInChunks("replace", replacements, meta::toList, bulks);
+        sendInChunks("delete", deletions, key -> key, bulks);
+
+        // updates of replaced keys must be applied after the replace
+        return CompletableFuture.allOf(bulks.toArray(new CompletableFuture<?>[0]))
+                .thenCompose(ignored -> {
+                    List<CompletableFuture<Void>> futures = new ArrayList<>(updates.size());
+
+                    for (int i = 0; i < updates.size(); i++) {
+                        futures.add(sendUpdates(updatedKeys.get(i), updates.get(i), 0));
+                    }
+
+                    return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]));
+                })
+                .whenComplete((ignored, throwable) -> keys.forEach(writeListener::onKeyWrite));
+    }
+
+    // the next update of a key is sent when the previous one is applied or failed
+    private CompletableFuture<Void> sendUpdates(List<?> key, List<List<List<?>>> keyUpdates, int from) {
+        CompletableFuture<Void> sent;
+        try {
+            sent = track(new UpdateOperation<>(tarantoolClient, meta, spaceName, key, keyUpdates.get(from), writeListener, metrics).runAsync(), 1);
+        } catch (RuntimeException e) {
+            failed(1, e);
+            sent = CompletableFuture.completedFuture(null);
+        }
+
+        if (from + 1 == keyUpdates.size()) {
+            return sent;
+        }
+        return sent.thenCompose(ignored -> sendUpdates(key, keyUpdates, from + 1));
+    }
+
+    private <V> void sendInChunks(String operation, List<V> values, Function<V, List<?>> encoder, List<CompletableFuture<Void>> futures) {
+        for (int from = 0; from < values.size(); from += options.getMaxBatchSize()) {
+            List<V> chunk = values.subList(from, Math.min(values.size(), from + options.getMaxBatchSize()));
+            CompletionStage<BulkResult> result;
+            try {
+                result = new BulkOperation<>(tarantoolClient, bulkWriteFunction, operation, chunk, encoder, false, ignoredWrites(), metrics).runAsync();
+            } catch (RuntimeException e) {
+                failed(chunk.size(), e);
+                continue;
+            }
+
+            futures.add(result.handle((bulkResult, throwable) -> {
+                if (throwable != null) {
+                    failed(chunk.size(), throwable);
+                } else {
+                    flushedWrites.add(bulkResult.getCount());
+                    if (bulkResult.hasFailures()) {
+                        failed(bulkResult.getFailed().size(), null);
+                    }
+                }
+                return (Void) null;
+            }).toCompletableFuture());
+        }
+    }
+
+    private CompletableFuture<Void> track(CompletionStage<?> write, int count) {
+        return write.handle((result, throwable) -> {
+            if (throwable != null) {
+                failed(count, throwable);
+            } else {
+                flushedWrites.add(count);
+            }
+            return (Void) null;
+        }).toCompletableFuture();
+    }
+
+    private void failed(int count, Throwable throwable) {
+        failedWrites.add(count);
+        log.warn("Failed to flush {} buffered writes of space {}", count, spaceName, throwable);
+    }
+
+    // keys are reported to the write listener by the buffer itself
+    private static <V> WriteListener<V> ignoredWrites() {
+        return new WriteListener<V>() {
+            @Override
+            public void onKeyWrite(List<?> keys) {
+            }
+
+            @Override
+            public void onValueWrite(V value) {
+            }
+        };
+    }
+}
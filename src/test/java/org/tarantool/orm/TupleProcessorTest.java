@@ -20,15 +20,37 @@ public class TupleProcessorTest {
             Joiner.on(NEW_LINE).join(
                     "package org.tarantool.orm.generated;",
                     "",
-                    "import org.tarantool.TarantoolClient",
+                    "import java.lang.AutoCloseable;",
+                    "import java.lang.Override;",
+                    "import org.tarantool.TarantoolClient;",
+                    "import org.tarantool.orm.internals.ManagerOptions;",
+                    "import org.tarantool.orm.internals.metrics.MetricsRegistry;",
                     "",
-                    "public final class ManagerFactory {",
+                    "public final class ManagerFactory implements AutoCloseable {",
                     "private final TarantoolClient tarantoolClient;",
+                    "private final ManagerOptions options;",
+                    "private final MetricsRegistry metrics;",
+                    "private DataClassManager dataClassManager;",
                     "public ManagerFactory(TarantoolClient tarantoolClient) {",
+                    "this(tarantoolClient, new ManagerOptions());",
+                    "}",
+                    "public ManagerFactory(TarantoolClient tarantoolClient, ManagerOptions options) {",
                     "this.tarantoolClient = tarantoolClient;",
+                    "this.options = options;",
+                    "this.metrics = new MetricsRegistry(options);",
+                    "}",
+                    "public synchronized DataClassManager dataClassManager() {",
+                    "if (this.dataClassManager == null) {",
+                    "this.dataClassManager = new DataClassManager(this.tarantoolClient, this.options, this.metrics.forSpace(\"test\", \"primary\"));",
+                    "}",
+                    "return this.dataClassManager;",
                     "}",
-                    "public DataClassManager dataClassManager() {",
-                    "return new DataClassManager(this.tarantoolClient);",
+                    "@Override",
+                    "public synchronized void close() {",
+                    "if (this.dataClassManager != null) {",
+                    "this.dataClassManager.close();",
+                    "}",
+                    "this.metrics.close();",
                     "}",
                     "}"
             )
@@ -444,53 +466,141 @@ public class TupleProcessorTest {
 
                         "package org.tarantool.orm.generated;",
 
-"import com.google.common.primitives.Longs;",
+"import java.lang.AutoCloseable;",
+"import java.lang.IllegalArgumentException;",
+"import java.lang.Integer;",
 "import java.lang.Number;",
 "import java.lang.Object;",
+"import java.lang.Override;",
 "import java.lang.String;",
 "import java.util.ArrayList;",
 "import java.util.Arrays;",
 "import java.util.Collection;",
+"import java.util.Collections;",
 "import java.util.List;",
+"import java.util.Set;",
+"import java.util.function.Function;",
+"import org.tarantool.Iterator;",
 "import org.tarantool.TarantoolClient;",
+"import org.tarantool.orm.internals.ManagerOptions;",
 "import org.tarantool.orm.internals.Meta;",
+"import org.tarantool.orm.internals.MsgPackReader;",
+"import org.tarantool.orm.internals.MsgPackWriter;",
+"import org.tarantool.orm.internals.PrimitiveArrays;",
+"import org.tarantool.orm.internals.ServerFunction;",
+"import org.tarantool.orm.internals.ServerFunctions;",
+"import org.tarantool.orm.internals.TupleField;",
+"import org.tarantool.orm.internals.UpdateBuilder;",
+"import org.tarantool.orm.internals.metrics.OperationMetrics;",
+"import org.tarantool.orm.internals.metrics.OperationType;",
+"import org.tarantool.orm.internals.operations.BatchOperation;",
+"import org.tarantool.orm.internals.operations.BulkOperation;",
 "import org.tarantool.orm.internals.operations.DeleteOperation;",
+"import org.tarantool.orm.internals.operations.GetAllOperation;",
 "import org.tarantool.orm.internals.operations.InsertOperation;",
+"import org.tarantool.orm.internals.operations.ProjectionOperation;",
 "import org.tarantool.orm.internals.operations.ReplaceOperation;",
+"import org.tarantool.orm.internals.operations.ScanOperation;",
+"import org.tarantool.orm.internals.operations.SelectManyOperation;",
 "import org.tarantool.orm.internals.operations.SelectOperation;",
 "import org.tarantool.orm.internals.operations.UpdateOperation;",
 "import org.tarantool.orm.internals.operations.UpsertOperation;",
+"import org.tarantool.orm.internals.reads.ReadPath;",
+"import org.tarantool.orm.internals.reads.ReadStats;",
+"import org.tarantool.orm.internals.writes.WriteBehindBuffer;",
 "import test.DataClass;",
 
-        "public final class DataClassManager {",
+        "public final class DataClassManager implements AutoCloseable {",
             "private final String spaceName = \"test\";",
 
             "private final TarantoolClient tarantoolClient;",
 
             "private final Meta<DataClass> meta;",
 
+            "private final ServerFunction bulkWriteFunction;",
+
+            "private final ServerFunction getAllFunction;",
+            "private final ServerFunction selectFieldsFunction;",
+            "private final OperationMetrics metrics;",
+
+            "private final ReadPath<DataClass> reads;",
+            "private final WriteBehindBuffer<DataClass> writeBehind;",
+
             "public DataClassManager(TarantoolClient tarantoolClient) {",
+                "this(tarantoolClient, new ManagerOptions());",
+            "}",
+
+            "public DataClassManager(TarantoolClient tarantoolClient, ManagerOptions options) {",
+                "this(tarantoolClient, options, new OperationMetrics(\"test\", \"primary\", options));",
+            "}",
+
+            "public DataClassManager(TarantoolClient tarantoolClient, ManagerOptions options, OperationMetrics metrics) {",
                 "this.tarantoolClient = tarantoolClient;",
+                "this.metrics = metrics;",
                 "this.meta = new DataClassManagerMeta();",
+                "this.bulkWriteFunction = ServerFunctions.bulkWrite(spaceName);",
+                "this.getAllFunction = ServerFunctions.getAll(spaceName);",
+                "this.selectFieldsFunction = ServerFunctions.selectFields(spaceName);",
+                "this.reads = new ReadPath<>(tarantoolClient, meta, spaceName, \"primary\", getAllFunction, tuple -> Arrays.asList(tuple.getId()), options, metrics);",
+                "this.writeBehind = new WriteBehindBuffer<>(tarantoolClient, meta, spaceName, bulkWriteFunction, tuple -> Arrays.asList(tuple.getId()), key -> Arrays.asList(((Number) key.get(0)).intValue()), reads, options.getWriteBehindOptions(spaceName), metrics);",
             "}",
 
             "public SelectOperation<DataClass> selectUsingPrimaryIndex(final int id) {",
                 "List<?> keys = Arrays.asList(id);",
-                "return new SelectOperation<>(tarantoolClient, meta, spaceName, \"primary\", keys);",
+                "return new SelectOperation<>(reads, \"primary\", keys, metrics);",
+            "}",
+
+            "public ProjectionOperation<DataClass, DataClass> selectUsingPrimaryIndex(final int id, final Set<Fields> fields) {",
+                "List<?> keys = Arrays.asList(id);",
+                "return new ProjectionOperation<>(tarantoolClient, meta, selectFieldsFunction, OperationType.SELECT, \"primary\", keys, fields, 0, 1, Iterator.EQ, ProjectionOperation::first, metrics);",
+            "}",
+
+            "public SelectManyOperation<DataClass> selectManyUsingPrimaryIndex(final int id, final int offset,",
+                                                         "final int limit, final Iterator iterator) {",
+                "List<?> keys = Arrays.asList(id);",
+                "return new SelectManyOperation<>(tarantoolClient, meta, spaceName, \"primary\", keys, offset, limit, iterator, metrics);",
+            "}",
+
+            "public ProjectionOperation<DataClass, List<DataClass>> selectManyUsingPrimaryIndex(final int id, final int offset, final int limit, final Iterator iterator, final Set<Fields> fields) {",
+                "List<?> keys = Arrays.asList(id);",
+                "return new ProjectionOperation<>(tarantoolClient, meta, selectFieldsFunction, OperationType.SELECT_MANY, \"primary\", keys, fields, offset, limit, iterator, Function.identity(), metrics);",
+            "}",
+
+            "public ScanOperation<DataClass> scanUsingPrimaryIndex(final Iterator iterator, final int pageSize) {",
+                "List<?> keys = Collections.emptyList();",
+                "return new ScanOperation<>(tarantoolClient, meta, spaceName, \"primary\", keys, iterator, pageSize, true, tuple -> Arrays.asList(tuple.getId()), metrics);",
+            "}",
+
+            "public ScanOperation<DataClass> scanUsingPrimaryIndex(final int id, final Iterator iterator,",
+                                                         "final int pageSize) {",
+                "List<?> keys = Arrays.asList(id);",
+                "return new ScanOperation<>(tarantoolClient, meta, spaceName, \"primary\", keys, iterator, pageSize, true, tuple -> Arrays.asList(tuple.getId()), metrics);",
+            "}",
+
+            "public GetAllOperation<Integer, DataClass> getAll(final Collection<Integer> keys) {",
+                "return new GetAllOperation<>(tarantoolClient, meta, getAllFunction, keys, Collections::singletonList, tuple -> Arrays.asList(tuple.getId()), metrics);",
+            "}",
+
+            "public ReadStats getReadStats() {",
+                "return reads.getStats();",
+            "}",
+
+            "public OperationMetrics getMetrics() {",
+                "return metrics;",
             "}",
 
             "public InsertOperation<DataClass> insert(final DataClass value) {",
-                "return new InsertOperation<>(tarantoolClient, meta, spaceName, value);",
+                "return new InsertOperation<>(tarantoolClient, meta, spaceName, value, reads, metrics);",
             "}",
 
             "public DeleteOperation<DataClass> delete(final DataClass value) {",
                 "List<Object> keys = new ArrayList<>();",
                 "keys.add(value.getId());",
-                "return new DeleteOperation<>(tarantoolClient, meta, spaceName, keys);",
+                "return new DeleteOperation<>(tarantoolClient, meta, spaceName, keys, reads, metrics);",
             "}",
 
             "public ReplaceOperation<DataClass> replace(final DataClass value) {",
-                "return new ReplaceOperation<>(tarantoolClient, meta, spaceName, value);",
+                "return new ReplaceOperation<>(tarantoolClient, meta, spaceName, value, reads, metrics);",
             "}",
 
             "public UpdateOperation<DataClass> update(final DataClass value) {",
@@ -500,7 +610,7 @@ public class TupleProcessorTest {
                 "ops.add(Arrays.asList(\"=\", 1, value.getValue()));",
                 "ops.add(Arrays.asList(\"=\", 2, value.getObjects()));",
                 "ops.add(Arrays.asList(\"=\", 3, value.getLongs()));",
-                "return new UpdateOperation<>(tarantoolClient, meta, spaceName, keys, ops);",
+                "return new UpdateOperation<>(tarantoolClient, meta, spaceName, keys, ops, reads, metrics);",
             "}",
 
             "public UpsertOperation<DataClass> upsert(final DataClass defaultValue,",
@@ -511,12 +621,69 @@ public class TupleProcessorTest {
                 "ops.add(Arrays.asList(\"=\", 1, updatedValue.getValue()));",
                 "ops.add(Arrays.asList(\"=\", 2, updatedValue.getObjects()));",
                 "ops.add(Arrays.asList(\"=\", 3, updatedValue.getLongs()));",
-                "return new UpsertOperation<>(tarantoolClient, meta, spaceName, keys, defaultValue, ops);",
+                "return new UpsertOperation<>(tarantoolClient, meta, spaceName, keys, defaultValue, ops, reads, metrics);",
+            "}",
+
+            "public DataClassUpdateBuilder updateBuilder() {",
+                "return new DataClassUpdateBuilder();",
+            "}",
+
+            "public UpdateOperation<DataClass> update(final int id,",
+                    "final DataClassUpdateBuilder updateBuilder) {",
+                "List<?> keys = Arrays.asList(id);",
+                "return new UpdateOperation<>(tarantoolClient, meta, spaceName, keys, updateBuilder.getOps(), reads, metrics);",
+            "}",
+
+            "public UpsertOperation<DataClass> upsert(final DataClass defaultValue,",
+                    "final DataClassUpdateBuilder updateBuilder) {",
+                "List<Object> keys = new ArrayList<>();",
+                "keys.add(defaultValue.getId());",
+                "return new UpsertOperation<>(tarantoolClient, meta, spaceName, keys, defaultValue, updateBuilder.getOps(), reads, metrics);",
+            "}",
+
+            "public BatchOperation<DataClass, DataClass> insertAll(final Collection<DataClass> values,",
+                                                                    "final int maxInFlight) {",
+                "return new BatchOperation<>(values, this::insert, maxInFlight);",
+            "}",
+
+            "public BatchOperation<DataClass, DataClass> replaceAll(final Collection<DataClass> values,",
+                                                                    "final int maxInFlight) {",
+                "return new BatchOperation<>(values, this::replace, maxInFlight);",
+            "}",
+
+            "public BatchOperation<DataClass, DataClass> deleteAll(final Collection<DataClass> values,",
+                                                                    "final int maxInFlight) {",
+                "return new BatchOperation<>(values, this::delete, maxInFlight);",
+            "}",
+
+            "public BulkOperation<DataClass> bulkInsert(final Collection<DataClass> values,",
+                                                    "final boolean atomic) {",
+                "return new BulkOperation<>(tarantoolClient, bulkWriteFunction, \"insert\", values, meta::toList, atomic, reads, metrics);",
+            "}",
+
+            "public BulkOperation<DataClass> bulkReplace(final Collection<DataClass> values,",
+                                                    "final boolean atomic) {",
+                "return new BulkOperation<>(tarantoolClient, bulkWriteFunction, \"replace\", values, meta::toList, atomic, reads, metrics);",
+            "}",
+
+            "public BulkOperation<DataClass> bulkDelete(final Collection<DataClass> values,",
+                                                    "final boolean atomic) {",
+                "return new BulkOperation<>(tarantoolClient, bulkWriteFunction, \"delete\", values, tuple -> Arrays.asList(tuple.getId()), atomic, reads, metrics);",
+            "}",
+
+            "public WriteBehindBuffer<DataClass> writeBehind() {",
+                "return writeBehind;",
+            "}",
+
+            "@Override",
+            "public void close() {",
+                "writeBehind.close();",
+                "reads.close();",
             "}",
 
             "private final class DataClassManagerMeta extends Meta<DataClass> {",
                 "public List<?> toList(final DataClass value) {",
-                    "List<Object> result = new ArrayList<>();",
+                    "List<Object> result = new ArrayList<>(4);",
                     "result.add(value.getId());",
                     "result.add(value.getValue());",
                     "result.add(value.getObjects());",
@@ -524,14 +691,143 @@ public class TupleProcessorTest {
                     "return result;",
                 "}",
 
+                "public void encode(final DataClass value, final MsgPackWriter writer) {",
+                    "writer.writeArrayHeader(4);",
+                    "writer.writeLong(value.getId());",
+                    "writer.writeLong(value.getValue());",
+                    "writer.writeValue(value.getObjects());",
+                    "writer.writeArray(value.getLongs());",
+                "}",
+
                 "public DataClass fromList(final List<?> values) {",
                     "DataClass result = new DataClass();",
                     "result.setId(((Number) values.get(0)).intValue());",
                     "result.setValue(((Number) values.get(1)).intValue());",
                     "result.setObjects(((List<?>) values.get(2)).toArray(new Object[] {}));",
-                    "result.setLongs(Longs.toArray((Collection<? extends Number>) values.get(3)));",
+                    "result.setLongs(PrimitiveArrays.toLongArray(values.get(3)));",
+                    "return result;",
+                "}",
+
+                "public DataClass fromFields(final int[] fields, final List<?> values) {",
+                    "DataClass result = new DataClass();",
+                    "for (int i = 0; i < fields.length; i++) {",
+                        "switch (fields[i]) {",
+                            "case 0:",
+                                "result.setId(((Number) values.get(i)).intValue());",
+                                "break;",
+                            "case 1:",
+                                "result.setValue(((Number) values.get(i)).intValue());",
+                                "break;",
+                            "case 2:",
+                                "result.setObjects(((List<?>) values.get(i)).toArray(new Object[] {}));",
+                                "break;",
+                            "case 3:",
+                                "result.setLongs(PrimitiveArrays.toLongArray(values.get(i)));",
+                                "break;",
+                            "default:",
+                                "throw new IllegalArgumentException(String.format(\"Tuple has no field %d\", fields[i]));",
+                        "}",
+                    "}",
+                    "return result;",
+                "}",
+
+                "public DataClass decode(final MsgPackReader reader) {",
+                    "int extraValues = reader.readTupleHeader(4);",
+                    "DataClass result = new DataClass();",
+                    "result.setId((int) reader.readLong());",
+                    "result.setValue((int) reader.readLong());",
+                    "result.setObjects(((List<?>) reader.readValue()).toArray(new Object[] {}));",
+                    "result.setLongs(reader.readLongArray());",
+                    "reader.skipValues(extraValues);",
                     "return result;",
                 "}",
+
+                "public long getFingerprint() {",
+                    "return -8574382461509094020L;",
+                "}",
+            "}",
+
+            "public enum Fields implements TupleField {",
+                "ID(0),",
+
+                "VALUE(1),",
+
+                "OBJECTS(2),",
+
+                "LONGS(3);",
+
+                "private final int index;",
+
+                "Fields(final int index) {",
+                    "this.index = index;",
+                "}",
+
+                "@Override",
+                "public int getIndex() {",
+                    "return index;",
+                "}",
+            "}",
+
+            "public static final class DataClassUpdateBuilder extends UpdateBuilder {",
+                "public DataClassUpdateBuilder setValue(final int value) {",
+                    "add(\"=\", 1, value);",
+                    "return this;",
+                "}",
+
+                "public DataClassUpdateBuilder incrementValue(final int value) {",
+                    "add(\"+\", 1, value);",
+                    "return this;",
+                "}",
+
+                "public DataClassUpdateBuilder subtractValue(final int value) {",
+                    "add(\"-\", 1, value);",
+                    "return this;",
+                "}",
+
+                "public DataClassUpdateBuilder bitAndValue(final int value) {",
+                    "add(\"&\", 1, value);",
+                    "return this;",
+                "}",
+
+                "public DataClassUpdateBuilder bitOrValue(final int value) {",
+                    "add(\"|\", 1, value);",
+                    "return this;",
+                "}",
+
+                "public DataClassUpdateBuilder bitXorValue(final int value) {",
+                    "add(\"^\", 1, value);",
+                    "return this;",
+                "}",
+
+                "public DataClassUpdateBuilder setObjects(final Object[] value) {",
+                    "add(\"=\", 2, value);",
+                    "return this;",
+                "}",
+
+                "public DataClassUpdateBuilder insertAtObjects(final int position, final Object value) {",
+                    "add(\"!\", path(2, position), value);",
+                    "return this;",
+                "}",
+
+                "public DataClassUpdateBuilder deleteAtObjects(final int position, final int count) {",
+                    "add(\"#\", path(2, position), count);",
+                    "return this;",
+                "}",
+
+                "public DataClassUpdateBuilder setLongs(final long[] value) {",
+                    "add(\"=\", 3, value);",
+                    "return this;",
+                "}",
+
+                "public DataClassUpdateBuilder insertAtLongs(final int position, final long value) {",
+                    "add(\"!\", path(3, position), value);",
+                    "return this;",
+                "}",
+
+                "public DataClassUpdateBuilder deleteAtLongs(final int position, final int count) {",
+                    "add(\"#\", path(3, position), count);",
+                    "return this;",
+                "}",
             "}",
         "}"
                 )
@@ -578,56 +874,172 @@ public class TupleProcessorTest {
 
                         "package org.tarantool.orm.generated;",
 
+                    "import java.lang.AutoCloseable;",
+                    "import java.lang.IllegalArgumentException;",
+                    "import java.lang.Integer;",
                     "import java.lang.Number;",
                     "import java.lang.Object;",
+                    "import java.lang.Override;",
                     "import java.lang.String;",
                     "import java.util.ArrayList;",
                     "import java.util.Arrays;",
+                    "import java.util.Collection;",
+                    "import java.util.Collections;",
                     "import java.util.List;",
+                    "import java.util.Set;",
+                    "import java.util.function.Function;",
+                    "import org.tarantool.Iterator;",
                     "import org.tarantool.TarantoolClient;",
+                    "import org.tarantool.orm.internals.ManagerOptions;",
                     "import org.tarantool.orm.internals.Meta;",
+                    "import org.tarantool.orm.internals.MsgPackReader;",
+                    "import org.tarantool.orm.internals.MsgPackWriter;",
+                    "import org.tarantool.orm.internals.ServerFunction;",
+                    "import org.tarantool.orm.internals.ServerFunctions;",
+                    "import org.tarantool.orm.internals.TupleField;",
+                    "import org.tarantool.orm.internals.UpdateBuilder;",
+                    "import org.tarantool.orm.internals.metrics.OperationMetrics;",
+                    "import org.tarantool.orm.internals.metrics.OperationType;",
+                    "import org.tarantool.orm.internals.operations.BatchOperation;",
+                    "import org.tarantool.orm.internals.operations.BulkOperation;",
                     "import org.tarantool.orm.internals.operations.DeleteOperation;",
+                    "import org.tarantool.orm.internals.operations.GetAllOperation;",
                     "import org.tarantool.orm.internals.operations.InsertOperation;",
+                    "import org.tarantool.orm.internals.operations.ProjectionOperation;",
                     "import org.tarantool.orm.internals.operations.ReplaceOperation;",
+                    "import org.tarantool.orm.internals.operations.ScanOperation;",
+                    "import org.tarantool.orm.internals.operations.SelectManyOperation;",
                     "import org.tarantool.orm.internals.operations.SelectOperation;",
                     "import org.tarantool.orm.internals.operations.UpdateOperation;",
                     "import org.tarantool.orm.internals.operations.UpsertOperation;",
+                    "import org.tarantool.orm.internals.reads.ReadPath;",
+                    "import org.tarantool.orm.internals.reads.ReadStats;",
+                    "import org.tarantool.orm.internals.writes.WriteBehindBuffer;",
                     "import test.DataClass;",
 
-        "public final class DataClassManager {",
+        "public final class DataClassManager implements AutoCloseable {",
             "private final String spaceName = \"test\";",
 
             "private final TarantoolClient tarantoolClient;",
 
             "private final Meta<DataClass> meta;",
 
+            "private final ServerFunction bulkWriteFunction;",
+
+            "private final ServerFunction getAllFunction;",
+            "private final ServerFunction selectFieldsFunction;",
+            "private final OperationMetrics metrics;",
+
+            "private final ReadPath<DataClass> reads;",
+            "private final WriteBehindBuffer<DataClass> writeBehind;",
+
             "public DataClassManager(TarantoolClient tarantoolClient) {",
+                "this(tarantoolClient, new ManagerOptions());",
+            "}",
+
+            "public DataClassManager(TarantoolClient tarantoolClient, ManagerOptions options) {",
+                "this(tarantoolClient, options, new OperationMetrics(\"test\", \"primary\", options));",
+            "}",
+
+            "public DataClassManager(TarantoolClient tarantoolClient, ManagerOptions options, OperationMetrics metrics) {",
                 "this.tarantoolClient = tarantoolClient;",
+                "this.metrics = metrics;",
                 "this.meta = new DataClassManagerMeta();",
+                "this.bulkWriteFunction = ServerFunctions.bulkWrite(spaceName);",
+                "this.getAllFunction = ServerFunctions.getAll(spaceName);",
+                "this.selectFieldsFunction = ServerFunctions.selectFields(spaceName);",
+                "this.reads = new ReadPath<>(tarantoolClient, meta, spaceName, \"primary\", getAllFunction, tuple -> Arrays.asList(tuple.getId()), options, metrics);",
+                "this.writeBehind = new WriteBehindBuffer<>(tarantoolClient, meta, spaceName, bulkWriteFunction, tuple -> Arrays.asList(tuple.getId()), key -> Arrays.asList(((Number) key.get(0)).intValue()), reads, options.getWriteBehindOptions(spaceName), metrics);",
             "}",
 
             "public SelectOperation<DataClass> selectUsingSecondaryIndex(final String value) {",
                 "List<?> keys = Arrays.asList(value);",
-                "return new SelectOperation<>(tarantoolClient, meta, spaceName, \"secondary\", keys);",
+                "return new SelectOperation<>(reads, \"secondary\", keys, metrics);",
+            "}",
+
+            "public ProjectionOperation<DataClass, DataClass> selectUsingSecondaryIndex(final String value, final Set<Fields> fields) {",
+                "List<?> keys = Arrays.asList(value);",
+                "return new ProjectionOperation<>(tarantoolClient, meta, selectFieldsFunction, OperationType.SELECT, \"secondary\", keys, fields, 0, 1, Iterator.EQ, ProjectionOperation::first, metrics);",
+            "}",
+
+            "public SelectManyOperation<DataClass> selectManyUsingSecondaryIndex(final String value, final int offset,",
+                                                         "final int limit, final Iterator iterator) {",
+                "List<?> keys = Arrays.asList(value);",
+                "return new SelectManyOperation<>(tarantoolClient, meta, spaceName, \"secondary\", keys, offset, limit, iterator, metrics);",
+            "}",
+
+            "public ProjectionOperation<DataClass, List<DataClass>> selectManyUsingSecondaryIndex(final String value, final int offset, final int limit, final Iterator iterator, final Set<Fields> fields) {",
+                "List<?> keys = Arrays.asList(value);",
+                "return new ProjectionOperation<>(tarantoolClient, meta, selectFieldsFunction, OperationType.SELECT_MANY, \"secondary\", keys, fields, offset, limit, iterator, Function.identity(), metrics);",
+            "}",
+
+            "public ScanOperation<DataClass> scanUsingSecondaryIndex(final Iterator iterator, final int pageSize) {",
+                "List<?> keys = Collections.emptyList();",
+                "return new ScanOperation<>(tarantoolClient, meta, spaceName, \"secondary\", keys, iterator, pageSize, false, tuple -> Arrays.asList(tuple.getValue()), metrics);",
+            "}",
+
+            "public ScanOperation<DataClass> scanUsingSecondaryIndex(final String value, final Iterator iterator,",
+                                                         "final int pageSize) {",
+                "List<?> keys = Arrays.asList(value);",
+                "return new ScanOperation<>(tarantoolClient, meta, spaceName, \"secondary\", keys, iterator, pageSize, false, tuple -> Arrays.asList(tuple.getValue()), metrics);",
             "}",
 
             "public SelectOperation<DataClass> selectUsingPrimaryIndex(final int id) {",
                 "List<?> keys = Arrays.asList(id);",
-                "return new SelectOperation<>(tarantoolClient, meta, spaceName, \"primary\", keys);",
+                "return new SelectOperation<>(reads, \"primary\", keys, metrics);",
+            "}",
+
+            "public ProjectionOperation<DataClass, DataClass> selectUsingPrimaryIndex(final int id, final Set<Fields> fields) {",
+                "List<?> keys = Arrays.asList(id);",
+                "return new ProjectionOperation<>(tarantoolClient, meta, selectFieldsFunction, OperationType.SELECT, \"primary\", keys, fields, 0, 1, Iterator.EQ, ProjectionOperation::first, metrics);",
+            "}",
+
+            "public SelectManyOperation<DataClass> selectManyUsingPrimaryIndex(final int id, final int offset,",
+                                                         "final int limit, final Iterator iterator) {",
+                "List<?> keys = Arrays.asList(id);",
+                "return new SelectManyOperation<>(tarantoolClient, meta, spaceName, \"primary\", keys, offset, limit, iterator, metrics);",
+            "}",
+
+            "public ProjectionOperation<DataClass, List<DataClass>> selectManyUsingPrimaryIndex(final int id, final int offset, final int limit, final Iterator iterator, final Set<Fields> fields) {",
+                "List<?> keys = Arrays.asList(id);",
+                "return new ProjectionOperation<>(tarantoolClient, meta, selectFieldsFunction, OperationType.SELECT_MANY, \"primary\", keys, fields, offset, limit, iterator, Function.identity(), metrics);",
+            "}",
+
+            "public ScanOperation<DataClass> scanUsingPrimaryIndex(final Iterator iterator, final int pageSize) {",
+                "List<?> keys = Collections.emptyList();",
+                "return new ScanOperation<>(tarantoolClient, meta, spaceName, \"primary\", keys, iterator, pageSize, true, tuple -> Arrays.asList(tuple.getId()), metrics);",
+            "}",
+
+            "public ScanOperation<DataClass> scanUsingPrimaryIndex(final int id, final Iterator iterator,",
+                                                         "final int pageSize) {",
+                "List<?> keys = Arrays.asList(id);",
+                "return new ScanOperation<>(tarantoolClient, meta, spaceName, \"primary\", keys, iterator, pageSize, true, tuple -> Arrays.asList(tuple.getId()), metrics);",
+            "}",
+
+            "public GetAllOperation<Integer, DataClass> getAll(final Collection<Integer> keys) {",
+                "return new GetAllOperation<>(tarantoolClient, meta, getAllFunction, keys, Collections::singletonList, tuple -> Arrays.asList(tuple.getId()), metrics);",
+            "}",
+
+            "public ReadStats getReadStats() {",
+                "return reads.getStats();",
+            "}",
+
+            "public OperationMetrics getMetrics() {",
+                "return metrics;",
             "}",
 
             "public InsertOperation<DataClass> insert(final DataClass value) {",
-                "return new InsertOperation<>(tarantoolClient, meta, spaceName, value);",
+                "return new InsertOperation<>(tarantoolClient, meta, spaceName, value, reads, metrics);",
             "}",
 
             "public DeleteOperation<DataClass> delete(final DataClass value) {",
                 "List<Object> keys = new ArrayList<>();",
                 "keys.add(value.getId());",
-                "return new DeleteOperation<>(tarantoolClient, meta, spaceName, keys);",
+                "return new DeleteOperation<>(tarantoolClient, meta, spaceName, keys, reads, metrics);",
             "}",
 
             "public ReplaceOperation<DataClass> replace(final DataClass value) {",
-                "return new ReplaceOperation<>(tarantoolClient, meta, spaceName, value);",
+                "return new ReplaceOperation<>(tarantoolClient, meta, spaceName, value, reads, metrics);",
             "}",
 
             "public UpdateOperation<DataClass> update(final DataClass value) {",
@@ -635,7 +1047,7 @@ public class TupleProcessorTest {
                 "keys.add(value.getId());",
                 "List<List<?>> ops = new ArrayList<>();",
                 "ops.add(Arrays.asList(\"=\", 1, value.getValue()));",
-                "return new UpdateOperation<>(tarantoolClient, meta, spaceName, keys, ops);",
+                "return new UpdateOperation<>(tarantoolClient, meta, spaceName, keys, ops, reads, metrics);",
             "}",
 
             "public UpsertOperation<DataClass> upsert(final DataClass defaultValue,",
@@ -644,23 +1056,146 @@ public class TupleProcessorTest {
                 "keys.add(defaultValue.getId());",
                 "List<List<?>> ops = new ArrayList<>();",
                 "ops.add(Arrays.asList(\"=\", 1, updatedValue.getValue()));",
-                "return new UpsertOperation<>(tarantoolClient, meta, spaceName, keys, defaultValue, ops);",
+                "return new UpsertOperation<>(tarantoolClient, meta, spaceName, keys, defaultValue, ops, reads, metrics);",
+            "}",
+
+            "public DataClassUpdateBuilder updateBuilder() {",
+                "return new DataClassUpdateBuilder();",
+            "}",
+
+            "public UpdateOperation<DataClass> update(final int id,",
+                    "final DataClassUpdateBuilder updateBuilder) {",
+                "List<?> keys = Arrays.asList(id);",
+                "return new UpdateOperation<>(tarantoolClient, meta, spaceName, keys, updateBuilder.getOps(), reads, metrics);",
+            "}",
+
+            "public UpsertOperation<DataClass> upsert(final DataClass defaultValue,",
+                    "final DataClassUpdateBuilder updateBuilder) {",
+                "List<Object> keys = new ArrayList<>();",
+                "keys.add(defaultValue.getId());",
+                "return new UpsertOperation<>(tarantoolClient, meta, spaceName, keys, defaultValue, updateBuilder.getOps(), reads, metrics);",
+            "}",
+
+            "public BatchOperation<DataClass, DataClass> insertAll(final Collection<DataClass> values,",
+                                                                    "final int maxInFlight) {",
+                "return new BatchOperation<>(values, this::insert, maxInFlight);",
+            "}",
+
+            "public BatchOperation<DataClass, DataClass> replaceAll(final Collection<DataClass> values,",
+                                                                    "final int maxInFlight) {",
+                "return new BatchOperation<>(values, this::replace, maxInFlight);",
+            "}",
+
+            "public BatchOperation<DataClass, DataClass> deleteAll(final Collection<DataClass> values,",
+                                                                    "final int maxInFlight) {",
+                "return new BatchOperation<>(values, this::delete, maxInFlight);",
+            "}",
+
+            "public BulkOperation<DataClass> bulkInsert(final Collection<DataClass> values,",
+                                                    "final boolean atomic) {",
+                "return new BulkOperation<>(tarantoolClient, bulkWriteFunction, \"insert\", values, meta::toList, atomic, reads, metrics);",
+            "}",
+
+            "public BulkOperation<DataClass> bulkReplace(final Collection<DataClass> values,",
+                                                    "final boolean atomic) {",
+                "return new BulkOperation<>(tarantoolClient, bulkWriteFunction, \"replace\", values, meta::toList, atomic, reads, metrics);",
+            "}",
+
+            "public BulkOperation<DataClass> bulkDelete(final Collection<DataClass> values,",
+                                                    "final boolean atomic) {",
+                "return new BulkOperation<>(tarantoolClient, bulkWriteFunction, \"delete\", values, tuple -> Arrays.asList(tuple.getId()), atomic, reads, metrics);",
+            "}",
+
+            "public WriteBehindBuffer<DataClass> writeBehind() {",
+                "return writeBehind;",
+            "}",
+
+            "@Override",
+            "public void close() {",
+                "writeBehind.close();",
+                "reads.close();",
             "}",
 
             "private final class DataClassManagerMeta extends Meta<DataClass> {",
                 "public List<?> toList(final DataClass value) {",
-                    "List<Object> result = new ArrayList<>();",
+                    "List<Object> result = new ArrayList<>(2);",
                     "result.add(value.getId());",
                     "result.add(value.getValue());",
                     "return result;",
                 "}",
 
+                "public void encode(final DataClass value, final MsgPackWriter writer) {",
+                    "writer.writeArrayHeader(2);",
+                    "writer.writeLong(value.getId());",
+                    "writer.writeString(value.getValue());",
+                "}",
+
                 "public DataClass fromList(final List<?> values) {",
                     "DataClass result = new DataClass();",
                     "result.setId(((Number) values.get(0)).intValue());",
                     "result.setValue((String) values.get(1));",
                     "return result;",
                 "}",
+
+                "public DataClass fromFields(final int[] fields, final List<?> values) {",
+                    "DataClass result = new DataClass();",
+                    "for (int i = 0; i < fields.length; i++) {",
+                        "switch (fields[i]) {",
+                            "case 0:",
+                                "result.setId(((Number) values.get(i)).intValue());",
+                                "break;",
+                            "case 1:",
+                                "result.setValue((String) values.get(i));",
+                                "break;",
+                            "default:",
+                                "throw new IllegalArgumentException(String.format(\"Tuple has no field %d\", fields[i]));",
+                        "}",
+                    "}",
+                    "return result;",
+                "}",
+
+                "public DataClass decode(final MsgPackReader reader) {",
+                    "int extraValues = reader.readTupleHeader(2);",
+                    "DataClass result = new DataClass();",
+                    "result.setId((int) reader.readLong());",
+                    "result.setValue(reader.readString());",
+                    "reader.skipValues(extraValues);",
+                    "return result;",
+                "}",
+
+                "public long getFingerprint() {",
+                    "return -4434458761253181653L;",
+                "}",
+            "}",
+
+            "public enum Fields implements TupleField {",
+                "ID(0),",
+
+                "VALUE(1);",
+
+                "private final int index;",
+
+                "Fields(final int index) {",
+                    "this.index = index;",
+                "}",
+
+                "@Override",
+                "public int getIndex() {",
+                    "return index;",
+                "}",
+            "}",
+
+            "public static final class DataClassUpdateBuilder extends UpdateBuilder {",
+                "public DataClassUpdateBuilder setValue(final String value) {",
+                    "add(\"=\", 1, value);",
+                    "return this;",
+                "}",
+
+                "public DataClassUpdateBuilder spliceValue(final int position, final int length,",
+                        "final String replacement) {",
+                    "splice(1, position, length, replacement);",
+                    "return this;",
+                "}",
             "}",
         "}")
         );
@@ -708,51 +1243,140 @@ public class TupleProcessorTest {
 
                         "package org.tarantool.orm.generated;",
 
+                    "import java.lang.AutoCloseable;",
+                    "import java.lang.IllegalArgumentException;",
+                    "import java.lang.Integer;",
                     "import java.lang.Number;",
                     "import java.lang.Object;",
+                    "import java.lang.Override;",
                     "import java.lang.String;",
                     "import java.util.ArrayList;",
                     "import java.util.Arrays;",
+                    "import java.util.Collection;",
+                    "import java.util.Collections;",
                     "import java.util.List;",
+                    "import java.util.Set;",
+                    "import java.util.function.Function;",
+                    "import org.tarantool.Iterator;",
                     "import org.tarantool.TarantoolClient;",
+                    "import org.tarantool.orm.internals.ManagerOptions;",
                     "import org.tarantool.orm.internals.Meta;",
+                    "import org.tarantool.orm.internals.MsgPackReader;",
+                    "import org.tarantool.orm.internals.MsgPackWriter;",
+                    "import org.tarantool.orm.internals.ServerFunction;",
+                    "import org.tarantool.orm.internals.ServerFunctions;",
+                    "import org.tarantool.orm.internals.TupleField;",
+                    "import org.tarantool.orm.internals.UpdateBuilder;",
+                    "import org.tarantool.orm.internals.metrics.OperationMetrics;",
+                    "import org.tarantool.orm.internals.metrics.OperationType;",
+                    "import org.tarantool.orm.internals.operations.BatchOperation;",
+                    "import org.tarantool.orm.internals.operations.BulkOperation;",
                     "import org.tarantool.orm.internals.operations.DeleteOperation;",
+                    "import org.tarantool.orm.internals.operations.GetAllOperation;",
                     "import org.tarantool.orm.internals.operations.InsertOperation;",
+                    "import org.tarantool.orm.internals.operations.ProjectionOperation;",
                     "import org.tarantool.orm.internals.operations.ReplaceOperation;",
+                    "import org.tarantool.orm.internals.operations.ScanOperation;",
+                    "import org.tarantool.orm.internals.operations.SelectManyOperation;",
                     "import org.tarantool.orm.internals.operations.SelectOperation;",
                     "import org.tarantool.orm.internals.operations.UpdateOperation;",
                     "import org.tarantool.orm.internals.operations.UpsertOperation;",
+                    "import org.tarantool.orm.internals.reads.ReadPath;",
+                    "import org.tarantool.orm.internals.reads.ReadStats;",
+                    "import org.tarantool.orm.internals.writes.WriteBehindBuffer;",
                     "import test.DataClass;",
 
-        "public final class DataClassManager {",
+        "public final class DataClassManager implements AutoCloseable {",
             "private final String spaceName = \"test\";",
 
             "private final TarantoolClient tarantoolClient;",
 
             "private final Meta<DataClass> meta;",
 
+            "private final ServerFunction bulkWriteFunction;",
+
+            "private final ServerFunction getAllFunction;",
+            "private final ServerFunction selectFieldsFunction;",
+            "private final OperationMetrics metrics;",
+
+            "private final ReadPath<DataClass> reads;",
+            "private final WriteBehindBuffer<DataClass> writeBehind;",
+
             "public DataClassManager(TarantoolClient tarantoolClient) {",
+                "this(tarantoolClient, new ManagerOptions());",
+            "}",
+
+            "public DataClassManager(TarantoolClient tarantoolClient, ManagerOptions options) {",
+                "this(tarantoolClient, options, new OperationMetrics(\"test\", \"primary\", options));",
+            "}",
+
+            "public DataClassManager(TarantoolClient tarantoolClient, ManagerOptions options, OperationMetrics metrics) {",
                 "this.tarantoolClient = tarantoolClient;",
+                "this.metrics = metrics;",
                 "this.meta = new DataClassManagerMeta();",
+                "this.bulkWriteFunction = ServerFunctions.bulkWrite(spaceName);",
+                "this.getAllFunction = ServerFunctions.getAll(spaceName);",
+                "this.selectFieldsFunction = ServerFunctions.selectFields(spaceName);",
+                "this.reads = new ReadPath<>(tarantoolClient, meta, spaceName, \"primary\", getAllFunction, tuple -> Arrays.asList(tuple.getId()), options, metrics);",
+                "this.writeBehind = new WriteBehindBuffer<>(tarantoolClient, meta, spaceName, bulkWriteFunction, tuple -> Arrays.asList(tuple.getId()), key -> Arrays.asList(((Number) key.get(0)).intValue()), reads, options.getWriteBehindOptions(spaceName), metrics);",
             "}",
 
             "public SelectOperation<DataClass> selectUsingPrimaryIndex(final int id) {",
                 "List<?> keys = Arrays.asList(id);",
-                "return new SelectOperation<>(tarantoolClient, meta, spaceName, \"primary\", keys);",
+                "return new SelectOperation<>(reads, \"primary\", keys, metrics);",
+            "}",
+
+            "public ProjectionOperation<DataClass, DataClass> selectUsingPrimaryIndex(final int id, final Set<Fields> fields) {",
+                "List<?> keys = Arrays.asList(id);",
+                "return new ProjectionOperation<>(tarantoolClient, meta, selectFieldsFunction, OperationType.SELECT, \"primary\", keys, fields, 0, 1, Iterator.EQ, ProjectionOperation::first, metrics);",
+            "}",
+
+            "public SelectManyOperation<DataClass> selectManyUsingPrimaryIndex(final int id, final int offset,",
+                                                         "final int limit, final Iterator iterator) {",
+                "List<?> keys = Arrays.asList(id);",
+                "return new SelectManyOperation<>(tarantoolClient, meta, spaceName, \"primary\", keys, offset, limit, iterator, metrics);",
+            "}",
+
+            "public ProjectionOperation<DataClass, List<DataClass>> selectManyUsingPrimaryIndex(final int id, final int offset, final int limit, final Iterator iterator, final Set<Fields> fields) {",
+                "List<?> keys = Arrays.asList(id);",
+                "return new ProjectionOperation<>(tarantoolClient, meta, selectFieldsFunction, OperationType.SELECT_MANY, \"primary\", keys, fields, offset, limit, iterator, Function.identity(), metrics);",
+            "}",
+
+            "public ScanOperation<DataClass> scanUsingPrimaryIndex(final Iterator iterator, final int pageSize) {",
+                "List<?> keys = Collections.emptyList();",
+                "return new ScanOperation<>(tarantoolClient, meta, spaceName, \"primary\", keys, iterator, pageSize, true, tuple -> Arrays.asList(tuple.getId()), metrics);",
+            "}",
+
+            "public ScanOperation<DataClass> scanUsingPrimaryIndex(final int id, final Iterator iterator,",
+                                                         "final int pageSize) {",
+                "List<?> keys = Arrays.asList(id);",
+                "return new ScanOperation<>(tarantoolClient, meta, spaceName, \"primary\", keys, iterator, pageSize, true, tuple -> Arrays.asList(tuple.getId()), metrics);",
+            "}",
+
+            "public GetAllOperation<Integer, DataClass> getAll(final Collection<Integer> keys) {",
+                "return new GetAllOperation<>(tarantoolClient, meta, getAllFunction, keys, Collections::singletonList, tuple -> Arrays.asList(tuple.getId()), metrics);",
+            "}",
+
+            "public ReadStats getReadStats() {",
+                "return reads.getStats();",
+            "}",
+
+            "public OperationMetrics getMetrics() {",
+                "return metrics;",
             "}",
 
             "public InsertOperation<DataClass> insert(final DataClass value) {",
-                "return new InsertOperation<>(tarantoolClient, meta, spaceName, value);",
+                "return new InsertOperation<>(tarantoolClient, meta, spaceName, value, reads, metrics);",
             "}",
 
             "public DeleteOperation<DataClass> delete(final DataClass value) {",
                 "List<Object> keys = new ArrayList<>();",
                 "keys.add(value.getId());",
-                "return new DeleteOperation<>(tarantoolClient, meta, spaceName, keys);",
+                "return new DeleteOperation<>(tarantoolClient, meta, spaceName, keys, reads, metrics);",
             "}",
 
             "public ReplaceOperation<DataClass> replace(final DataClass value) {",
-                "return new ReplaceOperation<>(tarantoolClient, meta, spaceName, value);",
+                "return new ReplaceOperation<>(tarantoolClient, meta, spaceName, value, reads, metrics);",
             "}",
 
             "public UpdateOperation<DataClass> update(final DataClass value) {",
@@ -760,7 +1384,7 @@ public class TupleProcessorTest {
                 "keys.add(value.getId());",
                 "List<List<?>> ops = new ArrayList<>();",
                 "ops.add(Arrays.asList(\"=\", 0, value.getValue()));",
-                "return new UpdateOperation<>(tarantoolClient, meta, spaceName, keys, ops);",
+                "return new UpdateOperation<>(tarantoolClient, meta, spaceName, keys, ops, reads, metrics);",
             "}",
 
             "public UpsertOperation<DataClass> upsert(final DataClass defaultValue,",
@@ -769,25 +1393,148 @@ public class TupleProcessorTest {
                 "keys.add(defaultValue.getId());",
                 "List<List<?>> ops = new ArrayList<>();",
                 "ops.add(Arrays.asList(\"=\", 0, updatedValue.getValue()));",
-                "return new UpsertOperation<>(tarantoolClient, meta, spaceName, keys, defaultValue, ops);",
+                "return new UpsertOperation<>(tarantoolClient, meta, spaceName, keys, defaultValue, ops, reads, metrics);",
+            "}",
+
+            "public DataClassUpdateBuilder updateBuilder() {",
+                "return new DataClassUpdateBuilder();",
+            "}",
+
+            "public UpdateOperation<DataClass> update(final int id,",
+                    "final DataClassUpdateBuilder updateBuilder) {",
+                "List<?> keys = Arrays.asList(id);",
+                "return new UpdateOperation<>(tarantoolClient, meta, spaceName, keys, updateBuilder.getOps(), reads, metrics);",
+            "}",
+
+            "public UpsertOperation<DataClass> upsert(final DataClass defaultValue,",
+                    "final DataClassUpdateBuilder updateBuilder) {",
+                "List<Object> keys = new ArrayList<>();",
+                "keys.add(defaultValue.getId());",
+                "return new UpsertOperation<>(tarantoolClient, meta, spaceName, keys, defaultValue, updateBuilder.getOps(), reads, metrics);",
+            "}",
+
+            "public BatchOperation<DataClass, DataClass> insertAll(final Collection<DataClass> values,",
+                                                                    "final int maxInFlight) {",
+                "return new BatchOperation<>(values, this::insert, maxInFlight);",
+            "}",
+
+            "public BatchOperation<DataClass, DataClass> replaceAll(final Collection<DataClass> values,",
+                                                                    "final int maxInFlight) {",
+                "return new BatchOperation<>(values, this::replace, maxInFlight);",
+            "}",
+
+            "public BatchOperation<DataClass, DataClass> deleteAll(final Collection<DataClass> values,",
+                                                                    "final int maxInFlight) {",
+                "return new BatchOperation<>(values, this::delete, maxInFlight);",
+            "}",
+
+            "public BulkOperation<DataClass> bulkInsert(final Collection<DataClass> values,",
+                                                    "final boolean atomic) {",
+                "return new BulkOperation<>(tarantoolClient, bulkWriteFunction, \"insert\", values, meta::toList, atomic, reads, metrics);",
+            "}",
+
+            "public BulkOperation<DataClass> bulkReplace(final Collection<DataClass> values,",
+                                                    "final boolean atomic) {",
+                "return new BulkOperation<>(tarantoolClient, bulkWriteFunction, \"replace\", values, meta::toList, atomic, reads, metrics);",
+            "}",
+
+            "public BulkOperation<DataClass> bulkDelete(final Collection<DataClass> values,",
+                                                    "final boolean atomic) {",
+                "return new BulkOperation<>(tarantoolClient, bulkWriteFunction, \"delete\", values, tuple -> Arrays.asList(tuple.getId()), atomic, reads, metrics);",
+            "}",
+
+            "public WriteBehindBuffer<DataClass> writeBehind() {",
+                "return writeBehind;",
+            "}",
+
+            "@Override",
+            "public void close() {",
+                "writeBehind.close();",
+                "reads.close();",
             "}",
 
             "private final class DataClassManagerMeta extends Meta<DataClass> {",
                 "public List<?> toList(final DataClass value) {",
-                    "List<Object> result = new ArrayList<>();",
+                    "List<Object> result = new ArrayList<>(2);",
                     "result.add(value.getValue());",
                     "result.add(value.getId());",
                     "return result;",
                 "}",
 
+                "public void encode(final DataClass value, final MsgPackWriter writer) {",
+                    "writer.writeArrayHeader(2);",
+                    "writer.writeString(value.getValue());",
+                    "writer.writeLong(value.getId());",
+                "}",
+
                 "public DataClass fromList(final List<?> values) {",
                     "DataClass result = new DataClass();",
                     "result.setValue((String) values.get(0));",
                     "result.setId(((Number) values.get(1)).intValue());",
                     "return result;",
                 "}",
-            "}",
-        "}"
+
+                "public DataClass fromFields(final int[] fields, final List<?> values) {",
+                    "DataClass result = new DataClass();",
+                    "for (int i = 0; i < fields.length; i++) {",
+                        "switch (fields[i]) {",
+                            "case 0:",
+                                "result.setValue((String) values.get(i));",
+                                "break;",
+                            "case 1:",
+                                "result.setId(((Number) values.get(i)).intValue());",
+                                "break;",
+                            "default:",
+                                "throw new IllegalArgumentException(String.format(\"Tuple has no field %d\", fields[i]));",
+                        "}",
+                    "}",
+                    "return result;",
+                "}",
+
+                "public DataClass decode(final MsgPackReader reader) {",
+                    "int extraValues = reader.readTupleHeader(2);",
+                    "DataClass result = new DataClass();",
+                    "result.setValue(reader.readString());",
+                    "result.setId((int) reader.readLong());",
+                    "reader.skipValues(extraValues);",
+                    "return result;",
+                "}",
+
+                "public long getFingerprint() {",
+                    "return 2883579497836115991L;",
+                "}",
+            "}",
+
+            "public enum Fields implements TupleField {",
+                "VALUE(0),",
+
+                "ID(1);",
+
+                "private final int index;",
+
+                "Fields(final int index) {",
+                    "this.index = index;",
+                "}",
+
+                "@Override",
+                "public int getIndex() {",
+                    "return index;",
+                "}",
+            "}",
+
+            "public static final class DataClassUpdateBuilder extends UpdateBuilder {",
+                "public DataClassUpdateBuilder setValue(final String value) {",
+                    "add(\"=\", 0, value);",
+                    "return this;",
+                "}",
+
+                "public DataClassUpdateBuilder spliceValue(final int position, final int length,",
+                        "final String replacement) {",
+                    "splice(0, position, length, replacement);",
+                    "return this;",
+                "}",
+            "}",
+        "}"
                 )
         );
 
@@ -831,57 +1578,172 @@ public class TupleProcessorTest {
                 Joiner.on(NEW_LINE).join(
                         "package org.tarantool.orm.generated;",
 
+                        "import java.lang.AutoCloseable;",
+                        "import java.lang.IllegalArgumentException;",
                         "import java.lang.Number;",
                         "import java.lang.Object;",
+                        "import java.lang.Override;",
                         "import java.lang.String;",
                         "import java.util.ArrayList;",
                         "import java.util.Arrays;",
+                        "import java.util.Collection;",
+                        "import java.util.Collections;",
                         "import java.util.List;",
+                        "import java.util.Set;",
+                        "import java.util.function.Function;",
+                        "import org.tarantool.Iterator;",
                         "import org.tarantool.TarantoolClient;",
+                        "import org.tarantool.orm.internals.ManagerOptions;",
                         "import org.tarantool.orm.internals.Meta;",
+                        "import org.tarantool.orm.internals.MsgPackReader;",
+                        "import org.tarantool.orm.internals.MsgPackWriter;",
+                        "import org.tarantool.orm.internals.ServerFunction;",
+                        "import org.tarantool.orm.internals.ServerFunctions;",
+                        "import org.tarantool.orm.internals.TupleField;",
+                        "import org.tarantool.orm.internals.UpdateBuilder;",
+                        "import org.tarantool.orm.internals.metrics.OperationMetrics;",
+                        "import org.tarantool.orm.internals.metrics.OperationType;",
+                        "import org.tarantool.orm.internals.operations.BatchOperation;",
+                        "import org.tarantool.orm.internals.operations.BulkOperation;",
                         "import org.tarantool.orm.internals.operations.DeleteOperation;",
+                        "import org.tarantool.orm.internals.operations.GetAllOperation;",
                         "import org.tarantool.orm.internals.operations.InsertOperation;",
+                        "import org.tarantool.orm.internals.operations.ProjectionOperation;",
                         "import org.tarantool.orm.internals.operations.ReplaceOperation;",
+                        "import org.tarantool.orm.internals.operations.ScanOperation;",
+                        "import org.tarantool.orm.internals.operations.SelectManyOperation;",
                         "import org.tarantool.orm.internals.operations.SelectOperation;",
                         "import org.tarantool.orm.internals.operations.UpdateOperation;",
                         "import org.tarantool.orm.internals.operations.UpsertOperation;",
+                        "import org.tarantool.orm.internals.reads.ReadPath;",
+                        "import org.tarantool.orm.internals.reads.ReadStats;",
+                        "import org.tarantool.orm.internals.writes.WriteBehindBuffer;",
                         "import test.DataClass;",
 
-        "public final class DataClassManager {",
+        "public final class DataClassManager implements AutoCloseable {",
             "private final String spaceName = \"test\";",
 
             "private final TarantoolClient tarantoolClient;",
 
             "private final Meta<DataClass> meta;",
 
+            "private final ServerFunction bulkWriteFunction;",
+
+            "private final ServerFunction getAllFunction;",
+            "private final ServerFunction selectFieldsFunction;",
+            "private final OperationMetrics metrics;",
+
+            "private final ReadPath<DataClass> reads;",
+            "private final WriteBehindBuffer<DataClass> writeBehind;",
+
             "public DataClassManager(TarantoolClient tarantoolClient) {",
+                "this(tarantoolClient, new ManagerOptions());",
+            "}",
+
+            "public DataClassManager(TarantoolClient tarantoolClient, ManagerOptions options) {",
+                "this(tarantoolClient, options, new OperationMetrics(\"test\", \"primary\", options));",
+            "}",
+
+            "public DataClassManager(TarantoolClient tarantoolClient, ManagerOptions options, OperationMetrics metrics) {",
                 "this.tarantoolClient = tarantoolClient;",
+                "this.metrics = metrics;",
                 "this.meta = new DataClassManagerMeta();",
+                "this.bulkWriteFunction = ServerFunctions.bulkWrite(spaceName);",
+                "this.getAllFunction = ServerFunctions.getAll(spaceName);",
+                "this.selectFieldsFunction = ServerFunctions.selectFields(spaceName);",
+                "this.reads = new ReadPath<>(tarantoolClient, meta, spaceName, \"primary\", getAllFunction, tuple -> Arrays.asList(tuple.getValue(), tuple.getId()), options, metrics);",
+                "this.writeBehind = new WriteBehindBuffer<>(tarantoolClient, meta, spaceName, bulkWriteFunction, tuple -> Arrays.asList(tuple.getValue(), tuple.getId()), key -> Arrays.asList(key.get(0), ((Number) key.get(1)).intValue()), reads, options.getWriteBehindOptions(spaceName), metrics);",
             "}",
 
             "public SelectOperation<DataClass> selectUsingSecondaryIndex(final int id, final String value) {",
                 "List<?> keys = Arrays.asList(id, value);",
-                "return new SelectOperation<>(tarantoolClient, meta, spaceName, \"secondary\", keys);",
+                "return new SelectOperation<>(reads, \"secondary\", keys, metrics);",
+            "}",
+
+            "public ProjectionOperation<DataClass, DataClass> selectUsingSecondaryIndex(final int id, final String value, final Set<Fields> fields) {",
+                "List<?> keys = Arrays.asList(id, value);",
+                "return new ProjectionOperation<>(tarantoolClient, meta, selectFieldsFunction, OperationType.SELECT, \"secondary\", keys, fields, 0, 1, Iterator.EQ, ProjectionOperation::first, metrics);",
+            "}",
+
+            "public SelectManyOperation<DataClass> selectManyUsingSecondaryIndex(final int id, final String value, final int offset,",
+                                                         "final int limit, final Iterator iterator) {",
+                "List<?> keys = Arrays.asList(id, value);",
+                "return new SelectManyOperation<>(tarantoolClient, meta, spaceName, \"secondary\", keys, offset, limit, iterator, metrics);",
+            "}",
+
+            "public ProjectionOperation<DataClass, List<DataClass>> selectManyUsingSecondaryIndex(final int id, final String value, final int offset, final int limit, final Iterator iterator, final Set<Fields> fields) {",
+                "List<?> keys = Arrays.asList(id, value);",
+                "return new ProjectionOperation<>(tarantoolClient, meta, selectFieldsFunction, OperationType.SELECT_MANY, \"secondary\", keys, fields, offset, limit, iterator, Function.identity(), metrics);",
+            "}",
+
+            "public ScanOperation<DataClass> scanUsingSecondaryIndex(final Iterator iterator, final int pageSize) {",
+                "List<?> keys = Collections.emptyList();",
+                "return new ScanOperation<>(tarantoolClient, meta, spaceName, \"secondary\", keys, iterator, pageSize, false, tuple -> Arrays.asList(tuple.getId(), tuple.getValue()), metrics);",
+            "}",
+
+            "public ScanOperation<DataClass> scanUsingSecondaryIndex(final int id, final String value, final Iterator iterator,",
+                                                         "final int pageSize) {",
+                "List<?> keys = Arrays.asList(id, value);",
+                "return new ScanOperation<>(tarantoolClient, meta, spaceName, \"secondary\", keys, iterator, pageSize, false, tuple -> Arrays.asList(tuple.getId(), tuple.getValue()), metrics);",
             "}",
 
             "public SelectOperation<DataClass> selectUsingPrimaryIndex(final String value, final int id) {",
                 "List<?> keys = Arrays.asList(value, id);",
-                "return new SelectOperation<>(tarantoolClient, meta, spaceName, \"primary\", keys);",
+                "return new SelectOperation<>(reads, \"primary\", keys, metrics);",
+            "}",
+
+            "public ProjectionOperation<DataClass, DataClass> selectUsingPrimaryIndex(final String value, final int id, final Set<Fields> fields) {",
+                "List<?> keys = Arrays.asList(value, id);",
+                "return new ProjectionOperation<>(tarantoolClient, meta, selectFieldsFunction, OperationType.SELECT, \"primary\", keys, fields, 0, 1, Iterator.EQ, ProjectionOperation::first, metrics);",
+            "}",
+
+            "public SelectManyOperation<DataClass> selectManyUsingPrimaryIndex(final String value, final int id, final int offset,",
+                                                         "final int limit, final Iterator iterator) {",
+                "List<?> keys = Arrays.asList(value, id);",
+                "return new SelectManyOperation<>(tarantoolClient, meta, spaceName, \"primary\", keys, offset, limit, iterator, metrics);",
+            "}",
+
+            "public ProjectionOperation<DataClass, List<DataClass>> selectManyUsingPrimaryIndex(final String value, final int id, final int offset, final int limit, final Iterator iterator, final Set<Fields> fields) {",
+                "List<?> keys = Arrays.asList(value, id);",
+                "return new ProjectionOperation<>(tarantoolClient, meta, selectFieldsFunction, OperationType.SELECT_MANY, \"primary\", keys, fields, offset, limit, iterator, Function.identity(), metrics);",
+            "}",
+
+            "public ScanOperation<DataClass> scanUsingPrimaryIndex(final Iterator iterator, final int pageSize) {",
+                "List<?> keys = Collections.emptyList();",
+                "return new ScanOperation<>(tarantoolClient, meta, spaceName, \"primary\", keys, iterator, pageSize, true, tuple -> Arrays.asList(tuple.getValue(), tuple.getId()), metrics);",
+            "}",
+
+            "public ScanOperation<DataClass> scanUsingPrimaryIndex(final String value, final int id, final Iterator iterator,",
+                                                         "final int pageSize) {",
+                "List<?> keys = Arrays.asList(value, id);",
+                "return new ScanOperation<>(tarantoolClient, meta, spaceName, \"primary\", keys, iterator, pageSize, true, tuple -> Arrays.asList(tuple.getValue(), tuple.getId()), metrics);",
+            "}",
+
+            "public GetAllOperation<List<?>, DataClass> getAll(final Collection<List<?>> keys) {",
+                "return new GetAllOperation<>(tarantoolClient, meta, getAllFunction, keys, key -> Arrays.asList(key.get(0), ((Number) key.get(1)).intValue()), tuple -> Arrays.asList(tuple.getValue(), tuple.getId()), metrics);",
+            "}",
+
+            "public ReadStats getReadStats() {",
+                "return reads.getStats();",
+            "}",
+
+            "public OperationMetrics getMetrics() {",
+                "return metrics;",
             "}",
 
             "public InsertOperation<DataClass> insert(final DataClass value) {",
-                "return new InsertOperation<>(tarantoolClient, meta, spaceName, value);",
+                "return new InsertOperation<>(tarantoolClient, meta, spaceName, value, reads, metrics);",
             "}",
 
             "public DeleteOperation<DataClass> delete(final DataClass value) {",
                 "List<Object> keys = new ArrayList<>();",
                 "keys.add(value.getValue());",
                 "keys.add(value.getId());",
-                "return new DeleteOperation<>(tarantoolClient, meta, spaceName, keys);",
+                "return new DeleteOperation<>(tarantoolClient, meta, spaceName, keys, reads, metrics);",
             "}",
 
             "public ReplaceOperation<DataClass> replace(final DataClass value) {",
-                "return new ReplaceOperation<>(tarantoolClient, meta, spaceName, value);",
+                "return new ReplaceOperation<>(tarantoolClient, meta, spaceName, value, reads, metrics);",
             "}",
 
             "public UpdateOperation<DataClass> update(final DataClass value) {",
@@ -889,7 +1751,7 @@ public class TupleProcessorTest {
                 "keys.add(value.getValue());",
                 "keys.add(value.getId());",
                 "List<List<?>> ops = new ArrayList<>();",
-                "return new UpdateOperation<>(tarantoolClient, meta, spaceName, keys, ops);",
+                "return new UpdateOperation<>(tarantoolClient, meta, spaceName, keys, ops, reads, metrics);",
             "}",
 
             "public UpsertOperation<DataClass> upsert(final DataClass defaultValue,",
@@ -898,23 +1760,137 @@ public class TupleProcessorTest {
                 "keys.add(defaultValue.getValue());",
                 "keys.add(defaultValue.getId());",
                 "List<List<?>> ops = new ArrayList<>();",
-                "return new UpsertOperation<>(tarantoolClient, meta, spaceName, keys, defaultValue, ops);",
+                "return new UpsertOperation<>(tarantoolClient, meta, spaceName, keys, defaultValue, ops, reads, metrics);",
+            "}",
+
+            "public DataClassUpdateBuilder updateBuilder() {",
+                "return new DataClassUpdateBuilder();",
+            "}",
+
+            "public UpdateOperation<DataClass> update(final String value, final int id,",
+                    "final DataClassUpdateBuilder updateBuilder) {",
+                "List<?> keys = Arrays.asList(value, id);",
+                "return new UpdateOperation<>(tarantoolClient, meta, spaceName, keys, updateBuilder.getOps(), reads, metrics);",
+            "}",
+
+            "public UpsertOperation<DataClass> upsert(final DataClass defaultValue,",
+                    "final DataClassUpdateBuilder updateBuilder) {",
+                "List<Object> keys = new ArrayList<>();",
+                "keys.add(defaultValue.getValue());",
+                "keys.add(defaultValue.getId());",
+                "return new UpsertOperation<>(tarantoolClient, meta, spaceName, keys, defaultValue, updateBuilder.getOps(), reads, metrics);",
+            "}",
+
+            "public BatchOperation<DataClass, DataClass> insertAll(final Collection<DataClass> values,",
+                                                                    "final int maxInFlight) {",
+                "return new BatchOperation<>(values, this::insert, maxInFlight);",
+            "}",
+
+            "public BatchOperation<DataClass, DataClass> replaceAll(final Collection<DataClass> values,",
+                                                                    "final int maxInFlight) {",
+                "return new BatchOperation<>(values, this::replace, maxInFlight);",
+            "}",
+
+            "public BatchOperation<DataClass, DataClass> deleteAll(final Collection<DataClass> values,",
+                                                                    "final int maxInFlight) {",
+                "return new BatchOperation<>(values, this::delete, maxInFlight);",
+            "}",
+
+            "public BulkOperation<DataClass> bulkInsert(final Collection<DataClass> values,",
+                                                    "final boolean atomic) {",
+                "return new BulkOperation<>(tarantoolClient, bulkWriteFunction, \"insert\", values, meta::toList, atomic, reads, metrics);",
+            "}",
+
+            "public BulkOperation<DataClass> bulkReplace(final Collection<DataClass> values,",
+                                                    "final boolean atomic) {",
+                "return new BulkOperation<>(tarantoolClient, bulkWriteFunction, \"replace\", values, meta::toList, atomic, reads, metrics);",
+            "}",
+
+            "public BulkOperation<DataClass> bulkDelete(final Collection<DataClass> values,",
+                                                    "final boolean atomic) {",
+                "return new BulkOperation<>(tarantoolClient, bulkWriteFunction, \"delete\", values, tuple -> Arrays.asList(tuple.getValue(), tuple.getId()), atomic, reads, metrics);",
+            "}",
+
+            "public WriteBehindBuffer<DataClass> writeBehind() {",
+                "return writeBehind;",
+            "}",
+
+            "@Override",
+            "public void close() {",
+                "writeBehind.close();",
+                "reads.close();",
             "}",
 
             "private final class DataClassManagerMeta extends Meta<DataClass> {",
                 "public List<?> toList(final DataClass value) {",
-                    "List<Object> result = new ArrayList<>();",
+                    "List<Object> result = new ArrayList<>(2);",
                     "result.add(value.getId());",
                     "result.add(value.getValue());",
                     "return result;",
                 "}",
 
+                "public void encode(final DataClass value, final MsgPackWriter writer) {",
+                    "writer.writeArrayHeader(2);",
+                    "writer.writeLong(value.getId());",
+                    "writer.writeString(value.getValue());",
+                "}",
+
                 "public DataClass fromList(final List<?> values) {",
                     "DataClass result = new DataClass();",
-                     "result.setId(((Number) values.get(0)).intValue());",
+                    "result.setId(((Number) values.get(0)).intValue());",
                     "result.setValue((String) values.get(1));",
                     "return result;",
                 "}",
+
+                "public DataClass fromFields(final int[] fields, final List<?> values) {",
+                    "DataClass result = new DataClass();",
+                    "for (int i = 0; i < fields.length; i++) {",
+                        "switch (fields[i]) {",
+                            "case 0:",
+                                "result.setId(((Number) values.get(i)).intValue());",
+                                "break;",
+                            "case 1:",
+                                "result.setValue((String) values.get(i));",
+                                "break;",
+                            "default:",
+                                "throw new IllegalArgumentException(String.format(\"Tuple has no field %d\", fields[i]));",
+                        "}",
+                    "}",
+                    "return result;",
+                "}",
+
+                "public DataClass decode(final MsgPackReader reader) {",
+                    "int extraValues = reader.readTupleHeader(2);",
+                    "DataClass result = new DataClass();",
+                    "result.setId((int) reader.readLong());",
+                    "result.setValue(reader.readString());",
+                    "reader.skipValues(extraValues);",
+                    "return result;",
+                "}",
+
+                "public long getFingerprint() {",
+                    "return 5301327560669539624L;",
+                "}",
+            "}",
+
+            "public enum Fields implements TupleField {",
+                "ID(0),",
+
+                "VALUE(1);",
+
+                "private final int index;",
+
+                "Fields(final int index) {",
+                    "this.index = index;",
+                "}",
+
+                "@Override",
+                "public int getIndex() {",
+                    "return index;",
+                "}",
+            "}",
+
+            "public static final class DataClassUpdateBuilder extends UpdateBuilder {",
             "}",
         "}"
                 )
@@ -929,6 +1905,1067 @@ public class TupleProcessorTest {
                 .generatesSources(managerOutput, managerFactoryOutput);
     }
 
+    @Test
+    public void trackedTuple() {
+        final JavaFileObject input = JavaFileObjects.forSourceString(
+                "test.DataClass",
+                Joiner.on(NEW_LINE).join(
+                        "package test;",
+                        "",
+                        "import org.tarantool.orm.annotations.*;",
+                        "@Tuple(indexes = @Index(name = \"primary\", isPrimary = true), spaceName = \"test\", trackChanges = true)",
+                        "public class DataClass {",
+                        "@IndexedField(indexes = @IndexedFieldParams(indexName = \"primary\"))",
+                        "private int id;",
+                        "private long[] values;",
+                        "public int getId() {return id;}",
+                        "public void setId(int id) {this.id = id;}",
+                        "public long[] getValues() {return values;}",
+                        "public void setValues(long[] values) {this.values = values;}",
+                        "}"
+                )
+        );
+
+        Truth.assert_()
+                .about(JavaSourcesSubjectFactory.javaSources())
+                .that(Arrays.asList(input))
+                .processedWith(new TupleManagerProcessor())
+                .compilesWithoutError();
+    }
+
+    @Test
+    public void finalTrackedTupleError() {
+        final JavaFileObject input = JavaFileObjects.forSourceString(
+                "test.DataClass",
+                Joiner.on(NEW_LINE).join(
+                        "package test;",
+                        "",
+                        "import org.tarantool.orm.annotations.*;",
+                        "@Tuple(indexes = @Index(name = \"primary\", isPrimary = true), spaceName = \"test\", trackChanges = true)",
+                        "public final class DataClass {",
+                        "@IndexedField(indexes = @IndexedFieldParams(indexName = \"primary\"))",
+                        "private int id;",
+                        "public int getId() {return id;}",
+                        "public void setId(int id) {this.id = id;}",
+                        "}"
+                )
+        );
+
+        Truth.assert_()
+                .about(JavaSourcesSubjectFactory.javaSources())
+                .that(Arrays.asList(input))
+                .processedWith(new TupleManagerProcessor())
+                .failsToCompile()
+                .withErrorContaining("Class DataClass should not be final to track changes");
+    }
+
+    @Test
+    public void counterFields() {
+        final JavaFileObject input = JavaFileObjects.forSourceString(
+                "test.DataClass",
+                Joiner.on(NEW_LINE).join(
+                        "package test;",
+                        "",
+                        "import org.tarantool.orm.annotations.*;",
+                        "@Tuple(indexes = @Index(name = \"primary\", isPrimary = true), spaceName = \"test\")",
+                        "public class DataClass {",
+                        "@IndexedField(indexes = @IndexedFieldParams(indexName = \"primary\"))",
+                        "private int id;",
+                        "@Counter",
+                        "private long hits;",
+                        "@Counter",
+                        "private double total;",
+                        "public long getHits() {return hits;}",
+                        "public void setHits(long hits) {this.hits = hits;}",
+                        "public double getTotal() {return total;}",
+                        "public void setTotal(double total) {this.total = total;}",
+                        "public int getId() {return id;}",
+                        "public void setId(int id) {this.id = id;}",
+                        "}"
+                )
+        );
+
+        Truth.assert_()
+                .about(JavaSourcesSubjectFactory.javaSources())
+                .that(Arrays.asList(input))
+                .processedWith(new TupleManagerProcessor())
+                .compilesWithoutError();
+    }
+
+    @Test
+    public void nonNumericCounterError() {
+        final JavaFileObject input = JavaFileObjects.forSourceString(
+                "test.DataClass",
+                Joiner.on(NEW_LINE).join(
+                        "package test;",
+                        "",
+                        "import org.tarantool.orm.annotations.*;",
+                        "@Tuple(indexes = @Index(name = \"primary\", isPrimary = true), spaceName = \"test\")",
+                        "public class DataClass {",
+                        "@IndexedField(indexes = @IndexedFieldParams(indexName = \"primary\"))",
+                        "private int id;",
+                        "@Counter",
+                        "private String hits;",
+                        "public String getHits() {return hits;}",
+                        "public void setHits(String hits) {this.hits = hits;}",
+                        "public int getId() {return id;}",
+                        "public void setId(int id) {this.id = id;}",
+                        "}"
+                )
+        );
+
+        Truth.assert_()
+                .about(JavaSourcesSubjectFactory.javaSources())
+                .that(Arrays.asList(input))
+                .processedWith(new TupleManagerProcessor())
+                .failsToCompile()
+                .withErrorContaining("Counter field hits in class DataClass should be of a primitive numeric type");
+    }
+
+    @Test
+    public void primaryIndexCounterError() {
+        final JavaFileObject input = JavaFileObjects.forSourceString(
+                "test.DataClass",
+                Joiner.on(NEW_LINE).join(
+                        "package test;",
+                        "",
+                        "import org.tarantool.orm.annotations.*;",
+                        "@Tuple(indexes = @Index(name = \"primary\", isPrimary = true), spaceName = \"test\")",
+                        "public class DataClass {",
+                        "@Counter",
+                        "@IndexedField(indexes = @IndexedFieldParams(indexName = \"primary\"))",
+                        "private int id;",
+                        "public int getId() {return id;}",
+                        "public void setId(int id) {this.id = id;}",
+                        "}"
+                )
+        );
+
+        Truth.assert_()
+                .about(JavaSourcesSubjectFactory.javaSources())
+                .that(Arrays.asList(input))
+                .processedWith(new TupleManagerProcessor())
+                .failsToCompile()
+                .withErrorContaining("Counter field id in class DataClass should not be a part of the primary index");
+    }
+
+    @Test
+    public void lazyTuple() {
+        final JavaFileObject input = JavaFileObjects.forSourceString(
+                "test.DataClass",
+                Joiner.on(NEW_LINE).join(
+                        "package test;",
+                        "",
+                        "import org.tarantool.orm.annotations.*;",
+                        "@Tuple(indexes = @Index(name = \"primary\", isPrimary = true), spaceName = \"test\", lazyDecoding = true)",
+                        "public class DataClass {",
+                        "@IndexedField(indexes = @IndexedFieldParams(indexName = \"primary\"))",
+                        "private int id;",
+                        "private String name;",
+                        "private long[] values;",
+                        "public int getId() {return id;}",
+                        "public void setId(int id) {this.id = id;}",
+                        "public String getName() {return name;}",
+                        "public void setName(String name) {this.name = name;}",
+                        "public long[] getValues() {return values;}",
+                        "public void setValues(long[] values) {this.values = values;}",
+                        "}"
+                )
+        );
+
+        final JavaFileObject managerOutput = JavaFileObjects.forSourceString(
+                "org.tarantool.orm.generated.DataClassManager",
+                Joiner.on(NEW_LINE).join(
+                        "package org.tarantool.orm.generated;",
+                "import java.lang.AutoCloseable;",
+                "import java.lang.IllegalArgumentException;",
+                "import java.lang.Integer;",
+                "import java.lang.Number;",
+                "import java.lang.Object;",
+                "import java.lang.Override;",
+                "import java.lang.String;",
+                "import java.util.ArrayList;",
+                "import java.util.Arrays;",
+                "import java.util.BitSet;",
+                "import java.util.Collection;",
+                "import java.util.Collections;",
+                "import java.util.List;",
+                "import java.util.Set;",
+                "import java.util.function.Function;",
+                "import org.tarantool.Iterator;",
+                "import org.tarantool.TarantoolClient;",
+                "import org.tarantool.orm.internals.ManagerOptions;",
+                "import org.tarantool.orm.internals.Meta;",
+                "import org.tarantool.orm.internals.MsgPackReader;",
+                "import org.tarantool.orm.internals.MsgPackWriter;",
+                "import org.tarantool.orm.internals.PrimitiveArrays;",
+                "import org.tarantool.orm.internals.ServerFunction;",
+                "import org.tarantool.orm.internals.ServerFunctions;",
+                "import org.tarantool.orm.internals.TupleField;",
+                "import org.tarantool.orm.internals.UpdateBuilder;",
+                "import org.tarantool.orm.internals.metrics.OperationMetrics;",
+                "import org.tarantool.orm.internals.metrics.OperationType;",
+                "import org.tarantool.orm.internals.operations.BatchOperation;",
+                "import org.tarantool.orm.internals.operations.BulkOperation;",
+                "import org.tarantool.orm.internals.operations.DeleteOperation;",
+                "import org.tarantool.orm.internals.operations.GetAllOperation;",
+                "import org.tarantool.orm.internals.operations.InsertOperation;",
+                "import org.tarantool.orm.internals.operations.ProjectionOperation;",
+                "import org.tarantool.orm.internals.operations.ReplaceOperation;",
+                "import org.tarantool.orm.internals.operations.ScanOperation;",
+                "import org.tarantool.orm.internals.operations.SelectManyOperation;",
+                "import org.tarantool.orm.internals.operations.SelectOperation;",
+                "import org.tarantool.orm.internals.operations.UpdateOperation;",
+                "import org.tarantool.orm.internals.operations.UpsertOperation;",
+                "import org.tarantool.orm.internals.reads.ReadPath;",
+                "import org.tarantool.orm.internals.reads.ReadStats;",
+                "import org.tarantool.orm.internals.writes.WriteBehindBuffer;",
+                "import test.DataClass;",
+                "public final class DataClassManager implements AutoCloseable {",
+                    "private final String spaceName = \"test\";",
+                    "private final TarantoolClient tarantoolClient;",
+                    "private final Meta<DataClass> meta;",
+                    "private final ServerFunction bulkWriteFunction;",
+                    "private final ServerFunction getAllFunction;",
+                    "private final ServerFunction selectFieldsFunction;",
+                    "private final OperationMetrics metrics;",
+                    "private final ReadPath<DataClass> reads;",
+                    "private final WriteBehindBuffer<DataClass> writeBehind;",
+                    "public DataClassManager(TarantoolClient tarantoolClient) {",
+                        "this(tarantoolClient, new ManagerOptions());",
+                    "}",
+                    "public DataClassManager(TarantoolClient tarantoolClient, ManagerOptions options) {",
+                        "this(tarantoolClient, options, new OperationMetrics(\"test\", \"primary\", options));",
+                    "}",
+                    "public DataClassManager(TarantoolClient tarantoolClient, ManagerOptions options,",
+                            "OperationMetrics metrics) {",
+                        "this.tarantoolClient = tarantoolClient;",
+                        "this.metrics = metrics;",
+                        "this.meta = new DataClassManagerMeta();",
+                        "this.bulkWriteFunction = ServerFunctions.bulkWrite(spaceName);",
+                        "this.getAllFunction = ServerFunctions.getAll(spaceName);",
+                        "this.selectFieldsFunction = ServerFunctions.selectFields(spaceName);",
+                        "this.reads = new ReadPath<>(tarantoolClient, meta, spaceName, \"primary\", getAllFunction, tuple -> Arrays.asList(tuple.getId()), options, metrics);",
+                        "this.writeBehind = new WriteBehindBuffer<>(tarantoolClient, meta, spaceName, bulkWriteFunction, tuple -> Arrays.asList(tuple.getId()), key -> Arrays.asList(((Number) key.get(0)).intValue()), reads, options.getWriteBehindOptions(spaceName), metrics);",
+                    "}",
+                    "public SelectOperation<DataClass> selectUsingPrimaryIndex(final int id) {",
+                        "List<?> keys = Arrays.asList(id);",
+                        "return new SelectOperation<>(reads, \"primary\", keys, metrics);",
+                    "}",
+                    "public ProjectionOperation<DataClass, DataClass> selectUsingPrimaryIndex(final int id,",
+                            "final Set<Fields> fields) {",
+                        "List<?> keys = Arrays.asList(id);",
+                        "return new ProjectionOperation<>(tarantoolClient, meta, selectFieldsFunction, OperationType.SELECT, \"primary\", keys, fields, 0, 1, Iterator.EQ, ProjectionOperation::first, metrics);",
+                    "}",
+                    "public SelectManyOperation<DataClass> selectManyUsingPrimaryIndex(final int id, final int offset,",
+                            "final int limit, final Iterator iterator) {",
+                        "List<?> keys = Arrays.asList(id);",
+                        "return new SelectManyOperation<>(tarantoolClient, meta, spaceName, \"primary\", keys, offset, limit, iterator, metrics);",
+                    "}",
+                    "public ProjectionOperation<DataClass, List<DataClass>> selectManyUsingPrimaryIndex(final int id,",
+                            "final int offset, final int limit, final Iterator iterator, final Set<Fields> fields) {",
+                        "List<?> keys = Arrays.asList(id);",
+                        "return new ProjectionOperation<>(tarantoolClient, meta, selectFieldsFunction, OperationType.SELECT_MANY, \"primary\", keys, fields, offset, limit, iterator, Function.identity(), metrics);",
+                    "}",
+                    "public ScanOperation<DataClass> scanUsingPrimaryIndex(final Iterator iterator,",
+                            "final int pageSize) {",
+                        "List<?> keys = Collections.emptyList();",
+                        "return new ScanOperation<>(tarantoolClient, meta, spaceName, \"primary\", keys, iterator, pageSize, true, tuple -> Arrays.asList(tuple.getId()), metrics);",
+                    "}",
+                    "public ScanOperation<DataClass> scanUsingPrimaryIndex(final int id, final Iterator iterator,",
+                            "final int pageSize) {",
+                        "List<?> keys = Arrays.asList(id);",
+                        "return new ScanOperation<>(tarantoolClient, meta, spaceName, \"primary\", keys, iterator, pageSize, true, tuple -> Arrays.asList(tuple.getId()), metrics);",
+                    "}",
+                    "public GetAllOperation<Integer, DataClass> getAll(final Collection<Integer> keys) {",
+                        "return new GetAllOperation<>(tarantoolClient, meta, getAllFunction, keys, Collections::singletonList, tuple -> Arrays.asList(tuple.getId()), metrics);",
+                    "}",
+                    "public ReadStats getReadStats() {",
+                        "return reads.getStats();",
+                    "}",
+                    "public OperationMetrics getMetrics() {",
+                        "return metrics;",
+                    "}",
+                    "public InsertOperation<DataClass> insert(final DataClass value) {",
+                        "return new InsertOperation<>(tarantoolClient, meta, spaceName, value, reads, metrics);",
+                    "}",
+                    "public DeleteOperation<DataClass> delete(final DataClass value) {",
+                        "List<Object> keys = new ArrayList<>();",
+                        "keys.add(value.getId());",
+                        "return new DeleteOperation<>(tarantoolClient, meta, spaceName, keys, reads, metrics);",
+                    "}",
+                    "public ReplaceOperation<DataClass> replace(final DataClass value) {",
+                        "return new ReplaceOperation<>(tarantoolClient, meta, spaceName, value, reads, metrics);",
+                    "}",
+                    "public UpdateOperation<DataClass> update(final DataClass value) {",
+                        "List<Object> keys = new ArrayList<>();",
+                        "keys.add(value.getId());",
+                        "List<List<?>> ops = new ArrayList<>();",
+                        "ops.add(Arrays.asList(\"=\", 1, value.getName()));",
+                        "ops.add(Arrays.asList(\"=\", 2, value.getValues()));",
+                        "return new UpdateOperation<>(tarantoolClient, meta, spaceName, keys, ops, reads, metrics);",
+                    "}",
+                    "public UpsertOperation<DataClass> upsert(final DataClass defaultValue,",
+                            "final DataClass updatedValue) {",
+                        "List<Object> keys = new ArrayList<>();",
+                        "keys.add(defaultValue.getId());",
+                        "List<List<?>> ops = new ArrayList<>();",
+                        "ops.add(Arrays.asList(\"=\", 1, updatedValue.getName()));",
+                        "ops.add(Arrays.asList(\"=\", 2, updatedValue.getValues()));",
+                        "return new UpsertOperation<>(tarantoolClient, meta, spaceName, keys, defaultValue, ops, reads, metrics);",
+                    "}",
+                    "public DataClassUpdateBuilder updateBuilder() {",
+                        "return new DataClassUpdateBuilder();",
+                    "}",
+                    "public UpdateOperation<DataClass> update(final int id,",
+                            "final DataClassUpdateBuilder updateBuilder) {",
+                        "List<?> keys = Arrays.asList(id);",
+                        "return new UpdateOperation<>(tarantoolClient, meta, spaceName, keys, updateBuilder.getOps(), reads, metrics);",
+                    "}",
+                    "public UpsertOperation<DataClass> upsert(final DataClass defaultValue,",
+                            "final DataClassUpdateBuilder updateBuilder) {",
+                        "List<Object> keys = new ArrayList<>();",
+                        "keys.add(defaultValue.getId());",
+                        "return new UpsertOperation<>(tarantoolClient, meta, spaceName, keys, defaultValue, updateBuilder.getOps(), reads, metrics);",
+                    "}",
+                    "public BatchOperation<DataClass, DataClass> insertAll(final Collection<DataClass> values,",
+                            "final int maxInFlight) {",
+                        "return new BatchOperation<>(values, this::insert, maxInFlight);",
+                    "}",
+                    "public BatchOperation<DataClass, DataClass> replaceAll(final Collection<DataClass> values,",
+                            "final int maxInFlight) {",
+                        "return new BatchOperation<>(values, this::replace, maxInFlight);",
+                    "}",
+                    "public BatchOperation<DataClass, DataClass> deleteAll(final Collection<DataClass> values,",
+                            "final int maxInFlight) {",
+                        "return new BatchOperation<>(values, this::delete, maxInFlight);",
+                    "}",
+                    "public BulkOperation<DataClass> bulkInsert(final Collection<DataClass> values,",
+                            "final boolean atomic) {",
+                        "return new BulkOperation<>(tarantoolClient, bulkWriteFunction, \"insert\", values, meta::toList, atomic, reads, metrics);",
+                    "}",
+                    "public BulkOperation<DataClass> bulkReplace(final Collection<DataClass> values,",
+                            "final boolean atomic) {",
+                        "return new BulkOperation<>(tarantoolClient, bulkWriteFunction, \"replace\", values, meta::toList, atomic, reads, metrics);",
+                    "}",
+                    "public BulkOperation<DataClass> bulkDelete(final Collection<DataClass> values,",
+                            "final boolean atomic) {",
+                        "return new BulkOperation<>(tarantoolClient, bulkWriteFunction, \"delete\", values, tuple -> Arrays.asList(tuple.getId()), atomic, reads, metrics);",
+                    "}",
+                    "public WriteBehindBuffer<DataClass> writeBehind() {",
+                        "return writeBehind;",
+                    "}",
+                    "@Override",
+                    "public void close() {",
+                        "writeBehind.close();",
+                        "reads.close();",
+                    "}",
+                    "private final class DataClassManagerMeta extends Meta<DataClass> {",
+                        "public List<?> toList(final DataClass value) {",
+                            "List<Object> result = new ArrayList<>(3);",
+                            "result.add(value.getId());",
+                            "result.add(value.getName());",
+                            "result.add(value.getValues());",
+                            "return result;",
+                        "}",
+                        "public void encode(final DataClass value, final MsgPackWriter writer) {",
+                            "writer.writeArrayHeader(3);",
+                            "writer.writeLong(value.getId());",
+                            "writer.writeString(value.getName());",
+                            "writer.writeArray(value.getValues());",
+                        "}",
+                        "public DataClass fromList(final List<?> values) {",
+                            "return new LazyDataClass(values);",
+                        "}",
+                        "public DataClass fromFields(final int[] fields, final List<?> values) {",
+                            "DataClass result = new DataClass();",
+                            "for (int i = 0; i < fields.length; i++) {",
+                                "switch (fields[i]) {",
+                                    "case 0:",
+                                        "result.setId(((Number) values.get(i)).intValue());",
+                                        "break;",
+                                    "case 1:",
+                                        "result.setName((String) values.get(i));",
+                                        "break;",
+                                    "case 2:",
+                                        "result.setValues(PrimitiveArrays.toLongArray(values.get(i)));",
+                                        "break;",
+                                    "default:",
+                                        "throw new IllegalArgumentException(String.format(\"Tuple has no field %d\", fields[i]));",
+                                "}",
+                            "}",
+                            "return result;",
+                        "}",
+                        "public DataClass decode(final MsgPackReader reader) {",
+                            "int extraValues = reader.readTupleHeader(3);",
+                            "DataClass result = new DataClass();",
+                            "result.setId((int) reader.readLong());",
+                            "result.setName(reader.readString());",
+                            "result.setValues(reader.readLongArray());",
+                            "reader.skipValues(extraValues);",
+                            "return result;",
+                        "}",
+                        "public long getFingerprint() {",
+                            "return 6162122744953848500L;",
+                        "}",
+                    "}",
+                    "public enum Fields implements TupleField {",
+                        "ID(0),",
+                        "NAME(1),",
+                        "VALUES(2);",
+                        "private final int index;",
+                        "Fields(final int index) {",
+                            "this.index = index;",
+                        "}",
+                        "@Override",
+                        "public int getIndex() {",
+                            "return index;",
+                        "}",
+                    "}",
+                    "public static final class DataClassUpdateBuilder extends UpdateBuilder {",
+                        "public DataClassUpdateBuilder setName(final String value) {",
+                            "add(\"=\", 1, value);",
+                            "return this;",
+                        "}",
+                        "public DataClassUpdateBuilder spliceName(final int position, final int length,",
+                                "final String replacement) {",
+                            "splice(1, position, length, replacement);",
+                            "return this;",
+                        "}",
+                        "public DataClassUpdateBuilder setValues(final long[] value) {",
+                            "add(\"=\", 2, value);",
+                            "return this;",
+                        "}",
+                        "public DataClassUpdateBuilder insertAtValues(final int position, final long value) {",
+                            "add(\"!\", path(2, position), value);",
+                            "return this;",
+                        "}",
+                        "public DataClassUpdateBuilder deleteAtValues(final int position, final int count) {",
+                            "add(\"#\", path(2, position), count);",
+                            "return this;",
+                        "}",
+                    "}",
+                    "private static final class LazyDataClass extends DataClass {",
+                        "private final BitSet decoded = new BitSet(3);",
+                        "private int pending = 3;",
+                        "private volatile List<?> values;",
+                        "LazyDataClass(final List<?> values) {",
+                            "if (values.size() < 3) {",
+                                "throw new IllegalArgumentException(String.format(\"Tuple has %d fields, at least %d expected\", values.size(), 3));",
+                            "}",
+                            "this.values = values;",
+                        "}",
+                        "@Override",
+                        "public int getId() {",
+                            "if (values != null) {",
+                                "decode(0);",
+                            "}",
+                            "return super.getId();",
+                        "}",
+                        "@Override",
+                        "public void setId(final int value) {",
+                            "super.setId(value);",
+                            "if (values != null) {",
+                                "markDecoded(0);",
+                            "}",
+                        "}",
+                        "@Override",
+                        "public String getName() {",
+                            "if (values != null) {",
+                                "decode(1);",
+                            "}",
+                            "return super.getName();",
+                        "}",
+                        "@Override",
+                        "public void setName(final String value) {",
+                            "super.setName(value);",
+                            "if (values != null) {",
+                                "markDecoded(1);",
+                            "}",
+                        "}",
+                        "@Override",
+                        "public long[] getValues() {",
+                            "if (values != null) {",
+                                "decode(2);",
+                            "}",
+                            "return super.getValues();",
+                        "}",
+                        "@Override",
+                        "public void setValues(final long[] value) {",
+                            "super.setValues(value);",
+                            "if (values != null) {",
+                                "markDecoded(2);",
+                            "}",
+                        "}",
+                        "private synchronized void decode(final int index) {",
+                            "if (values == null || decoded.get(index)) {",
+                                "return;",
+                            "}",
+                            "switch (index) {",
+                                "case 0:",
+                                    "super.setId(((Number) values.get(0)).intValue());",
+                                    "break;",
+                                "case 1:",
+                                    "super.setName((String) values.get(1));",
+                                    "break;",
+                                "case 2:",
+                                    "super.setValues(PrimitiveArrays.toLongArray(values.get(2)));",
+                                    "break;",
+                            "}",
+                            "markDecoded(index);",
+                        "}",
+                        "private synchronized void markDecoded(final int index) {",
+                            "if (values == null || decoded.get(index)) {",
+                                "return;",
+                            "}",
+                            "decoded.set(index);",
+                            "if (--pending == 0) {",
+                                "values = null;",
+                            "}",
+                        "}",
+                    "}",
+                "}"
+                )
+        );
+
+        Truth.assert_()
+                .about(JavaSourcesSubjectFactory.javaSources())
+                .that(Arrays.asList(input))
+                .processedWith(new TupleManagerProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesSources(managerOutput, managerFactoryOutput);
+    }
+
+    @Test
+    public void finalLazyTupleError() {
+        final JavaFileObject input = JavaFileObjects.forSourceString(
+                "test.DataClass",
+                Joiner.on(NEW_LINE).join(
+                        "package test;",
+                        "",
+                        "import org.tarantool.orm.annotations.*;",
+                        "@Tuple(indexes = @Index(name = \"primary\", isPrimary = true), spaceName = \"test\", lazyDecoding = true)",
+                        "public final class DataClass {",
+                        "@IndexedField(indexes = @IndexedFieldParams(indexName = \"primary\"))",
+                        "private int id;",
+                        "public int getId() {return id;}",
+                        "public void setId(int id) {this.id = id;}",
+                        "}"
+                )
+        );
+
+        Truth.assert_()
+                .about(JavaSourcesSubjectFactory.javaSources())
+                .that(Arrays.asList(input))
+                .processedWith(new TupleManagerProcessor())
+                .failsToCompile()
+                .withErrorContaining("Class DataClass should not be final to decode fields lazily");
+    }
+
+    @Test
+    public void finalGetterOfLazyTupleError() {
+        final JavaFileObject input = JavaFileObjects.forSourceString(
+                "test.DataClass",
+                Joiner.on(NEW_LINE).join(
+                        "package test;",
+                        "",
+                        "import org.tarantool.orm.annotations.*;",
+                        "@Tuple(indexes = @Index(name = \"primary\", isPrimary = true), spaceName = \"test\", lazyDecoding = true)",
+                        "public class DataClass {",
+                        "@IndexedField(indexes = @IndexedFieldParams(indexName = \"primary\"))",
+                        "private int id;",
+                        "private String name;",
+                        "public int getId() {return id;}",
+                        "public void setId(int id) {this.id = id;}",
+                        "public final String getName() {return name;}",
+                        "public void setName(String name) {this.name = name;}",
+                        "}"
+                )
+        );
+
+        Truth.assert_()
+                .about(JavaSourcesSubjectFactory.javaSources())
+                .that(Arrays.asList(input))
+                .processedWith(new TupleManagerProcessor())
+                .failsToCompile()
+                .withErrorContaining("Getter and setter of field name in class DataClass should be overridable to decode it lazily");
+    }
+
+    @Test
+    public void sliceFields() {
+        final JavaFileObject input = JavaFileObjects.forSourceString(
+                "test.DataClass",
+                Joiner.on(NEW_LINE).join(
+                        "package test;",
+                        "",
+                        "import java.nio.ByteBuffer;",
+                        "import org.tarantool.orm.annotations.*;",
+                        "@Tuple(indexes = @Index(name = \"primary\", isPrimary = true), spaceName = \"test\")",
+                        "public class DataClass {",
+                        "@IndexedField(indexes = @IndexedFieldParams(indexName = \"primary\"))",
+                        "private int id;",
+                        "private ByteBuffer payload;",
+                        "@Field(lazyString = true)",
+                        "private CharSequence title;",
+                        "private CharSequence note;",
+                        "public int getId() {return id;}",
+                        "public void setId(int id) {this.id = id;}",
+                        "public ByteBuffer getPayload() {return payload;}",
+                        "public void setPayload(ByteBuffer payload) {this.payload = payload;}",
+                        "public CharSequence getTitle() {return title;}",
+                        "public void setTitle(CharSequence title) {this.title = title;}",
+                        "public CharSequence getNote() {return note;}",
+                        "public void setNote(CharSequence note) {this.note = note;}",
+                        "}"
+                )
+        );
+
+        final JavaFileObject managerOutput = JavaFileObjects.forSourceString(
+                "org.tarantool.orm.generated.DataClassManager",
+                Joiner.on(NEW_LINE).join(
+                        "package org.tarantool.orm.generated;",
+                "import java.lang.AutoCloseable;",
+                "import java.lang.CharSequence;",
+                "import java.lang.IllegalArgumentException;",
+                "import java.lang.Integer;",
+                "import java.lang.Number;",
+                "import java.lang.Object;",
+                "import java.lang.Override;",
+                "import java.lang.String;",
+                "import java.nio.ByteBuffer;",
+                "import java.util.ArrayList;",
+                "import java.util.Arrays;",
+                "import java.util.Collection;",
+                "import java.util.Collections;",
+                "import java.util.List;",
+                "import java.util.Set;",
+                "import java.util.function.Function;",
+                "import org.tarantool.Iterator;",
+                "import org.tarantool.TarantoolClient;",
+                "import org.tarantool.orm.internals.ManagerOptions;",
+                "import org.tarantool.orm.internals.Meta;",
+                "import org.tarantool.orm.internals.MsgPackReader;",
+                "import org.tarantool.orm.internals.MsgPackWriter;",
+                "import org.tarantool.orm.internals.ServerFunction;",
+                "import org.tarantool.orm.internals.ServerFunctions;",
+                "import org.tarantool.orm.internals.Slices;",
+                "import org.tarantool.orm.internals.TupleField;",
+                "import org.tarantool.orm.internals.UpdateBuilder;",
+                "import org.tarantool.orm.internals.metrics.OperationMetrics;",
+                "import org.tarantool.orm.internals.metrics.OperationType;",
+                "import org.tarantool.orm.internals.operations.BatchOperation;",
+                "import org.tarantool.orm.internals.operations.BulkOperation;",
+                "import org.tarantool.orm.internals.operations.DeleteOperation;",
+                "import org.tarantool.orm.internals.operations.GetAllOperation;",
+                "import org.tarantool.orm.internals.operations.InsertOperation;",
+                "import org.tarantool.orm.internals.operations.ProjectionOperation;",
+                "import org.tarantool.orm.internals.operations.ReplaceOperation;",
+                "import org.tarantool.orm.internals.operations.ScanOperation;",
+                "import org.tarantool.orm.internals.operations.SelectManyOperation;",
+                "import org.tarantool.orm.internals.operations.SelectOperation;",
+                "import org.tarantool.orm.internals.operations.UpdateOperation;",
+                "import org.tarantool.orm.internals.operations.UpsertOperation;",
+                "import org.tarantool.orm.internals.reads.ReadPath;",
+                "import org.tarantool.orm.internals.reads.ReadStats;",
+                "import org.tarantool.orm.internals.writes.WriteBehindBuffer;",
+                "import test.DataClass;",
+                "public final class DataClassManager implements AutoCloseable {",
+                    "private final String spaceName = \"test\";",
+                    "private final TarantoolClient tarantoolClient;",
+                    "private final Meta<DataClass> meta;",
+                    "private final ServerFunction bulkWriteFunction;",
+                    "private final ServerFunction getAllFunction;",
+                    "private final ServerFunction selectFieldsFunction;",
+                    "private final OperationMetrics metrics;",
+                    "private final ReadPath<DataClass> reads;",
+                    "private final WriteBehindBuffer<DataClass> writeBehind;",
+                    "public DataClassManager(TarantoolClient tarantoolClient) {",
+                        "this(tarantoolClient, new ManagerOptions());",
+                    "}",
+                    "public DataClassManager(TarantoolClient tarantoolClient, ManagerOptions options) {",
+                        "this(tarantoolClient, options, new OperationMetrics(\"test\", \"primary\", options));",
+                    "}",
+                    "public DataClassManager(TarantoolClient tarantoolClient, ManagerOptions options,",
+                            "OperationMetrics metrics) {",
+                        "this.tarantoolClient = tarantoolClient;",
+                        "this.metrics = metrics;",
+                        "this.meta = new DataClassManagerMeta();",
+                        "this.bulkWriteFunction = ServerFunctions.bulkWrite(spaceName);",
+                        "this.getAllFunction = ServerFunctions.getAll(spaceName);",
+                        "this.selectFieldsFunction = ServerFunctions.selectFields(spaceName);",
+                        "this.reads = new ReadPath<>(tarantoolClient, meta, spaceName, \"primary\", getAllFunction, tuple -> Arrays.asList(tuple.getId()), options, metrics);",
+                        "this.writeBehind = new WriteBehindBuffer<>(tarantoolClient, meta, spaceName, bulkWriteFunction, tuple -> Arrays.asList(tuple.getId()), key -> Arrays.asList(((Number) key.get(0)).intValue()), reads, options.getWriteBehindOptions(spaceName), metrics);",
+                    "}",
+                    "public SelectOperation<DataClass> selectUsingPrimaryIndex(final int id) {",
+                        "List<?> keys = Arrays.asList(id);",
+                        "return new SelectOperation<>(reads, \"primary\", keys, metrics);",
+                    "}",
+                    "public ProjectionOperation<DataClass, DataClass> selectUsingPrimaryIndex(final int id,",
+                            "final Set<Fields> fields) {",
+                        "List<?> keys = Arrays.asList(id);",
+                        "return new ProjectionOperation<>(tarantoolClient, meta, selectFieldsFunction, OperationType.SELECT, \"primary\", keys, fields, 0, 1, Iterator.EQ, ProjectionOperation::first, metrics);",
+                    "}",
+                    "public SelectManyOperation<DataClass> selectManyUsingPrimaryIndex(final int id, final int offset,",
+                            "final int limit, final Iterator iterator) {",
+                        "List<?> keys = Arrays.asList(id);",
+                        "return new SelectManyOperation<>(tarantoolClient, meta, spaceName, \"primary\", keys, offset, limit, iterator, metrics);",
+                    "}",
+                    "public ProjectionOperation<DataClass, List<DataClass>> selectManyUsingPrimaryIndex(final int id,",
+                            "final int offset, final int limit, final Iterator iterator, final Set<Fields> fields) {",
+                        "List<?> keys = Arrays.asList(id);",
+                        "return new ProjectionOperation<>(tarantoolClient, meta, selectFieldsFunction, OperationType.SELECT_MANY, \"primary\", keys, fields, offset, limit, iterator, Function.identity(), metrics);",
+                    "}",
+                    "public ScanOperation<DataClass> scanUsingPrimaryIndex(final Iterator iterator,",
+                            "final int pageSize) {",
+                        "List<?> keys = Collections.emptyList();",
+                        "return new ScanOperation<>(tarantoolClient, meta, spaceName, \"primary\", keys, iterator, pageSize, true, tuple -> Arrays.asList(tuple.getId()), metrics);",
+                    "}",
+                    "public ScanOperation<DataClass> scanUsingPrimaryIndex(final int id, final Iterator iterator,",
+                            "final int pageSize) {",
+                        "List<?> keys = Arrays.asList(id);",
+                        "return new ScanOperation<>(tarantoolClient, meta, spaceName, \"primary\", keys, iterator, pageSize, true, tuple -> Arrays.asList(tuple.getId()), metrics);",
+                    "}",
+                    "public GetAllOperation<Integer, DataClass> getAll(final Collection<Integer> keys) {",
+                        "return new GetAllOperation<>(tarantoolClient, meta, getAllFunction, keys, Collections::singletonList, tuple -> Arrays.asList(tuple.getId()), metrics);",
+                    "}",
+                    "public ReadStats getReadStats() {",
+                        "return reads.getStats();",
+                    "}",
+                    "public OperationMetrics getMetrics() {",
+                        "return metrics;",
+                    "}",
+                    "public InsertOperation<DataClass> insert(final DataClass value) {",
+                        "return new InsertOperation<>(tarantoolClient, meta, spaceName, value, reads, metrics);",
+                    "}",
+                    "public DeleteOperation<DataClass> delete(final DataClass value) {",
+                        "List<Object> keys = new ArrayList<>();",
+                        "keys.add(value.getId());",
+                        "return new DeleteOperation<>(tarantoolClient, meta, spaceName, keys, reads, metrics);",
+                    "}",
+                    "public ReplaceOperation<DataClass> replace(final DataClass value) {",
+                        "return new ReplaceOperation<>(tarantoolClient, meta, spaceName, value, reads, metrics);",
+                    "}",
+                    "public UpdateOperation<DataClass> update(final DataClass value) {",
+                        "List<Object> keys = new ArrayList<>();",
+                        "keys.add(value.getId());",
+                        "List<List<?>> ops = new ArrayList<>();",
+                        "ops.add(Arrays.asList(\"=\", 1, Slices.toBytes(value.getPayload())));",
+                        "ops.add(Arrays.asList(\"=\", 2, Slices.asString(value.getTitle())));",
+                        "ops.add(Arrays.asList(\"=\", 3, Slices.asString(value.getNote())));",
+                        "return new UpdateOperation<>(tarantoolClient, meta, spaceName, keys, ops, reads, metrics);",
+                    "}",
+                    "public UpsertOperation<DataClass> upsert(final DataClass defaultValue,",
+                            "final DataClass updatedValue) {",
+                        "List<Object> keys = new ArrayList<>();",
+                        "keys.add(defaultValue.getId());",
+                        "List<List<?>> ops = new ArrayList<>();",
+                        "ops.add(Arrays.asList(\"=\", 1, Slices.toBytes(updatedValue.getPayload())));",
+                        "ops.add(Arrays.asList(\"=\", 2, Slices.asString(updatedValue.getTitle())));",
+                        "ops.add(Arrays.asList(\"=\", 3, Slices.asString(updatedValue.getNote())));",
+                        "return new UpsertOperation<>(tarantoolClient, meta, spaceName, keys, defaultValue, ops, reads, metrics);",
+                    "}",
+                    "public DataClassUpdateBuilder updateBuilder() {",
+                        "return new DataClassUpdateBuilder();",
+                    "}",
+                    "public UpdateOperation<DataClass> update(final int id,",
+                            "final DataClassUpdateBuilder updateBuilder) {",
+                        "List<?> keys = Arrays.asList(id);",
+                        "return new UpdateOperation<>(tarantoolClient, meta, spaceName, keys, updateBuilder.getOps(), reads, metrics);",
+                    "}",
+                    "public UpsertOperation<DataClass> upsert(final DataClass defaultValue,",
+                            "final DataClassUpdateBuilder updateBuilder) {",
+                        "List<Object> keys = new ArrayList<>();",
+                        "keys.add(defaultValue.getId());",
+                        "return new UpsertOperation<>(tarantoolClient, meta, spaceName, keys, defaultValue, updateBuilder.getOps(), reads, metrics);",
+                    "}",
+                    "public BatchOperation<DataClass, DataClass> insertAll(final Collection<DataClass> values,",
+                            "final int maxInFlight) {",
+                        "return new BatchOperation<>(values, this::insert, maxInFlight);",
+                    "}",
+                    "public BatchOperation<DataClass, DataClass> replaceAll(final Collection<DataClass> values,",
+                            "final int maxInFlight) {",
+                        "return new BatchOperation<>(values, this::replace, maxInFlight);",
+                    "}",
+                    "public BatchOperation<DataClass, DataClass> deleteAll(final Collection<DataClass> values,",
+                            "final int maxInFlight) {",
+                        "return new BatchOperation<>(values, this::delete, maxInFlight);",
+                    "}",
+                    "public BulkOperation<DataClass> bulkInsert(final Collection<DataClass> values,",
+                            "final boolean atomic) {",
+                        "return new BulkOperation<>(tarantoolClient, bulkWriteFunction, \"insert\", values, meta::toList, atomic, reads, metrics);",
+                    "}",
+                    "public BulkOperation<DataClass> bulkReplace(final Collection<DataClass> values,",
+                            "final boolean atomic) {",
+                        "return new BulkOperation<>(tarantoolClient, bulkWriteFunction, \"replace\", values, meta::toList, atomic, reads, metrics);",
+                    "}",
+                    "public BulkOperation<DataClass> bulkDelete(final Collection<DataClass> values,",
+                            "final boolean atomic) {",
+                        "return new BulkOperation<>(tarantoolClient, bulkWriteFunction, \"delete\", values, tuple -> Arrays.asList(tuple.getId()), atomic, reads, metrics);",
+                    "}",
+                    "public WriteBehindBuffer<DataClass> writeBehind() {",
+                        "return writeBehind;",
+                    "}",
+                    "public DataClass detach(final DataClass value) {",
+                        "return meta.detach(value);",
+                    "}",
+                    "@Override",
+                    "public void close() {",
+                        "writeBehind.close();",
+                        "reads.close();",
+                    "}",
+                    "private final class DataClassManagerMeta extends Meta<DataClass> {",
+                        "public List<?> toList(final DataClass value) {",
+                            "List<Object> result = new ArrayList<>(4);",
+                            "result.add(value.getId());",
+                            "result.add(Slices.toBytes(value.getPayload()));",
+                            "result.add(Slices.asString(value.getTitle()));",
+                            "result.add(Slices.asString(value.getNote()));",
+                            "return result;",
+                        "}",
+                        "public void encode(final DataClass value, final MsgPackWriter writer) {",
+                            "writer.writeArrayHeader(4);",
+                            "writer.writeLong(value.getId());",
+                            "writer.writeBinary(value.getPayload());",
+                            "writer.writeString(value.getTitle());",
+                            "writer.writeString(value.getNote());",
+                        "}",
+                        "public DataClass fromList(final List<?> values) {",
+                            "DataClass result = new DataClass();",
+                            "result.setId(((Number) values.get(0)).intValue());",
+                            "result.setPayload(Slices.wrap(values.get(1)));",
+                            "result.setTitle((CharSequence) values.get(2));",
+                            "result.setNote((CharSequence) values.get(3));",
+                            "return result;",
+                        "}",
+                        "public DataClass fromFields(final int[] fields, final List<?> values) {",
+                            "DataClass result = new DataClass();",
+                            "for (int i = 0; i < fields.length; i++) {",
+                                "switch (fields[i]) {",
+                                    "case 0:",
+                                        "result.setId(((Number) values.get(i)).intValue());",
+                                        "break;",
+                                    "case 1:",
+                                        "result.setPayload(Slices.wrap(values.get(i)));",
+                                        "break;",
+                                    "case 2:",
+                                        "result.setTitle((CharSequence) values.get(i));",
+                                        "break;",
+                                    "case 3:",
+                                        "result.setNote((CharSequence) values.get(i));",
+                                        "break;",
+                                    "default:",
+                                        "throw new IllegalArgumentException(String.format(\"Tuple has no field %d\", fields[i]));",
+                                "}",
+                            "}",
+                            "return result;",
+                        "}",
+                        "public DataClass decode(final MsgPackReader reader) {",
+                            "int extraValues = reader.readTupleHeader(4);",
+                            "DataClass result = new DataClass();",
+                            "result.setId((int) reader.readLong());",
+                            "result.setPayload(reader.readBinarySlice());",
+                            "result.setTitle(reader.readUtf8String());",
+                            "result.setNote(reader.readString());",
+                            "reader.skipValues(extraValues);",
+                            "return result;",
+                        "}",
+                        "public long getFingerprint() {",
+                            "return -706317786468856274L;",
+                        "}",
+                        "public DataClass detach(final DataClass value) {",
+                            "value.setPayload(Slices.detach(value.getPayload()));",
+                            "value.setTitle(Slices.detach(value.getTitle()));",
+                            "value.setNote(Slices.detach(value.getNote()));",
+                            "return value;",
+                        "}",
+                    "}",
+                    "public enum Fields implements TupleField {",
+                        "ID(0),",
+                        "PAYLOAD(1),",
+                        "TITLE(2),",
+                        "NOTE(3);",
+                        "private final int index;",
+                        "Fields(final int index) {",
+                            "this.index = index;",
+                        "}",
+                        "@Override",
+                        "public int getIndex() {",
+                            "return index;",
+                        "}",
+                    "}",
+                    "public static final class DataClassUpdateBuilder extends UpdateBuilder {",
+                        "public DataClassUpdateBuilder setPayload(final ByteBuffer value) {",
+                            "add(\"=\", 1, value);",
+                            "return this;",
+                        "}",
+                        "public DataClassUpdateBuilder setTitle(final CharSequence value) {",
+                            "add(\"=\", 2, value);",
+                            "return this;",
+                        "}",
+                        "public DataClassUpdateBuilder spliceTitle(final int position, final int length,",
+                                "final String replacement) {",
+                            "splice(2, position, length, replacement);",
+                            "return this;",
+                        "}",
+                        "public DataClassUpdateBuilder setNote(final CharSequence value) {",
+                            "add(\"=\", 3, value);",
+                            "return this;",
+                        "}",
+                        "public DataClassUpdateBuilder spliceNote(final int position, final int length,",
+                                "final String replacement) {",
+                            "splice(3, position, length, replacement);",
+                            "return this;",
+                        "}",
+                    "}",
+                "}"
+                )
+        );
+
+        Truth.assert_()
+                .about(JavaSourcesSubjectFactory.javaSources())
+                .that(Arrays.asList(input))
+                .processedWith(new TupleManagerProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesSources(managerOutput, managerFactoryOutput);
+    }
+
+    @Test
+    public void indexedSliceFieldError() {
+        final JavaFileObject input = JavaFileObjects.forSourceString(
+                "test.DataClass",
+                Joiner.on(NEW_LINE).join(
+                        "package test;",
+                        "",
+                        "import java.nio.ByteBuffer;",
+                        "import org.tarantool.orm.annotations.*;",
+                        "@Tuple(indexes = @Index(name = \"primary\", isPrimary = true), spaceName = \"test\")",
+                        "public class DataClass {",
+                        "@IndexedField(indexes = @IndexedFieldParams(indexName = \"primary\"))",
+                        "private ByteBuffer id;",
+                        "public ByteBuffer getId() {return id;}",
+                        "public void setId(ByteBuffer id) {this.id = id;}",
+                        "}"
+                )
+        );
+
+        Truth.assert_()
+                .about(JavaSourcesSubjectFactory.javaSources())
+                .that(Arrays.asList(input))
+                .processedWith(new TupleManagerProcessor())
+                .failsToCompile()
+                .withErrorContaining("Indexed field id in class DataClass should not be a ByteBuffer or CharSequence");
+    }
+
+    @Test
+    public void lazyStringOfStringFieldError() {
+        final JavaFileObject input = JavaFileObjects.forSourceString(
+                "test.DataClass",
+                Joiner.on(NEW_LINE).join(
+                        "package test;",
+                        "",
+                        "import org.tarantool.orm.annotations.*;",
+                        "@Tuple(indexes = @Index(name = \"primary\", isPrimary = true), spaceName = \"test\")",
+                        "public class DataClass {",
+                        "@IndexedField(indexes = @IndexedFieldParams(indexName = \"primary\"))",
+                        "private int id;",
+                        "@Field(lazyString = true)",
+                        "private String name;",
+                        "public int getId() {return id;}",
+                        "public void setId(int id) {this.id = id;}",
+                        "public String getName() {return name;}",
+                        "public void setName(String name) {this.name = name;}",
+                        "}"
+                )
+        );
+
+        Truth.assert_()
+                .about(JavaSourcesSubjectFactory.javaSources())
+                .that(Arrays.asList(input))
+                .processedWith(new TupleManagerProcessor())
+                .failsToCompile()
+                .withErrorContaining("Lazy string field name in class DataClass should be a CharSequence");
+    }
+
+    @Test
+    public void updatesOfArrayAndBinaryFields() {
+        final JavaFileObject usage = JavaFileObjects.forSourceString(
+                "test.Usage",
+                Joiner.on(NEW_LINE).join(
+                        "package test;",
+                        "",
+                        "import org.tarantool.orm.generated.DataClassManager;",
+                        "public class Usage {",
+                        "public Object update() {",
+                        "return new DataClassManager.DataClassUpdateBuilder()",
+                        ".setPayload(new byte[] {1})",
+                        ".insertAtTags(1, \"tag\")",
+                        ".deleteAtTags(1, 1)",
+                        ".spliceNote(0, 1, \"note\");",
+                        "}",
+                        "}"
+                )
+        );
+
+        Truth.assert_()
+                .about(JavaSourcesSubjectFactory.javaSources())
+                .that(Arrays.asList(arrayAndBinaryFields(), usage))
+                .processedWith(new TupleManagerProcessor())
+                .compilesWithoutError();
+    }
+
+    @Test
+    public void noArrayUpdatesOfBinaryFieldError() {
+        final JavaFileObject usage = JavaFileObjects.forSourceString(
+                "test.Usage",
+                Joiner.on(NEW_LINE).join(
+                        "package test;",
+                        "",
+                        "import org.tarantool.orm.generated.DataClassManager;",
+                        "public class Usage {",
+                        "public Object update() {",
+                        "return new DataClassManager.DataClassUpdateBuilder().insertAtPayload(1, (byte) 1);",
+                        "}",
+                        "}"
+                )
+        );
+
+        Truth.assert_()
+                .about(JavaSourcesSubjectFactory.javaSources())
+                .that(Arrays.asList(arrayAndBinaryFields(), usage))
+                .processedWith(new TupleManagerProcessor())
+                .failsToCompile()
+                .withErrorContaining("insertAtPayload");
+    }
+
+    private static JavaFileObject arrayAndBinaryFields() {
+        return JavaFileObjects.forSourceString(
+                "test.DataClass",
+                Joiner.on(NEW_LINE).join(
+                        "package test;",
+                        "",
+                        "import org.tarantool.orm.annotations.*;",
+                        "@Tuple(indexes = @Index(name = \"primary\", isPrimary = true), spaceName = \"test\")",
+                        "public class DataClass {",
+                        "@IndexedField(indexes = @IndexedFieldParams(indexName = \"primary\"))",
+                        "private int id;",
+                        "private byte[] payload;",
+                        "private String[] tags;",
+                        "private CharSequence note;",
+                        "public int getId() {return id;}",
+                        "public void setId(int id) {this.id = id;}",
+                        "public byte[] getPayload() {return payload;}",
+                        "public void setPayload(byte[] payload) {this.payload = payload;}",
+                        "public String[] getTags() {return tags;}",
+                        "public void setTags(String[] tags) {this.tags = tags;}",
+                        "public CharSequence getNote() {return note;}",
+                        "public void setNote(CharSequence note) {this.note = note;}",
+                        "}"
+                )
+        );
+    }
+
     @Test
     public void byteField() {
         final JavaFileObject input = JavaFileObjects.forSourceString(
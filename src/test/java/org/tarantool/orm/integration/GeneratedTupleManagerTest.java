@@ -1,14 +1,36 @@
 package org.tarantool.orm.integration;
 
 import org.junit.*;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import org.tarantool.Iterator;
 import org.tarantool.TarantoolClient;
 import org.tarantool.TarantoolClientConfig;
 import org.tarantool.TarantoolClientImpl;
+import org.tarantool.TarantoolException;
 import org.tarantool.orm.generated.ManagerFactory;
 import org.tarantool.orm.generated.MyTupleManager;
+import org.tarantool.orm.generated.SlicedTupleManager;
+import org.tarantool.orm.internals.CacheOptions;
+import org.tarantool.orm.internals.ManagerOptions;
+import org.tarantool.orm.internals.Utf8String;
+import org.tarantool.orm.internals.WriteBehindOptions;
+import org.tarantool.orm.internals.metrics.OperationStats;
+import org.tarantool.orm.internals.metrics.OperationType;
+import org.tarantool.orm.internals.operations.BatchResult;
+import org.tarantool.orm.internals.operations.BulkResult;
+import org.tarantool.orm.internals.reads.ReadStats;
 import org.testcontainers.containers.GenericContainer;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -35,6 +57,8 @@ public class GeneratedTupleManagerTest {
         client.syncOps().eval("box.schema.space.create('test', { if_not_exists = true })");
         client.syncOps().eval("box.space.test:create_index('primary', {unique = true, if_not_exists = true, parts = { {field = 1, type = 'number'} } })");
         client.syncOps().eval("box.space.test:create_index('secondary', {unique = false, if_not_exists = true, parts = { {field = 2, type = 'string'} } })");
+        client.syncOps().eval("box.schema.space.create('sliced', { if_not_exists = true })");
+        client.syncOps().eval("box.space.sliced:create_index('primary', {unique = true, if_not_exists = true, parts = { {field = 1, type = 'number'} } })");
 
         manager = new ManagerFactory(client).myTupleManager();
     }
@@ -42,6 +66,7 @@ public class GeneratedTupleManagerTest {
     @AfterClass
     public static void cleanUp() {
         client.syncOps().eval("box.space.test:drop()");
+        client.syncOps().eval("box.space.sliced:drop()");
 
         client.close();
     }
@@ -49,6 +74,7 @@ public class GeneratedTupleManagerTest {
     @After
     public void truncate() {
         client.syncOps().eval("box.space.test:truncate()");
+        client.syncOps().eval("box.space.sliced:truncate()");
     }
 
     private static MyTuple tuple() {
@@ -69,6 +95,17 @@ public class GeneratedTupleManagerTest {
         return tuple;
     }
 
+    private static SlicedTuple slicedTuple() {
+        SlicedTuple tuple = new SlicedTuple();
+
+        tuple.setId(1);
+        tuple.setPayload(ByteBuffer.wrap(new byte[] {1, 2, 3}));
+        tuple.setTitle("title");
+        tuple.setValues(new long[] {1L, 2L});
+
+        return tuple;
+    }
+
     @Test
     public void insertSync() {
         MyTuple tuple = tuple();
@@ -105,6 +142,98 @@ public class GeneratedTupleManagerTest {
         assertEquals(tuple, resultUsingSecondaryIndex);
     }
 
+    @Test
+    public void selectManySync() {
+        MyTuple first = tuple();
+        MyTuple second = tuple();
+        second.setF1(2);
+        MyTuple third = tuple();
+        third.setF1(3);
+        third.setF2("3");
+        manager.insert(first).runSync();
+        manager.insert(second).runSync();
+        manager.insert(third).runSync();
+
+        List<MyTuple> resultUsingPrimaryIndex = manager.selectManyUsingPrimaryIndex(2, 0, 10, Iterator.GE).runSync();
+        List<MyTuple> resultUsingSecondaryIndex = manager.selectManyUsingSecondaryIndex("2", 0, 10, Iterator.EQ).runSync();
+        assertEquals(Arrays.asList(second, third), resultUsingPrimaryIndex);
+        assertEquals(Arrays.asList(first, second), resultUsingSecondaryIndex);
+    }
+
+    @Test
+    public void selectManyAsync() throws InterruptedException, ExecutionException, TimeoutException {
+        MyTuple first = tuple();
+        MyTuple second = tuple();
+        second.setF1(2);
+        manager.insert(first).runSync();
+        manager.insert(second).runSync();
+
+        List<MyTuple> result = manager.selectManyUsingSecondaryIndex("2", 1, 10, Iterator.EQ).runAsync().toCompletableFuture().get(5, TimeUnit.SECONDS);
+        assertEquals(Collections.singletonList(second), result);
+    }
+
+    @Test
+    public void scanUsingPrimaryIndex() throws InterruptedException {
+        List<MyTuple> tuples = new ArrayList<>();
+        for (int i = 1; i <= 10; i++) {
+            MyTuple tuple = tuple();
+            tuple.setF1(i);
+            manager.insert(tuple).runSync();
+            tuples.add(tuple);
+        }
+
+        assertEquals(tuples, collect(manager.scanUsingPrimaryIndex(Iterator.ALL, 3)));
+        assertEquals(tuples.subList(4, 10), collect(manager.scanUsingPrimaryIndex(4, Iterator.GT, 2)));
+    }
+
+    @Test
+    public void scanUsingNonUniqueIndex() throws InterruptedException {
+        List<MyTuple> tuples = new ArrayList<>();
+        for (int i = 1; i <= 7; i++) {
+            MyTuple tuple = tuple();
+            tuple.setF1(i);
+            manager.insert(tuple).runSync();
+            tuples.add(tuple);
+        }
+
+        // every tuple has the same secondary key, so pages can be built only by skipping already emitted duplicates
+        assertEquals(tuples, collect(manager.scanUsingSecondaryIndex("2", Iterator.GE, 2)));
+    }
+
+    private static List<MyTuple> collect(Publisher<MyTuple> publisher) throws InterruptedException {
+        List<MyTuple> result = new CopyOnWriteArrayList<>();
+        CountDownLatch latch = new CountDownLatch(1);
+
+        publisher.subscribe(new Subscriber<MyTuple>() {
+            private Subscription subscription;
+
+            @Override
+            public void onSubscribe(Subscription subscription) {
+                this.subscription = subscription;
+                subscription.request(1);
+            }
+
+            @Override
+            public void onNext(MyTuple myTuple) {
+                result.add(myTuple);
+                subscription.request(1);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                latch.countDown();
+            }
+
+            @Override
+            public void onComplete() {
+                latch.countDown();
+            }
+        });
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        return result;
+    }
+
     @Test
     public void updateSync() {
         MyTuple tuple = tuple();
@@ -206,4 +335,463 @@ public class GeneratedTupleManagerTest {
 
         assertNull(manager.selectUsingPrimaryIndex(1).runSync());
     }
+
+    @Test
+    public void insertAllAndDeleteAll() throws InterruptedException, ExecutionException, TimeoutException {
+        List<MyTuple> tuples = new ArrayList<>();
+        for (int i = 1; i <= 100; i++) {
+            MyTuple tuple = tuple();
+            tuple.setF1(i);
+            tuples.add(tuple);
+        }
+
+        BatchResult<MyTuple> inserted = manager.insertAll(tuples, 8).runAsync().toCompletableFuture().get(5, TimeUnit.SECONDS);
+        assertFalse(inserted.hasFailures());
+        assertEquals(tuples, inserted.getResults());
+
+        BatchResult<MyTuple> deleted = manager.deleteAll(tuples, 8).runSync();
+        assertFalse(deleted.hasFailures());
+        assertEquals(tuples, deleted.getResults());
+        assertNull(manager.selectUsingPrimaryIndex(1).runSync());
+    }
+
+    @Test
+    public void insertAllReportsFailedItems() {
+        MyTuple first = tuple();
+        MyTuple duplicate = tuple();
+        MyTuple second = tuple();
+        second.setF1(2);
+
+        BatchResult<MyTuple> result = manager.insertAll(Arrays.asList(first, duplicate, second), 1).runSync();
+        assertEquals(Collections.singleton(1), result.getFailures().keySet());
+        assertEquals(Arrays.asList(first, null, second), result.getResults());
+    }
+
+    @Test
+    public void bulkReplaceAndDelete() throws InterruptedException, ExecutionException, TimeoutException {
+        List<MyTuple> tuples = new ArrayList<>();
+        for (int i = 1; i <= 100; i++) {
+            MyTuple tuple = tuple();
+            tuple.setF1(i);
+            tuples.add(tuple);
+        }
+
+        BulkResult replaced = manager.bulkReplace(tuples, true).runSync();
+        assertEquals(100, replaced.getCount());
+        assertEquals(tuples.get(49), manager.selectUsingPrimaryIndex(50).runSync());
+
+        BulkResult deleted = manager.bulkDelete(tuples, false).runAsync().toCompletableFuture().get(5, TimeUnit.SECONDS);
+        assertEquals(100, deleted.getCount());
+        assertNull(manager.selectUsingPrimaryIndex(50).runSync());
+    }
+
+    @Test
+    public void getAllSync() {
+        List<MyTuple> tuples = new ArrayList<>();
+        for (int i = 1; i <= 10; i++) {
+            MyTuple tuple = tuple();
+            tuple.setF1(i);
+            tuples.add(tuple);
+        }
+        manager.bulkInsert(tuples, true).runSync();
+
+        Map<Integer, MyTuple> result = manager.getAll(Arrays.asList(2, 5, 42)).runSync();
+        assertEquals(2, result.size());
+        assertEquals(tuples.get(1), result.get(2));
+        assertEquals(tuples.get(4), result.get(5));
+        assertFalse(result.containsKey(42));
+    }
+
+    @Test
+    public void getAllAsync() throws InterruptedException, ExecutionException, TimeoutException {
+        MyTuple tuple = tuple();
+        manager.insert(tuple).runSync();
+
+        Map<Integer, MyTuple> result = manager.getAll(Collections.singletonList(tuple.getF1())).runAsync().toCompletableFuture().get(5, TimeUnit.SECONDS);
+        assertEquals(Collections.singletonMap(tuple.getF1(), tuple), result);
+    }
+
+    @Test
+    public void selectFieldsSync() {
+        MyTuple tuple = tuple();
+        manager.insert(tuple).runSync();
+
+        MyTuple expected = new MyTuple();
+        expected.setF1(tuple.getF1());
+        expected.setF5(tuple.getF5());
+        expected.setF8(tuple.getF8());
+
+        MyTuple result = manager.selectUsingPrimaryIndex(1, EnumSet.of(MyTupleManager.Fields.F8, MyTupleManager.Fields.F1, MyTupleManager.Fields.F5)).runSync();
+        assertEquals(expected, result);
+        assertNull(manager.selectUsingPrimaryIndex(42, EnumSet.of(MyTupleManager.Fields.F1)).runSync());
+    }
+
+    @Test
+    public void selectManyFieldsAsync() throws InterruptedException, ExecutionException, TimeoutException {
+        MyTuple first = tuple();
+        MyTuple second = tuple();
+        second.setF1(2);
+        manager.insert(first).runSync();
+        manager.insert(second).runSync();
+
+        List<MyTuple> result = manager.selectManyUsingSecondaryIndex("2", 0, 10, Iterator.EQ, EnumSet.of(MyTupleManager.Fields.F1)).runAsync().toCompletableFuture().get(5, TimeUnit.SECONDS);
+        assertEquals(2, result.size());
+        assertEquals(1, result.get(0).getF1());
+        assertEquals(2, result.get(1).getF1());
+        assertNull(result.get(0).getF2());
+    }
+
+    @Test
+    public void batchedSelectsAsync() throws InterruptedException, ExecutionException, TimeoutException {
+        MyTupleManager batchingManager = new ManagerFactory(client, new ManagerOptions().batchSelects(16, 10, TimeUnit.MILLISECONDS)).myTupleManager();
+
+        MyTuple tuple = tuple();
+        batchingManager.insert(tuple).runSync();
+
+        List<CompletableFuture<MyTuple>> futures = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            futures.add(batchingManager.selectUsingPrimaryIndex(i % 2 == 0 ? tuple.getF1() : 42).runAsync().toCompletableFuture());
+        }
+
+        for (int i = 0; i < 20; i++) {
+            MyTuple selected = futures.get(i).get(5, TimeUnit.SECONDS);
+            assertEquals(i % 2 == 0 ? tuple : null, selected);
+        }
+        assertEquals(tuple, batchingManager.selectUsingSecondaryIndex(tuple.getF2()).runAsync().toCompletableFuture().get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void singleFlightSelects() throws InterruptedException, ExecutionException, TimeoutException {
+        MyTupleManager singleFlightManager = new ManagerFactory(client, new ManagerOptions().singleFlightSelects()).myTupleManager();
+
+        MyTuple tuple = tuple();
+        singleFlightManager.insert(tuple).runSync();
+
+        List<CompletableFuture<MyTuple>> futures = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            futures.add(singleFlightManager.selectUsingPrimaryIndex(tuple.getF1()).runAsync().toCompletableFuture());
+        }
+
+        for (CompletableFuture<MyTuple> future : futures) {
+            assertEquals(tuple, future.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(tuple, singleFlightManager.selectUsingPrimaryIndex(tuple.getF1()).runSync());
+
+        ReadStats stats = singleFlightManager.getReadStats();
+        assertEquals(11, stats.getSingleFlightHits() + stats.getSingleFlightMisses());
+        assertTrue(stats.getSingleFlightMisses() >= 2);
+    }
+
+    @Test
+    public void cachedSelectsAreInvalidatedByWrites() {
+        MyTupleManager cachingManager = new ManagerFactory(client, new ManagerOptions().cacheSelects(new CacheOptions(100).cacheMissingKeys())).myTupleManager();
+
+        MyTuple tuple = tuple();
+        assertNull(cachingManager.selectUsingPrimaryIndex(tuple.getF1()).runSync());
+        assertNull(cachingManager.selectUsingPrimaryIndex(tuple.getF1()).runSync());
+
+        cachingManager.insert(tuple).runSync();
+        assertEquals(tuple, cachingManager.selectUsingPrimaryIndex(tuple.getF1()).runSync());
+        assertEquals(tuple, cachingManager.selectUsingPrimaryIndex(tuple.getF1()).runSync());
+
+        cachingManager.update(tuple.getF1(), cachingManager.updateBuilder().setF2("changed")).runSync();
+        assertEquals("changed", cachingManager.selectUsingPrimaryIndex(tuple.getF1()).runSync().getF2());
+
+        cachingManager.delete(tuple).runSync();
+        assertNull(cachingManager.selectUsingPrimaryIndex(tuple.getF1()).runSync());
+
+        ReadStats stats = cachingManager.getReadStats();
+        assertEquals(2, stats.getCacheHits());
+        assertEquals(4, stats.getCacheMisses());
+    }
+
+    @Test
+    public void offHeapCachedSelects() throws InterruptedException, ExecutionException, TimeoutException {
+        MyTupleManager cachingManager = new ManagerFactory(client, new ManagerOptions().cacheSelects(CacheOptions.offHeap(1 << 20))).myTupleManager();
+
+        MyTuple tuple = tuple();
+        cachingManager.insert(tuple).runSync();
+
+        assertEquals(tuple, cachingManager.selectUsingPrimaryIndex(tuple.getF1()).runSync());
+        MyTuple cached = cachingManager.selectUsingPrimaryIndex(tuple.getF1()).runAsync().toCompletableFuture().get(5, TimeUnit.SECONDS);
+        assertEquals(tuple, cached);
+        assertEquals(1, cachingManager.getReadStats().getCacheHits());
+
+        cached.setF2("changed");
+        cachingManager.replace(cached).runSync();
+        assertEquals(cached, cachingManager.selectUsingPrimaryIndex(tuple.getF1()).runSync());
+    }
+
+    @Test
+    public void persistentCachedSelects() throws IOException {
+        Path directory = Files.createTempDirectory("tarantool-orm-cache");
+        ManagerOptions options = new ManagerOptions().cacheSelects(CacheOptions.persistent(directory, 1 << 20));
+        ManagerFactory factory = new ManagerFactory(client, options);
+        MyTupleManager cachingManager = factory.myTupleManager();
+        assertSame(cachingManager, factory.myTupleManager());
+
+        MyTuple tuple = tuple();
+        cachingManager.insert(tuple).runSync();
+
+        assertEquals(tuple, cachingManager.selectUsingPrimaryIndex(tuple.getF1()).runSync());
+        assertEquals(tuple, cachingManager.selectUsingPrimaryIndex(tuple.getF1()).runSync());
+        assertEquals(1, cachingManager.getReadStats().getCacheHits());
+        assertTrue(Files.exists(directory.resolve("test.cache")));
+
+        // the file is locked, so another factory keeps its cache in memory
+        try (ManagerFactory other = new ManagerFactory(client, options)) {
+            assertEquals(tuple, other.myTupleManager().selectUsingPrimaryIndex(tuple.getF1()).runSync());
+            assertEquals(0, other.myTupleManager().getReadStats().getCacheHits());
+        }
+
+        factory.close();
+        try (ManagerFactory reopened = new ManagerFactory(client, options)) {
+            assertEquals(tuple, reopened.myTupleManager().selectUsingPrimaryIndex(tuple.getF1()).runSync());
+            assertEquals(1, reopened.myTupleManager().getReadStats().getCacheHits());
+        }
+    }
+
+    @Test
+    public void lazySlicedTupleRoundTrip() {
+        SlicedTupleManager cachingManager = new ManagerFactory(client, new ManagerOptions().cacheSelects(new CacheOptions(100))).slicedTupleManager();
+        cachingManager.insert(slicedTuple()).runSync();
+
+        SlicedTuple selected = cachingManager.selectUsingPrimaryIndex(1).runSync();
+        assertEquals(ByteBuffer.wrap(new byte[] {1, 2, 3}), selected.getPayload());
+
+        // the heap cache returns the same instance, fields which were not read yet are decoded by the hit
+        SlicedTuple cached = cachingManager.selectUsingPrimaryIndex(1).runSync();
+        assertEquals(1, cachingManager.getReadStats().getCacheHits());
+        assertEquals("title", cached.getTitle().toString());
+        assertArrayEquals(new long[] {1L, 2L}, cached.getValues());
+
+        cachingManager.update(1, cachingManager.updateBuilder().setPayload(ByteBuffer.wrap(new byte[] {4, 5}))).runSync();
+        SlicedTuple updated = cachingManager.selectUsingPrimaryIndex(1).runSync();
+        assertEquals(ByteBuffer.wrap(new byte[] {4, 5}), updated.getPayload());
+        assertEquals("title", updated.getTitle().toString());
+
+        // a value set before the getter is called is not overwritten by decoding
+        updated.setValues(new long[] {3L});
+        assertArrayEquals(new long[] {3L}, updated.getValues());
+        cachingManager.replace(updated).runSync();
+        assertArrayEquals(new long[] {3L}, new ManagerFactory(client).slicedTupleManager().selectUsingPrimaryIndex(1).runSync().getValues());
+    }
+
+    @Test
+    public void offHeapCachedSlices() {
+        SlicedTupleManager cachingManager = new ManagerFactory(client, new ManagerOptions().cacheSelects(CacheOptions.offHeap(1 << 20))).slicedTupleManager();
+        cachingManager.insert(slicedTuple()).runSync();
+
+        assertEquals("title", cachingManager.selectUsingPrimaryIndex(1).runSync().getTitle().toString());
+        SlicedTuple cached = cachingManager.selectUsingPrimaryIndex(1).runSync();
+        assertEquals(1, cachingManager.getReadStats().getCacheHits());
+
+        // hits reference the cache memory until they are detached
+        assertTrue(cached.getPayload().isReadOnly());
+        assertTrue(cached.getTitle() instanceof Utf8String);
+        SlicedTuple detached = cachingManager.detach(cached);
+        assertEquals(ByteBuffer.wrap(new byte[] {1, 2, 3}), detached.getPayload());
+        assertEquals("title", detached.getTitle().toString());
+
+        // slices are written back from their bytes
+        detached.setId(2);
+        cachingManager.insert(detached).runSync();
+        SlicedTuple copy = cachingManager.selectUsingPrimaryIndex(2).runSync();
+        assertEquals(ByteBuffer.wrap(new byte[] {1, 2, 3}), copy.getPayload());
+        assertEquals("title", copy.getTitle().toString());
+    }
+
+    @Test
+    public void writeBehindCoalescesWrites() throws InterruptedException, ExecutionException, TimeoutException {
+        MyTupleManager writeBehindManager = new ManagerFactory(client, new ManagerOptions().writeBehind("test", new WriteBehindOptions(1, TimeUnit.HOURS))).myTupleManager();
+        MyTuple tuple = tuple();
+        MyTuple second = tuple();
+        second.setF1(2);
+        manager.insert(second).runSync();
+
+        writeBehindManager.writeBehind().replace(tuple);
+        writeBehindManager.writeBehind().update(Collections.singletonList(1), writeBehindManager.updateBuilder().incrementF5(10L));
+        writeBehindManager.writeBehind().delete(Collections.singletonList(2));
+        assertEquals(2, writeBehindManager.writeBehind().getPendingKeys());
+        assertNull(manager.selectUsingPrimaryIndex(1).runSync());
+
+        writeBehindManager.writeBehind().flush().toCompletableFuture().get(1, TimeUnit.SECONDS);
+
+        MyTuple expected = tuple();
+        expected.setF5(15L);
+        assertEquals(expected, manager.selectUsingPrimaryIndex(1).runSync());
+        assertNull(manager.selectUsingPrimaryIndex(2).runSync());
+        assertEquals(1, writeBehindManager.writeBehind().getCoalescedWrites());
+        assertEquals(0, writeBehindManager.writeBehind().getFailedWrites());
+        writeBehindManager.writeBehind().close();
+    }
+
+    @Test
+    public void writeBehindFoldsUpdatesOfField() throws InterruptedException, ExecutionException, TimeoutException {
+        MyTupleManager writeBehindManager = new ManagerFactory(client, new ManagerOptions().writeBehind("test", new WriteBehindOptions(1, TimeUnit.HOURS))).myTupleManager();
+        manager.insert(tuple()).runSync();
+
+        writeBehindManager.writeBehind().update(Collections.singletonList(1), writeBehindManager.updateBuilder().incrementF5(1L));
+        writeBehindManager.writeBehind().update(Collections.singletonList(1), writeBehindManager.updateBuilder().incrementF5(1L));
+        writeBehindManager.writeBehind().update(Collections.singletonList(1), writeBehindManager.updateBuilder().setF2("updated"));
+        writeBehindManager.writeBehind().update(Collections.singletonList(1), writeBehindManager.updateBuilder().setF2("last"));
+
+        writeBehindManager.writeBehind().flush().toCompletableFuture().get(1, TimeUnit.SECONDS);
+
+        MyTuple expected = tuple();
+        expected.setF5(7L);
+        expected.setF2("last");
+        assertEquals(expected, manager.selectUsingPrimaryIndex(1).runSync());
+        assertEquals(3, writeBehindManager.writeBehind().getCoalescedWrites());
+        assertEquals(1, writeBehindManager.writeBehind().getFlushedWrites());
+        assertEquals(0, writeBehindManager.writeBehind().getFailedWrites());
+        writeBehindManager.writeBehind().close();
+    }
+
+    @Test
+    public void writeBehindMergesKeysOfAnyNumberType() throws InterruptedException, ExecutionException, TimeoutException {
+        MyTupleManager writeBehindManager = new ManagerFactory(client, new ManagerOptions().writeBehind("test", new WriteBehindOptions(1, TimeUnit.HOURS))).myTupleManager();
+
+        writeBehindManager.writeBehind().replace(tuple());
+        writeBehindManager.writeBehind().delete(Collections.singletonList(1L));
+        assertEquals(1, writeBehindManager.writeBehind().getPendingKeys());
+
+        writeBehindManager.writeBehind().flush().toCompletableFuture().get(1, TimeUnit.SECONDS);
+
+        assertNull(manager.selectUsingPrimaryIndex(1).runSync());
+        writeBehindManager.writeBehind().close();
+    }
+
+    @Test
+    public void countersAreFlushedAsUpserts() throws InterruptedException, ExecutionException, TimeoutException {
+        manager.insert(tuple()).runSync();
+
+        for (int i = 0; i < 100; i++) {
+            manager.incrementF5(1, 2L);
+        }
+        assertEquals(100, manager.counters().getPendingIncrements());
+
+        manager.counters().flush().toCompletableFuture().get(1, TimeUnit.SECONDS);
+
+        MyTuple expected = tuple();
+        expected.setF5(205L);
+        assertEquals(expected, manager.selectUsingPrimaryIndex(1).runSync());
+        assertEquals(1, manager.counters().getFlushedUpserts());
+    }
+
+    @Test
+    public void operationsAreMeasured() throws InterruptedException, ExecutionException, TimeoutException {
+        List<OperationType> completed = new CopyOnWriteArrayList<>();
+        ManagerOptions options = new ManagerOptions()
+                .recordMetrics()
+                .metricsSink((type, spaceName, indexName, durationNanos, error) -> completed.add(type));
+        MyTupleManager measuredManager = new ManagerFactory(client, options).myTupleManager();
+
+        measuredManager.insert(tuple()).runSync();
+        measuredManager.selectUsingPrimaryIndex(1).runAsync().toCompletableFuture().get(1, TimeUnit.SECONDS);
+        try {
+            measuredManager.insert(tuple()).runSync();
+            fail();
+        } catch (TarantoolException ignored) {
+        }
+
+        Map<String, OperationStats> stats = new HashMap<>();
+        for (OperationStats operation : measuredManager.getMetrics().getOperations()) {
+            stats.put(operation.getOperation(), operation);
+        }
+
+        assertEquals(2, stats.get("INSERT").getCount());
+        assertEquals(1, stats.get("INSERT").getErrors());
+        assertEquals(1, stats.get("SELECT").getCount());
+        assertEquals("primary", stats.get("SELECT").getIndexName());
+        assertTrue(stats.get("SELECT").getMaxMicros() > 0);
+        assertEquals(Arrays.asList(OperationType.INSERT, OperationType.SELECT, OperationType.INSERT), completed);
+    }
+
+    @Test
+    public void operationPhasesAreTimed() {
+        List<Long> waits = new CopyOnWriteArrayList<>();
+        List<OperationType> types = new CopyOnWriteArrayList<>();
+        List<Long> decodes = new CopyOnWriteArrayList<>();
+        ManagerOptions options = new ManagerOptions()
+                .phaseListener((type, spaceName, indexName, encodeNanos, waitNanos, decodeNanos) -> {
+                    types.add(type);
+                    waits.add(waitNanos);
+                    decodes.add(decodeNanos);
+                });
+        MyTupleManager timedManager = new ManagerFactory(client, options).myTupleManager();
+
+        timedManager.insert(tuple()).runSync();
+        assertEquals(tuple(), timedManager.selectUsingPrimaryIndex(1).runSync());
+        assertEquals(tuple(), timedManager.selectUsingPrimaryIndex(1).runAsync().toCompletableFuture().join());
+        timedManager.delete(tuple()).runSync();
+
+        assertEquals(4, waits.size());
+        assertTrue(waits.get(0) > 0);
+        // point selects report the response before decoding it, so decoding is not counted as wait
+        assertEquals(Arrays.asList(OperationType.INSERT, OperationType.SELECT, OperationType.SELECT, OperationType.DELETE), types);
+        assertTrue(decodes.get(1) > 0);
+        assertTrue(decodes.get(2) > 0);
+        assertEquals(4, timedManager.getMetrics().getPhases().getCount());
+        assertTrue(timedManager.getMetrics().getOperations().isEmpty());
+    }
+
+    @Test
+    public void bulkInsertReportsFailedPositions() {
+        MyTuple first = tuple();
+        MyTuple second = tuple();
+        second.setF1(2);
+        manager.insert(second).runSync();
+
+        BulkResult result = manager.bulkInsert(Arrays.asList(first, second), false).runSync();
+        assertEquals(1, result.getCount());
+        assertEquals(Collections.singletonList(1), result.getFailed());
+    }
+
+    @Test
+    public void atomicBulkInsertIsRolledBack() {
+        MyTuple first = tuple();
+        MyTuple second = tuple();
+        second.setF1(2);
+        manager.insert(second).runSync();
+
+        try {
+            manager.bulkInsert(Arrays.asList(first, second), true).runSync();
+            fail("Duplicate key should fail atomic bulk insert");
+        } catch (TarantoolException ignored) {
+        }
+
+        assertNull(manager.selectUsingPrimaryIndex(1).runSync());
+    }
+
+    @Test
+    public void updateUsingBuilder() {
+        MyTuple tuple = tuple();
+        manager.insert(tuple).runSync();
+
+        MyTuple result = manager.update(1, manager.updateBuilder()
+                .incrementF5(10L)
+                .subtractF7(2.0d)
+                .bitOrF4((byte) 3)
+                .spliceF2(1, 1, "two")
+        ).runSync();
+
+        MyTuple expected = tuple();
+        expected.setF5(15L);
+        expected.setF7(5.0d);
+        expected.setF4((byte) 7);
+        expected.setF2("two");
+        assertEquals(expected, result);
+    }
+
+    @Test
+    public void upsertUsingBuilder() {
+        MyTuple tuple = tuple();
+        MyTupleManager.MyTupleUpdateBuilder updateBuilder = manager.updateBuilder().incrementF5(1L);
+
+        manager.upsert(tuple, updateBuilder).runSync();
+        manager.upsert(tuple, updateBuilder).runSync();
+
+        assertEquals(6L, manager.selectUsingPrimaryIndex(1).runSync().getF5());
+    }
 }
@@ -1,5 +1,6 @@
 package org.tarantool.orm.integration;
 
+import org.tarantool.orm.annotations.Counter;
 import org.tarantool.orm.annotations.Index;
 import org.tarantool.orm.annotations.IndexedField;
 import org.tarantool.orm.annotations.IndexedFieldParams;
@@ -20,6 +21,7 @@ public class MyTuple {
     private String f2;
     private short f3;
     private byte f4;
+    @Counter
     private long f5;
     private float f6;
     private double f7;
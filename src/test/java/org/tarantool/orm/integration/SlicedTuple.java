@@ -0,0 +1,62 @@
+package org.tarantool.orm.integration;
+
+import org.tarantool.orm.annotations.Field;
+import org.tarantool.orm.annotations.Index;
+import org.tarantool.orm.annotations.IndexedField;
+import org.tarantool.orm.annotations.IndexedFieldParams;
+import org.tarantool.orm.annotations.Tuple;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+@Tuple(spaceName = "sliced", lazyDecoding = true, indexes = @Index(name = "primary", isPrimary = true))
+public class SlicedTuple {
+    @IndexedField(indexes = @IndexedFieldParams(indexName = "primary"))
+    private int id;
+    private ByteBuffer payload;
+    @Field(lazyString = true)
+    private CharSequence title;
+    private long[] values;
+
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public ByteBuffer getPayload() {
+        return payload;
+    }
+
+    public void setPayload(ByteBuffer payload) {
+        this.payload = payload;
+    }
+
+    public CharSequence getTitle() {
+        return title;
+    }
+
+    public void setTitle(CharSequence title) {
+        this.title = title;
+    }
+
+    public long[] getValues() {
+        return values;
+    }
+
+    public void setValues(long[] values) {
+        this.values = values;
+    }
+
+    @Override
+    public String toString() {
+        return "SlicedTuple{" +
+                "id=" + id +
+                ", payload=" + payload +
+                ", title=" + title +
+                ", values=" + Arrays.toString(values) +
+                '}';
+    }
+}
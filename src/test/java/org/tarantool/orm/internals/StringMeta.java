@@ -0,0 +1,27 @@
+package org.tarantool.orm.internals;
+
+import java.util.Collections;
+import java.util.List;
+
+// tuples of a single string field
+public final class StringMeta extends Meta<String> {
+    @Override
+    public List<?> toList(String value) {
+        return Collections.singletonList(value);
+    }
+
+    @Override
+    public String fromList(List<?> values) {
+        return (String) values.get(0);
+    }
+
+    @Override
+    public String fromFields(int[] fields, List<?> values) {
+        return fromList(values);
+    }
+
+    @Override
+    public long getFingerprint() {
+        return 0;
+    }
+}
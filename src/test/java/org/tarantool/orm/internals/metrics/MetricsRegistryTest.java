@@ -0,0 +1,32 @@
+package org.tarantool.orm.internals.metrics;
+
+import org.junit.Test;
+import org.tarantool.orm.internals.ManagerOptions;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class MetricsRegistryTest {
+    private final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+    @Test
+    public void metricsAreUnregisteredOnClose() throws Exception {
+        ObjectName pattern = new ObjectName("org.tarantool.orm:type=OperationMetrics,space=\"registry-test\",*");
+        MetricsRegistry registry = new MetricsRegistry(new ManagerOptions().recordMetrics());
+
+        registry.forSpace("registry-test", "primary");
+        Set<ObjectName> names = server.queryNames(pattern, null);
+        assertEquals(1, names.size());
+
+        registry.close();
+        assertTrue(server.queryNames(pattern, null).isEmpty());
+
+        // spaces of a closed registry are not exposed again
+        registry.forSpace("registry-test-after-close", "primary");
+        assertTrue(server.queryNames(new ObjectName("org.tarantool.orm:type=OperationMetrics,space=\"registry-test-after-close\",*"), null).isEmpty());
+    }
+}
@@ -0,0 +1,74 @@
+package org.tarantool.orm.internals.metrics;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+public class OperationEventTest {
+    private static final String EVENT_NAME = "org.tarantool.orm.Operation";
+
+    private final Object[] request = {Arrays.asList(1, "key")};
+    private final List<?> response = Collections.singletonList(Arrays.asList(1, "key", "value"));
+
+    @Test
+    public void eventIsNotCreatedWithoutRecording() {
+        assertNull(OperationEvent.start());
+    }
+
+    @Test
+    public void committedEventsAreRecorded() throws IOException {
+        List<RecordedEvent> events = record(Duration.ZERO);
+
+        assertEquals(1, events.size());
+        RecordedEvent event = events.get(0);
+        assertEquals("SELECT", event.getString("operation"));
+        assertEquals("test", event.getString("space"));
+        assertEquals("primary", event.getString("index"));
+        assertEquals(1, event.getInt("keyCount"));
+        assertEquals(1, event.getInt("rowCount"));
+        assertEquals(OperationTrace.requestSize(request), event.getLong("requestSize"));
+        assertEquals(OperationTrace.responseSize(response), event.getLong("responseSize"));
+        assertTrue(event.getLong("requestSize") > 0);
+        assertTrue(event.getLong("responseSize") > event.getLong("requestSize"));
+        assertNull(event.getString("error"));
+    }
+
+    @Test
+    public void eventsFasterThanThresholdAreDropped() throws IOException {
+        assertTrue(record(Duration.ofHours(1)).isEmpty());
+    }
+
+    private List<RecordedEvent> record(Duration threshold) throws IOException {
+        Path file = Files.createTempFile("tarantool-orm", ".jfr");
+
+        try (Recording recording = new Recording()) {
+            recording.enable(EVENT_NAME).withThreshold(threshold);
+            recording.start();
+
+            Object event = OperationEvent.start();
+            assertNotNull(event);
+            OperationEvent.finish(event, OperationType.SELECT, "test", "primary", 1, 1, request, response, null);
+
+            recording.stop();
+            recording.dump(file);
+
+            return RecordingFile.readAllEvents(file).stream()
+                    .filter(recorded -> recorded.getEventType().getName().equals(EVENT_NAME))
+                    .collect(Collectors.toList());
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
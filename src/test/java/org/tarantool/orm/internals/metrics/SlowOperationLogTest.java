@@ -0,0 +1,93 @@
+package org.tarantool.orm.internals.metrics;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.LoggerFactory;
+import org.tarantool.orm.internals.SlowLogOptions;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class SlowOperationLogTest {
+    private static final long THRESHOLD_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SECOND_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final Logger logger = (Logger) LoggerFactory.getLogger(SlowOperationLog.class);
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    @Before
+    public void attach() {
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    @After
+    public void detach() {
+        logger.detachAppender(appender);
+    }
+
+    @Test
+    public void slowOperationsAreLogged() {
+        SlowOperationLog slowLog = new SlowOperationLog("test", new SlowLogOptions(10, TimeUnit.MILLISECONDS));
+        long now = System.nanoTime();
+
+        completed(slowLog, THRESHOLD_NANOS - 1, now);
+        assertTrue(appender.list.isEmpty());
+
+        completed(slowLog, THRESHOLD_NANOS, now);
+        assertEquals(1, appender.list.size());
+
+        ILoggingEvent event = appender.list.get(0);
+        assertEquals(Level.WARN, event.getLevel());
+        assertTrue(event.getFormattedMessage(), event.getFormattedMessage().startsWith("Slow SELECT on space test, index primary: 10.000 ms, key [1], request "));
+        assertTrue(event.getFormattedMessage(), event.getFormattedMessage().endsWith(", 1 row(s)"));
+    }
+
+    @Test
+    public void fastOperationsAreSampled() {
+        SlowOperationLog slowLog = new SlowOperationLog("test", new SlowLogOptions(10, TimeUnit.MILLISECONDS).sample(10).maxEntriesPerSecond(Integer.MAX_VALUE));
+        long now = System.nanoTime();
+
+        for (int i = 0; i < 10_000; i++) {
+            completed(slowLog, 0, now);
+        }
+
+        // one in ten on average, the bounds are many standard deviations away
+        assertTrue(appender.list.size() > 700);
+        assertTrue(appender.list.size() < 1300);
+        for (ILoggingEvent event : appender.list) {
+            assertEquals(Level.INFO, event.getLevel());
+            assertTrue(event.getFormattedMessage().startsWith("Sampled SELECT"));
+        }
+    }
+
+    @Test
+    public void entriesAboveRateLimitAreSuppressed() {
+        SlowOperationLog slowLog = new SlowOperationLog("test", new SlowLogOptions(10, TimeUnit.MILLISECONDS).maxEntriesPerSecond(2));
+        long now = System.nanoTime();
+
+        for (int i = 0; i < 5; i++) {
+            completed(slowLog, THRESHOLD_NANOS, now);
+        }
+        assertEquals(2, appender.list.size());
+
+        // the next window reports entries dropped by the previous one
+        completed(slowLog, THRESHOLD_NANOS, now + SECOND_NANOS);
+        assertEquals(3, appender.list.size());
+        assertTrue(appender.list.get(2).getFormattedMessage().endsWith(" (3 entries suppressed)"));
+
+        completed(slowLog, THRESHOLD_NANOS, now + SECOND_NANOS);
+        assertFalse(appender.list.get(3).getFormattedMessage().contains("suppressed"));
+    }
+
+    private static void completed(SlowOperationLog slowLog, long durationNanos, long now) {
+        slowLog.completed(OperationType.SELECT, "primary", durationNanos, 1, new Object[] {Collections.singletonList(1)}, Collections.singletonList(Collections.singletonList(1)), 1, null, now);
+    }
+}
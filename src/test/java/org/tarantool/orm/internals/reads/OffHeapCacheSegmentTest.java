@@ -0,0 +1,114 @@
+package org.tarantool.orm.internals.reads;
+
+import org.junit.Test;
+import org.tarantool.orm.internals.StringMeta;
+
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class OffHeapCacheSegmentTest {
+    private static final int CAPACITY = 64 * 1024;
+    // several times the number of records which fit into the buffer, so the log wraps around many times
+    private static final int WRITES = 20_000;
+
+    private final ReadStats stats = new ReadStats();
+    private final ByteBuffer memory = ByteBuffer.allocateDirect(CAPACITY);
+    private final OffHeapCacheSegment<String> segment = new OffHeapCacheSegment<>(memory, new StringMeta(), stats);
+
+    @Test
+    public void oldestEntriesAreEvicted() {
+        for (int i = 0; i < WRITES; i++) {
+            segment.put(key(i), value(i), 0);
+        }
+
+        int live = 0;
+        for (int i = 0; i < WRITES; i++) {
+            CacheEntry<String> entry = segment.get(key(i), System.nanoTime());
+            if (entry != null) {
+                assertEquals(value(i), entry.getValue());
+                live++;
+            }
+        }
+
+        assertTrue(live > 0);
+        assertTrue(live < WRITES / 10);
+        assertNotNull(segment.get(key(WRITES - 1), System.nanoTime()));
+        assertNull(segment.get(key(0), System.nanoTime()));
+        assertEquals(WRITES - live, stats.getCacheEvictions());
+    }
+
+    @Test
+    public void referencedEntriesGetSecondChance() {
+        segment.put(key(-1), value(-1), 0);
+
+        for (int i = 0; i < WRITES; i++) {
+            segment.put(key(i), value(i), 0);
+
+            // the hit entry is moved to the write position instead of being evicted
+            CacheEntry<String> entry = segment.get(key(-1), System.nanoTime());
+            assertNotNull("hit entry evicted after " + i + " writes", entry);
+            assertEquals(value(-1), entry.getValue());
+        }
+
+        assertNull(segment.get(key(0), System.nanoTime()));
+    }
+
+    @Test
+    public void expiredEntriesAreDroppedWithoutEvictions() {
+        for (int i = 0; i < WRITES; i++) {
+            segment.put(key(i), value(i), System.nanoTime() - 1);
+        }
+
+        assertNull(segment.get(key(WRITES - 1), System.nanoTime()));
+        assertEquals(0, stats.getCacheEvictions());
+    }
+
+    @Test
+    public void overwrittenEntriesAreNotEvicted() {
+        for (int i = 0; i < WRITES; i++) {
+            segment.put(key(1), value(i), 0);
+        }
+
+        assertEquals(value(WRITES - 1), segment.get(key(1), System.nanoTime()).getValue());
+        assertEquals(0, stats.getCacheEvictions());
+    }
+
+    @Test
+    public void missingKeysAreCached() {
+        segment.put(key(1), null, 0);
+
+        CacheEntry<String> entry = segment.get(key(1), System.nanoTime());
+        assertNotNull(entry);
+        assertNull(entry.getValue());
+        assertNull(segment.get(key(2), System.nanoTime()));
+    }
+
+    @Test
+    public void restoredEntriesAreStale() {
+        for (int i = 0; i < WRITES; i++) {
+            segment.put(key(i), value(i), 0);
+        }
+        segment.remove(key(WRITES - 2));
+
+        OffHeapCacheSegment<String> restored = new OffHeapCacheSegment<>(memory, new StringMeta(), new ReadStats());
+        restored.restore(segment.getWrite(), segment.getScan(), segment.getLimit());
+
+        CacheEntry<String> entry = restored.get(key(WRITES - 1), System.nanoTime());
+        assertTrue(entry.isStale());
+        assertEquals(value(WRITES - 1), entry.getValue());
+        assertFalse(restored.get(key(WRITES - 1), System.nanoTime()).isStale());
+        assertNull(restored.get(key(WRITES - 2), System.nanoTime()));
+        assertNull(restored.get(key(0), System.nanoTime()));
+    }
+
+    private static List<?> key(int i) {
+        return Collections.singletonList(i);
+    }
+
+    private static String value(int i) {
+        return "value " + i;
+    }
+}
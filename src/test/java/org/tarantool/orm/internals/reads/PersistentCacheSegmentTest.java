@@ -0,0 +1,55 @@
+package org.tarantool.orm.internals.reads;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.tarantool.orm.internals.StringMeta;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+public class PersistentCacheSegmentTest {
+    private static final int CAPACITY = 64 * 1024;
+
+    private Path file;
+
+    @Before
+    public void createFile() throws IOException {
+        file = Files.createTempDirectory("tarantool-orm-cache").resolve("test.cache");
+    }
+
+    @After
+    public void deleteFile() throws IOException {
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(file.getParent());
+    }
+
+    @Test
+    public void lockedFileIsNotOpened() {
+        PersistentCacheSegment<String> segment = PersistentCacheSegment.open(file, CAPACITY, new StringMeta(), new ReadStats());
+        assertNull(PersistentCacheSegment.open(file, CAPACITY, new StringMeta(), new ReadStats()));
+
+        segment.close();
+        PersistentCacheSegment<String> reopened = PersistentCacheSegment.open(file, CAPACITY, new StringMeta(), new ReadStats());
+        assertNotNull(reopened);
+        reopened.close();
+    }
+
+    @Test
+    public void closedFileIsRestored() {
+        PersistentCacheSegment<String> segment = PersistentCacheSegment.open(file, CAPACITY, new StringMeta(), new ReadStats());
+        segment.put(Collections.singletonList(1), "first", 0);
+        segment.close();
+        assertNull(segment.get(Collections.singletonList(1), System.nanoTime()));
+
+        PersistentCacheSegment<String> reopened = PersistentCacheSegment.open(file, CAPACITY, new StringMeta(), new ReadStats());
+        CacheEntry<String> entry = reopened.get(Collections.singletonList(1), System.nanoTime());
+        assertTrue(entry.isStale());
+        assertEquals("first", entry.getValue());
+        reopened.close();
+    }
+}
@@ -0,0 +1,69 @@
+package org.tarantool.orm.internals.reads;
+
+import org.junit.Test;
+import org.tarantool.orm.internals.metrics.OperationTrace;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class SingleFlightReaderTest {
+    private final ThrowingReader delegate = new ThrowingReader();
+    private final ReadStats stats = new ReadStats();
+    private final SingleFlightReader<String> reader = new SingleFlightReader<>(delegate, stats);
+
+    @Test
+    public void synchronousFailureOfAsyncReadEndsFlight() throws Exception {
+        delegate.failures.set(1);
+        try {
+            reader.readAsync("primary", key(), OperationTrace.NONE);
+            fail("Expected a synchronous failure");
+        } catch (IllegalStateException expected) {
+        }
+
+        // the key is forgotten, so the next selects run their own request instead of waiting forever
+        assertEquals("value", reader.readAsync("primary", key(), OperationTrace.NONE).toCompletableFuture().get(1, TimeUnit.SECONDS));
+        assertEquals("value", reader.readSync("primary", key(), OperationTrace.NONE));
+        assertEquals(0, stats.getSingleFlightHits());
+        assertEquals(3, stats.getSingleFlightMisses());
+    }
+
+    @Test
+    public void synchronousFailureOfSyncReadEndsFlight() {
+        delegate.failures.set(1);
+        try {
+            reader.readSync("primary", key(), OperationTrace.NONE);
+            fail("Expected a synchronous failure");
+        } catch (IllegalStateException expected) {
+        }
+
+        assertEquals("value", reader.readSync("primary", key(), OperationTrace.NONE));
+    }
+
+    private static List<?> key() {
+        return Collections.singletonList(1);
+    }
+
+    // throws instead of returning a failed stage while failures are left
+    private static final class ThrowingReader implements PointReader<String> {
+        private final AtomicInteger failures = new AtomicInteger();
+
+        @Override
+        public String readSync(String indexName, List<?> keys, OperationTrace trace) {
+            if (failures.getAndDecrement() > 0) {
+                throw new IllegalStateException("Connection is closed");
+            }
+            return "value";
+        }
+
+        @Override
+        public CompletionStage<String> readAsync(String indexName, List<?> keys, OperationTrace trace) {
+            return CompletableFuture.completedFuture(readSync(indexName, keys, trace));
+        }
+    }
+}
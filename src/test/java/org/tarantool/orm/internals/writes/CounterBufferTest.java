@@ -0,0 +1,161 @@
+package org.tarantool.orm.internals.writes;
+
+import org.junit.After;
+import org.junit.Test;
+import org.tarantool.TarantoolClient;
+import org.tarantool.TarantoolClientOps;
+import org.tarantool.orm.internals.CounterOptions;
+import org.tarantool.orm.internals.ManagerOptions;
+import org.tarantool.orm.internals.Meta;
+import org.tarantool.orm.internals.WriteListener;
+import org.tarantool.orm.internals.metrics.OperationMetrics;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.*;
+
+public class CounterBufferTest {
+    private static final int THREADS = 4;
+    private static final int INCREMENTS = 100_000;
+
+    // sums of the long and the double counter received by the client
+    private final AtomicLong upsertedLongs = new AtomicLong();
+    private final AtomicLong upsertedDoubles = new AtomicLong();
+    private final List<CounterBuffer<Object[]>> buffers = new ArrayList<>();
+
+    @After
+    public void close() {
+        buffers.forEach(CounterBuffer::close);
+    }
+
+    @Test
+    public void synchronousFailuresKeepSums() {
+        CounterBuffer<Object[]> buffer = buffer(FailingClient.create());
+        buffer.add(key(1), 1, 3L);
+        buffer.flush().toCompletableFuture().join();
+
+        assertEquals(1, buffer.getFailedUpserts());
+        assertEquals(1, buffer.getPendingKeys());
+
+        // the sums are restored and sent again
+        buffer.flush().toCompletableFuture().join();
+        assertEquals(2, buffer.getFailedUpserts());
+        assertEquals(0, buffer.getFlushedUpserts());
+    }
+
+    @Test
+    public void concurrentIncrementsAreNotLost() throws InterruptedException {
+        CounterBuffer<Object[]> buffer = buffer(recordingClient());
+        AtomicBoolean done = new AtomicBoolean();
+
+        // keys become idle and are removed while other threads still increment them
+        Thread flusher = new Thread(() -> {
+            while (!done.get()) {
+                buffer.flush().toCompletableFuture().join();
+            }
+        });
+        flusher.start();
+
+        List<Thread> writers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            Thread writer = new Thread(() -> {
+                for (int i = 0; i < INCREMENTS; i++) {
+                    buffer.add(key(i % 8), 1, 1L);
+                    buffer.add(key(i % 8), 2, 1.0);
+                }
+            });
+            writers.add(writer);
+            writer.start();
+        }
+
+        for (Thread writer : writers) {
+            writer.join();
+        }
+        done.set(true);
+        flusher.join();
+        buffer.flush().toCompletableFuture().join();
+
+        assertEquals(THREADS * INCREMENTS, upsertedLongs.get());
+        assertEquals(THREADS * INCREMENTS, upsertedDoubles.get());
+        assertEquals(0, buffer.getFailedUpserts());
+    }
+
+    private CounterBuffer<Object[]> buffer(TarantoolClient client) {
+        CounterBuffer<Object[]> buffer = new CounterBuffer<>(client, new CounterMeta(), "test", () -> new Object[] {null, 0L, 0.0},
+                new int[] {0}, new int[] {1}, new int[] {2}, new IgnoredWrites(), new CounterOptions(1, TimeUnit.HOURS),
+                new OperationMetrics("test", "primary", new ManagerOptions()));
+        buffers.add(buffer);
+        return buffer;
+    }
+
+    // client which adds up operations of upserts
+    private TarantoolClient recordingClient() {
+        Object ops = Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {TarantoolClientOps.class}, (proxy, method, args) -> {
+            if (!method.getName().equals("upsert")) {
+                throw new UnsupportedOperationException(method.getName());
+            }
+
+            for (Object op : (Object[]) args[3]) {
+                List<?> operation = (List<?>) op;
+                if (operation.get(1).equals(1)) {
+                    upsertedLongs.addAndGet((Long) operation.get(2));
+                } else {
+                    upsertedDoubles.addAndGet((long) (double) (Double) operation.get(2));
+                }
+            }
+            return CompletableFuture.completedFuture(Collections.emptyList());
+        });
+
+        return (TarantoolClient) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {TarantoolClient.class}, (proxy, method, args) -> {
+            if (method.getName().equals("composableAsyncOps")) {
+                return ops;
+            }
+            throw new UnsupportedOperationException(method.getName());
+        });
+    }
+
+    private static List<?> key(int i) {
+        return Collections.singletonList(i);
+    }
+
+    // tuples of a key, a long and a double counter
+    private static final class CounterMeta extends Meta<Object[]> {
+        @Override
+        public List<?> toList(Object[] value) {
+            return Arrays.asList(value);
+        }
+
+        @Override
+        public Object[] fromList(List<?> values) {
+            return values.toArray();
+        }
+
+        @Override
+        public Object[] fromFields(int[] fields, List<?> values) {
+            return fromList(values);
+        }
+
+        @Override
+        public long getFingerprint() {
+            return 0;
+        }
+    }
+
+    private static final class IgnoredWrites implements WriteListener<Object[]> {
+        @Override
+        public void onKeyWrite(List<?> keys) {
+        }
+
+        @Override
+        public void onValueWrite(Object[] value) {
+        }
+    }
+}
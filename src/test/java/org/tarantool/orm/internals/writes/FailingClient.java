@@ -0,0 +1,25 @@
+package org.tarantool.orm.internals.writes;
+
+import org.tarantool.TarantoolClient;
+import org.tarantool.TarantoolClientOps;
+
+import java.lang.reflect.Proxy;
+
+// client whose asynchronous operations throw instead of returning a failed stage
+final class FailingClient {
+    private FailingClient() {
+    }
+
+    static TarantoolClient create() {
+        Object ops = Proxy.newProxyInstance(FailingClient.class.getClassLoader(), new Class<?>[] {TarantoolClientOps.class}, (proxy, method, args) -> {
+            throw new IllegalStateException("Connection is closed");
+        });
+
+        return (TarantoolClient) Proxy.newProxyInstance(FailingClient.class.getClassLoader(), new Class<?>[] {TarantoolClient.class}, (proxy, method, args) -> {
+            if (method.getName().equals("composableAsyncOps")) {
+                return ops;
+            }
+            throw new UnsupportedOperationException(method.getName());
+        });
+    }
+}
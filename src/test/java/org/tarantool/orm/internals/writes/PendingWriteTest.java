@@ -0,0 +1,88 @@
+package org.tarantool.orm.internals.writes;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class PendingWriteTest {
+    private final PendingWrite<String> write = new PendingWrite<>();
+
+    @Test
+    public void incrementsOfFieldAreAddedUp() {
+        write.update(ops(op("+", 4, 1L)));
+        write.update(ops(op("+", 4, 2L)));
+        write.update(ops(op("-", 4, 5)));
+
+        assertEquals(Collections.singletonList(ops(op("+", 4, -2L))), write.getUpdates());
+    }
+
+    @Test
+    public void lastAssignmentWins() {
+        write.update(ops(op("+", 4, 1L), op("=", 1, "a")));
+        write.update(ops(op("=", 4, 10L)));
+        write.update(ops(op("=", 1, "b")));
+
+        assertEquals(Collections.singletonList(ops(op("=", 4, 10L), op("=", 1, "b"))), write.getUpdates());
+    }
+
+    @Test
+    public void incrementsAreAddedToAssignment() {
+        write.update(ops(op("=", 6, 1.5d)));
+        write.update(ops(op("+", 6, 1L)));
+
+        assertEquals(Collections.singletonList(ops(op("=", 6, 2.5d))), write.getUpdates());
+    }
+
+    @Test
+    public void otherOperationsOfChangedFieldAreSentSeparately() {
+        write.update(ops(op("=", 1, "abc")));
+        write.update(ops(Arrays.asList(":", 1, 1, 1, "x"), op("+", 4, 1L)));
+        write.update(ops(op("+", 4, 1L)));
+
+        assertEquals(Arrays.asList(
+                ops(op("=", 1, "abc")),
+                ops(Arrays.asList(":", 1, 1, 1, "x"), op("+", 4, 2L))
+        ), write.getUpdates());
+    }
+
+    @Test
+    public void operationsOfArrayElementsConflictWithTheirField() {
+        write.update(ops(op("=", 7, Arrays.asList(1, 2))));
+        write.update(ops(op("+", "[8][1]", 1L)));
+
+        assertEquals(2, write.getUpdates().size());
+    }
+
+    @Test
+    public void insertsAndDeletesOfFieldsAreNotMerged() {
+        write.update(ops(op("#", 9, 1)));
+        write.update(ops(op("+", 4, 1L)));
+        write.update(ops(op("!", 9, "x")));
+
+        assertEquals(3, write.getUpdates().size());
+    }
+
+    @Test
+    public void replaceAndDeleteDropUpdates() {
+        write.update(ops(op("+", 4, 1L)));
+        write.replace("tuple");
+        assertTrue(write.getUpdates().isEmpty());
+
+        write.delete();
+        write.update(ops(op("+", 4, 1L)));
+        assertTrue(write.getUpdates().isEmpty());
+        assertTrue(write.isDeleted());
+    }
+
+    private static List<?> op(String operator, Object field, Object argument) {
+        return Arrays.asList(operator, field, argument);
+    }
+
+    private static List<List<?>> ops(List<?>... ops) {
+        return Arrays.asList(ops);
+    }
+}
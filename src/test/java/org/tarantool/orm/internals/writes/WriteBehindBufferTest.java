@@ -0,0 +1,68 @@
+package org.tarantool.orm.internals.writes;
+
+import org.junit.After;
+import org.junit.Test;
+import org.tarantool.orm.internals.ManagerOptions;
+import org.tarantool.orm.internals.ServerFunctions;
+import org.tarantool.orm.internals.StringMeta;
+import org.tarantool.orm.internals.UpdateBuilder;
+import org.tarantool.orm.internals.WriteBehindOptions;
+import org.tarantool.orm.internals.WriteListener;
+import org.tarantool.orm.internals.metrics.OperationMetrics;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class WriteBehindBufferTest {
+    private final WriteBehindBuffer<String> buffer = new WriteBehindBuffer<>(FailingClient.create(), new StringMeta(), "test",
+            ServerFunctions.bulkWrite("test"), Collections::singletonList, key -> key, new IgnoredWrites(),
+            new WriteBehindOptions(1, TimeUnit.HOURS).maxPendingKeys(2), new OperationMetrics("test", "primary", new ManagerOptions()));
+
+    @After
+    public void close() {
+        buffer.close();
+    }
+
+    @Test
+    public void synchronousFailuresAreCounted() {
+        buffer.replace("first");
+        buffer.update(Collections.singletonList("second"), new IncrementBuilder());
+        buffer.flush().toCompletableFuture().join();
+
+        assertEquals(0, buffer.getPendingKeys());
+        assertEquals(2, buffer.getFailedWrites());
+        assertEquals(0, buffer.getFlushedWrites());
+    }
+
+    @Test
+    public void failedFlushDoesNotStopNextOnes() {
+        buffer.replace("first");
+        buffer.flush().toCompletableFuture().join();
+
+        buffer.replace("second");
+        // the buffer is full, so the writer waits for a flush
+        buffer.replace("third");
+
+        assertEquals(0, buffer.getPendingKeys());
+        assertEquals(3, buffer.getFailedWrites());
+    }
+
+    private static final class IncrementBuilder extends UpdateBuilder {
+        private IncrementBuilder() {
+            add("+", 1, 1L);
+        }
+    }
+
+    private static final class IgnoredWrites implements WriteListener<String> {
+        @Override
+        public void onKeyWrite(List<?> keys) {
+        }
+
+        @Override
+        public void onValueWrite(String value) {
+        }
+    }
+}